@@ -0,0 +1,57 @@
+package com.aozorastudio.atlas.tenant.benchmark;
+
+import com.aozorastudio.atlas.tenant.domain.Tenant;
+import com.aozorastudio.atlas.tenant.dto.CreateTenantRequest;
+import com.aozorastudio.atlas.tenant.dto.TenantResponse;
+
+import java.time.LocalDateTime;
+
+/**
+ * Realistically sized tenants shared by the benchmarks
+ */
+final class TenantFixtures {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 1, 15, 9, 30, 0);
+
+    private TenantFixtures() {
+    }
+
+    static Tenant tenant(long id) {
+        return Tenant.builder()
+                .id(id)
+                .code(code(id))
+                .name("Benchmark Tenant " + id)
+                .description("Tenant used by the JMH benchmarks to exercise the hot paths")
+                .email("tenant" + id + "@example.com")
+                .phone("+81 3-1234-5678")
+                .address("1-2-3 Shibuya, Shibuya-ku, Tokyo 150-0002")
+                .status(Tenant.TenantStatus.ACTIVE)
+                .createdAt(CREATED_AT)
+                .updatedAt(CREATED_AT.plusDays(id % 30))
+                .createdBy("system")
+                .updatedBy("system")
+                .version(id % 5)
+                .build();
+    }
+
+    static TenantResponse response(long id) {
+        return TenantResponse.from(tenant(id));
+    }
+
+    static CreateTenantRequest createRequest(long id) {
+        Tenant tenant = tenant(id);
+        return CreateTenantRequest.builder()
+                .code(tenant.getCode())
+                .name(tenant.getName())
+                .description(tenant.getDescription())
+                .email(tenant.getEmail())
+                .phone(tenant.getPhone())
+                .address(tenant.getAddress())
+                .status(tenant.getStatus())
+                .build();
+    }
+
+    static String code(long id) {
+        return String.format("BENCH%06d", id);
+    }
+}
@@ -0,0 +1,34 @@
+package com.aozorastudio.atlas.tenant.benchmark;
+
+import com.aozorastudio.atlas.tenant.domain.Tenant;
+import com.aozorastudio.atlas.tenant.dto.TenantResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to response mapping used by every write path
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TenantMappingBenchmark {
+
+    private Tenant tenant;
+
+    @Setup
+    public void setUp() {
+        tenant = TenantFixtures.tenant(1L);
+    }
+
+    @Benchmark
+    public TenantResponse fromEntity() {
+        return TenantResponse.from(tenant);
+    }
+}
@@ -0,0 +1,39 @@
+package com.aozorastudio.atlas.tenant.benchmark;
+
+import com.aozorastudio.atlas.tenant.domain.Tenant;
+import com.aozorastudio.atlas.tenant.dto.TenantSearchRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Pageable;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Search parameter binding as done per request by the controller and service
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TenantSearchRequestBenchmark {
+
+    public String searchTerm = "bench";
+    public String sortBy = "createdAt";
+    public String sortDirection = "desc";
+
+    @Benchmark
+    public Pageable toPageable() {
+        return TenantSearchRequest.builder()
+                .searchTerm(searchTerm)
+                .status(Tenant.TenantStatus.ACTIVE)
+                .page(3)
+                .size(20)
+                .sortBy(sortBy)
+                .sortDirection(sortDirection)
+                .build()
+                .toPageable();
+    }
+}
@@ -0,0 +1,109 @@
+package com.aozorastudio.atlas.tenant.benchmark;
+
+import com.aozorastudio.atlas.AtlasApplication;
+import com.aozorastudio.atlas.tenant.dto.CreateTenantRequest;
+import com.aozorastudio.atlas.tenant.dto.TenantResponse;
+import com.aozorastudio.atlas.tenant.dto.TenantSearchRequest;
+import com.aozorastudio.atlas.tenant.service.TenantService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TenantService reads against an in-memory H2 database migrated by Flyway. The tenant
+ * cache is off so every call reaches the repository; the search index stays on, as in
+ * production. Service logging is lowered to WARN so the console does not dominate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TenantServiceBenchmark {
+
+    private static final int TENANTS = 10_000;
+
+    private ConfigurableApplicationContext context;
+    private TenantService tenantService;
+    private long firstId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(AtlasApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:atlas_jmh;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.driver-class-name=org.h2.Driver",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                        "spring.jpa.show-sql=false",
+                        "spring.devtools.restart.enabled=false",
+                        "atlas.tenant.cache.enabled=false",
+                        "atlas.tenant.cache.redis.enabled=false",
+                        "atlas.tenant.cache.invalidation.enabled=false",
+                        "atlas.tenant.rate-limit.redis.enabled=false",
+                        "atlas.tenant.idempotency.redis.enabled=false",
+                        "logging.level.com.aozorastudio.atlas=WARN")
+                .run();
+        tenantService = context.getBean(TenantService.class);
+
+        List<CreateTenantRequest> requests = new ArrayList<>(TENANTS);
+        for (long id = 1; id <= TENANTS; id++) {
+            requests.add(TenantFixtures.createRequest(id));
+        }
+        tenantService.createTenants(requests);
+        firstId = tenantService.getTenantByCode(TenantFixtures.code(1)).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TenantResponse getTenantById() {
+        return tenantService.getTenantById(firstId + randomTenant() - 1);
+    }
+
+    @Benchmark
+    public TenantResponse getTenantByCode() {
+        return tenantService.getTenantByCode(TenantFixtures.code(randomTenant()));
+    }
+
+    @Benchmark
+    public boolean existsByCode() {
+        return tenantService.existsByCode(TenantFixtures.code(randomTenant()));
+    }
+
+    @Benchmark
+    public boolean existsByUnknownCode() {
+        return tenantService.existsByCode("UNKNOWN" + randomTenant());
+    }
+
+    @Benchmark
+    public Page<TenantResponse> searchTenants() {
+        return tenantService.searchTenants(TenantSearchRequest.builder()
+                .searchTerm("Tenant " + randomTenant() / 100)
+                .page(0)
+                .size(20)
+                .build());
+    }
+
+    private static long randomTenant() {
+        return ThreadLocalRandom.current().nextLong(1, TENANTS + 1);
+    }
+}
@@ -0,0 +1,158 @@
+package com.aozorastudio.atlas.common.datasource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Caps how many threads may hold a connection at once. With virtual threads every
+ * request gets its own thread, so thousands can queue for a small pool; waiting on a
+ * fair semaphore parks them cheaply and in order, and bounds how long they wait.
+ * The permit is held from {@code getConnection} until the connection is closed.
+ * A thread that already holds a permit gets further connections without another one,
+ * so a nested connection never waits behind the thread's own first one.
+ */
+public class ConcurrencyLimitingDataSource extends DelegatingDataSource {
+
+    private final Semaphore permits;
+    private final int maxConcurrent;
+    private final long acquireTimeoutNanos;
+    private final ThreadLocal<int[]> held = ThreadLocal.withInitial(() -> new int[1]);
+
+    public ConcurrencyLimitingDataSource(DataSource targetDataSource, int maxConcurrent, Duration acquireTimeout) {
+        super(targetDataSource);
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.maxConcurrent = maxConcurrent;
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        int[] count = held.get();
+        boolean permit = count[0] == 0;
+        if (permit) {
+            acquire();
+        }
+        try {
+            return limited(super.getConnection(), count, permit);
+        } catch (SQLException | RuntimeException ex) {
+            if (permit) {
+                permits.release();
+            }
+            throw ex;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        int[] count = held.get();
+        boolean permit = count[0] == 0;
+        if (permit) {
+            acquire();
+        }
+        try {
+            return limited(super.getConnection(username, password), count, permit);
+        } catch (SQLException | RuntimeException ex) {
+            if (permit) {
+                permits.release();
+            }
+            throw ex;
+        }
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public int getActive() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    public int getWaiting() {
+        return permits.getQueueLength();
+    }
+
+    private void acquire() throws SQLException {
+        try {
+            if (!permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                throw new SQLTransientConnectionException("No database capacity within "
+                        + Duration.ofNanos(acquireTimeoutNanos) + " (" + maxConcurrent + " connections in use, "
+                        + permits.getQueueLength() + " waiting)");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for database capacity", ex);
+        }
+    }
+
+    private Connection limited(Connection connection, int[] count, boolean permit) {
+        count[0]++;
+        return (Connection) Proxy.newProxyInstance(
+                ConcurrencyLimitingDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                new PermitReleasingHandler(connection, count, permit));
+    }
+
+    /**
+     * Returns the permit, if the connection took one, exactly once when it is closed
+     */
+    private final class PermitReleasingHandler implements InvocationHandler {
+
+        private final Connection target;
+        private final int[] count;
+        private final boolean permit;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private PermitReleasingHandler(Connection target, int[] count, boolean permit) {
+            this.target = target;
+            this.count = count;
+            this.permit = permit;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "unwrap":
+                    if (((Class<?>) args[0]).isInstance(proxy)) {
+                        return proxy;
+                    }
+                    break;
+                case "isWrapperFor":
+                    if (((Class<?>) args[0]).isInstance(proxy)) {
+                        return true;
+                    }
+                    break;
+                default:
+                    break;
+            }
+
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException ex) {
+                throw ex.getTargetException();
+            } finally {
+                if ("close".equals(method.getName()) && released.compareAndSet(false, true)) {
+                    count[0]--;
+                    if (permit) {
+                        permits.release();
+                    }
+                }
+            }
+        }
+    }
+}
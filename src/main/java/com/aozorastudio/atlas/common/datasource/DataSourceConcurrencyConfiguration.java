@@ -0,0 +1,61 @@
+package com.aozorastudio.atlas.common.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application DataSource in a {@link ConcurrencyLimitingDataSource}.
+ * Enabled with the virtual-threads profile, where request concurrency is no longer
+ * bounded by the servlet thread pool.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "atlas.datasource.concurrency-limit", name = "enabled", havingValue = "true")
+@Slf4j
+public class DataSourceConcurrencyConfiguration {
+
+    @Bean
+    public static BeanPostProcessor concurrencyLimitingDataSourcePostProcessor(Environment environment) {
+        DataSourceConcurrencyProperties properties = Binder.get(environment)
+                .bind("atlas.datasource.concurrency-limit", DataSourceConcurrencyProperties.class)
+                .orElseGet(DataSourceConcurrencyProperties::new);
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ConcurrencyLimitingDataSource)) {
+                    log.info("Limiting DataSource '{}' to {} concurrent connections", beanName,
+                            properties.getMaxConcurrent());
+                    return new ConcurrencyLimitingDataSource(dataSource, properties.getMaxConcurrent(),
+                            properties.getAcquireTimeout());
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder dataSourceConcurrencyMetrics(ObjectProvider<DataSource> dataSources) {
+        return registry -> dataSources.orderedStream()
+                .filter(ConcurrencyLimitingDataSource.class::isInstance)
+                .map(ConcurrencyLimitingDataSource.class::cast)
+                .findFirst()
+                .ifPresent(limiter -> {
+                    Gauge.builder("atlas.datasource.concurrency.active", limiter, ConcurrencyLimitingDataSource::getActive)
+                            .description("Connections currently held under the concurrency cap")
+                            .register(registry);
+                    Gauge.builder("atlas.datasource.concurrency.waiting", limiter, ConcurrencyLimitingDataSource::getWaiting)
+                            .description("Threads waiting for database capacity")
+                            .register(registry);
+                });
+    }
+}
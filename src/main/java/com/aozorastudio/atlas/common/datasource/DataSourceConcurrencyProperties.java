@@ -0,0 +1,23 @@
+package com.aozorastudio.atlas.common.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration for the cap on concurrent database connections
+ */
+@Data
+@ConfigurationProperties(prefix = "atlas.datasource.concurrency-limit")
+public class DataSourceConcurrencyProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * Connections that may be checked out at once; keep at or below the pool size
+     */
+    private int maxConcurrent = 20;
+
+    private Duration acquireTimeout = Duration.ofSeconds(20);
+}
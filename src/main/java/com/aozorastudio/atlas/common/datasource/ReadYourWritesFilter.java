@@ -0,0 +1,74 @@
+package com.aozorastudio.atlas.common.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Keeps a client's reads on the primary for a short window after its own mutation, so it
+ * never reads from a replica that has not caught up with it yet. The window travels in a
+ * cookie holding its end as epoch millis, so it holds on whichever node serves the client.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private static final Set<String> MUTATING_METHODS = Set.of(
+            HttpMethod.POST.name(), HttpMethod.PUT.name(), HttpMethod.PATCH.name(), HttpMethod.DELETE.name());
+
+    private final ReplicaRoutingProperties properties;
+
+    public ReadYourWritesFilter(ReplicaRoutingProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long now = System.currentTimeMillis();
+        boolean mutating = MUTATING_METHODS.contains(request.getMethod());
+        if (mutating) {
+            // Set before the chain runs, while the response can still take headers
+            long window = properties.getReadYourWritesWindow().toMillis();
+            Cookie cookie = new Cookie(properties.getReadYourWritesCookie(), Long.toString(now + window));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) Math.max(1, properties.getReadYourWritesWindow().toSeconds()));
+            response.addCookie(cookie);
+        }
+
+        if (!mutating && !inWindow(request, now)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        ReplicaRoutingContext.requirePrimary();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReplicaRoutingContext.clear();
+        }
+    }
+
+    private boolean inWindow(HttpServletRequest request, long now) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return false;
+        }
+        for (Cookie cookie : cookies) {
+            if (properties.getReadYourWritesCookie().equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue()) > now;
+                } catch (NumberFormatException ex) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,57 @@
+package com.aozorastudio.atlas.common.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Measures replication lag with a heartbeat row: the primary's copy is stamped on every
+ * check and each replica's copy is read back, so the lag is how old the replica's stamp
+ * is. Works on any database, at the cost of relying on the app nodes' clocks agreeing.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private final ReplicaRoutingDataSource routingDataSource;
+    private final ReplicaRoutingProperties properties;
+    private final JdbcTemplate primary;
+
+    public ReplicaLagMonitor(ReplicaRoutingDataSource routingDataSource, ReplicaRoutingProperties properties) {
+        this.routingDataSource = routingDataSource;
+        this.properties = properties;
+        this.primary = new JdbcTemplate(routingDataSource.getPrimary());
+    }
+
+    @Scheduled(fixedDelayString = "${atlas.datasource.replicas.lag-check-interval-ms:2000}")
+    public void check() {
+        heartbeat();
+        checkReplicas();
+    }
+
+    void heartbeat() {
+        try {
+            primary.update("UPDATE replica_heartbeat SET beat_at = ? WHERE id = 1", Timestamp.from(Instant.now()));
+        } catch (RuntimeException ex) {
+            log.warn("Could not write replica heartbeat: {}", ex.getMessage());
+        }
+    }
+
+    void checkReplicas() {
+        for (ReplicaRoutingDataSource.Replica replica : routingDataSource.getReplicas()) {
+            Duration lag;
+            try {
+                Timestamp beatAt = new JdbcTemplate(replica.getDataSource()).queryForObject(
+                        "SELECT beat_at FROM replica_heartbeat WHERE id = 1", Timestamp.class);
+                lag = beatAt != null ? Duration.between(beatAt.toInstant(), Instant.now()) : null;
+            } catch (RuntimeException ex) {
+                log.debug("Lag check failed on replica {}: {}", replica.getName(), ex.getMessage());
+                lag = null;
+            }
+            replica.update(lag, properties.getMaxLag());
+        }
+    }
+}
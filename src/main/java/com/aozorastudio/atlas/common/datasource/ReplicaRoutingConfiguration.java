@@ -0,0 +1,119 @@
+package com.aozorastudio.atlas.common.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Wraps the application DataSource in a {@link ReplicaRoutingDataSource} so read-only
+ * transactions are served by the configured replicas
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "atlas.datasource.replicas", name = "enabled", havingValue = "true")
+@Slf4j
+public class ReplicaRoutingConfiguration {
+
+    @Bean
+    public static BeanPostProcessor replicaRoutingDataSourcePostProcessor(Environment environment) {
+        ReplicaRoutingProperties properties = Binder.get(environment)
+                .bind("atlas.datasource.replicas", ReplicaRoutingProperties.class)
+                .orElseGet(ReplicaRoutingProperties::new);
+
+        return new RoutingPostProcessor(properties);
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(DataSource dataSource, ReplicaRoutingProperties properties)
+            throws SQLException {
+        return new ReplicaLagMonitor(dataSource.unwrap(ReplicaRoutingDataSource.class), properties);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(ReplicaRoutingProperties properties) {
+        FilterRegistrationBean<ReadYourWritesFilter> registration =
+                new FilterRegistrationBean<>(new ReadYourWritesFilter(properties));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    @Bean
+    public MeterBinder replicaRoutingMetrics(DataSource dataSource) throws SQLException {
+        ReplicaRoutingDataSource router = dataSource.unwrap(ReplicaRoutingDataSource.class);
+        return registry -> {
+            FunctionCounter.builder("atlas.datasource.read-routing", router, ReplicaRoutingDataSource::getReplicaReads)
+                    .description("Read-only connections by where they were served")
+                    .tag("target", "replica")
+                    .register(registry);
+            FunctionCounter.builder("atlas.datasource.read-routing", router, ReplicaRoutingDataSource::getPrimaryReads)
+                    .description("Read-only connections by where they were served")
+                    .tag("target", "primary")
+                    .register(registry);
+            for (ReplicaRoutingDataSource.Replica replica : router.getReplicas()) {
+                Gauge.builder("atlas.datasource.replica.lag", replica,
+                                r -> r.getLag() != null ? r.getLag().toMillis() : Double.NaN)
+                        .description("Replication lag measured by the last heartbeat check")
+                        .tag("replica", replica.getName())
+                        .baseUnit("milliseconds")
+                        .register(registry);
+            }
+        };
+    }
+
+    /**
+     * Ordered, so it runs before the unordered concurrency limiter, which then caps
+     * connections to the primary and the replicas alike
+     */
+    private static final class RoutingPostProcessor implements BeanPostProcessor, Ordered {
+
+        private final ReplicaRoutingProperties properties;
+
+        private RoutingPostProcessor(ReplicaRoutingProperties properties) {
+            this.properties = properties;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof DataSource dataSource && !(bean instanceof ReplicaRoutingDataSource)) {
+                List<ReplicaRoutingDataSource.Replica> replicas = properties.getNodes().stream()
+                        .map(node -> new ReplicaRoutingDataSource.Replica(node.getName(), replicaPool(node)))
+                        .toList();
+                log.info("Routing read-only transactions on DataSource '{}' to {} replicas", beanName,
+                        replicas.size());
+                return new ReplicaRoutingDataSource(dataSource, replicas);
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+
+    private static HikariDataSource replicaPool(ReplicaRoutingProperties.Node node) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setPoolName("replica-" + node.getName());
+        pool.setJdbcUrl(node.getUrl());
+        pool.setUsername(node.getUsername());
+        pool.setPassword(node.getPassword());
+        pool.setMaximumPoolSize(node.getMaximumPoolSize());
+        pool.setReadOnly(true);
+        // Start without connections, so a replica that is down does not block startup
+        pool.setInitializationFailTimeout(-1);
+        return pool;
+    }
+}
@@ -0,0 +1,132 @@
+package com.aozorastudio.atlas.common.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sends read-only transactions to a healthy replica and everything else to the primary.
+ * The physical connection is fetched lazily, on the first statement, because the
+ * transaction's read-only flag is only known after it has begun. Reads go to the primary
+ * when every replica is lagging or when the request is in a read-your-writes window.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements AutoCloseable {
+
+    @Getter
+    private final List<Replica> replicas;
+
+    private final AtomicInteger next = new AtomicInteger();
+    private final AtomicLong replicaReads = new AtomicLong();
+    private final AtomicLong primaryReads = new AtomicLong();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<Replica> replicas) {
+        super(primary);
+        this.replicas = List.copyOf(replicas);
+        setReadOnlyDataSource(new ReadRouter());
+    }
+
+    public DataSource getPrimary() {
+        return obtainTargetDataSource();
+    }
+
+    public long getReplicaReads() {
+        return replicaReads.get();
+    }
+
+    /**
+     * Read-only connections served by the primary, for read-your-writes or replica lag
+     */
+    public long getPrimaryReads() {
+        return primaryReads.get();
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            replica.getDataSource().close();
+        }
+        if (obtainTargetDataSource() instanceof AutoCloseable primary) {
+            primary.close();
+        }
+    }
+
+    private Replica pickReplica() {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.isHealthy()) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Target for read-only connections
+     */
+    private final class ReadRouter extends AbstractDataSource {
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            Replica replica = ReplicaRoutingContext.isPrimaryRequired() ? null : pickReplica();
+            if (replica == null) {
+                primaryReads.incrementAndGet();
+                return obtainTargetDataSource().getConnection();
+            }
+            replicaReads.incrementAndGet();
+            return replica.getDataSource().getConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return getConnection();
+        }
+    }
+
+    /**
+     * One replica pool and its last measured lag
+     */
+    public static class Replica {
+
+        @Getter
+        private final String name;
+
+        @Getter
+        private final HikariDataSource dataSource;
+
+        /**
+         * Null until the first successful lag check, so new replicas start out unused
+         */
+        @Getter
+        private volatile Duration lag;
+
+        @Getter
+        private volatile boolean healthy;
+
+        public Replica(String name, HikariDataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        void update(Duration lag, Duration maxLag) {
+            boolean wasHealthy = healthy;
+            this.lag = lag;
+            this.healthy = lag != null && lag.compareTo(maxLag) <= 0;
+            if (wasHealthy != healthy) {
+                log.info("Replica {} is {} (lag: {})", name, healthy ? "back in rotation" : "out of rotation", lag);
+            }
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.aozorastudio.atlas.common.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration for routing read-only transactions to replicas
+ */
+@Data
+@ConfigurationProperties(prefix = "atlas.datasource.replicas")
+public class ReplicaRoutingProperties {
+
+    private boolean enabled = false;
+
+    private List<Node> nodes = new ArrayList<>();
+
+    /**
+     * Replicas further behind the primary than this get no reads until they catch up
+     */
+    private Duration maxLag = Duration.ofSeconds(5);
+
+    private long lagCheckIntervalMs = 2_000;
+
+    /**
+     * How long a client's reads stay on the primary after it sent a mutating request
+     */
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+    private String readYourWritesCookie = "atlas-primary-until";
+
+    @Data
+    public static class Node {
+        private String name;
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+    }
+}
@@ -1,8 +1,19 @@
 package com.aozorastudio.atlas.common.exception;
 
+import com.aozorastudio.atlas.tenant.dto.TenantVersion;
+import com.aozorastudio.atlas.tenant.exception.InvalidTenantCursorException;
 import com.aozorastudio.atlas.tenant.exception.TenantCodeAlreadyExistsException;
+import com.aozorastudio.atlas.tenant.exception.TenantCursorExpiredException;
+import com.aozorastudio.atlas.tenant.exception.TenantImportJobNotFoundException;
+import com.aozorastudio.atlas.tenant.exception.TenantImportRejectedException;
 import com.aozorastudio.atlas.tenant.exception.TenantNotFoundException;
+import com.aozorastudio.atlas.tenant.exception.TenantPreconditionRequiredException;
+import com.aozorastudio.atlas.tenant.exception.TenantRateLimitExceededException;
+import com.aozorastudio.atlas.tenant.exception.TenantStreamUnavailableException;
+import com.aozorastudio.atlas.tenant.exception.TenantVersionMismatchException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -49,6 +60,145 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
     }
 
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex) {
+        log.error("Concurrent modification: {}", ex.getMessage());
+
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.CONFLICT.value())
+                .error("Conflict")
+                .message("The resource was modified concurrently, please retry")
+                .build();
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+    }
+
+    @ExceptionHandler(TenantVersionMismatchException.class)
+    public ResponseEntity<ErrorResponse> handleTenantVersionMismatchException(TenantVersionMismatchException ex) {
+        log.warn("Precondition failed: {}", ex.getMessage());
+
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.PRECONDITION_FAILED.value())
+                .error("Precondition Failed")
+                .message(ex.getMessage())
+                .build();
+
+        // Hand back the current tag so the client can re-read or retry without guessing
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.PRECONDITION_FAILED);
+        if (ex.getCurrentVersion() != null) {
+            response.eTag(new TenantVersion(ex.getId(), ex.getCurrentVersion()).toEtag());
+        }
+        return response.body(errorResponse);
+    }
+
+    @ExceptionHandler(TenantPreconditionRequiredException.class)
+    public ResponseEntity<ErrorResponse> handleTenantPreconditionRequiredException(TenantPreconditionRequiredException ex) {
+        log.warn("Precondition required: {}", ex.getMessage());
+
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.PRECONDITION_REQUIRED.value())
+                .error("Precondition Required")
+                .message(ex.getMessage())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.PRECONDITION_REQUIRED).body(errorResponse);
+    }
+
+    @ExceptionHandler(InvalidTenantCursorException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidTenantCursorException(InvalidTenantCursorException ex) {
+        log.error("Invalid cursor: {}", ex.getMessage());
+
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.BAD_REQUEST.value())
+                .error("Bad Request")
+                .message(ex.getMessage())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    }
+
+    @ExceptionHandler(TenantCursorExpiredException.class)
+    public ResponseEntity<ErrorResponse> handleTenantCursorExpiredException(TenantCursorExpiredException ex) {
+        log.warn("Expired cursor: {}", ex.getMessage());
+
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.GONE.value())
+                .error("Gone")
+                .message(ex.getMessage())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.GONE).body(errorResponse);
+    }
+
+    @ExceptionHandler(TenantImportJobNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleTenantImportJobNotFoundException(TenantImportJobNotFoundException ex) {
+        log.error("Import job not found: {}", ex.getMessage());
+
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.NOT_FOUND.value())
+                .error("Not Found")
+                .message(ex.getMessage())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+    }
+
+    @ExceptionHandler(TenantImportRejectedException.class)
+    public ResponseEntity<ErrorResponse> handleTenantImportRejectedException(TenantImportRejectedException ex) {
+        log.warn("Import rejected: {}", ex.getMessage());
+
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.TOO_MANY_REQUESTS.value())
+                .error("Too Many Requests")
+                .message(ex.getMessage())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfter().toSeconds()))
+                .body(errorResponse);
+    }
+
+    @ExceptionHandler(TenantStreamUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleTenantStreamUnavailableException(TenantStreamUnavailableException ex) {
+        log.warn("Change stream subscription refused: {}", ex.getMessage());
+
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .error("Service Unavailable")
+                .message(ex.getMessage())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfter().toSeconds()))
+                .body(errorResponse);
+    }
+
+    @ExceptionHandler(TenantRateLimitExceededException.class)
+    public ResponseEntity<ErrorResponse> handleTenantRateLimitExceededException(TenantRateLimitExceededException ex) {
+        log.debug("Tenant throttled: {}", ex.getMessage());
+
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.TOO_MANY_REQUESTS.value())
+                .error("Too Many Requests")
+                .message(ex.getMessage())
+                .build();
+
+        // Retry-After has whole-second resolution; round up so clients never retry early
+        long retryAfterSeconds = Math.max(1, (ex.getRetryAfter().toMillis() + 999) / 1000);
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(errorResponse);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ValidationErrorResponse> handleValidationExceptions(MethodArgumentNotValidException ex) {
         log.error("Validation error: {}", ex.getMessage());
@@ -0,0 +1,28 @@
+package com.aozorastudio.atlas.common.id;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Generates the id from blocks reserved in the {@code id_generators} table by
+ * {@link IdBlockAllocator}, so inserts can still be batched
+ */
+@IdGeneratorType(BlockIdGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface BlockAllocatedId {
+
+    /**
+     * Row in {@code id_generators} the ids are taken from
+     */
+    String sequence();
+
+    /**
+     * Ids reserved per round trip
+     */
+    int blockSize() default 50;
+}
@@ -0,0 +1,49 @@
+package com.aozorastudio.atlas.common.id;
+
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+
+import java.lang.reflect.Member;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hands out ids from the current block and reserves the next one when it runs out. The
+ * first id of a block is the value {@code next_val} held, as with the pooled-lo optimizer.
+ */
+public class BlockIdGenerator implements IdentifierGenerator {
+
+    private final IdBlockAllocator allocator;
+    private final String sequence;
+    private final int blockSize;
+    private final ReentrantLock lock = new ReentrantLock();
+    private long next;
+    private long limit;
+
+    public BlockIdGenerator(BlockAllocatedId config, Member member, CustomIdGeneratorCreationContext context) {
+        Object allocator = context.getServiceRegistry().requireService(ConfigurationService.class)
+                .getSettings().get(IdBlockAllocator.SETTING);
+        if (!(allocator instanceof IdBlockAllocator blocks)) {
+            throw new IllegalStateException("No IdBlockAllocator in the Hibernate settings for " + member.getName());
+        }
+        this.allocator = blocks;
+        this.sequence = config.sequence();
+        this.blockSize = config.blockSize();
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        // Not synchronized, so a virtual thread waiting for a block does not pin its carrier
+        lock.lock();
+        try {
+            if (next == limit) {
+                next = allocator.allocate(sequence, blockSize);
+                limit = next + blockSize;
+            }
+            return next++;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.aozorastudio.atlas.common.id;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Gives {@link IdBlockAllocator} a small pool on the primary database and passes it to
+ * Hibernate. The pool is not a DataSource bean, so it neither replaces the auto-configured
+ * one nor gets wrapped by the replica and concurrency limiting post-processors.
+ */
+@Configuration
+@Slf4j
+public class IdAllocationConfiguration {
+
+    @Bean(destroyMethod = "close")
+    public IdBlockAllocator idBlockAllocator(DataSourceProperties dataSourceProperties,
+            IdAllocationProperties properties) {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(dataSourceProperties.determineUrl());
+        config.setUsername(dataSourceProperties.determineUsername());
+        config.setPassword(dataSourceProperties.determinePassword());
+        config.setDriverClassName(dataSourceProperties.determineDriverClassName());
+        config.setPoolName("id-allocation");
+        config.setMaximumPoolSize(properties.getPoolSize());
+        config.setMinimumIdle(0);
+        config.setConnectionTimeout(properties.getConnectionTimeout().toMillis());
+        // Start without connections, so the pool never delays startup
+        config.setInitializationFailTimeout(-1);
+        log.info("Allocating id blocks on a pool of {} connections", properties.getPoolSize());
+        return new IdBlockAllocator(new HikariDataSource(config));
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer idBlockAllocatorCustomizer(IdBlockAllocator idBlockAllocator) {
+        return hibernateProperties -> hibernateProperties.put(IdBlockAllocator.SETTING, idBlockAllocator);
+    }
+}
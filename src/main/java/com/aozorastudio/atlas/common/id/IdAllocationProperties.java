@@ -0,0 +1,22 @@
+package com.aozorastudio.atlas.common.id;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration for the connections that reserve id blocks
+ */
+@Data
+@ConfigurationProperties(prefix = "atlas.datasource.id-allocation")
+public class IdAllocationProperties {
+
+    /**
+     * Connections in the allocator's pool; blocks are reserved one at a time per sequence,
+     * so a couple is enough
+     */
+    private int poolSize = 2;
+
+    private Duration connectionTimeout = Duration.ofSeconds(5);
+}
@@ -0,0 +1,76 @@
+package com.aozorastudio.atlas.common.id;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Reserves blocks of ids in the {@code id_generators} table on connections of its own.
+ * Hibernate's table generator took them from the application pool while the insert's
+ * transaction still held a connection from it, so writers holding every pool connection
+ * could starve the allocator they were waiting on.
+ */
+public class IdBlockAllocator implements AutoCloseable {
+
+    /**
+     * Hibernate setting under which the allocator is handed to {@link BlockIdGenerator}
+     */
+    public static final String SETTING = "atlas.id-block-allocator";
+
+    private static final String SELECT = "SELECT next_val FROM id_generators WHERE sequence_name = ? FOR UPDATE";
+
+    private static final String UPDATE = "UPDATE id_generators SET next_val = ? WHERE sequence_name = ?";
+
+    private final DataSource dataSource;
+
+    public IdBlockAllocator(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * Reserve the next block of the sequence and return its first id
+     */
+    public long allocate(String sequence, int blockSize) {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                long first = reserve(connection, sequence, blockSize);
+                connection.commit();
+                return first;
+            } catch (SQLException | RuntimeException ex) {
+                connection.rollback();
+                throw ex;
+            }
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Could not allocate ids for sequence " + sequence, ex);
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (dataSource instanceof AutoCloseable pool) {
+            pool.close();
+        }
+    }
+
+    private static long reserve(Connection connection, String sequence, int blockSize) throws SQLException {
+        long first;
+        try (PreparedStatement select = connection.prepareStatement(SELECT)) {
+            select.setString(1, sequence);
+            try (ResultSet rs = select.executeQuery()) {
+                if (!rs.next()) {
+                    throw new IllegalStateException("No row for sequence " + sequence + " in id_generators");
+                }
+                first = rs.getLong(1);
+            }
+        }
+        try (PreparedStatement update = connection.prepareStatement(UPDATE)) {
+            update.setLong(1, first + blockSize);
+            update.setString(2, sequence);
+            update.executeUpdate();
+        }
+        return first;
+    }
+}
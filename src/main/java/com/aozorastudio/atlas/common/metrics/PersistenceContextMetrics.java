@@ -0,0 +1,64 @@
+package com.aozorastudio.atlas.common.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+/**
+ * Records how many entities the persistence context holds when a transaction commits, as
+ * {@code atlas.jpa.persistence-context.entities} tagged with the transactional method
+ * (e.g. {@code TenantService.getTenantById}). A value that grows with page size points at
+ * a read path that loads managed entities where a projection would do. Spring Boot
+ * registers this listener with the auto-configured transaction manager.
+ */
+@Component
+public class PersistenceContextMetrics implements TransactionExecutionListener {
+
+    static final String METRIC = "atlas.jpa.persistence-context.entities";
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final MeterRegistry meterRegistry;
+
+    public PersistenceContextMetrics(EntityManagerFactory entityManagerFactory, MeterRegistry meterRegistry) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void beforeCommit(TransactionExecution transaction) {
+        if (!transaction.isNewTransaction()) {
+            return;
+        }
+
+        EntityManager entityManager = EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory);
+        if (entityManager == null) {
+            return;
+        }
+
+        int entities = entityManager.unwrap(Session.class).getStatistics().getEntityCount();
+        DistributionSummary.builder(METRIC)
+                .description("Managed entities in the persistence context at commit")
+                .baseUnit("entities")
+                .tag("transaction", shortName(transaction.getTransactionName()))
+                .register(meterRegistry)
+                .record(entities);
+    }
+
+    /**
+     * Drop the package from "com.example.Service.method", leaving "Service.method"
+     */
+    static String shortName(String transactionName) {
+        if (transactionName == null || transactionName.isEmpty()) {
+            return "unnamed";
+        }
+        int method = transactionName.lastIndexOf('.');
+        int type = method > 0 ? transactionName.lastIndexOf('.', method - 1) : -1;
+        return transactionName.substring(type + 1);
+    }
+}
@@ -0,0 +1,73 @@
+package com.aozorastudio.atlas.common.scheduling;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Runs full rebuilds and reloads on their own thread, one at a time, so a slow one cannot
+ * hold up the short jobs on the shared scheduler such as invalidation flushes and heartbeats.
+ * A job submitted while it is already waiting is dropped; one submitted while it is running
+ * waits for that run to finish.
+ */
+@Component
+@Slf4j
+public class MaintenanceRunner {
+
+    private final Executor executor;
+    private final Set<String> waiting = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public MaintenanceRunner() {
+        ThreadPoolTaskExecutor pool = new ThreadPoolTaskExecutor();
+        pool.setCorePoolSize(1);
+        pool.setMaxPoolSize(1);
+        pool.setThreadNamePrefix("maintenance-");
+        pool.initialize();
+        this.executor = pool;
+    }
+
+    /**
+     * Run jobs on the given executor, e.g. the calling thread in tests
+     */
+    public MaintenanceRunner(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Queue the job unless a run of it is already waiting
+     */
+    public void submit(String job, Runnable task) {
+        if (!waiting.add(job)) {
+            return;
+        }
+
+        try {
+            executor.execute(() -> {
+                waiting.remove(job);
+                try {
+                    task.run();
+                } catch (RuntimeException ex) {
+                    log.warn("Maintenance job {} failed: {}", job, ex.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            waiting.remove(job);
+            log.warn("Maintenance job {} rejected: {}", job, ex.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor instanceof ThreadPoolTaskExecutor pool) {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.aozorastudio.atlas.tenant.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes invalidation batches on a Redis pub/sub channel
+ */
+@Component
+@RequiredArgsConstructor
+public class RedisTenantInvalidationTransport implements TenantInvalidationTransport {
+
+    private final TenantCacheProperties properties;
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void send(TenantInvalidationBatch batch) {
+        try {
+            redisTemplate.convertAndSend(properties.getInvalidation().getChannel(),
+                    objectMapper.writeValueAsString(batch));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Unable to serialize tenant invalidation batch", ex);
+        }
+    }
+}
@@ -0,0 +1,386 @@
+package com.aozorastudio.atlas.tenant.cache;
+
+import com.aozorastudio.atlas.tenant.dto.TenantResponse;
+import com.aozorastudio.atlas.tenant.service.TenantChange;
+import com.aozorastudio.atlas.tenant.service.TenantChangeListener;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Read-through tenant cache with a bounded in-process L1 backed by Redis as L2.
+ * Entries are only ever replaced by a snapshot carrying the same or a newer @Version.
+ * <p>
+ * An eviction leaves a short-lived tombstone in both tiers holding the lowest version that
+ * may be cached again, so a load that read the row before a delete, or from a lagging
+ * replica, cannot put the old state back. A delete's tombstone refuses every version.
+ */
+@Component
+@Slf4j
+public class TenantCache implements TenantChangeListener {
+
+    /**
+     * Stores "version|json" unless Redis already holds a newer version or a tombstone
+     * ("version|") above it
+     */
+    private static final RedisScript<Long> PUT_IF_NEWER = new DefaultRedisScript<>(
+            "local current = redis.call('GET', KEYS[1]) " +
+            "if current then " +
+            "  local sep = string.find(current, '|', 1, true) " +
+            "  if sep and tonumber(string.sub(current, 1, sep - 1)) > tonumber(ARGV[1]) then return 0 end " +
+            "end " +
+            "redis.call('SET', KEYS[1], ARGV[1] .. '|' .. ARGV[2], 'PX', ARGV[3]) " +
+            "return 1",
+            Long.class);
+
+    /**
+     * Tombstone version for a deleted tenant, above any version a load can return
+     */
+    private static final long DELETED = Long.MAX_VALUE;
+
+    private final TenantCacheProperties properties;
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    private final Cache<Long, TenantResponse> byId;
+    private final Cache<String, Long> idByCode;
+
+    /**
+     * Lowest version that may be cached again, per evicted id
+     */
+    private final Cache<Long, Long> tombstones;
+
+    private final Counter redisHits;
+    private final Counter redisMisses;
+    private final Counter redisErrors;
+    private final Counter invalidations;
+
+    private volatile long redisBypassUntil;
+
+    public TenantCache(TenantCacheProperties properties,
+            StringRedisTemplate redisTemplate,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(properties.getLocal().getMaximumSize())
+                .expireAfterWrite(properties.getLocal().getTtl())
+                .recordStats()
+                .build();
+        this.idByCode = Caffeine.newBuilder()
+                .maximumSize(properties.getLocal().getMaximumSize())
+                .expireAfterWrite(properties.getLocal().getTtl())
+                .recordStats()
+                .build();
+
+        this.tombstones = Caffeine.newBuilder()
+                .maximumSize(properties.getLocal().getMaximumSize())
+                .expireAfterWrite(properties.getTombstoneTtl())
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, "tenant.by-id");
+        CaffeineCacheMetrics.monitor(meterRegistry, idByCode, "tenant.by-code");
+
+        this.redisHits = redisCounter(meterRegistry, "hit");
+        this.redisMisses = redisCounter(meterRegistry, "miss");
+        this.redisErrors = redisCounter(meterRegistry, "error");
+        this.invalidations = Counter.builder("atlas.tenant.cache.invalidations")
+                .description("Tenant cache entries evicted or refreshed by writes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Look up a tenant by id in L1, then L2
+     */
+    public Optional<TenantResponse> getById(Long id) {
+        if (!properties.isEnabled()) {
+            return Optional.empty();
+        }
+
+        TenantResponse cached = byId.getIfPresent(id);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        TenantResponse remote = readRedis(id);
+        if (remote != null) {
+            putLocal(remote);
+        }
+        return Optional.ofNullable(remote);
+    }
+
+    /**
+     * Look up a tenant by code in L1, then L2
+     */
+    public Optional<TenantResponse> getByCode(String code) {
+        if (!properties.isEnabled()) {
+            return Optional.empty();
+        }
+
+        Long id = idByCode.getIfPresent(code);
+        if (id == null) {
+            id = readRedisCode(code);
+        }
+        if (id == null) {
+            return Optional.empty();
+        }
+
+        Optional<TenantResponse> tenant = getById(id);
+        if (tenant.isPresent()) {
+            idByCode.put(code, id);
+        }
+        return tenant;
+    }
+
+    /**
+     * Populate both tiers after a database load or a committed write. Skipped for a
+     * snapshot older than a recent eviction.
+     */
+    public void put(TenantResponse tenant) {
+        if (!properties.isEnabled() || tenant.getId() == null || isBuried(tenant)) {
+            return;
+        }
+
+        putLocal(tenant);
+        writeRedis(tenant);
+    }
+
+    /**
+     * Drop a tenant from both tiers and refuse snapshots older than the given version for a
+     * while; pass null when the version is unknown to refuse them all
+     */
+    public void evict(Long id, String code, Long minVersion) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        long floor = minVersion != null ? minVersion : DELETED;
+        evictLocal(id, code, floor);
+        buryRedis(id, code, floor);
+    }
+
+    @Override
+    public void onTenantChange(TenantChange change) {
+        invalidations.increment();
+
+        if (change.isRemote()) {
+            // The originating node already refreshed L2; only drop stale local copies
+            evictLocalIfStale(change);
+        } else if (change.getType() == TenantChange.Type.DELETED) {
+            evict(change.getId(), change.getCode(), null);
+        } else if (change.getSnapshot() == null) {
+            evict(change.getId(), change.getCode(), change.getVersion());
+        } else {
+            put(change.getSnapshot());
+        }
+    }
+
+    void putLocal(TenantResponse tenant) {
+        // Decided under the entry's lock, so it cannot interleave with an eviction of the same id
+        TenantResponse stored = byId.asMap().compute(tenant.getId(), (id, current) -> {
+            if (isBuried(tenant) || current != null && isOlder(tenant, current)) {
+                return current;
+            }
+            return tenant;
+        });
+        if (stored == tenant) {
+            idByCode.put(tenant.getCode(), tenant.getId());
+        }
+    }
+
+    void evictLocal(Long id, String code, long floor) {
+        if (id != null) {
+            byId.asMap().compute(id, (key, current) -> {
+                bury(key, floor);
+                return null;
+            });
+        }
+        if (code != null) {
+            idByCode.invalidate(code);
+        }
+    }
+
+    void evictLocalIfStale(TenantChange change) {
+        boolean deleted = change.getType() == TenantChange.Type.DELETED;
+        long version = change.getVersion() != null ? change.getVersion() : Long.MAX_VALUE;
+
+        byId.asMap().compute(change.getId(), (id, current) -> {
+            bury(id, deleted ? DELETED : version);
+            if (current == null) {
+                return null;
+            }
+            long cachedVersion = current.getVersion() != null ? current.getVersion() : -1L;
+            boolean stale = deleted ? cachedVersion <= version : cachedVersion < version;
+            return stale ? null : current;
+        });
+        if (deleted && change.getCode() != null) {
+            idByCode.invalidate(change.getCode());
+        }
+    }
+
+    TenantResponse getLocal(Long id) {
+        return byId.getIfPresent(id);
+    }
+
+    private void bury(Long id, long floor) {
+        tombstones.asMap().merge(id, floor, Math::max);
+    }
+
+    private boolean isBuried(TenantResponse tenant) {
+        Long floor = tombstones.getIfPresent(tenant.getId());
+        return floor != null && (tenant.getVersion() == null || tenant.getVersion() < floor);
+    }
+
+    private static boolean isOlder(TenantResponse candidate, TenantResponse current) {
+        return candidate.getVersion() != null && current.getVersion() != null
+                && candidate.getVersion() < current.getVersion();
+    }
+
+    private TenantResponse readRedis(Long id) {
+        if (!redisAvailable()) {
+            return null;
+        }
+
+        try {
+            String value = redisTemplate.opsForValue().get(idKey(id));
+            int separator = value != null ? value.indexOf('|') : -1;
+            if (value == null || separator == value.length() - 1) {
+                // Absent, or a tombstone left by an eviction
+                redisMisses.increment();
+                return null;
+            }
+
+            redisHits.increment();
+            return objectMapper.readValue(value.substring(separator + 1), TenantResponse.class);
+        } catch (JsonProcessingException ex) {
+            log.warn("Discarding unreadable cached tenant with id: {}", id);
+            deleteRedis(id, null);
+            return null;
+        } catch (RuntimeException ex) {
+            redisFailed(ex);
+            return null;
+        }
+    }
+
+    private Long readRedisCode(String code) {
+        if (!redisAvailable()) {
+            return null;
+        }
+
+        try {
+            String value = redisTemplate.opsForValue().get(codeKey(code));
+            if (value == null) {
+                redisMisses.increment();
+                return null;
+            }
+
+            redisHits.increment();
+            return Long.valueOf(value);
+        } catch (RuntimeException ex) {
+            redisFailed(ex);
+            return null;
+        }
+    }
+
+    private void writeRedis(TenantResponse tenant) {
+        if (!redisAvailable()) {
+            return;
+        }
+
+        try {
+            long ttlMillis = properties.getRedis().getTtl().toMillis();
+            long version = tenant.getVersion() != null ? tenant.getVersion() : 0L;
+
+            Long stored = redisTemplate.execute(PUT_IF_NEWER, List.of(idKey(tenant.getId())),
+                    String.valueOf(version),
+                    objectMapper.writeValueAsString(tenant),
+                    String.valueOf(ttlMillis));
+            if (stored != null && stored == 1L) {
+                redisTemplate.opsForValue().set(codeKey(tenant.getCode()), String.valueOf(tenant.getId()),
+                        properties.getRedis().getTtl());
+            }
+        } catch (JsonProcessingException ex) {
+            log.warn("Unable to serialize tenant with id: {} for caching", tenant.getId(), ex);
+        } catch (RuntimeException ex) {
+            redisFailed(ex);
+        }
+    }
+
+    /**
+     * Replace the entry with a tombstone; PUT_IF_NEWER then refuses anything below the floor
+     */
+    private void buryRedis(Long id, String code, long floor) {
+        if (!redisAvailable()) {
+            return;
+        }
+
+        try {
+            if (id != null) {
+                redisTemplate.opsForValue().set(idKey(id), floor + "|", properties.getTombstoneTtl());
+            }
+            if (code != null) {
+                redisTemplate.delete(codeKey(code));
+            }
+        } catch (RuntimeException ex) {
+            redisFailed(ex);
+        }
+    }
+
+    private void deleteRedis(Long id, String code) {
+        if (!redisAvailable()) {
+            return;
+        }
+
+        try {
+            if (id != null) {
+                redisTemplate.delete(idKey(id));
+            }
+            if (code != null) {
+                redisTemplate.delete(codeKey(code));
+            }
+        } catch (RuntimeException ex) {
+            redisFailed(ex);
+        }
+    }
+
+    private boolean redisAvailable() {
+        return properties.getRedis().isEnabled() && System.currentTimeMillis() >= redisBypassUntil;
+    }
+
+    private void redisFailed(RuntimeException ex) {
+        redisErrors.increment();
+        redisBypassUntil = System.currentTimeMillis() + properties.getRedis().getFailureBackoff().toMillis();
+        log.warn("Tenant cache L2 unavailable, bypassing Redis for {}: {}",
+                properties.getRedis().getFailureBackoff(), ex.getMessage());
+    }
+
+    private String idKey(Long id) {
+        return properties.getRedis().getKeyPrefix() + "id:" + id;
+    }
+
+    private String codeKey(String code) {
+        return properties.getRedis().getKeyPrefix() + "code:" + code;
+    }
+
+    private static Counter redisCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("atlas.tenant.cache.l2")
+                .description("Tenant cache Redis (L2) lookups")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
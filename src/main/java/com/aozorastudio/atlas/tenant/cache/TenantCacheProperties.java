@@ -0,0 +1,65 @@
+package com.aozorastudio.atlas.tenant.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration for the two-tier tenant lookup cache
+ */
+@Data
+@ConfigurationProperties(prefix = "atlas.tenant.cache")
+public class TenantCacheProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * How long an eviction keeps older snapshots out of the cache; should cover the slowest
+     * database load plus replica lag
+     */
+    private Duration tombstoneTtl = Duration.ofMinutes(1);
+
+    private final Local local = new Local();
+
+    private final Redis redis = new Redis();
+
+    private final Invalidation invalidation = new Invalidation();
+
+    @Data
+    public static class Local {
+        private long maximumSize = 10_000;
+        private Duration ttl = Duration.ofMinutes(5);
+    }
+
+    @Data
+    public static class Redis {
+        private boolean enabled = true;
+        private Duration ttl = Duration.ofMinutes(30);
+        private String keyPrefix = "atlas:tenant:";
+
+        /**
+         * How long to bypass Redis after a failed call
+         */
+        private Duration failureBackoff = Duration.ofSeconds(5);
+    }
+
+    @Data
+    public static class Invalidation {
+        private boolean enabled = true;
+        private String channel = "atlas:tenant:invalidations";
+        private long flushIntervalMs = 50;
+        private int maxBatchSize = 500;
+
+        /**
+         * How often an idle node sends an empty batch, so peers can spot gaps and the node
+         * can see its own messages come back
+         */
+        private Duration heartbeatInterval = Duration.ofSeconds(1);
+
+        /**
+         * How long without hearing its own messages before a node stops trusting the channel
+         */
+        private Duration staleAfter = Duration.ofSeconds(5);
+    }
+}
@@ -0,0 +1,267 @@
+package com.aozorastudio.atlas.tenant.cache;
+
+import com.aozorastudio.atlas.common.datasource.ReplicaRoutingContext;
+import com.aozorastudio.atlas.common.scheduling.MaintenanceRunner;
+import com.aozorastudio.atlas.tenant.repository.TenantRepository;
+import com.aozorastudio.atlas.tenant.search.TenantIndexEntry;
+import com.aozorastudio.atlas.tenant.service.TenantChange;
+import com.aozorastudio.atlas.tenant.service.TenantChangeListener;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Answers "this code does not exist" without the database. A Bloom filter over live
+ * codes rules out most unknown codes; codes it lets through but the database did not
+ * find are remembered for a short while in a negative cache. Deletes leave stale bits,
+ * which only cost a query until the next periodic rebuild.
+ * <p>
+ * Creates on other nodes arrive through the {@link TenantInvalidationBus}. Absence is only
+ * reported while the bus is caught up and has lost nothing since the filter was built;
+ * otherwise lookups go to the database until a rebuild catches the filter up.
+ */
+@Component
+@Slf4j
+public class TenantCodeFilter implements TenantChangeListener {
+
+    private final TenantCodeFilterProperties properties;
+    private final TenantRepository tenantRepository;
+    private final TenantInvalidationBus invalidationBus;
+    private final MaintenanceRunner maintenanceRunner;
+    private final Cache<String, Boolean> missingCodes;
+    private final AtomicLong creations = new AtomicLong();
+
+    private final Counter definiteMisses;
+    private final Counter negativeHits;
+    private final Counter falsePositives;
+
+    private volatile BloomFilter filter;
+    private volatile BloomFilter building;
+
+    /**
+     * Bus resync count the current filter was built at
+     */
+    private volatile long builtAtResync = -1;
+
+    public TenantCodeFilter(TenantCodeFilterProperties properties,
+            TenantRepository tenantRepository,
+            TenantInvalidationBus invalidationBus,
+            MaintenanceRunner maintenanceRunner,
+            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.tenantRepository = tenantRepository;
+        this.invalidationBus = invalidationBus;
+        this.maintenanceRunner = maintenanceRunner;
+
+        this.missingCodes = Caffeine.newBuilder()
+                .maximumSize(properties.getNegative().getMaximumSize())
+                .expireAfterWrite(properties.getNegative().getTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, missingCodes, "tenant.missing-code");
+
+        this.definiteMisses = checkCounter(meterRegistry, "definite_miss");
+        this.negativeHits = checkCounter(meterRegistry, "negative_hit");
+        this.falsePositives = checkCounter(meterRegistry, "false_positive");
+
+        Gauge.builder("atlas.tenant.code-filter.expected-fpp", this, TenantCodeFilter::expectedFalsePositiveProbability)
+                .description("Expected false-positive probability of the tenant code Bloom filter")
+                .register(meterRegistry);
+        Gauge.builder("atlas.tenant.code-filter.size", this, TenantCodeFilter::bitSize)
+                .description("Size of the tenant code Bloom filter")
+                .baseUnit("bits")
+                .register(meterRegistry);
+        Gauge.builder("atlas.tenant.code-filter.entries", this, TenantCodeFilter::insertions)
+                .description("Codes inserted into the tenant code Bloom filter since it was built")
+                .register(meterRegistry);
+    }
+
+    /**
+     * True only when the code certainly belongs to no live tenant
+     */
+    public boolean isDefinitelyAbsent(String code) {
+        BloomFilter current = filter;
+        if (!properties.isEnabled() || current == null || code == null || !isCurrent()) {
+            return false;
+        }
+
+        if (!current.mightContain(code)) {
+            definiteMisses.increment();
+            return true;
+        }
+        if (missingCodes.getIfPresent(code) != null) {
+            negativeHits.increment();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Token to take before querying the database for a code, passed back to {@link #recordMiss}
+     */
+    public long missToken() {
+        return creations.get();
+    }
+
+    /**
+     * Remember a code the database did not find. Skipped if any tenant was created
+     * since the token was taken, since that create may be the one being looked up.
+     */
+    public void recordMiss(String code, long token) {
+        if (!properties.isEnabled() || filter == null || code == null) {
+            return;
+        }
+
+        falsePositives.increment();
+        if (creations.get() == token) {
+            missingCodes.put(code, Boolean.TRUE);
+        }
+    }
+
+    @Override
+    public void onTenantChange(TenantChange change) {
+        if (!properties.isEnabled() || change.getCode() == null
+                || change.getType() == TenantChange.Type.DELETED) {
+            return;
+        }
+
+        creations.incrementAndGet();
+        add(change.getCode());
+        missingCodes.invalidate(change.getCode());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (properties.isEnabled()) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Rebuild as soon as the bus reports lost invalidations and is healthy again
+     */
+    @Scheduled(fixedDelayString = "${atlas.tenant.code-filter.resync-check-interval-ms:1000}")
+    public void resyncIfBehind() {
+        if (isBehind()) {
+            maintenanceRunner.submit("tenant-code-filter-resync", () -> {
+                // Another rebuild may have caught up while this one waited
+                if (isBehind()) {
+                    log.info("Rebuilding tenant code filter after lost invalidations");
+                    rebuild();
+                }
+            });
+        }
+    }
+
+    /**
+     * Periodic rebuild, off the shared scheduler
+     */
+    @Scheduled(initialDelayString = "${atlas.tenant.code-filter.rebuild-interval-ms:600000}",
+            fixedDelayString = "${atlas.tenant.code-filter.rebuild-interval-ms:600000}")
+    public void scheduleRebuild() {
+        if (properties.isEnabled()) {
+            maintenanceRunner.submit("tenant-code-filter-rebuild", this::rebuild);
+        }
+    }
+
+    /**
+     * Replace the filter with one built from the live codes, dropping bits left by deletes
+     */
+    public synchronized void rebuild() {
+        if (properties.isEnabled()) {
+            // A replica behind the bus would leave out codes already created, until the next rebuild
+            ReplicaRoutingContext.runOnPrimary(this::build);
+        }
+    }
+
+    private void build() {
+        // Taken before reading, so a loss during the read leaves the new filter behind
+        long resync = invalidationBus.getResyncCount();
+        long liveCount = tenantRepository.count();
+        BloomFilter fresh = new BloomFilter(
+                Math.max(properties.getExpectedInsertions(), liveCount + liveCount / 2),
+                properties.getFalsePositiveProbability());
+        // Creates committed from here on reach both filters
+        building = fresh;
+        try {
+            long afterId = 0L;
+            int batchSize = properties.getRebuildBatchSize();
+            List<TenantIndexEntry> batch;
+            do {
+                batch = tenantRepository.findIndexEntries(afterId, PageRequest.of(0, batchSize));
+                batch.forEach(entry -> fresh.put(entry.getCode()));
+                if (!batch.isEmpty()) {
+                    afterId = batch.get(batch.size() - 1).getId();
+                }
+            } while (batch.size() == batchSize);
+
+            if (resync != builtAtResync) {
+                // Misses recorded before the loss may be for codes created remotely
+                missingCodes.invalidateAll();
+            }
+            filter = fresh;
+            builtAtResync = resync;
+            log.info("Tenant code filter built for {} codes ({} bits, {} hashes)",
+                    fresh.insertions(), fresh.bitSize(), fresh.hashCount());
+        } catch (RuntimeException ex) {
+            log.warn("Tenant code filter rebuild failed, keeping the previous filter: {}", ex.getMessage());
+        } finally {
+            building = null;
+        }
+    }
+
+    private boolean isBehind() {
+        return properties.isEnabled() && filter != null
+                && invalidationBus.getResyncCount() != builtAtResync && invalidationBus.isCaughtUp();
+    }
+
+    private boolean isCurrent() {
+        return invalidationBus.isCaughtUp() && invalidationBus.getResyncCount() == builtAtResync;
+    }
+
+    private void add(String code) {
+        // Read building before filter: a rebuild publishes the new filter before clearing building
+        BloomFilter next = building;
+        if (next != null) {
+            next.put(code);
+        }
+        BloomFilter current = filter;
+        if (current != null) {
+            current.put(code);
+        }
+    }
+
+    private double expectedFalsePositiveProbability() {
+        BloomFilter current = filter;
+        return current != null ? current.expectedFalsePositiveProbability() : Double.NaN;
+    }
+
+    private double bitSize() {
+        BloomFilter current = filter;
+        return current != null ? current.bitSize() : 0;
+    }
+
+    private double insertions() {
+        BloomFilter current = filter;
+        return current != null ? current.insertions() : 0;
+    }
+
+    private static Counter checkCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("atlas.tenant.code-filter.checks")
+                .description("Tenant code lookups answered by the code filter, and false positives it let through")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,42 @@
+package com.aozorastudio.atlas.tenant.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration for the Bloom filter and negative cache in front of code lookups.
+ * On more than one node this relies on the invalidation bus to learn remote creates,
+ * and answers nothing from the filter while the bus may have lost some.
+ */
+@Data
+@ConfigurationProperties(prefix = "atlas.tenant.code-filter")
+public class TenantCodeFilterProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Lower bound for filter sizing; rebuilds size for the live count when it is larger
+     */
+    private long expectedInsertions = 1_000_000;
+
+    private double falsePositiveProbability = 0.01;
+
+    private long rebuildIntervalMs = 600_000;
+
+    private int rebuildBatchSize = 5_000;
+
+    /**
+     * How often to check whether the bus lost invalidations and the filter needs a rebuild
+     */
+    private long resyncCheckIntervalMs = 1_000;
+
+    private final Negative negative = new Negative();
+
+    @Data
+    public static class Negative {
+        private long maximumSize = 100_000;
+        private Duration ttl = Duration.ofSeconds(30);
+    }
+}
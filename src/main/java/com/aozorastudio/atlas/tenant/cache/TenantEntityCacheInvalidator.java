@@ -0,0 +1,68 @@
+package com.aozorastudio.atlas.tenant.cache;
+
+import com.aozorastudio.atlas.tenant.domain.Tenant;
+import com.aozorastudio.atlas.tenant.service.TenantChange;
+import com.aozorastudio.atlas.tenant.service.TenantChangeListener;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+
+/**
+ * Keeps Hibernate's second-level cache in step with writes committed on other nodes.
+ * Local writes need nothing: the READ_WRITE region is updated on commit, compares
+ * versions before accepting a put, and the query cache is invalidated by table timestamps.
+ * The region is per node though, so remote changes evict the tenant and the cached
+ * active-tenant pages here, as do local writes made outside Hibernate.
+ */
+@Component
+public class TenantEntityCacheInvalidator implements TenantChangeListener {
+
+    private final SessionFactory sessionFactory;
+
+    public TenantEntityCacheInvalidator(EntityManagerFactory entityManagerFactory) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+    }
+
+    @Override
+    public void onTenantChange(TenantChange change) {
+        if (!change.isRemote()) {
+            return;
+        }
+
+        evict(change.getId());
+    }
+
+    /**
+     * Evict a tenant written behind Hibernate's back once the current transaction commits.
+     * Evicting earlier would let a concurrent load put the old row back.
+     */
+    public void evictAfterCommit(Long id) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict(id);
+            }
+        });
+    }
+
+    /**
+     * Evict tenants hard-deleted by the purge job once its chunk commits
+     */
+    public void evictPurgedAfterCommit(Collection<Long> ids) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                ids.forEach(id -> sessionFactory.getCache().evictEntityData(Tenant.class, id));
+            }
+        });
+    }
+
+    private void evict(Long id) {
+        sessionFactory.getCache().evictEntityData(Tenant.class, id);
+        sessionFactory.getCache().evictQueryRegion(Tenant.ACTIVE_QUERY_CACHE_REGION);
+    }
+}
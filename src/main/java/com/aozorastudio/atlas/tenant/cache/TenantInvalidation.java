@@ -0,0 +1,32 @@
+package com.aozorastudio.atlas.tenant.cache;
+
+import com.aozorastudio.atlas.tenant.domain.Tenant;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Compact cross-node notice that a tenant changed
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TenantInvalidation {
+
+    private Long id;
+    private String code;
+    private Long version;
+    private Tenant.TenantStatus status;
+    private boolean deleted;
+
+    /**
+     * Whether this notice supersedes {@code other} for the same tenant
+     */
+    boolean supersedes(TenantInvalidation other) {
+        long mine = version != null ? version : -1L;
+        long theirs = other.version != null ? other.version : -1L;
+        return mine > theirs || (mine == theirs && deleted);
+    }
+}
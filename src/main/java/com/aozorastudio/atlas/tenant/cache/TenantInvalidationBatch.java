@@ -0,0 +1,21 @@
+package com.aozorastudio.atlas.tenant.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Batch of invalidations sent by a single node. Each node numbers its batches, so a
+ * receiver can tell when one went missing; an empty batch is a heartbeat.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TenantInvalidationBatch {
+
+    private String origin;
+    private long sequence;
+    private List<TenantInvalidation> invalidations;
+}
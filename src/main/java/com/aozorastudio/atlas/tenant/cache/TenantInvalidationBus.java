@@ -0,0 +1,254 @@
+package com.aozorastudio.atlas.tenant.cache;
+
+import com.aozorastudio.atlas.tenant.service.TenantChange;
+import com.aozorastudio.atlas.tenant.service.TenantChangeListener;
+import com.aozorastudio.atlas.tenant.service.TenantChangeNotifier;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cross-node invalidation channel for tenant changes.
+ * Local commits are queued, coalesced per tenant and sent in batches; batches
+ * from other nodes are replayed to local listeners as remote changes. A batch that fails
+ * to publish goes back on the queue and is retried, merged with newer changes, on the
+ * next flush.
+ * <p>
+ * The channel is at-most-once, so batches carry a per-node sequence number and idle nodes
+ * send heartbeats. A missing sequence number, a failed send, or a sent message not coming back
+ * within the stale-after window means remote changes may have been lost: {@link #isCaughtUp()}
+ * turns false while that lasts and {@link #getResyncCount()} moves on, so views built from the
+ * bus know to stop trusting themselves and reload. Silence is measured from when a message was
+ * sent, so a node whose own heartbeat ran late is not caught up until it sends again, but does
+ * not count the delay as lost messages.
+ */
+@Component
+@Slf4j
+public class TenantInvalidationBus implements TenantChangeListener {
+
+    private final TenantCacheProperties properties;
+    private final TenantInvalidationTransport transport;
+    private final TenantChangeNotifier tenantChangeNotifier;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final ConcurrentLinkedQueue<TenantInvalidation> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final ConcurrentMap<String, Long> lastSequences = new ConcurrentHashMap<>();
+    private final AtomicLong resyncs = new AtomicLong();
+
+    private final Counter sent;
+    private final Counter received;
+    private final Counter gaps;
+
+    private final Object echoLock = new Object();
+
+    private volatile long lastSentAt;
+    private volatile boolean echoed;
+    private volatile boolean sendFailing;
+
+    /**
+     * Highest sequence sent and heard back, and when the oldest message sent since then went out
+     */
+    private volatile long lastSentSequence;
+    private volatile long lastEchoedSequence;
+    private volatile long awaitingEchoSince;
+
+    public TenantInvalidationBus(TenantCacheProperties properties,
+            TenantInvalidationTransport transport,
+            TenantChangeNotifier tenantChangeNotifier,
+            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.transport = transport;
+        this.tenantChangeNotifier = tenantChangeNotifier;
+        this.sent = messageCounter(meterRegistry, "sent");
+        this.received = messageCounter(meterRegistry, "received");
+        this.gaps = Counter.builder("atlas.tenant.cache.invalidation.gaps")
+                .description("Times this node may have missed tenant invalidations and had to resync")
+                .register(meterRegistry);
+        this.lastSentAt = System.nanoTime() - properties.getInvalidation().getHeartbeatInterval().toNanos();
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * True when no remote change can have been missed beyond the flush delay: sends are
+     * succeeding, this node sent recently and its messages come back in time. Always true
+     * when the bus is disabled, since there are no other nodes to hear from.
+     */
+    public boolean isCaughtUp() {
+        if (!properties.getInvalidation().isEnabled()) {
+            return true;
+        }
+        long now = System.nanoTime();
+        return echoed && !sendFailing
+                && now - lastSentAt <= properties.getInvalidation().getStaleAfter().toNanos()
+                && !isEchoOverdue(now);
+    }
+
+    /**
+     * Number of times remote changes may have been lost. A view built while this had one
+     * value is incomplete once it has another.
+     */
+    public long getResyncCount() {
+        return resyncs.get();
+    }
+
+    @Override
+    public void onTenantChange(TenantChange change) {
+        if (!properties.getInvalidation().isEnabled() || change.isRemote()) {
+            return;
+        }
+
+        pending.offer(TenantInvalidation.builder()
+                .id(change.getId())
+                .code(change.getCode())
+                .version(change.getVersion())
+                .status(change.getStatus())
+                .deleted(change.getType() == TenantChange.Type.DELETED)
+                .build());
+    }
+
+    /**
+     * Send everything queued since the last flush, or a heartbeat when nothing is queued
+     */
+    @Scheduled(fixedDelayString = "${atlas.tenant.cache.invalidation.flush-interval-ms:50}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            if (properties.getInvalidation().isEnabled()
+                    && System.nanoTime() - lastSentAt >= properties.getInvalidation().getHeartbeatInterval().toNanos()) {
+                send(List.of());
+            }
+            return;
+        }
+
+        Map<Long, TenantInvalidation> latest = new LinkedHashMap<>();
+        TenantInvalidation next;
+        while ((next = pending.poll()) != null) {
+            latest.merge(next.getId(), next, (current, incoming) -> incoming.supersedes(current) ? incoming : current);
+        }
+
+        List<TenantInvalidation> all = new ArrayList<>(latest.values());
+        int batchSize = properties.getInvalidation().getMaxBatchSize();
+        for (int from = 0; from < all.size(); from += batchSize) {
+            if (!send(all.subList(from, Math.min(from + batchSize, all.size())))) {
+                // Keep this and the remaining chunks for the next flush instead of dropping them
+                pending.addAll(all.subList(from, all.size()));
+                return;
+            }
+        }
+    }
+
+    /**
+     * Apply a batch received from the channel
+     */
+    public void receive(TenantInvalidationBatch batch) {
+        if (batch.getInvalidations() == null) {
+            return;
+        }
+        if (nodeId.equals(batch.getOrigin())) {
+            onEcho(batch.getSequence());
+            return;
+        }
+        checkSequence(batch);
+
+        for (TenantInvalidation invalidation : batch.getInvalidations()) {
+            received.increment();
+            tenantChangeNotifier.publish(TenantChange.builder()
+                    .type(invalidation.isDeleted() ? TenantChange.Type.DELETED : TenantChange.Type.UPDATED)
+                    .id(invalidation.getId())
+                    .code(invalidation.getCode())
+                    .version(invalidation.getVersion())
+                    .status(invalidation.getStatus())
+                    .remote(true)
+                    .build());
+        }
+    }
+
+    private boolean send(List<TenantInvalidation> chunk) {
+        // Numbered before sending, so peers also see a gap for a batch that failed to go out
+        TenantInvalidationBatch batch = new TenantInvalidationBatch(nodeId, sequence.incrementAndGet(), new ArrayList<>(chunk));
+        long startedAt = System.nanoTime();
+        try {
+            transport.send(batch);
+            onSent(batch.getSequence(), startedAt);
+            sent.increment(chunk.size());
+            if (sendFailing) {
+                sendFailing = false;
+                resync("publishing recovered");
+            }
+            return true;
+        } catch (RuntimeException ex) {
+            sendFailing = true;
+            log.warn("Failed to publish {} tenant invalidations, retrying on the next flush: {}",
+                    chunk.size(), ex.getMessage());
+            return false;
+        }
+    }
+
+    private void onSent(long sent, long startedAt) {
+        synchronized (echoLock) {
+            if (lastSentSequence <= lastEchoedSequence) {
+                awaitingEchoSince = startedAt;
+            }
+            lastSentSequence = sent;
+            lastSentAt = System.nanoTime();
+        }
+    }
+
+    private void onEcho(long echoedSequence) {
+        boolean wasOverdue;
+        synchronized (echoLock) {
+            long now = System.nanoTime();
+            wasOverdue = isEchoOverdue(now);
+            lastEchoedSequence = Math.max(lastEchoedSequence, echoedSequence);
+            // Later messages are still on their way; give them a full window from here
+            awaitingEchoSince = now;
+            echoed = true;
+        }
+        if (wasOverdue) {
+            resync("channel recovered after a silence");
+        }
+    }
+
+    private boolean isEchoOverdue(long now) {
+        return lastSentSequence > lastEchoedSequence
+                && now - awaitingEchoSince > properties.getInvalidation().getStaleAfter().toNanos();
+    }
+
+    private void checkSequence(TenantInvalidationBatch batch) {
+        long current = batch.getSequence();
+        if (current <= 0) {
+            return;
+        }
+        Long previous = lastSequences.put(batch.getOrigin(), current);
+        if (previous != null && current > previous + 1) {
+            resync("missed " + (current - previous - 1) + " batches from node " + batch.getOrigin());
+        }
+    }
+
+    private void resync(String reason) {
+        resyncs.incrementAndGet();
+        gaps.increment();
+        log.warn("Tenant invalidations may have been lost ({}), local views will resync", reason);
+    }
+
+    private static Counter messageCounter(MeterRegistry meterRegistry, String direction) {
+        return Counter.builder("atlas.tenant.cache.invalidation.messages")
+                .description("Tenant invalidations exchanged with other nodes")
+                .tag("direction", direction)
+                .register(meterRegistry);
+    }
+}
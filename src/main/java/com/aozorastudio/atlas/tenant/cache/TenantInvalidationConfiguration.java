@@ -0,0 +1,39 @@
+package com.aozorastudio.atlas.tenant.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.io.IOException;
+
+/**
+ * Subscribes the local {@link TenantInvalidationBus} to the Redis invalidation channel
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "atlas.tenant.cache.invalidation", name = "enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class TenantInvalidationConfiguration {
+
+    @Bean
+    public RedisMessageListenerContainer tenantInvalidationListenerContainer(
+            RedisConnectionFactory connectionFactory,
+            TenantCacheProperties properties,
+            TenantInvalidationBus bus,
+            ObjectMapper objectMapper) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener((message, pattern) -> {
+            try {
+                bus.receive(objectMapper.readValue(message.getBody(), TenantInvalidationBatch.class));
+            } catch (IOException ex) {
+                log.warn("Ignoring malformed tenant invalidation message: {}", ex.getMessage());
+            }
+        }, new ChannelTopic(properties.getInvalidation().getChannel()));
+        return container;
+    }
+}
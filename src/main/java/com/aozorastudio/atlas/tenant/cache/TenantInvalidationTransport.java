@@ -0,0 +1,9 @@
+package com.aozorastudio.atlas.tenant.cache;
+
+/**
+ * Outbound side of the tenant invalidation channel
+ */
+public interface TenantInvalidationTransport {
+
+    void send(TenantInvalidationBatch batch);
+}
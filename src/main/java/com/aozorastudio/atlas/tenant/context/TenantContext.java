@@ -0,0 +1,34 @@
+package com.aozorastudio.atlas.tenant.context;
+
+import com.aozorastudio.atlas.tenant.domain.Tenant;
+import com.aozorastudio.atlas.tenant.dto.TenantResponse;
+import lombok.Value;
+
+/**
+ * Tenant a request was resolved to. Instances are shared between requests, so the
+ * lookup itself allocates nothing.
+ */
+@Value
+public class TenantContext {
+
+    // Field order defines the constructor used by TenantRepository.CONTEXT_PROJECTION
+    Long id;
+    String code;
+    Tenant.TenantStatus status;
+    Long version;
+
+    /**
+     * Request limits configured on the tenant, null where the defaults apply
+     */
+    Integer requestsPerSecond;
+    Integer maxConcurrentRequests;
+
+    public boolean isActive() {
+        return status == Tenant.TenantStatus.ACTIVE;
+    }
+
+    static TenantContext from(TenantResponse tenant) {
+        return new TenantContext(tenant.getId(), tenant.getCode(), tenant.getStatus(), tenant.getVersion(),
+                tenant.getRequestsPerSecond(), tenant.getMaxConcurrentRequests());
+    }
+}
@@ -0,0 +1,39 @@
+package com.aozorastudio.atlas.tenant.context;
+
+import java.util.Optional;
+
+/**
+ * Tenant resolved for the request being handled on the current thread. Set and cleared
+ * by {@link TenantResolutionFilter}; code running on other threads (async MVC, executors)
+ * should read the {@link TenantResolutionFilter#ATTRIBUTE} request attribute instead.
+ */
+public final class TenantContextHolder {
+
+    private static final ThreadLocal<TenantContext> CURRENT = new ThreadLocal<>();
+
+    private TenantContextHolder() {
+    }
+
+    public static Optional<TenantContext> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    /**
+     * Tenant of the current request, failing when the request was not resolved to one
+     */
+    public static TenantContext require() {
+        TenantContext tenant = CURRENT.get();
+        if (tenant == null) {
+            throw new IllegalStateException("No tenant resolved for the current request");
+        }
+        return tenant;
+    }
+
+    static void set(TenantContext tenant) {
+        CURRENT.set(tenant);
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+}
@@ -0,0 +1,60 @@
+package com.aozorastudio.atlas.tenant.context;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration for resolving the tenant of an incoming request
+ */
+@Data
+@ConfigurationProperties(prefix = "atlas.tenant.context")
+public class TenantContextProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Request header carrying the tenant code; takes precedence over the subdomain
+     */
+    private String header = "X-Tenant-Code";
+
+    /**
+     * Host suffix after the tenant code, e.g. ".atlas.example.com"; empty disables subdomains
+     */
+    private String subdomainSuffix = "";
+
+    /**
+     * Paths that never resolve a tenant, such as the tenant administration API
+     */
+    private List<String> excludedPaths = new ArrayList<>(List.of(
+            "/api/v1/tenants/**",
+            "/actuator/**",
+            "/v3/api-docs/**",
+            "/swagger-ui/**",
+            "/swagger-ui.html",
+            "/h2-console/**"));
+
+    /**
+     * Paths rejected with 400 when no tenant code is given
+     */
+    private List<String> requiredPaths = new ArrayList<>();
+
+    private long refreshIntervalMs = 600_000;
+
+    private int reloadBatchSize = 5_000;
+
+    /**
+     * How often to retry a failed initial load, or reload after the invalidation bus lost changes
+     */
+    private long resyncCheckIntervalMs = 1_000;
+
+    /**
+     * Wait before retrying a failed initial load, doubled per failure up to the maximum
+     */
+    private Duration loadRetryBackoff = Duration.ofSeconds(1);
+
+    private Duration loadRetryMaxBackoff = Duration.ofSeconds(30);
+}
@@ -0,0 +1,171 @@
+package com.aozorastudio.atlas.tenant.context;
+
+import com.aozorastudio.atlas.common.exception.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Resolves the tenant of each request from a header or subdomain through
+ * {@link TenantStatusRegistry}, and rejects requests for unknown, inactive or suspended
+ * tenants before they reach a controller. The resolved tenant is available from
+ * {@link TenantContextHolder} and the {@link #ATTRIBUTE} request attribute.
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER + 10)
+@Slf4j
+public class TenantResolutionFilter extends OncePerRequestFilter {
+
+    public static final String ATTRIBUTE = TenantContext.class.getName();
+
+    private final TenantContextProperties properties;
+    private final TenantStatusRegistry registry;
+    private final ObjectMapper objectMapper;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final UrlPathHelper urlPathHelper = new UrlPathHelper();
+
+    private final Counter resolved;
+    private final Counter missing;
+    private final Counter unknown;
+    private final Counter rejected;
+
+    public TenantResolutionFilter(TenantContextProperties properties,
+            TenantStatusRegistry registry,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.registry = registry;
+        this.objectMapper = objectMapper;
+
+        this.resolved = resolutions(meterRegistry, "resolved");
+        this.missing = resolutions(meterRegistry, "missing");
+        this.unknown = resolutions(meterRegistry, "unknown");
+        this.rejected = resolutions(meterRegistry, "rejected");
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled() || matches(request, properties.getExcludedPaths());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String code = resolveCode(request);
+        if (code == null) {
+            if (matches(request, properties.getRequiredPaths())) {
+                missing.increment();
+                reject(request, response, HttpStatus.BAD_REQUEST,
+                        "Tenant code is required in the " + properties.getHeader() + " header");
+                return;
+            }
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        if (!registry.isReady()) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            reject(request, response, HttpStatus.SERVICE_UNAVAILABLE, "Tenant registry is still loading");
+            return;
+        }
+
+        TenantContext tenant = registry.get(code);
+        if (tenant == null) {
+            unknown.increment();
+            reject(request, response, HttpStatus.NOT_FOUND, "Tenant not found with code: " + code);
+            return;
+        }
+        if (!tenant.isActive()) {
+            rejected.increment();
+            log.debug("Rejecting request for {} tenant {}", tenant.getStatus(), tenant.getCode());
+            reject(request, response, HttpStatus.FORBIDDEN,
+                    "Tenant " + tenant.getCode() + " is " + tenant.getStatus().name().toLowerCase(Locale.ROOT));
+            return;
+        }
+
+        resolved.increment();
+        request.setAttribute(ATTRIBUTE, tenant);
+        TenantContextHolder.set(tenant);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            TenantContextHolder.clear();
+        }
+    }
+
+    /**
+     * Tenant code from the header, else from the subdomain, else null
+     */
+    private String resolveCode(HttpServletRequest request) {
+        String header = request.getHeader(properties.getHeader());
+        if (header != null && !header.isBlank()) {
+            return header.trim();
+        }
+
+        String suffix = properties.getSubdomainSuffix();
+        if (suffix == null || suffix.isEmpty()) {
+            return null;
+        }
+        String host = request.getServerName();
+        int labelLength = host.length() - suffix.length();
+        if (labelLength <= 0 || !host.regionMatches(true, labelLength, suffix, 0, suffix.length())) {
+            return null;
+        }
+        // Only a single label in front of the suffix names a tenant
+        return host.lastIndexOf('.', labelLength - 1) < 0 ? host.substring(0, labelLength) : null;
+    }
+
+    private boolean matches(HttpServletRequest request, List<String> patterns) {
+        if (patterns.isEmpty()) {
+            return false;
+        }
+        String path = urlPathHelper.getPathWithinApplication(request);
+        for (String pattern : patterns) {
+            if (pathMatcher.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, HttpStatus status, String message)
+            throws IOException {
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(status.value())
+                .error(status.getReasonPhrase())
+                .message(message)
+                .path(request.getRequestURI())
+                .build();
+
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+
+    private static Counter resolutions(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("atlas.tenant.context.resolutions")
+                .description("Requests by tenant resolution result")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,302 @@
+package com.aozorastudio.atlas.tenant.context;
+
+import com.aozorastudio.atlas.common.datasource.ReplicaRoutingContext;
+import com.aozorastudio.atlas.common.scheduling.MaintenanceRunner;
+import com.aozorastudio.atlas.tenant.cache.TenantInvalidationBus;
+import com.aozorastudio.atlas.tenant.repository.TenantRepository;
+import com.aozorastudio.atlas.tenant.service.TenantChange;
+import com.aozorastudio.atlas.tenant.service.TenantChangeListener;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * In-memory map of tenant code to id, status and request limits, so resolving a request's
+ * tenant is a hash lookup. Loaded at startup, kept current from committed changes (local and,
+ * through the invalidation bus, remote), and reloaded periodically as a safety net. Codes are
+ * matched case-insensitively because hosts arrive lower-cased.
+ * <p>
+ * A failed initial load is retried with backoff. When the bus reports lost changes the map is
+ * reloaded as soon as the bus is healthy again, and until then a code missing from the map is
+ * looked up in the database rather than reported unknown.
+ */
+@Component
+@Slf4j
+public class TenantStatusRegistry implements TenantChangeListener {
+
+    private final TenantContextProperties properties;
+    private final TenantRepository tenantRepository;
+    private final TenantInvalidationBus invalidationBus;
+    private final MaintenanceRunner maintenanceRunner;
+    private final Object lock = new Object();
+    private final ConcurrentLinkedQueue<TenantChange> pendingReloads = new ConcurrentLinkedQueue<>();
+
+    private volatile Map<String, TenantContext> tenants = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+    private List<TenantChange> changesDuringReload;
+
+    /**
+     * Bus resync count the current map was loaded at
+     */
+    private volatile long loadedAtResync = -1;
+    private volatile int failedLoads;
+    private volatile long nextLoadAt;
+
+    public TenantStatusRegistry(TenantContextProperties properties,
+            TenantRepository tenantRepository,
+            TenantInvalidationBus invalidationBus,
+            MaintenanceRunner maintenanceRunner,
+            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.tenantRepository = tenantRepository;
+        this.invalidationBus = invalidationBus;
+        this.maintenanceRunner = maintenanceRunner;
+
+        Gauge.builder("atlas.tenant.context.registry.size", this, registry -> registry.tenants.size())
+                .description("Tenants known to the request resolution registry")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Tenant with the given code, or null when there is none
+     */
+    public TenantContext get(String code) {
+        TenantContext tenant = tenants.get(key(code));
+        if (tenant != null || isCurrent()) {
+            return tenant;
+        }
+
+        // The map may be missing a tenant created on another node
+        TenantContext loaded = ReplicaRoutingContext.onPrimary(() -> tenantRepository.findContextByCode(code))
+                .orElse(null);
+        if (loaded != null) {
+            synchronized (lock) {
+                tenants.merge(key(loaded.getCode()), loaded, TenantStatusRegistry::newer);
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * False until the first load completes; lookups before then cannot tell unknown codes apart
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (properties.isEnabled()) {
+            tryLoad();
+        }
+    }
+
+    /**
+     * Retry a failed initial load once its backoff has passed, and reload as soon as the bus
+     * is healthy again after losing changes
+     */
+    @Scheduled(fixedDelayString = "${atlas.tenant.context.resync-check-interval-ms:1000}")
+    public void resyncIfBehind() {
+        if (isBehind()) {
+            maintenanceRunner.submit("tenant-status-registry-resync", () -> {
+                // Another load may have caught up while this one waited
+                if (isBehind()) {
+                    if (ready) {
+                        log.info("Reloading tenant status registry after lost invalidations");
+                    }
+                    tryLoad();
+                }
+            });
+        }
+    }
+
+    /**
+     * Periodic reload, off the shared scheduler
+     */
+    @Scheduled(initialDelayString = "${atlas.tenant.context.refresh-interval-ms:600000}",
+            fixedDelayString = "${atlas.tenant.context.refresh-interval-ms:600000}")
+    public void scheduleReload() {
+        if (properties.isEnabled()) {
+            maintenanceRunner.submit("tenant-status-registry-reload", this::reload);
+        }
+    }
+
+    /**
+     * Replace the map with one read from the database, replaying changes committed meanwhile
+     */
+    public synchronized void reload() {
+        if (properties.isEnabled()) {
+            // A replica behind the bus would drop tenants the bus already told us about
+            ReplicaRoutingContext.runOnPrimary(this::load);
+        }
+    }
+
+    private void load() {
+        // Taken before reading, so a loss during the read leaves the new map behind
+        long resync = invalidationBus.getResyncCount();
+        synchronized (lock) {
+            changesDuringReload = new ArrayList<>();
+        }
+
+        Map<String, TenantContext> fresh = new ConcurrentHashMap<>();
+        try {
+            long afterId = 0L;
+            List<TenantContext> batch;
+            do {
+                batch = tenantRepository.findContexts(afterId, PageRequest.of(0, properties.getReloadBatchSize()));
+                for (TenantContext tenant : batch) {
+                    fresh.put(key(tenant.getCode()), tenant);
+                }
+                if (!batch.isEmpty()) {
+                    afterId = batch.get(batch.size() - 1).getId();
+                }
+            } while (batch.size() == properties.getReloadBatchSize());
+        } catch (RuntimeException ex) {
+            synchronized (lock) {
+                changesDuringReload = null;
+            }
+            throw ex;
+        }
+
+        synchronized (lock) {
+            changesDuringReload.forEach(change -> apply(fresh, change));
+            changesDuringReload = null;
+            tenants = fresh;
+            ready = true;
+        }
+        loadedAtResync = resync;
+        log.info("Tenant status registry loaded with {} tenants", fresh.size());
+    }
+
+    @Override
+    public void onTenantChange(TenantChange change) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        // A patch knows only the id, so the row is re-read below to find the code
+        if (change.getCode() != null) {
+            synchronized (lock) {
+                apply(tenants, change);
+                if (changesDuringReload != null) {
+                    changesDuringReload.add(change);
+                }
+            }
+        }
+        // Remote changes and patches carry the status at most, not the limits, so re-read the row
+        if (change.getType() != TenantChange.Type.DELETED && change.getSnapshot() == null) {
+            pendingReloads.offer(change);
+        }
+    }
+
+    /**
+     * Re-read tenants changed on other nodes
+     */
+    @Scheduled(fixedDelayString = "${atlas.tenant.context.reload-pending-interval-ms:1000}")
+    public void reloadPending() {
+        if (!ready) {
+            return;
+        }
+
+        Map<Long, TenantChange> changes = new HashMap<>();
+        TenantChange change;
+        while ((change = pendingReloads.poll()) != null) {
+            changes.put(change.getId(), change);
+        }
+        if (changes.isEmpty()) {
+            return;
+        }
+
+        // On the primary, or a lagging replica would have rows not visible yet read as deleted
+        List<TenantContext> reloaded = ReplicaRoutingContext.onPrimary(
+                () -> tenantRepository.findContextsByIdIn(changes.keySet()));
+        synchronized (lock) {
+            for (TenantContext tenant : reloaded) {
+                changes.remove(tenant.getId());
+                tenants.merge(key(tenant.getCode()), tenant, TenantStatusRegistry::newer);
+            }
+            // Rows no longer visible were deleted after the change was published
+            for (TenantChange gone : changes.values()) {
+                if (gone.getCode() == null) {
+                    continue;
+                }
+                TenantContext current = tenants.get(key(gone.getCode()));
+                if (current != null && current.getId().equals(gone.getId())) {
+                    tenants.remove(key(gone.getCode()));
+                }
+            }
+        }
+    }
+
+    private synchronized void tryLoad() {
+        try {
+            reload();
+            failedLoads = 0;
+        } catch (RuntimeException ex) {
+            failedLoads++;
+            long backoff = Math.min(properties.getLoadRetryBackoff().toNanos() << Math.min(failedLoads - 1, 20),
+                    properties.getLoadRetryMaxBackoff().toNanos());
+            nextLoadAt = System.nanoTime() + backoff;
+            log.warn("Tenant status registry load failed (attempt {}), retrying in {} ms: {}",
+                    failedLoads, backoff / 1_000_000, ex.getMessage());
+        }
+    }
+
+    private boolean isBehind() {
+        if (!properties.isEnabled()) {
+            return false;
+        }
+        if (!ready) {
+            return failedLoads > 0 && System.nanoTime() - nextLoadAt >= 0;
+        }
+        return invalidationBus.getResyncCount() != loadedAtResync && invalidationBus.isCaughtUp();
+    }
+
+    private boolean isCurrent() {
+        return invalidationBus.isCaughtUp() && invalidationBus.getResyncCount() == loadedAtResync;
+    }
+
+    private static void apply(Map<String, TenantContext> target, TenantChange change) {
+        String key = key(change.getCode());
+        if (change.getType() == TenantChange.Type.DELETED) {
+            target.remove(key);
+        } else if (change.getSnapshot() != null) {
+            target.merge(key, TenantContext.from(change.getSnapshot()), TenantStatusRegistry::newer);
+        } else if (change.getStatus() != null) {
+            target.compute(key, (ignored, current) -> newer(current, new TenantContext(change.getId(), change.getCode(),
+                    change.getStatus(), change.getVersion(),
+                    current != null ? current.getRequestsPerSecond() : null,
+                    current != null ? current.getMaxConcurrentRequests() : null)));
+        }
+    }
+
+    /**
+     * Keep the later version, so a change delivered out of order cannot roll a status back
+     */
+    private static TenantContext newer(TenantContext current, TenantContext candidate) {
+        if (current == null || !Objects.equals(current.getId(), candidate.getId())
+                || current.getVersion() == null || candidate.getVersion() == null) {
+            return candidate;
+        }
+        return candidate.getVersion() >= current.getVersion() ? candidate : current;
+    }
+
+    private static String key(String code) {
+        // Returns the same instance when the code is already lower case
+        return code.toLowerCase(Locale.ROOT);
+    }
+}
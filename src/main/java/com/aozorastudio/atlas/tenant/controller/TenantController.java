@@ -1,17 +1,44 @@
 package com.aozorastudio.atlas.tenant.controller;
 
+import com.aozorastudio.atlas.tenant.dto.BulkCreateTenantRequest;
+import com.aozorastudio.atlas.tenant.dto.BulkCreateTenantResponse;
+import com.aozorastudio.atlas.tenant.dto.TenantChangeEntry;
 import com.aozorastudio.atlas.tenant.dto.CreateTenantRequest;
+import com.aozorastudio.atlas.tenant.dto.CursorPage;
+import com.aozorastudio.atlas.tenant.dto.PatchTenantRequest;
+import com.aozorastudio.atlas.tenant.dto.TenantImportStatusResponse;
 import com.aozorastudio.atlas.tenant.dto.TenantResponse;
 import com.aozorastudio.atlas.tenant.dto.TenantSearchRequest;
+import com.aozorastudio.atlas.tenant.dto.TenantVersion;
 import com.aozorastudio.atlas.tenant.dto.UpdateTenantRequest;
+import com.aozorastudio.atlas.tenant.exception.TenantPreconditionRequiredException;
+import com.aozorastudio.atlas.tenant.exception.TenantVersionMismatchException;
+import com.aozorastudio.atlas.tenant.importer.TenantImportFormat;
+import com.aozorastudio.atlas.tenant.importer.TenantImportService;
+import com.aozorastudio.atlas.tenant.service.TenantChangeFeedService;
+import com.aozorastudio.atlas.tenant.service.TenantExportService;
 import com.aozorastudio.atlas.tenant.service.TenantService;
+import com.aozorastudio.atlas.tenant.stream.TenantChangeBroadcaster;
+import com.aozorastudio.atlas.tenant.stream.TenantStreamFilter;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.util.Optional;
 
 /**
  * REST Controller for Tenant operations
@@ -23,6 +50,10 @@ import org.springframework.web.bind.annotation.*;
 public class TenantController {
 
     private final TenantService tenantService;
+    private final TenantExportService tenantExportService;
+    private final TenantImportService tenantImportService;
+    private final TenantChangeFeedService tenantChangeFeedService;
+    private final TenantChangeBroadcaster tenantChangeBroadcaster;
 
     @PostMapping
     public ResponseEntity<TenantResponse> createTenant(@Valid @RequestBody CreateTenantRequest request) {
@@ -32,6 +63,14 @@ public class TenantController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkCreateTenantResponse> createTenants(@Valid @RequestBody BulkCreateTenantRequest request) {
+        log.info("POST /api/v1/tenants/bulk - Creating {} tenants", request.getTenants().size());
+
+        BulkCreateTenantResponse response = tenantService.createTenants(request.getTenants());
+        return ResponseEntity.ok(response);
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<TenantResponse> updateTenant(
             @PathVariable Long id,
@@ -39,23 +78,67 @@ public class TenantController {
         log.info("PUT /api/v1/tenants/{} - Updating tenant", id);
 
         TenantResponse response = tenantService.updateTenant(id, request);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok()
+                .eTag(TenantVersion.from(response).toEtag())
+                .body(response);
+    }
+
+    @PatchMapping("/{id}")
+    public ResponseEntity<TenantVersion> patchTenant(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody PatchTenantRequest request) {
+        log.info("PATCH /api/v1/tenants/{} - Patching tenant if it matches: {}", id, ifMatch);
+
+        if (ifMatch == null) {
+            throw new TenantPreconditionRequiredException("PATCH requires an If-Match header with the tenant's ETag");
+        }
+
+        TenantVersion response = tenantService.patchTenant(id, expectedVersion(id, ifMatch), request);
+        return ResponseEntity.ok()
+                .eTag(response.toEtag())
+                .body(response);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<TenantResponse> getTenantById(@PathVariable Long id) {
+    public ResponseEntity<TenantResponse> getTenantById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.info("GET /api/v1/tenants/{} - Fetching tenant", id);
 
+        // Revalidation is answered from the version alone, without loading the tenant
+        if (ifNoneMatch != null) {
+            Optional<TenantVersion> version = tenantService.findTenantVersionById(id);
+            if (version.isPresent() && matches(ifNoneMatch, version.get().toEtag())) {
+                return notModified(version.get().toEtag());
+            }
+        }
+
         TenantResponse response = tenantService.getTenantById(id);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(TenantVersion.from(response).toEtag())
+                .body(response);
     }
 
     @GetMapping("/code/{code}")
-    public ResponseEntity<TenantResponse> getTenantByCode(@PathVariable String code) {
+    public ResponseEntity<TenantResponse> getTenantByCode(
+            @PathVariable String code,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.info("GET /api/v1/tenants/code/{} - Fetching tenant", code);
 
+        if (ifNoneMatch != null) {
+            Optional<TenantVersion> version = tenantService.findTenantVersionByCode(code);
+            if (version.isPresent() && matches(ifNoneMatch, version.get().toEtag())) {
+                return notModified(version.get().toEtag());
+            }
+        }
+
         TenantResponse response = tenantService.getTenantByCode(code);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(TenantVersion.from(response).toEtag())
+                .body(response);
     }
 
     @GetMapping
@@ -85,6 +168,97 @@ public class TenantController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping(params = "pagination=cursor")
+    public ResponseEntity<CursorPage<TenantResponse>> searchTenantsByCursor(
+            @RequestParam(required = false) String searchTerm,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "desc") String sortDirection) {
+
+        log.info("GET /api/v1/tenants?pagination=cursor - Searching tenants with term: {}, status: {}, size: {}",
+                searchTerm, status, size);
+
+        TenantSearchRequest searchRequest = TenantSearchRequest.builder()
+                .searchTerm(searchTerm)
+                .status(status != null
+                        ? com.aozorastudio.atlas.tenant.domain.Tenant.TenantStatus.valueOf(status.toUpperCase())
+                        : null)
+                .size(size)
+                .sortDirection(sortDirection)
+                .cursor(cursor)
+                .build();
+
+        CursorPage<TenantResponse> response = tenantService.searchTenantsByCursor(searchRequest);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/changes")
+    public ResponseEntity<CursorPage<TenantChangeEntry>> getTenantChanges(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int size) {
+        log.info("GET /api/v1/tenants/changes - Reading tenant changes, size: {}", size);
+
+        CursorPage<TenantChangeEntry> response = tenantChangeFeedService.findChanges(cursor, size);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(response);
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamTenantChanges(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String code,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        log.info("GET /api/v1/tenants/stream - Subscribing to tenant changes with status: {}, code: {}", status, code);
+
+        TenantStreamFilter filter = new TenantStreamFilter(
+                status != null
+                        ? com.aozorastudio.atlas.tenant.domain.Tenant.TenantStatus.valueOf(status.toUpperCase())
+                        : null,
+                code);
+        return tenantChangeBroadcaster.subscribe(filter, lastEventId);
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportTenants(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime updatedSince) {
+        log.info("GET /api/v1/tenants/export - Exporting tenants with status: {}, updated since: {}",
+                status, updatedSince);
+
+        com.aozorastudio.atlas.tenant.domain.Tenant.TenantStatus tenantStatus = status != null
+                ? com.aozorastudio.atlas.tenant.domain.Tenant.TenantStatus.valueOf(status.toUpperCase())
+                : null;
+
+        StreamingResponseBody body = outputStream ->
+                tenantExportService.exportTenants(tenantStatus, updatedSince, outputStream);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, TenantImportFormat.TEXT_CSV_VALUE})
+    public ResponseEntity<TenantImportStatusResponse> importTenants(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) throws IOException {
+        log.info("POST /api/v1/tenants/import - Importing tenants from {}", contentType);
+
+        TenantImportStatusResponse response = tenantImportService.submit(
+                TenantImportFormat.fromContentType(contentType), body);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/v1/tenants/import/" + response.getJobId()))
+                .body(response);
+    }
+
+    @GetMapping("/import/{jobId}")
+    public ResponseEntity<TenantImportStatusResponse> getImportStatus(@PathVariable String jobId) {
+        log.info("GET /api/v1/tenants/import/{} - Fetching import status", jobId);
+
+        TenantImportStatusResponse response = tenantImportService.getStatus(jobId);
+        return ResponseEntity.ok(response);
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteTenant(@PathVariable Long id) {
         log.info("DELETE /api/v1/tenants/{} - Deleting tenant", id);
@@ -100,4 +274,43 @@ public class TenantController {
         boolean exists = tenantService.existsByCode(code);
         return ResponseEntity.ok(exists);
     }
+
+    /**
+     * Weak comparison of an If-None-Match header against a tag, as RFC 9110 requires for GET
+     */
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if ("*".equals(ifNoneMatch.trim())) {
+            return true;
+        }
+        String opaqueTag = etag.startsWith("W/") ? etag.substring(2) : etag;
+        for (String candidate : ifNoneMatch.split(",")) {
+            String trimmed = candidate.trim();
+            if ((trimmed.startsWith("W/") ? trimmed.substring(2) : trimmed).equals(opaqueTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Version named by an If-Match header, or null for "*". If-Match uses strong comparison,
+     * so a weak tag, or one for another tenant, can never match.
+     */
+    private static Long expectedVersion(Long id, String ifMatch) {
+        if ("*".equals(ifMatch.trim())) {
+            return null;
+        }
+        return TenantVersion.fromEtag(ifMatch)
+                .filter(version -> id.equals(version.getId()))
+                .map(TenantVersion::getVersion)
+                .orElseThrow(() -> new TenantVersionMismatchException(id,
+                        "If-Match " + ifMatch + " does not match tenant with id " + id));
+    }
+
+    private static <T> ResponseEntity<T> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .cacheControl(CacheControl.noCache())
+                .eTag(etag)
+                .build();
+    }
 }
@@ -1,5 +1,6 @@
 package com.aozorastudio.atlas.tenant.domain;
 
+import com.aozorastudio.atlas.common.id.BlockAllocatedId;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -8,6 +9,8 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.Where;
 
@@ -18,16 +21,21 @@ import java.time.LocalDateTime;
  */
 @Entity
 @Table(name = "tenants")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Tenant.CACHE_REGION)
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@SQLDelete(sql = "UPDATE tenants SET deleted_at = CURRENT_TIMESTAMP WHERE id = ?")
+@SQLDelete(sql = "UPDATE tenants SET deleted_at = CURRENT_TIMESTAMP, updated_at = CURRENT_TIMESTAMP WHERE id = ?")
 @Where(clause = "deleted_at IS NULL")
 public class Tenant {
 
+    public static final String CACHE_REGION = "tenant";
+    public static final String ACTIVE_QUERY_CACHE_REGION = "tenant-active-query";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @BlockAllocatedId(sequence = "tenants", blockSize = 50)
     private Long id;
 
     @Column(name = "code", unique = true, nullable = false, length = 50)
@@ -60,6 +68,12 @@ public class Tenant {
     @Builder.Default
     private TenantStatus status = TenantStatus.ACTIVE;
 
+    @Column(name = "requests_per_second")
+    private Integer requestsPerSecond;
+
+    @Column(name = "max_concurrent_requests")
+    private Integer maxConcurrentRequests;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
@@ -81,13 +95,20 @@ public class Tenant {
 
     @PrePersist
     protected void onCreate() {
-        createdAt = LocalDateTime.now();
-        updatedAt = LocalDateTime.now();
+        createdAt = auditTime();
+        updatedAt = createdAt;
     }
 
     @PreUpdate
     protected void onUpdate() {
-        updatedAt = LocalDateTime.now();
+        updatedAt = auditTime();
+    }
+
+    /**
+     * Time stamped into created_at and updated_at; writes that bypass the entity use it too
+     */
+    public static LocalDateTime auditTime() {
+        return LocalDateTime.now();
     }
 
     public enum TenantStatus {
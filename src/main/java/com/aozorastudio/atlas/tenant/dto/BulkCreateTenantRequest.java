@@ -0,0 +1,25 @@
+package com.aozorastudio.atlas.tenant.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for creating many tenants in one call
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkCreateTenantRequest {
+
+    @NotEmpty(message = "At least one tenant is required")
+    @Size(max = 1000, message = "At most 1000 tenants can be created per request")
+    private List<@Valid CreateTenantRequest> tenants;
+}
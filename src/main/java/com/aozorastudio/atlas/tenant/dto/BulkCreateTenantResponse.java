@@ -0,0 +1,32 @@
+package com.aozorastudio.atlas.tenant.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * DTO for the per-item outcome of a bulk tenant creation
+ */
+@Data
+@Builder
+public class BulkCreateTenantResponse {
+
+    private int created;
+    private int conflicts;
+    private List<Item> results;
+
+    @Data
+    @Builder
+    public static class Item {
+        private int index;
+        private String code;
+        private Outcome outcome;
+        private Long id;
+        private String message;
+    }
+
+    public enum Outcome {
+        CREATED, CONFLICT
+    }
+}
@@ -3,6 +3,7 @@ package com.aozorastudio.atlas.tenant.dto;
 import com.aozorastudio.atlas.tenant.domain.Tenant;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.Size;
 import lombok.Builder;
 import lombok.Data;
@@ -34,4 +35,16 @@ public class CreateTenantRequest {
     private String address;
 
     private Tenant.TenantStatus status;
+
+    /**
+     * Sustained request rate for the tenant; null uses the configured default
+     */
+    @Positive(message = "Requests per second must be positive")
+    private Integer requestsPerSecond;
+
+    /**
+     * Requests the tenant may have in flight at once; null uses the configured default
+     */
+    @Positive(message = "Max concurrent requests must be positive")
+    private Integer maxConcurrentRequests;
 }
@@ -0,0 +1,19 @@
+package com.aozorastudio.atlas.tenant.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * DTO for a keyset-paginated result, without a total count
+ */
+@Data
+@Builder
+public class CursorPage<T> {
+
+    private List<T> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+}
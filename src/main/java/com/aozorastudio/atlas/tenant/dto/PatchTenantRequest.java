@@ -0,0 +1,53 @@
+package com.aozorastudio.atlas.tenant.dto;
+
+import com.aozorastudio.atlas.tenant.domain.Tenant;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for a partial tenant update; null fields are left unchanged
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PatchTenantRequest {
+
+    @Pattern(regexp = ".*\\S.*", message = "Tenant name must not be blank")
+    @Size(max = 255, message = "Tenant name must not exceed 255 characters")
+    private String name;
+
+    private String description;
+
+    @Email(message = "Invalid email format")
+    @Size(max = 255, message = "Email must not exceed 255 characters")
+    private String email;
+
+    @Size(max = 50, message = "Phone must not exceed 50 characters")
+    private String phone;
+
+    private String address;
+
+    private Tenant.TenantStatus status;
+
+    @Positive(message = "Requests per second must be positive")
+    private Integer requestsPerSecond;
+
+    @Positive(message = "Max concurrent requests must be positive")
+    private Integer maxConcurrentRequests;
+
+    @JsonIgnore
+    @AssertTrue(message = "At least one field must be supplied")
+    public boolean isAnyFieldSet() {
+        return name != null || description != null || email != null || phone != null || address != null
+                || status != null || requestsPerSecond != null || maxConcurrentRequests != null;
+    }
+}
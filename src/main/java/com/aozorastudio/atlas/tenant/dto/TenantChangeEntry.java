@@ -0,0 +1,29 @@
+package com.aozorastudio.atlas.tenant.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for one entry of the tenant change feed, either the current state or a tombstone
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TenantChangeEntry {
+
+    private Long id;
+    private String code;
+    private Long version;
+    private LocalDateTime changedAt;
+    private boolean deleted;
+
+    /**
+     * Current state of the tenant, null for tombstones
+     */
+    private TenantResponse tenant;
+}
@@ -0,0 +1,39 @@
+package com.aozorastudio.atlas.tenant.dto;
+
+import com.aozorastudio.atlas.tenant.exception.InvalidTenantCursorException;
+import lombok.Value;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque continuation token holding the last (sort key, id) pair of a page
+ */
+@Value
+public class TenantCursor {
+
+    LocalDateTime timestamp;
+    Long id;
+
+    public String encode() {
+        String raw = timestamp + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TenantCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            if (separator < 0) {
+                throw new InvalidTenantCursorException(token);
+            }
+            return new TenantCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.valueOf(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw new InvalidTenantCursorException(token);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.aozorastudio.atlas.tenant.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO for the progress of a background tenant import
+ */
+@Data
+@Builder
+public class TenantImportStatusResponse {
+
+    private String jobId;
+    private String format;
+    private Status status;
+    private LocalDateTime submittedAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private long rowsProcessed;
+    private long accepted;
+    private long rejected;
+    private double rowsPerSecond;
+    private List<ErrorRow> errors;
+    private boolean errorsTruncated;
+    private String failureMessage;
+
+    @Data
+    @Builder
+    public static class ErrorRow {
+        private long line;
+        private String code;
+        private String message;
+    }
+
+    public enum Status {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+}
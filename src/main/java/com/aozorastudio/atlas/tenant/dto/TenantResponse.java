@@ -1,8 +1,10 @@
 package com.aozorastudio.atlas.tenant.dto;
 
 import com.aozorastudio.atlas.tenant.domain.Tenant;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 
@@ -11,8 +13,11 @@ import java.time.LocalDateTime;
  */
 @Data
 @Builder
+@NoArgsConstructor
+@AllArgsConstructor
 public class TenantResponse {
 
+    // Field order defines the all-args constructor used by TenantRepository.RESPONSE_PROJECTION
     private Long id;
     private String code;
     private String name;
@@ -21,6 +26,8 @@ public class TenantResponse {
     private String phone;
     private String address;
     private Tenant.TenantStatus status;
+    private Integer requestsPerSecond;
+    private Integer maxConcurrentRequests;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private String createdBy;
@@ -28,20 +35,21 @@ public class TenantResponse {
     private Long version;
 
     public static TenantResponse from(Tenant tenant) {
-        return TenantResponse.builder()
-                .id(tenant.getId())
-                .code(tenant.getCode())
-                .name(tenant.getName())
-                .description(tenant.getDescription())
-                .email(tenant.getEmail())
-                .phone(tenant.getPhone())
-                .address(tenant.getAddress())
-                .status(tenant.getStatus())
-                .createdAt(tenant.getCreatedAt())
-                .updatedAt(tenant.getUpdatedAt())
-                .createdBy(tenant.getCreatedBy())
-                .updatedBy(tenant.getUpdatedBy())
-                .version(tenant.getVersion())
-                .build();
+        return new TenantResponse(
+                tenant.getId(),
+                tenant.getCode(),
+                tenant.getName(),
+                tenant.getDescription(),
+                tenant.getEmail(),
+                tenant.getPhone(),
+                tenant.getAddress(),
+                tenant.getStatus(),
+                tenant.getRequestsPerSecond(),
+                tenant.getMaxConcurrentRequests(),
+                tenant.getCreatedAt(),
+                tenant.getUpdatedAt(),
+                tenant.getCreatedBy(),
+                tenant.getUpdatedBy(),
+                tenant.getVersion());
     }
 }
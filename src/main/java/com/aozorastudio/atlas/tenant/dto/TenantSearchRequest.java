@@ -3,6 +3,9 @@ package com.aozorastudio.atlas.tenant.dto;
 import com.aozorastudio.atlas.tenant.domain.Tenant;
 import lombok.Builder;
 import lombok.Data;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 /**
  * DTO for tenant search parameters
@@ -25,4 +28,17 @@ public class TenantSearchRequest {
 
     @Builder.Default
     private String sortDirection = "desc";
+
+    /**
+     * Continuation token for keyset pagination; null requests the first page
+     */
+    private String cursor;
+
+    /**
+     * Page request for offset pagination, sorted by a single property
+     */
+    public Pageable toPageable() {
+        Sort.Direction direction = "desc".equalsIgnoreCase(sortDirection) ? Sort.Direction.DESC : Sort.Direction.ASC;
+        return PageRequest.of(page, size, Sort.by(direction, sortBy));
+    }
 }
@@ -0,0 +1,34 @@
+package com.aozorastudio.atlas.tenant.dto;
+
+import com.aozorastudio.atlas.tenant.domain.Tenant;
+import com.aozorastudio.atlas.tenant.service.TenantChange;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for a tenant change pushed over the change stream
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TenantStreamEvent {
+
+    private TenantChange.Type type;
+    private Long id;
+    private String code;
+    private Long version;
+    private Tenant.TenantStatus status;
+
+    /**
+     * State after the change; null for deletions and for changes made on another node
+     */
+    private TenantResponse tenant;
+
+    public static TenantStreamEvent from(TenantChange change) {
+        return new TenantStreamEvent(change.getType(), change.getId(), change.getCode(),
+                change.getVersion(), change.getStatus(), change.getSnapshot());
+    }
+}
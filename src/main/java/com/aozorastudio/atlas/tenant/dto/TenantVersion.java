@@ -0,0 +1,52 @@
+package com.aozorastudio.atlas.tenant.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Optional;
+
+/**
+ * DTO for the identity and optimistic-lock version of a tenant
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TenantVersion {
+
+    private Long id;
+    private Long version;
+
+    public static TenantVersion from(TenantResponse tenant) {
+        return new TenantVersion(tenant.getId(), tenant.getVersion());
+    }
+
+    /**
+     * Strong entity tag for this state of the tenant
+     */
+    public String toEtag() {
+        return "\"" + id + "-" + version + "\"";
+    }
+
+    /**
+     * Parse a strong tag written by {@link #toEtag()}; weak or foreign tags give empty
+     */
+    public static Optional<TenantVersion> fromEtag(String etag) {
+        String tag = etag.trim();
+        if (tag.length() < 2 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            return Optional.empty();
+        }
+
+        String value = tag.substring(1, tag.length() - 1);
+        int separator = value.lastIndexOf('-');
+        try {
+            return Optional.of(new TenantVersion(
+                    Long.valueOf(value.substring(0, separator)),
+                    Long.valueOf(value.substring(separator + 1))));
+        } catch (NumberFormatException | IndexOutOfBoundsException ex) {
+            return Optional.empty();
+        }
+    }
+}
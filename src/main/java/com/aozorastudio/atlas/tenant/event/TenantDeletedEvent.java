@@ -0,0 +1,28 @@
+package com.aozorastudio.atlas.tenant.event;
+
+import com.aozorastudio.atlas.tenant.dto.TenantResponse;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * A tenant was soft-deleted
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TenantDeletedEvent implements TenantEvent {
+
+    private Long tenantId;
+    private String code;
+    private Long version;
+    private Instant occurredAt;
+
+    public static TenantDeletedEvent of(TenantResponse tenant) {
+        return new TenantDeletedEvent(tenant.getId(), tenant.getCode(), tenant.getVersion(), Instant.now());
+    }
+}
@@ -0,0 +1,14 @@
+package com.aozorastudio.atlas.tenant.event;
+
+import java.time.Instant;
+
+/**
+ * Domain event recorded in the outbox by a tenant write and delivered to
+ * {@link TenantEventListener}s after it commits
+ */
+public interface TenantEvent {
+
+    Long getTenantId();
+
+    Instant getOccurredAt();
+}
@@ -0,0 +1,23 @@
+package com.aozorastudio.atlas.tenant.event;
+
+import org.springframework.util.ClassUtils;
+
+import java.util.List;
+
+/**
+ * Receives committed tenant events from the outbox in batches, in publication order, from
+ * one relay node at a time. Delivery is at least once: a batch is redelivered until this
+ * method returns normally, so handling must be idempotent. A listener deployed after events
+ * were published first receives those still retained in tenant_outbox.
+ */
+public interface TenantEventListener {
+
+    void onTenantEvents(List<TenantEvent> events);
+
+    /**
+     * Stable id its delivery position is stored under; changing it starts delivery over
+     */
+    default String listenerId() {
+        return ClassUtils.getUserClass(getClass()).getName();
+    }
+}
@@ -0,0 +1,110 @@
+package com.aozorastudio.atlas.tenant.event;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Writes tenant events to the {@code tenant_outbox} table inside the caller's transaction,
+ * so an event is recorded exactly when the change commits. Each event is one row, whether
+ * or not any listener exists; {@link TenantOutboxRelay} delivers the rows to each listener
+ * in id order, so a listener deployed later starts from the oldest event still retained.
+ */
+@Component
+public class TenantOutbox {
+
+    static final Map<String, Class<? extends TenantEvent>> EVENT_TYPES = Stream.of(
+                    TenantCreatedEvent.class, TenantUpdatedEvent.class, TenantPatchedEvent.class,
+                    TenantDeletedEvent.class)
+            .collect(Collectors.toUnmodifiableMap(Class::getName, Function.identity()));
+
+    private static final String INSERT =
+            "INSERT INTO tenant_outbox (event_type, serialized_event, published_at) VALUES (?, ?, ?)";
+
+    private static final int[] INSERT_TYPES = {Types.VARCHAR, Types.LONGVARCHAR, Types.TIMESTAMP};
+
+    private final TenantOutboxProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final ObjectProvider<TenantEventListener> listenerProvider;
+
+    private volatile List<TenantEventListener> listeners;
+
+    public TenantOutbox(TenantOutboxProperties properties,
+            JdbcTemplate jdbcTemplate,
+            ObjectMapper objectMapper,
+            ObjectProvider<TenantEventListener> listenerProvider) {
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.listenerProvider = listenerProvider;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(TenantEvent event) {
+        append(List.of(event));
+    }
+
+    /**
+     * Record events in the current transaction with one batched insert
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(List<? extends TenantEvent> events) {
+        if (!properties.isEnabled() || events.isEmpty()) {
+            return;
+        }
+
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Object[]> rows = new ArrayList<>(events.size());
+        for (TenantEvent event : events) {
+            rows.add(new Object[]{event.getClass().getName(), serialize(event), now});
+        }
+        jdbcTemplate.batchUpdate(INSERT, rows, INSERT_TYPES);
+    }
+
+    /**
+     * Listener beans, resolved on first use since they may depend on the tenant service
+     */
+    List<TenantEventListener> listeners() {
+        List<TenantEventListener> resolved = listeners;
+        if (resolved == null) {
+            resolved = listenerProvider.orderedStream().toList();
+            listeners = resolved;
+        }
+        return resolved;
+    }
+
+    TenantEvent deserialize(String eventType, String serializedEvent) {
+        Class<? extends TenantEvent> type = EVENT_TYPES.get(eventType);
+        if (type == null) {
+            throw new IllegalStateException("Unknown tenant event type " + eventType);
+        }
+        try {
+            return objectMapper.readValue(serializedEvent, type);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Unreadable " + eventType + " publication", ex);
+        }
+    }
+
+    private String serialize(TenantEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize " + event.getClass().getSimpleName(), ex);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.aozorastudio.atlas.tenant.event;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Moves (or deletes) events every listener has been delivered out of {@code tenant_outbox}
+ * in bounded chunks, each in its own short transaction, so the table and the relay's scans
+ * stay small without long locks on a busy table. With no listeners, events are kept for
+ * the retention only, for listeners deployed later.
+ */
+@Component
+@Slf4j
+public class TenantOutboxArchiver {
+
+    private static final String COLUMNS = "id, event_type, serialized_event, published_at";
+
+    private final TenantOutboxProperties properties;
+    private final TenantOutbox outbox;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public TenantOutboxArchiver(TenantOutboxProperties properties,
+            TenantOutbox outbox,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager) {
+        this.properties = properties;
+        this.outbox = outbox;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(initialDelayString = "${atlas.tenant.outbox.archive.interval-ms:60000}",
+            fixedDelayString = "${atlas.tenant.outbox.archive.interval-ms:60000}")
+    public void archive() {
+        TenantOutboxProperties.Archive archive = properties.getArchive();
+        if (!archive.isEnabled()) {
+            return;
+        }
+
+        long deliveredToAll = deliveredToAll();
+        Timestamp cutoff = Timestamp.from(Instant.now().minus(archive.getRetention()));
+        int total = 0;
+        for (int chunk = 0; chunk < archive.getMaxChunksPerRun(); chunk++) {
+            Integer moved = transactionTemplate.execute(status -> archiveChunk(deliveredToAll, cutoff, archive));
+            total += moved;
+            if (moved < archive.getChunkSize()) {
+                break;
+            }
+        }
+        if (total > 0) {
+            log.info("{} {} delivered tenant events", archive.getMode() == TenantOutboxProperties.Mode.ARCHIVE
+                    ? "Archived" : "Deleted", total);
+        }
+    }
+
+    /**
+     * Highest id every listener has been delivered; a listener without a cursor has none
+     */
+    private long deliveredToAll() {
+        long lowest = Long.MAX_VALUE;
+        for (TenantEventListener listener : outbox.listeners()) {
+            List<Long> delivered = jdbcTemplate.queryForList(
+                    "SELECT delivered_id FROM tenant_outbox_cursor WHERE listener_id = ?",
+                    Long.class, listener.listenerId());
+            lowest = Math.min(lowest, delivered.isEmpty() ? 0L : delivered.get(0));
+        }
+        return lowest;
+    }
+
+    private int archiveChunk(long deliveredToAll, Timestamp cutoff, TenantOutboxProperties.Archive archive) {
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT id FROM tenant_outbox WHERE id <= ? AND published_at < ? ORDER BY id LIMIT ?",
+                Long.class, deliveredToAll, cutoff, archive.getChunkSize());
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        String in = TenantOutboxRelay.placeholders(ids.size());
+        if (archive.getMode() == TenantOutboxProperties.Mode.ARCHIVE) {
+            jdbcTemplate.update("INSERT INTO tenant_outbox_archive (" + COLUMNS + ") SELECT " + COLUMNS +
+                    " FROM tenant_outbox WHERE id IN (" + in + ")", ids.toArray());
+        }
+        jdbcTemplate.update("DELETE FROM tenant_outbox WHERE id IN (" + in + ")", ids.toArray());
+        return ids.size();
+    }
+}
@@ -0,0 +1,70 @@
+package com.aozorastudio.atlas.tenant.event;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration for the tenant event outbox, its relay and the archiver
+ */
+@Data
+@ConfigurationProperties(prefix = "atlas.tenant.outbox")
+public class TenantOutboxProperties {
+
+    private boolean enabled = true;
+
+    private final Relay relay = new Relay();
+
+    private final Archive archive = new Archive();
+
+    @Data
+    public static class Relay {
+        private int batchSize = 100;
+        private long intervalMs = 200;
+
+        /**
+         * Batches per listener and run, so one busy listener cannot starve the others
+         */
+        private int maxBatchesPerRun = 10;
+
+        /**
+         * How long a node may relay a listener without renewing its lease; must outlast
+         * the slowest batch, or a second node may deliver out of order
+         */
+        private Duration lease = Duration.ofSeconds(30);
+
+        /**
+         * How long the relay waits at a missing id for its transaction to commit before
+         * skipping it as rolled back; must outlast the longest transaction that appends events
+         */
+        private Duration gapTimeout = Duration.ofMinutes(1);
+    }
+
+    @Data
+    public static class Archive {
+        private boolean enabled = true;
+        private Mode mode = Mode.ARCHIVE;
+
+        /**
+         * How long events stay in tenant_outbox once every listener has them
+         */
+        private Duration retention = Duration.ofHours(1);
+
+        private int chunkSize = 500;
+        private int maxChunksPerRun = 20;
+        private long intervalMs = 60_000;
+    }
+
+    public enum Mode {
+        /**
+         * Move delivered events to tenant_outbox_archive
+         */
+        ARCHIVE,
+
+        /**
+         * Delete delivered events
+         */
+        DELETE
+    }
+}
@@ -0,0 +1,260 @@
+package com.aozorastudio.atlas.tenant.event;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Delivers {@code tenant_outbox} rows to each listener in batches, in id order. A node only
+ * relays a listener while it holds the lease on that listener's {@code tenant_outbox_cursor}
+ * row, renewed before every batch, so batches reach the listener one at a time. A batch is
+ * read without locks and handed to the listener outside any transaction; the cursor then
+ * moves past it, provided this node still owns the lease. A listener that throws gets the
+ * same batch again on the next run.
+ * <p>
+ * Ids are taken at insert but become visible at commit, so a lower id can show up after a
+ * higher one was read. The relay stops before a missing id until it has been missing for
+ * the gap timeout, after which it is taken to be a rolled back insert and skipped.
+ * <p>
+ * Rows that nodes on the previous version still write to {@code event_publication} are moved
+ * into {@code tenant_outbox} on each run, a batch at a time.
+ */
+@Component
+@Slf4j
+public class TenantOutboxRelay {
+
+    private static final String SELECT_PENDING = "SELECT id, event_type, serialized_event " +
+            "FROM tenant_outbox WHERE id > ? ORDER BY id LIMIT ?";
+
+    private static final String SELECT_CURSOR = "SELECT delivered_id FROM tenant_outbox_cursor WHERE listener_id = ?";
+
+    private static final String RENEW_LEASE = "UPDATE tenant_outbox_cursor " +
+            "SET owner = ?, leased_until = TIMESTAMPADD(SECOND, ?, CURRENT_TIMESTAMP) " +
+            "WHERE listener_id = ? AND (owner = ? OR leased_until < CURRENT_TIMESTAMP)";
+
+    private static final String INSERT_CURSOR = "INSERT INTO tenant_outbox_cursor " +
+            "(listener_id, delivered_id, owner, leased_until) VALUES (?, 0, ?, TIMESTAMPADD(SECOND, ?, CURRENT_TIMESTAMP))";
+
+    private static final String RELEASE_LEASE = "UPDATE tenant_outbox_cursor SET leased_until = CURRENT_TIMESTAMP " +
+            "WHERE listener_id = ? AND owner = ?";
+
+    private static final String ADVANCE_CURSOR = "UPDATE tenant_outbox_cursor SET delivered_id = ? " +
+            "WHERE listener_id = ? AND owner = ? AND delivered_id = ?";
+
+    /**
+     * Listener id under which the previous version recorded one copy of every event
+     */
+    private static final String LEGACY_HISTORY = "tenant-event-history";
+
+    private static final String SELECT_LEGACY = "SELECT event_id, event_type, serialized_event, publication_date " +
+            "FROM event_publication WHERE listener_id = ? ORDER BY publication_date, id LIMIT ? FOR UPDATE";
+
+    private static final String INSERT_LEGACY =
+            "INSERT INTO tenant_outbox (event_type, serialized_event, published_at) VALUES (?, ?, ?)";
+
+    private static final int[] INSERT_LEGACY_TYPES = {Types.VARCHAR, Types.LONGVARCHAR, Types.TIMESTAMP};
+
+    private final String owner = UUID.randomUUID().toString();
+
+    /**
+     * Per listener, the first missing id and when this node first saw it missing
+     */
+    private final Map<String, long[]> gaps = new ConcurrentHashMap<>();
+
+    private final TenantOutboxProperties properties;
+    private final TenantOutbox outbox;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter dispatched;
+    private final Counter failed;
+
+    public TenantOutboxRelay(TenantOutboxProperties properties,
+            TenantOutbox outbox,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.outbox = outbox;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.dispatched = Counter.builder("atlas.tenant.outbox.dispatched")
+                .description("Tenant event publications delivered to listeners")
+                .register(meterRegistry);
+        this.failed = Counter.builder("atlas.tenant.outbox.failed")
+                .description("Tenant event batches a listener failed to handle")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${atlas.tenant.outbox.relay.interval-ms:200}")
+    public void relay() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        importLegacy();
+        int batchSize = properties.getRelay().getBatchSize();
+        for (TenantEventListener listener : outbox.listeners()) {
+            if (!acquireLease(listener)) {
+                continue;
+            }
+            try {
+                relayBatches(listener, batchSize);
+            } finally {
+                jdbcTemplate.update(RELEASE_LEASE, listener.listenerId(), owner);
+            }
+        }
+    }
+
+    private void relayBatches(TenantEventListener listener, int batchSize) {
+        long deliveredId = jdbcTemplate.queryForObject(SELECT_CURSOR, Long.class, listener.listenerId());
+        for (int batch = 0; batch < properties.getRelay().getMaxBatchesPerRun(); batch++) {
+            if (batch > 0 && !renewLease(listener)) {
+                log.warn("Lost the relay lease for tenant event listener {}", listener.listenerId());
+                return;
+            }
+            Long next;
+            try {
+                next = dispatchBatch(listener, deliveredId, batchSize);
+            } catch (RuntimeException ex) {
+                failed.increment();
+                log.warn("Tenant event listener {} failed, will retry: {}", listener.listenerId(), ex.getMessage());
+                return;
+            }
+            if (next == null) {
+                return;
+            }
+            deliveredId = next;
+        }
+    }
+
+    /**
+     * Deliver the batch after the cursor and move the cursor past it. Returns the new
+     * position, or null when there was nothing deliverable or the lease was lost.
+     */
+    private Long dispatchBatch(TenantEventListener listener, long deliveredId, int batchSize) {
+        List<Long> ids = new ArrayList<>(batchSize);
+        List<TenantEvent> events = new ArrayList<>(batchSize);
+        jdbcTemplate.query(SELECT_PENDING, rs -> {
+            ids.add(rs.getLong("id"));
+            events.add(outbox.deserialize(rs.getString("event_type"), rs.getString("serialized_event")));
+        }, deliveredId, batchSize);
+
+        int deliverable = deliverable(listener, deliveredId, ids);
+        if (deliverable == 0) {
+            return null;
+        }
+
+        listener.onTenantEvents(Collections.unmodifiableList(events.subList(0, deliverable)));
+
+        long next = ids.get(deliverable - 1);
+        if (jdbcTemplate.update(ADVANCE_CURSOR, next, listener.listenerId(), owner, deliveredId) != 1) {
+            log.warn("Lost the relay lease for tenant event listener {} while it handled a batch",
+                    listener.listenerId());
+            return null;
+        }
+        dispatched.increment(deliverable);
+        return deliverable == batchSize ? next : null;
+    }
+
+    /**
+     * How many of the ids read can be delivered: all of them up to the first gap that may
+     * still be filled by a transaction that has not committed yet
+     */
+    private int deliverable(TenantEventListener listener, long deliveredId, List<Long> ids) {
+        long expected = deliveredId + 1;
+        for (int i = 0; i < ids.size(); i++) {
+            long id = ids.get(i);
+            // A new cursor has no position yet, so it starts at the oldest retained row
+            if (id != expected && deliveredId > 0 && !gapExpired(listener, expected)) {
+                return i;
+            }
+            expected = id + 1;
+        }
+        gaps.remove(listener.listenerId());
+        return ids.size();
+    }
+
+    private boolean gapExpired(TenantEventListener listener, long missingId) {
+        long now = System.nanoTime();
+        long[] gap = gaps.compute(listener.listenerId(),
+                (id, current) -> current != null && current[0] == missingId ? current : new long[]{missingId, now});
+        if (now - gap[1] < properties.getRelay().getGapTimeout().toNanos()) {
+            return false;
+        }
+        log.warn("Skipping tenant outbox id {} for listener {}, missing for longer than the gap timeout",
+                missingId, listener.listenerId());
+        return true;
+    }
+
+    private boolean acquireLease(TenantEventListener listener) {
+        if (renewLease(listener)) {
+            return true;
+        }
+        try {
+            jdbcTemplate.update(INSERT_CURSOR, listener.listenerId(), owner, leaseSeconds());
+            return true;
+        } catch (DuplicateKeyException ex) {
+            return false;
+        }
+    }
+
+    private boolean renewLease(TenantEventListener listener) {
+        return jdbcTemplate.update(RENEW_LEASE, owner, leaseSeconds(), listener.listenerId(), owner) == 1;
+    }
+
+    private long leaseSeconds() {
+        return Math.max(1, properties.getRelay().getLease().toSeconds());
+    }
+
+    /**
+     * Move events recorded by previous-version nodes into tenant_outbox. The rows are locked
+     * and deleted in the same transaction, so concurrent nodes never move one twice.
+     */
+    private void importLegacy() {
+        int batchSize = properties.getRelay().getBatchSize();
+        for (int batch = 0; batch < properties.getRelay().getMaxBatchesPerRun(); batch++) {
+            Integer moved = transactionTemplate.execute(status -> {
+                List<String> eventIds = new ArrayList<>(batchSize);
+                List<Object[]> rows = new ArrayList<>(batchSize);
+                jdbcTemplate.query(SELECT_LEGACY, rs -> {
+                    eventIds.add(rs.getString("event_id"));
+                    rows.add(new Object[]{rs.getString("event_type"), rs.getString("serialized_event"),
+                            rs.getTimestamp("publication_date")});
+                }, LEGACY_HISTORY, batchSize);
+                if (rows.isEmpty()) {
+                    return 0;
+                }
+
+                jdbcTemplate.batchUpdate(INSERT_LEGACY, rows, INSERT_LEGACY_TYPES);
+                // The history row and every listener's copy of each event
+                jdbcTemplate.update("DELETE FROM event_publication WHERE event_id IN (" +
+                        placeholders(eventIds.size()) + ")", eventIds.toArray());
+                return rows.size();
+            });
+            if (moved > 0) {
+                log.info("Moved {} tenant events recorded by previous-version nodes into the outbox", moved);
+            }
+            if (moved < batchSize) {
+                return;
+            }
+        }
+    }
+
+    static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+}
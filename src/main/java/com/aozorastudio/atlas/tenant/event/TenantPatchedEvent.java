@@ -0,0 +1,29 @@
+package com.aozorastudio.atlas.tenant.event;
+
+import com.aozorastudio.atlas.tenant.dto.PatchTenantRequest;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * A tenant was partially updated; carries only the fields that were set and the version the
+ * patch produced, since the conditional update does not read the rest of the row back
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TenantPatchedEvent implements TenantEvent {
+
+    private Long tenantId;
+    private Long version;
+    private PatchTenantRequest changes;
+    private Instant occurredAt;
+
+    public static TenantPatchedEvent of(Long tenantId, Long version, PatchTenantRequest changes) {
+        return new TenantPatchedEvent(tenantId, version, changes, Instant.now());
+    }
+}
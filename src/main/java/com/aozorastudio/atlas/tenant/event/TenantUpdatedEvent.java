@@ -0,0 +1,33 @@
+package com.aozorastudio.atlas.tenant.event;
+
+import com.aozorastudio.atlas.tenant.dto.TenantResponse;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * A tenant was updated; carries its state after the change
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TenantUpdatedEvent implements TenantEvent {
+
+    private TenantResponse tenant;
+    private Instant occurredAt;
+
+    public static TenantUpdatedEvent of(TenantResponse tenant) {
+        return new TenantUpdatedEvent(tenant, Instant.now());
+    }
+
+    @Override
+    @JsonIgnore
+    public Long getTenantId() {
+        return tenant.getId();
+    }
+}
@@ -0,0 +1,11 @@
+package com.aozorastudio.atlas.tenant.exception;
+
+/**
+ * Exception thrown when a pagination cursor cannot be decoded
+ */
+public class InvalidTenantCursorException extends RuntimeException {
+
+    public InvalidTenantCursorException(String cursor) {
+        super("Invalid cursor: " + cursor);
+    }
+}
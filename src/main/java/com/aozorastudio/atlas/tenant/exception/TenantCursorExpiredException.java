@@ -0,0 +1,12 @@
+package com.aozorastudio.atlas.tenant.exception;
+
+/**
+ * Exception thrown when a change feed cursor predates tombstones that have since been purged
+ */
+public class TenantCursorExpiredException extends RuntimeException {
+
+    public TenantCursorExpiredException(String cursor) {
+        super("Cursor " + cursor + " is older than the purge horizon and may have missed deletions; "
+                + "resync by reading the feed again without a cursor");
+    }
+}
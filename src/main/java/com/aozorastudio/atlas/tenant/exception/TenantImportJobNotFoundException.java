@@ -0,0 +1,11 @@
+package com.aozorastudio.atlas.tenant.exception;
+
+/**
+ * Exception thrown when an import job is unknown or has expired
+ */
+public class TenantImportJobNotFoundException extends RuntimeException {
+
+    public TenantImportJobNotFoundException(String jobId) {
+        super("Import job not found with id: " + jobId);
+    }
+}
@@ -0,0 +1,19 @@
+package com.aozorastudio.atlas.tenant.exception;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Exception thrown when an import cannot be accepted right now
+ */
+@Getter
+public class TenantImportRejectedException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public TenantImportRejectedException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+}
@@ -0,0 +1,11 @@
+package com.aozorastudio.atlas.tenant.exception;
+
+/**
+ * Exception thrown when a write that must be conditional arrives without If-Match
+ */
+public class TenantPreconditionRequiredException extends RuntimeException {
+
+    public TenantPreconditionRequiredException(String message) {
+        super(message);
+    }
+}
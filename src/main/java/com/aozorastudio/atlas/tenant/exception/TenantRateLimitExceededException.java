@@ -0,0 +1,26 @@
+package com.aozorastudio.atlas.tenant.exception;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Exception thrown when a tenant is over one of its request limits
+ */
+@Getter
+public class TenantRateLimitExceededException extends RuntimeException {
+
+    private final Reason reason;
+    private final Duration retryAfter;
+
+    public TenantRateLimitExceededException(String message, Reason reason, Duration retryAfter) {
+        // Raised for every throttled request, so skip the stack trace
+        super(message, null, false, false);
+        this.reason = reason;
+        this.retryAfter = retryAfter;
+    }
+
+    public enum Reason {
+        RATE, CONCURRENCY, GLOBAL_BUDGET
+    }
+}
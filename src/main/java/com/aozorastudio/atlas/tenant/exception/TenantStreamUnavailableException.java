@@ -0,0 +1,19 @@
+package com.aozorastudio.atlas.tenant.exception;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Exception thrown when the change stream cannot take another subscriber
+ */
+@Getter
+public class TenantStreamUnavailableException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public TenantStreamUnavailableException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+}
@@ -0,0 +1,29 @@
+package com.aozorastudio.atlas.tenant.exception;
+
+import lombok.Getter;
+
+/**
+ * Exception thrown when a conditional write names a version the tenant is no longer at
+ */
+@Getter
+public class TenantVersionMismatchException extends RuntimeException {
+
+    private final Long id;
+
+    /**
+     * The tenant's current version, or null when it was not looked up
+     */
+    private final Long currentVersion;
+
+    public TenantVersionMismatchException(Long id, String message) {
+        super(message);
+        this.id = id;
+        this.currentVersion = null;
+    }
+
+    public TenantVersionMismatchException(Long id, Long expectedVersion, Long currentVersion) {
+        super("Tenant with id " + id + " is at version " + currentVersion + ", not " + expectedVersion);
+        this.id = id;
+        this.currentVersion = currentVersion;
+    }
+}
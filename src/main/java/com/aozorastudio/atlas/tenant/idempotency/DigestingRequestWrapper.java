@@ -0,0 +1,179 @@
+package com.aozorastudio.atlas.tenant.idempotency;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.Part;
+import org.springframework.http.HttpHeaders;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.Locale;
+
+/**
+ * Hashes the request body as it is read, so even a large import is fingerprinted without
+ * being held in memory. The query string and If-Match are hashed up front, and a multipart
+ * body, which the container parses from the raw stream, is hashed part by part.
+ */
+class DigestingRequestWrapper extends HttpServletRequestWrapper {
+
+    private final MessageDigest digest;
+    private ServletInputStream inputStream;
+    private BufferedReader reader;
+    private String fingerprint;
+
+    DigestingRequestWrapper(HttpServletRequest request) {
+        super(request);
+        try {
+            this.digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+        digestField(request.getQueryString());
+        digestField(request.getHeader(HttpHeaders.IF_MATCH));
+    }
+
+    @Override
+    public ServletInputStream getInputStream() throws IOException {
+        if (inputStream == null) {
+            inputStream = new DigestingInputStream(super.getInputStream());
+        }
+        return inputStream;
+    }
+
+    @Override
+    public BufferedReader getReader() throws IOException {
+        if (reader == null) {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+            reader = new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+        return reader;
+    }
+
+    /**
+     * Hash of the whole body, reading whatever the handler left unread
+     */
+    String fingerprint() {
+        if (fingerprint == null) {
+            if (!isMultipart() || !digestParts()) {
+                drain();
+            }
+            fingerprint = HexFormat.of().formatHex(digest.digest());
+        }
+        return fingerprint;
+    }
+
+    private boolean isMultipart() {
+        String contentType = getContentType();
+        return contentType != null && contentType.toLowerCase(Locale.ROOT).startsWith("multipart/");
+    }
+
+    /**
+     * Hash each part's headers and content; false if the handler consumed the raw body instead
+     */
+    private boolean digestParts() {
+        Collection<Part> parts;
+        try {
+            parts = getParts();
+        } catch (IOException | ServletException | IllegalStateException ex) {
+            return false;
+        }
+        for (Part part : parts) {
+            digestField(part.getName());
+            digestField(part.getSubmittedFileName());
+            digestField(part.getContentType());
+            digestField(Long.toString(part.getSize()));
+            try (InputStream in = part.getInputStream()) {
+                byte[] buffer = new byte[8192];
+                int n;
+                while ((n = in.read(buffer)) != -1) {
+                    digest.update(buffer, 0, n);
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Could not read part " + part.getName(), ex);
+            }
+        }
+        return true;
+    }
+
+    private void drain() {
+        try {
+            ServletInputStream in = getInputStream();
+            byte[] buffer = new byte[8192];
+            while (in.read(buffer) != -1) {
+                // Only the digest needs the rest of the body
+            }
+        } catch (IOException ex) {
+            // Closed by the handler, which only happens once it has read to the end
+        }
+    }
+
+    /**
+     * Length-prefixed, so adjacent fields cannot run into each other; absent hashes as -1
+     */
+    private void digestField(String value) {
+        byte[] bytes = value == null ? new byte[0] : value.getBytes(StandardCharsets.UTF_8);
+        digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(value == null ? -1 : bytes.length).array());
+        digest.update(bytes);
+    }
+
+    private class DigestingInputStream extends ServletInputStream {
+
+        private final ServletInputStream delegate;
+
+        DigestingInputStream(ServletInputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = delegate.read();
+            if (b != -1) {
+                digest.update((byte) b);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = delegate.read(b, off, len);
+            if (n > 0) {
+                digest.update(b, off, n);
+            }
+            return n;
+        }
+
+        @Override
+        public boolean isFinished() {
+            return delegate.isFinished();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            delegate.setReadListener(readListener);
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.aozorastudio.atlas.tenant.idempotency;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * First response to an idempotent request, replayed to its duplicates
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StoredResponse {
+
+    /**
+     * SHA-256 of the request body, so a key reused for a different request is caught
+     */
+    private String fingerprint;
+
+    private int status;
+    private Map<String, List<String>> headers;
+    private byte[] body;
+}
@@ -0,0 +1,277 @@
+package com.aozorastudio.atlas.tenant.idempotency;
+
+import com.aozorastudio.atlas.common.exception.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs a mutating request carrying an Idempotency-Key once and replays its response to
+ * every retry with the same key, method and path, without reaching a controller or the
+ * database. Duplicates arriving while the first is still running wait for its result:
+ * on this node through a shared future, on other nodes by polling the store.
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER + 20)
+@Slf4j
+public class TenantIdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final Set<String> MUTATING_METHODS = Set.of(
+            HttpMethod.POST.name(), HttpMethod.PUT.name(), HttpMethod.PATCH.name(), HttpMethod.DELETE.name());
+
+    private static final List<String> STORED_HEADERS = List.of(HttpHeaders.LOCATION, HttpHeaders.ETAG);
+
+    private final TenantIdempotencyProperties properties;
+    private final TenantIdempotencyStore store;
+    private final ObjectMapper objectMapper;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final UrlPathHelper urlPathHelper = new UrlPathHelper();
+    private final ConcurrentMap<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter executed;
+    private final Counter replayed;
+    private final Counter conflicts;
+    private final Counter mismatches;
+
+    public TenantIdempotencyFilter(TenantIdempotencyProperties properties,
+            TenantIdempotencyStore store,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.store = store;
+        this.objectMapper = objectMapper;
+
+        this.executed = requests(meterRegistry, "executed");
+        this.replayed = requests(meterRegistry, "replayed");
+        this.conflicts = requests(meterRegistry, "in-progress");
+        this.mismatches = requests(meterRegistry, "mismatch");
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled()
+                || !MUTATING_METHODS.contains(request.getMethod())
+                || request.getHeader(properties.getHeader()) == null
+                || !matches(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String key = request.getHeader(properties.getHeader()).trim();
+        if (key.isEmpty() || key.length() > properties.getMaxKeyLength()) {
+            reject(request, response, HttpStatus.BAD_REQUEST,
+                    properties.getHeader() + " must be 1 to " + properties.getMaxKeyLength() + " characters");
+            return;
+        }
+
+        String scopedKey = request.getMethod() + " " + request.getRequestURI() + " " + key;
+        DigestingRequestWrapper digesting = new DigestingRequestWrapper(request);
+        long deadline = System.nanoTime() + properties.getWaitTimeout().toNanos();
+
+        while (true) {
+            StoredResponse stored;
+            CompletableFuture<StoredResponse> mine = new CompletableFuture<>();
+            CompletableFuture<StoredResponse> running = inFlight.putIfAbsent(scopedKey, mine);
+            if (running != null) {
+                // A duplicate on this node waits for the first instead of asking the store
+                stored = await(running, deadline);
+            } else {
+                try {
+                    String token = UUID.randomUUID().toString();
+                    TenantIdempotencyStore.Claim claim = store.claim(scopedKey, token);
+                    if (claim.isAcquired()) {
+                        executed.increment();
+                        mine.complete(execute(scopedKey, token, digesting, response, filterChain));
+                        return;
+                    }
+
+                    stored = claim.getResponse();
+                    if (stored == null) {
+                        // Running on another node; check again shortly
+                        pause(deadline);
+                    }
+                    mine.complete(stored);
+                } finally {
+                    inFlight.remove(scopedKey, mine);
+                    // Wakes local duplicates to try again if this one failed before storing
+                    mine.complete(null);
+                }
+            }
+
+            if (stored != null) {
+                replay(digesting, response, stored);
+                return;
+            }
+            if (System.nanoTime() - deadline >= 0 || Thread.currentThread().isInterrupted()) {
+                conflicts.increment();
+                response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+                reject(request, response, HttpStatus.CONFLICT,
+                        "A request with this " + properties.getHeader() + " is still in progress");
+                return;
+            }
+        }
+    }
+
+    /**
+     * Run the request and store its response before it is sent, so a retry after the client
+     * has seen it is always replayed. Server errors and throttling are not stored, so their
+     * retries run again.
+     */
+    private StoredResponse execute(String key, String token, DigestingRequestWrapper request,
+            HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        StoredResponse result = null;
+        try {
+            filterChain.doFilter(request, wrapper);
+            result = capture(request, wrapper);
+        } finally {
+            if (result != null) {
+                store.complete(key, token, result);
+            } else {
+                store.release(key, token);
+            }
+            wrapper.copyBodyToResponse();
+        }
+        return result;
+    }
+
+    private StoredResponse capture(DigestingRequestWrapper request, ContentCachingResponseWrapper response) {
+        int status = response.getStatus();
+        if (status >= 500 || status == HttpStatus.TOO_MANY_REQUESTS.value()) {
+            return null;
+        }
+        if (response.getContentSize() > properties.getMaxResponseSize()) {
+            log.debug("Not storing {} byte response for idempotent replay", response.getContentSize());
+            return null;
+        }
+
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        if (response.getContentType() != null) {
+            headers.put(HttpHeaders.CONTENT_TYPE, List.of(response.getContentType()));
+        }
+        for (String name : STORED_HEADERS) {
+            Collection<String> values = response.getHeaders(name);
+            if (!values.isEmpty()) {
+                headers.put(name, List.copyOf(values));
+            }
+        }
+
+        return StoredResponse.builder()
+                .fingerprint(request.fingerprint())
+                .status(status)
+                .headers(headers)
+                .body(response.getContentAsByteArray())
+                .build();
+    }
+
+    private void replay(DigestingRequestWrapper request, HttpServletResponse response, StoredResponse stored)
+            throws IOException {
+        if (!stored.getFingerprint().equals(request.fingerprint())) {
+            mismatches.increment();
+            reject(request, response, HttpStatus.UNPROCESSABLE_ENTITY,
+                    properties.getHeader() + " was already used for a different request");
+            return;
+        }
+
+        replayed.increment();
+        response.setStatus(stored.getStatus());
+        stored.getHeaders().forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (stored.getBody() != null && stored.getBody().length > 0) {
+            response.setContentLength(stored.getBody().length);
+            response.getOutputStream().write(stored.getBody());
+        }
+    }
+
+    /**
+     * Result of the local execution in flight, or null if it stored none or the wait ran out
+     */
+    private static StoredResponse await(CompletableFuture<StoredResponse> running, long deadline) {
+        try {
+            return running.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException | TimeoutException ex) {
+            return null;
+        }
+    }
+
+    private void pause(long deadline) {
+        long nanos = Math.min(properties.getPollInterval().toNanos(), deadline - System.nanoTime());
+        if (nanos <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private boolean matches(HttpServletRequest request) {
+        String path = urlPathHelper.getPathWithinApplication(request);
+        for (String pattern : properties.getPaths()) {
+            if (pathMatcher.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, HttpStatus status, String message)
+            throws IOException {
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(status.value())
+                .error(status.getReasonPhrase())
+                .message(message)
+                .path(request.getRequestURI())
+                .build();
+
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("atlas.tenant.idempotency.requests")
+                .description("Requests carrying an idempotency key, by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,72 @@
+package com.aozorastudio.atlas.tenant.idempotency;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration for replaying mutating requests that carry an Idempotency-Key
+ */
+@Data
+@ConfigurationProperties(prefix = "atlas.tenant.idempotency")
+public class TenantIdempotencyProperties {
+
+    private boolean enabled = true;
+
+    private String header = "Idempotency-Key";
+
+    /**
+     * Ant patterns of the paths whose POST, PUT, PATCH and DELETE requests honour the key
+     */
+    private List<String> paths = new ArrayList<>(List.of("/api/v1/tenants/**"));
+
+    /**
+     * How long a completed response is replayed for its key
+     */
+    private Duration ttl = Duration.ofHours(24);
+
+    /**
+     * How long a key stays claimed by an execution, in case its node dies mid-request
+     */
+    private Duration lease = Duration.ofSeconds(30);
+
+    /**
+     * How long a duplicate waits for the execution in flight before getting a 409
+     */
+    private Duration waitTimeout = Duration.ofSeconds(10);
+
+    /**
+     * How often a duplicate checks on an execution running on another node
+     */
+    private Duration pollInterval = Duration.ofMillis(50);
+
+    private int maxKeyLength = 255;
+
+    /**
+     * Larger responses are not stored, so a retry runs the request again
+     */
+    private int maxResponseSize = 1_048_576;
+
+    private final Local local = new Local();
+
+    private final Redis redis = new Redis();
+
+    @Data
+    public static class Local {
+        private long maximumSize = 100_000;
+    }
+
+    @Data
+    public static class Redis {
+        private boolean enabled = true;
+        private String keyPrefix = "atlas:idempotency:";
+
+        /**
+         * How long to fall back to the local store after a failed call
+         */
+        private Duration failureBackoff = Duration.ofSeconds(5);
+    }
+}
@@ -0,0 +1,202 @@
+package com.aozorastudio.atlas.tenant.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Holds idempotency keys in Redis, so a retry landing on any node is answered from the first
+ * result. A key is first claimed with a short lease while its request runs, then replaced by
+ * the response for the full TTL. While Redis is disabled or failing, keys are held per node.
+ */
+@Component
+@Slf4j
+public class TenantIdempotencyStore {
+
+    private static final String PENDING = "pending:";
+
+    /**
+     * Deletes the key only while it is still claimed with the given token
+     */
+    private static final RedisScript<Long> RELEASE = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) end return 0",
+            Long.class);
+
+    /**
+     * Stores the response only while the key is still claimed with the given token, so a run
+     * whose lease expired cannot overwrite the claim or result of the run that took over
+     */
+    private static final RedisScript<Long> COMPLETE = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then " +
+                    "redis.call('SET', KEYS[1], ARGV[2], 'PX', ARGV[3]) return 1 end return 0",
+            Long.class);
+
+    private final TenantIdempotencyProperties properties;
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Cache<String, Entry> local;
+
+    private volatile long redisBypassUntil;
+
+    public TenantIdempotencyStore(TenantIdempotencyProperties properties,
+            StringRedisTemplate redisTemplate,
+            ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.local = Caffeine.newBuilder()
+                .maximumSize(properties.getLocal().getMaximumSize())
+                .expireAfter(new Expiry<String, Entry>() {
+                    @Override
+                    public long expireAfterCreate(String key, Entry entry, long currentTime) {
+                        return lifetime(entry);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+                        return lifetime(entry);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * Claim the key for one execution. Returns whether it was claimed, else the stored
+     * response, or neither while another execution still holds it.
+     */
+    public Claim claim(String key, String token) {
+        if (redisAvailable()) {
+            try {
+                Boolean claimed = redisTemplate.opsForValue()
+                        .setIfAbsent(redisKey(key), PENDING + token, properties.getLease());
+                if (Boolean.TRUE.equals(claimed)) {
+                    return Claim.ACQUIRED;
+                }
+                return Claim.held(parse(key, redisTemplate.opsForValue().get(redisKey(key))));
+            } catch (RuntimeException ex) {
+                redisFailed(ex);
+            }
+        }
+
+        Entry pending = new Entry(token, null);
+        Entry current = local.asMap().putIfAbsent(key, pending);
+        return current == null ? Claim.ACQUIRED : Claim.held(current.getResponse());
+    }
+
+    /**
+     * Replace the claim with the response, to be replayed until the TTL runs out. Does nothing
+     * if the claim has meanwhile expired and been taken by another execution.
+     */
+    public void complete(String key, String token, StoredResponse response) {
+        if (redisAvailable()) {
+            try {
+                Long stored = redisTemplate.execute(COMPLETE, List.of(redisKey(key)), PENDING + token,
+                        objectMapper.writeValueAsString(response), Long.toString(properties.getTtl().toMillis()));
+                if (!Long.valueOf(1).equals(stored)) {
+                    log.warn("Idempotency key claim expired before the response was stored, not storing it");
+                }
+                return;
+            } catch (JsonProcessingException ex) {
+                log.warn("Unable to serialize response for idempotency key, not storing it", ex);
+                release(key, token);
+                return;
+            } catch (RuntimeException ex) {
+                redisFailed(ex);
+            }
+        }
+
+        local.asMap().compute(key, (k, entry) ->
+                entry == null || (entry.getResponse() == null && token.equals(entry.getToken()))
+                        ? new Entry(token, response) : entry);
+    }
+
+    /**
+     * Give up a claim without a response, so the next retry runs the request again
+     */
+    public void release(String key, String token) {
+        if (redisAvailable()) {
+            try {
+                redisTemplate.execute(RELEASE, List.of(redisKey(key)), PENDING + token);
+            } catch (RuntimeException ex) {
+                redisFailed(ex);
+            }
+        }
+
+        local.asMap().computeIfPresent(key, (k, entry) ->
+                entry.getResponse() == null && token.equals(entry.getToken()) ? null : entry);
+    }
+
+    private StoredResponse parse(String key, String value) {
+        if (value == null || value.startsWith(PENDING)) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(value, StoredResponse.class);
+        } catch (JsonProcessingException ex) {
+            log.warn("Discarding unreadable stored response for idempotency key");
+            redisTemplate.delete(redisKey(key));
+            return null;
+        }
+    }
+
+    private long lifetime(Entry entry) {
+        Duration lifetime = entry.getResponse() == null ? properties.getLease() : properties.getTtl();
+        return lifetime.toNanos();
+    }
+
+    private boolean redisAvailable() {
+        return properties.getRedis().isEnabled() && System.currentTimeMillis() >= redisBypassUntil;
+    }
+
+    private void redisFailed(RuntimeException ex) {
+        redisBypassUntil = System.currentTimeMillis() + properties.getRedis().getFailureBackoff().toMillis();
+        log.warn("Idempotency store unavailable, holding keys locally for {}: {}",
+                properties.getRedis().getFailureBackoff(), ex.getMessage());
+    }
+
+    private String redisKey(String key) {
+        return properties.getRedis().getKeyPrefix() + key;
+    }
+
+    @Value
+    private static class Entry {
+        String token;
+        StoredResponse response;
+    }
+
+    /**
+     * Outcome of {@link #claim}
+     */
+    @Value
+    public static class Claim {
+
+        static final Claim ACQUIRED = new Claim(true, null);
+
+        boolean acquired;
+
+        /**
+         * The stored response, or null while the key is claimed by another execution
+         */
+        StoredResponse response;
+
+        static Claim held(StoredResponse response) {
+            return new Claim(false, response);
+        }
+    }
+}
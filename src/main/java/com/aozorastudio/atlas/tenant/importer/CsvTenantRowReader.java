@@ -0,0 +1,111 @@
+package com.aozorastudio.atlas.tenant.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * RFC 4180 reader: the first record names the columns, fields may be quoted
+ * with doubled quotes as escapes and may span lines
+ */
+final class CsvTenantRowReader implements TenantRowReader {
+
+    private final BufferedReader reader;
+    private String[] header;
+    private long line = 1;
+
+    CsvTenantRowReader(BufferedReader reader) {
+        this.reader = reader;
+    }
+
+    @Override
+    public TenantImportRow next() throws IOException {
+        if (header == null) {
+            List<String> names = readRecord();
+            if (names == null) {
+                return null;
+            }
+            header = names.stream().map(String::trim).toArray(String[]::new);
+            // Drop a UTF-8 byte order mark left by spreadsheet exports
+            if (header.length > 0 && header[0].startsWith("\uFEFF")) {
+                header[0] = header[0].substring(1);
+            }
+        }
+
+        while (true) {
+            long start = line;
+            List<String> values = readRecord();
+            if (values == null) {
+                return null;
+            }
+            if (values.size() == 1 && values.get(0).isEmpty()) {
+                continue;
+            }
+            if (values.size() != header.length) {
+                return TenantImportRow.invalid(start,
+                        "Expected " + header.length + " columns but found " + values.size());
+            }
+
+            Map<String, String> fields = new HashMap<>();
+            for (int i = 0; i < header.length; i++) {
+                fields.put(header[i], values.get(i));
+            }
+            return TenantImportRow.of(start, fields);
+        }
+    }
+
+    private List<String> readRecord() throws IOException {
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    values.add(value.toString());
+                    return values;
+                }
+                if (c == '"') {
+                    int following = reader.read();
+                    if (following != '"') {
+                        quoted = false;
+                        c = following;
+                        continue;
+                    }
+                    value.append('"');
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    value.append((char) c);
+                }
+            } else if (c == '"' && value.length() == 0) {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else if (c == '\n' || c == -1) {
+                values.add(value.toString());
+                if (c == '\n') {
+                    line++;
+                }
+                return values;
+            } else if (c != '\r') {
+                value.append((char) c);
+            }
+            c = reader.read();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,61 @@
+package com.aozorastudio.atlas.tenant.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reads one JSON object per line; a malformed line rejects only that row
+ */
+final class NdjsonTenantRowReader implements TenantRowReader {
+
+    private final BufferedReader reader;
+    private final ObjectMapper objectMapper;
+    private long line;
+
+    NdjsonTenantRowReader(BufferedReader reader, ObjectMapper objectMapper) {
+        this.reader = reader;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public TenantImportRow next() throws IOException {
+        String text;
+        while ((text = reader.readLine()) != null) {
+            line++;
+            if (!text.isBlank()) {
+                return parse(text);
+            }
+        }
+        return null;
+    }
+
+    private TenantImportRow parse(String text) {
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(text);
+        } catch (JsonProcessingException ex) {
+            return TenantImportRow.invalid(line, "Malformed JSON: " + ex.getOriginalMessage());
+        }
+        if (!node.isObject()) {
+            return TenantImportRow.invalid(line, "Expected a JSON object");
+        }
+
+        Map<String, String> fields = new HashMap<>();
+        node.fields().forEachRemaining(field -> {
+            JsonNode value = field.getValue();
+            fields.put(field.getKey(), value.isNull() ? null : value.isValueNode() ? value.asText() : value.toString());
+        });
+        return TenantImportRow.of(line, fields);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
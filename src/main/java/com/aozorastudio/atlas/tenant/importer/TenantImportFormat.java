@@ -0,0 +1,41 @@
+package com.aozorastudio.atlas.tenant.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Upload formats accepted by the tenant import
+ */
+public enum TenantImportFormat {
+
+    NDJSON,
+    CSV;
+
+    public static final String TEXT_CSV_VALUE = "text/csv";
+
+    /**
+     * Format for a request content type, or null when it is not supported
+     */
+    public static TenantImportFormat fromContentType(String contentType) {
+        MediaType mediaType = MediaType.parseMediaType(contentType);
+        if (MediaType.APPLICATION_NDJSON.includes(mediaType)) {
+            return NDJSON;
+        }
+        if (MediaType.parseMediaType(TEXT_CSV_VALUE).includes(mediaType)) {
+            return CSV;
+        }
+        return null;
+    }
+
+    TenantRowReader open(InputStream inputStream, ObjectMapper objectMapper) {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        return this == NDJSON
+                ? new NdjsonTenantRowReader(reader, objectMapper)
+                : new CsvTenantRowReader(reader);
+    }
+}
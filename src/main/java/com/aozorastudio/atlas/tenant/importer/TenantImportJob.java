@@ -0,0 +1,115 @@
+package com.aozorastudio.atlas.tenant.importer;
+
+import com.aozorastudio.atlas.tenant.dto.TenantImportStatusResponse;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of one import, written by its worker and read by status requests
+ */
+class TenantImportJob {
+
+    @Getter
+    private final String id;
+    @Getter
+    private final TenantImportFormat format;
+    private final int maxErrorRows;
+    private final LocalDateTime submittedAt = LocalDateTime.now();
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final List<TenantImportStatusResponse.ErrorRow> errors = new ArrayList<>();
+
+    private volatile TenantImportStatusResponse.Status status = TenantImportStatusResponse.Status.QUEUED;
+    private volatile LocalDateTime startedAt;
+    @Getter
+    private volatile LocalDateTime finishedAt;
+    private volatile long startedNanos;
+    private volatile long finishedNanos;
+    private volatile String failureMessage;
+
+    TenantImportJob(String id, TenantImportFormat format, int maxErrorRows) {
+        this.id = id;
+        this.format = format;
+        this.maxErrorRows = maxErrorRows;
+    }
+
+    void start() {
+        startedNanos = System.nanoTime();
+        startedAt = LocalDateTime.now();
+        status = TenantImportStatusResponse.Status.RUNNING;
+    }
+
+    void accept(long count) {
+        accepted.addAndGet(count);
+    }
+
+    void reject(long line, String code, String message) {
+        rejected.incrementAndGet();
+        synchronized (errors) {
+            if (errors.size() < maxErrorRows) {
+                errors.add(TenantImportStatusResponse.ErrorRow.builder()
+                        .line(line)
+                        .code(code)
+                        .message(message)
+                        .build());
+            }
+        }
+    }
+
+    void complete() {
+        finish(TenantImportStatusResponse.Status.COMPLETED, null);
+    }
+
+    void fail(String message) {
+        finish(TenantImportStatusResponse.Status.FAILED, message);
+    }
+
+    boolean isFinished() {
+        return finishedAt != null;
+    }
+
+    TenantImportStatusResponse toStatus() {
+        long acceptedRows = accepted.get();
+        long rejectedRows = rejected.get();
+        long processed = acceptedRows + rejectedRows;
+
+        double rowsPerSecond = 0;
+        if (startedAt != null) {
+            long end = finishedAt != null ? finishedNanos : System.nanoTime();
+            long elapsed = end - startedNanos;
+            rowsPerSecond = elapsed > 0 ? processed * 1_000_000_000d / elapsed : 0;
+        }
+
+        List<TenantImportStatusResponse.ErrorRow> errorRows;
+        synchronized (errors) {
+            errorRows = List.copyOf(errors);
+        }
+
+        return TenantImportStatusResponse.builder()
+                .jobId(id)
+                .format(format.name())
+                .status(status)
+                .submittedAt(submittedAt)
+                .startedAt(startedAt)
+                .finishedAt(finishedAt)
+                .rowsProcessed(processed)
+                .accepted(acceptedRows)
+                .rejected(rejectedRows)
+                .rowsPerSecond(rowsPerSecond)
+                .errors(errorRows)
+                .errorsTruncated(rejectedRows > errorRows.size())
+                .failureMessage(failureMessage)
+                .build();
+    }
+
+    private void finish(TenantImportStatusResponse.Status outcome, String message) {
+        finishedNanos = System.nanoTime();
+        failureMessage = message;
+        status = outcome;
+        finishedAt = LocalDateTime.now();
+    }
+}
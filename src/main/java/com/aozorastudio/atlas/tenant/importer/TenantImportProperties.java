@@ -0,0 +1,41 @@
+package com.aozorastudio.atlas.tenant.importer;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration for background tenant imports
+ */
+@Data
+@ConfigurationProperties(prefix = "atlas.tenant.import")
+public class TenantImportProperties {
+
+    /**
+     * Rows written per transaction
+     */
+    private int chunkSize = 500;
+
+    private int maxConcurrentJobs = 2;
+
+    /**
+     * Jobs that may wait for a worker before new uploads are refused
+     */
+    private int queueCapacity = 4;
+
+    /**
+     * Rejected rows kept for the status report; later rejections are only counted
+     */
+    private int maxErrorRows = 1_000;
+
+    /**
+     * How long finished jobs stay queryable
+     */
+    private Duration retention = Duration.ofHours(1);
+
+    /**
+     * Where uploads are spooled before parsing, defaults to the system temp directory
+     */
+    private String spoolDirectory;
+}
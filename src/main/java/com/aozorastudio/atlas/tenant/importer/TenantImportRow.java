@@ -0,0 +1,24 @@
+package com.aozorastudio.atlas.tenant.importer;
+
+import lombok.Value;
+
+import java.util.Map;
+
+/**
+ * A parsed upload row: raw field values by name, or the reason it could not be parsed
+ */
+@Value
+class TenantImportRow {
+
+    long line;
+    Map<String, String> fields;
+    String error;
+
+    static TenantImportRow of(long line, Map<String, String> fields) {
+        return new TenantImportRow(line, fields, null);
+    }
+
+    static TenantImportRow invalid(long line, String error) {
+        return new TenantImportRow(line, null, error);
+    }
+}
@@ -0,0 +1,286 @@
+package com.aozorastudio.atlas.tenant.importer;
+
+import com.aozorastudio.atlas.tenant.domain.Tenant;
+import com.aozorastudio.atlas.tenant.dto.BulkCreateTenantResponse;
+import com.aozorastudio.atlas.tenant.dto.CreateTenantRequest;
+import com.aozorastudio.atlas.tenant.dto.TenantImportStatusResponse;
+import com.aozorastudio.atlas.tenant.exception.TenantImportJobNotFoundException;
+import com.aozorastudio.atlas.tenant.exception.TenantImportRejectedException;
+import com.aozorastudio.atlas.tenant.service.TenantService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Collectors;
+
+/**
+ * Runs tenant imports in the background. Uploads are spooled to disk so the request
+ * thread is released immediately, then parsed row by row and written in fixed-size
+ * transactional chunks through {@link TenantService#createTenants(List)}.
+ */
+@Service
+@Slf4j
+public class TenantImportService {
+
+    private static final Duration RETRY_AFTER = Duration.ofSeconds(30);
+
+    private final TenantService tenantService;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final TenantImportProperties properties;
+    private final ThreadPoolTaskExecutor executor;
+    private final Semaphore slots;
+    private final Map<String, TenantImportJob> jobs = new ConcurrentHashMap<>();
+
+    public TenantImportService(TenantService tenantService,
+            Validator validator,
+            ObjectMapper objectMapper,
+            TenantImportProperties properties) {
+        this.tenantService = tenantService;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        // Running plus queued jobs; refusing early avoids spooling uploads that cannot run
+        this.slots = new Semaphore(properties.getMaxConcurrentJobs() + properties.getQueueCapacity());
+
+        this.executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(properties.getMaxConcurrentJobs());
+        executor.setMaxPoolSize(properties.getMaxConcurrentJobs());
+        executor.setQueueCapacity(properties.getQueueCapacity());
+        executor.setThreadNamePrefix("tenant-import-");
+        executor.initialize();
+    }
+
+    /**
+     * Spool the upload and queue it for import
+     */
+    public TenantImportStatusResponse submit(TenantImportFormat format, InputStream body) throws IOException {
+        if (!slots.tryAcquire()) {
+            throw new TenantImportRejectedException("Too many imports in progress, retry later", RETRY_AFTER);
+        }
+
+        Path spool;
+        try {
+            spool = spool(body);
+        } catch (IOException | RuntimeException ex) {
+            slots.release();
+            throw ex;
+        }
+
+        TenantImportJob job = new TenantImportJob(UUID.randomUUID().toString(), format, properties.getMaxErrorRows());
+        jobs.put(job.getId(), job);
+        try {
+            executor.execute(() -> {
+                try {
+                    run(job, spool);
+                } finally {
+                    slots.release();
+                }
+            });
+        } catch (TaskRejectedException ex) {
+            jobs.remove(job.getId());
+            deleteSpool(spool);
+            slots.release();
+            throw new TenantImportRejectedException("Too many imports in progress, retry later", RETRY_AFTER);
+        }
+
+        log.info("Queued {} tenant import {}", format, job.getId());
+        return job.toStatus();
+    }
+
+    /**
+     * Get the progress of an import job
+     */
+    public TenantImportStatusResponse getStatus(String jobId) {
+        TenantImportJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new TenantImportJobNotFoundException(jobId);
+        }
+        return job.toStatus();
+    }
+
+    /**
+     * Forget finished jobs once their retention has passed
+     */
+    @Scheduled(fixedDelay = 60_000)
+    public void evictFinishedJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(properties.getRetention());
+        jobs.values().removeIf(job -> job.isFinished() && job.getFinishedAt().isBefore(cutoff));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private void run(TenantImportJob job, Path spool) {
+        log.info("Starting tenant import {}", job.getId());
+        job.start();
+
+        int chunkSize = properties.getChunkSize();
+        List<CreateTenantRequest> chunk = new ArrayList<>(chunkSize);
+        List<Long> lines = new ArrayList<>(chunkSize);
+
+        try (InputStream inputStream = Files.newInputStream(spool);
+             TenantRowReader reader = job.getFormat().open(inputStream, objectMapper)) {
+            TenantImportRow row;
+            while ((row = reader.next()) != null) {
+                if (row.getError() != null) {
+                    job.reject(row.getLine(), null, row.getError());
+                    continue;
+                }
+
+                String code = row.getFields().get("code");
+                CreateTenantRequest request;
+                try {
+                    request = toRequest(row.getFields());
+                } catch (IllegalArgumentException ex) {
+                    job.reject(row.getLine(), code, ex.getMessage());
+                    continue;
+                }
+
+                String violations = validate(request);
+                if (violations != null) {
+                    job.reject(row.getLine(), code, violations);
+                    continue;
+                }
+
+                chunk.add(request);
+                lines.add(row.getLine());
+                if (chunk.size() == chunkSize) {
+                    write(job, chunk, lines);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                write(job, chunk, lines);
+            }
+
+            job.complete();
+            log.info("Finished tenant import {}", job.getId());
+        } catch (IOException | RuntimeException ex) {
+            log.error("Tenant import {} failed: {}", job.getId(), ex.getMessage(), ex);
+            job.fail(ex.getMessage());
+        } finally {
+            deleteSpool(spool);
+        }
+    }
+
+    /**
+     * Insert one chunk in its own transaction; a failed chunk rejects its rows and the import continues
+     */
+    private void write(TenantImportJob job, List<CreateTenantRequest> chunk, List<Long> lines) {
+        try {
+            BulkCreateTenantResponse response = tenantService.createTenants(chunk);
+            for (BulkCreateTenantResponse.Item item : response.getResults()) {
+                if (item.getOutcome() == BulkCreateTenantResponse.Outcome.CREATED) {
+                    job.accept(1);
+                } else {
+                    job.reject(lines.get(item.getIndex()), item.getCode(), item.getMessage());
+                }
+            }
+        } catch (DataAccessException ex) {
+            log.warn("Tenant import {} chunk failed: {}", job.getId(), ex.getMessage());
+            String message = "Chunk could not be written: " + ex.getMostSpecificCause().getMessage();
+            for (int i = 0; i < chunk.size(); i++) {
+                job.reject(lines.get(i), chunk.get(i).getCode(), message);
+            }
+        }
+        chunk.clear();
+        lines.clear();
+    }
+
+    private CreateTenantRequest toRequest(Map<String, String> fields) {
+        String status = blankToNull(fields.get("status"));
+        Tenant.TenantStatus tenantStatus = null;
+        if (status != null) {
+            try {
+                tenantStatus = Tenant.TenantStatus.valueOf(status.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException ex) {
+                throw new IllegalArgumentException("Unknown status: " + status);
+            }
+        }
+
+        return CreateTenantRequest.builder()
+                .code(fields.get("code"))
+                .name(fields.get("name"))
+                .description(blankToNull(fields.get("description")))
+                .email(blankToNull(fields.get("email")))
+                .phone(blankToNull(fields.get("phone")))
+                .address(blankToNull(fields.get("address")))
+                .status(tenantStatus)
+                .requestsPerSecond(integer(fields, "requestsPerSecond"))
+                .maxConcurrentRequests(integer(fields, "maxConcurrentRequests"))
+                .build();
+    }
+
+    private static Integer integer(Map<String, String> fields, String name) {
+        String value = blankToNull(fields.get(name));
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(value.trim());
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid " + name + ": " + value);
+        }
+    }
+
+    private String validate(CreateTenantRequest request) {
+        Set<ConstraintViolation<CreateTenantRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private Path spool(InputStream body) throws IOException {
+        Path directory = properties.getSpoolDirectory() != null
+                ? Path.of(properties.getSpoolDirectory())
+                : Path.of(System.getProperty("java.io.tmpdir"));
+        Path spool = Files.createTempFile(directory, "tenant-import-", ".upload");
+        try {
+            Files.copy(body, spool, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException | RuntimeException ex) {
+            deleteSpool(spool);
+            throw ex;
+        }
+        return spool;
+    }
+
+    private static void deleteSpool(Path spool) {
+        try {
+            Files.deleteIfExists(spool);
+        } catch (IOException ex) {
+            log.warn("Could not delete import spool file {}: {}", spool, ex.getMessage());
+        }
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+}
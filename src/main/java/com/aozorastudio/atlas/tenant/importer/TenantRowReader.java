@@ -0,0 +1,15 @@
+package com.aozorastudio.atlas.tenant.importer;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Pull parser yielding one upload row at a time
+ */
+interface TenantRowReader extends Closeable {
+
+    /**
+     * The next row, or null at the end of the input
+     */
+    TenantImportRow next() throws IOException;
+}
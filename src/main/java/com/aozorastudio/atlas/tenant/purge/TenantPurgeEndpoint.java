@@ -0,0 +1,24 @@
+package com.aozorastudio.atlas.tenant.purge;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Soft-delete purge backlog and the throughput of the last run
+ */
+@Component
+@Endpoint(id = "tenantpurge")
+public class TenantPurgeEndpoint {
+
+    private final TenantPurgeJob purgeJob;
+
+    public TenantPurgeEndpoint(TenantPurgeJob purgeJob) {
+        this.purgeJob = purgeJob;
+    }
+
+    @ReadOperation
+    public TenantPurgeStatus status() {
+        return purgeJob.status();
+    }
+}
@@ -0,0 +1,153 @@
+package com.aozorastudio.atlas.tenant.purge;
+
+import com.aozorastudio.atlas.tenant.cache.TenantEntityCacheInvalidator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Moves tenants soft-deleted longer than the retention from tenants to tenants_archive.
+ * Rows are taken in (deleted_at, id) order in bounded chunks, each copied and deleted in
+ * its own short transaction; SKIP LOCKED lets several nodes run the job side by side.
+ * Purged tombstones leave the change feed, which then refuses cursors from before them.
+ */
+@Component
+@Slf4j
+public class TenantPurgeJob {
+
+    private static final String COLUMNS = "id, code, name, description, email, phone, address, status, " +
+            "requests_per_second, max_concurrent_requests, created_at, updated_at, deleted_at, " +
+            "created_by, updated_by, version";
+
+    private static final String SELECT_CHUNK = "SELECT id, deleted_at FROM tenants " +
+            "WHERE deleted_at < ? AND (deleted_at > ? OR (deleted_at = ? AND id > ?)) " +
+            "ORDER BY deleted_at, id LIMIT ? FOR UPDATE SKIP LOCKED";
+
+    private final TenantPurgeProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TenantEntityCacheInvalidator entityCacheInvalidator;
+    private final Counter purged;
+
+    private volatile LocalDateTime lastRunStartedAt;
+    private volatile Duration lastRunDuration;
+    private volatile long lastRunPurged;
+    private volatile int lastRunChunks;
+    private volatile long totalPurged;
+
+    public TenantPurgeJob(TenantPurgeProperties properties,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            TenantEntityCacheInvalidator entityCacheInvalidator,
+            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.entityCacheInvalidator = entityCacheInvalidator;
+        this.purged = Counter.builder("atlas.tenant.purge.rows")
+                .description("Soft-deleted tenants moved to tenants_archive")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${atlas.tenant.purge.interval-ms:3600000}",
+            fixedDelayString = "${atlas.tenant.purge.interval-ms:3600000}")
+    public void purge() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        LocalDateTime startedAt = LocalDateTime.now();
+        long started = System.nanoTime();
+        Timestamp cutoff = Timestamp.valueOf(startedAt.minus(properties.getRetention()));
+        Position position = new Position(new Timestamp(0), 0L);
+        long moved = 0;
+        int chunks = 0;
+
+        while (chunks < properties.getMaxChunksPerRun()) {
+            Position from = position;
+            Chunk chunk = transactionTemplate.execute(status -> purgeChunk(cutoff, from));
+            chunks++;
+            moved += chunk.getMoved();
+            purged.increment(chunk.getMoved());
+            if (chunk.getNext() == null || chunk.getMoved() < properties.getChunkSize()) {
+                break;
+            }
+            position = chunk.getNext();
+        }
+
+        lastRunStartedAt = startedAt;
+        lastRunDuration = Duration.ofNanos(System.nanoTime() - started);
+        lastRunPurged = moved;
+        lastRunChunks = chunks;
+        totalPurged += moved;
+        if (moved > 0) {
+            log.info("Purged {} soft-deleted tenants in {} chunks, {} ms", moved, chunks, lastRunDuration.toMillis());
+        }
+    }
+
+    /**
+     * Backlog and last run figures, for the tenantpurge actuator endpoint
+     */
+    public TenantPurgeStatus status() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(properties.getRetention());
+        Long backlog = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM tenants WHERE deleted_at < ?", Long.class, Timestamp.valueOf(cutoff));
+        Long softDeleted = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM tenants WHERE deleted_at IS NOT NULL", Long.class);
+        return TenantPurgeStatus.builder()
+                .backlog(backlog != null ? backlog : 0)
+                .softDeleted(softDeleted != null ? softDeleted : 0)
+                .cutoff(cutoff)
+                .lastRunStartedAt(lastRunStartedAt)
+                .lastRunDuration(lastRunDuration)
+                .lastRunPurged(lastRunPurged)
+                .lastRunChunks(lastRunChunks)
+                .totalPurged(totalPurged)
+                .build();
+    }
+
+    private Chunk purgeChunk(Timestamp cutoff, Position from) {
+        List<Position> rows = jdbcTemplate.query(SELECT_CHUNK,
+                (rs, rowNum) -> new Position(rs.getTimestamp("deleted_at"), rs.getLong("id")),
+                cutoff, from.getDeletedAt(), from.getDeletedAt(), from.getId(), properties.getChunkSize());
+        if (rows.isEmpty()) {
+            return new Chunk(0, null);
+        }
+
+        Object[] ids = rows.stream().map(Position::getId).toArray();
+        String in = String.join(", ", Collections.nCopies(ids.length, "?"));
+        jdbcTemplate.update("INSERT INTO tenants_archive (" + COLUMNS + ", archived_at) SELECT " + COLUMNS +
+                ", CURRENT_TIMESTAMP FROM tenants WHERE id IN (" + in + ")", ids);
+        int deleted = jdbcTemplate.update("DELETE FROM tenants WHERE id IN (" + in + ")", ids);
+        entityCacheInvalidator.evictPurgedAfterCommit(rows.stream().map(Position::getId).toList());
+        return new Chunk(deleted, rows.get(rows.size() - 1));
+    }
+
+    @Value
+    private static class Position {
+        Timestamp deletedAt;
+        Long id;
+    }
+
+    @Value
+    private static class Chunk {
+        int moved;
+
+        /**
+         * Last row taken, where the next chunk starts; null when nothing was left
+         */
+        Position next;
+    }
+}
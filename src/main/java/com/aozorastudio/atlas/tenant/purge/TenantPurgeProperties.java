@@ -0,0 +1,34 @@
+package com.aozorastudio.atlas.tenant.purge;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration for purging soft-deleted tenants into tenants_archive
+ */
+@Data
+@ConfigurationProperties(prefix = "atlas.tenant.purge")
+public class TenantPurgeProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * How long soft-deleted tenants stay in the live table. Change feed clients that fall
+     * further behind than this miss the tombstones and must resync from the start.
+     */
+    private Duration retention = Duration.ofDays(30);
+
+    /**
+     * Rows moved per transaction
+     */
+    private int chunkSize = 500;
+
+    /**
+     * Chunks per run, so one run cannot occupy the database for long
+     */
+    private int maxChunksPerRun = 200;
+
+    private long intervalMs = 3_600_000;
+}
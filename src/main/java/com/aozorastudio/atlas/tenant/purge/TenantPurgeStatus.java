@@ -0,0 +1,39 @@
+package com.aozorastudio.atlas.tenant.purge;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Purge backlog and the throughput of the last run on this node
+ */
+@Value
+@Builder
+public class TenantPurgeStatus {
+
+    /**
+     * Soft-deleted tenants past the retention, waiting to be purged
+     */
+    long backlog;
+
+    /**
+     * All soft-deleted tenants still in the live table
+     */
+    long softDeleted;
+
+    LocalDateTime cutoff;
+    LocalDateTime lastRunStartedAt;
+    Duration lastRunDuration;
+    long lastRunPurged;
+    int lastRunChunks;
+    long totalPurged;
+
+    public double getLastRunRowsPerSecond() {
+        if (lastRunDuration == null || lastRunDuration.isZero()) {
+            return 0;
+        }
+        return lastRunPurged * 1_000.0 / lastRunDuration.toMillis();
+    }
+}
@@ -0,0 +1,25 @@
+package com.aozorastudio.atlas.tenant.ratelimit;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Current limits and throttling counts of one tenant on this node
+ */
+@Value
+@Builder
+public class TenantLimitStatus {
+
+    Long tenantId;
+    String code;
+    int requestsPerSecond;
+    int maxConcurrentRequests;
+    int inFlight;
+    long throttledByRate;
+    long throttledByConcurrency;
+    long throttledByGlobalBudget;
+
+    public long getThrottled() {
+        return throttledByRate + throttledByConcurrency + throttledByGlobalBudget;
+    }
+}
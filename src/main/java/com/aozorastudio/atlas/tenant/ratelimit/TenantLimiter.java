@@ -0,0 +1,133 @@
+package com.aozorastudio.atlas.tenant.ratelimit;
+
+import com.aozorastudio.atlas.tenant.exception.TenantRateLimitExceededException;
+import com.aozorastudio.atlas.tenant.exception.TenantRateLimitExceededException.Reason;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limits for one tenant on this node: a token bucket for the rate, a counter for requests
+ * in flight, and a flag set by the Redis sync when the cluster spent the tenant's budget
+ */
+final class TenantLimiter implements TenantRateLimiter.Permit {
+
+    private static final Duration CONCURRENCY_RETRY_AFTER = Duration.ofSeconds(1);
+
+    private final Long tenantId;
+    private final String code;
+    private final int requestsPerSecond;
+    private final int maxConcurrentRequests;
+    private final TokenBucket bucket;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder admittedSinceSync = new LongAdder();
+    private final LongAdder throttledByRate = new LongAdder();
+    private final LongAdder throttledByConcurrency = new LongAdder();
+    private final LongAdder throttledByBudget = new LongAdder();
+
+    private volatile boolean budgetSpent;
+    private volatile long budgetResetNanos;
+
+    TenantLimiter(Long tenantId, String code, int requestsPerSecond, int maxConcurrentRequests,
+            Duration burst, int stripes) {
+        this.tenantId = tenantId;
+        this.code = code;
+        this.requestsPerSecond = requestsPerSecond;
+        this.maxConcurrentRequests = maxConcurrentRequests;
+        this.bucket = requestsPerSecond > 0
+                ? new TokenBucket(requestsPerSecond, Math.max(1.0, requestsPerSecond * burst.toNanos() / 1e9), stripes)
+                : null;
+    }
+
+    /**
+     * Admit a request or throw; the caller must {@link #release()} an admitted request
+     */
+    void acquire(long nowNanos) {
+        if (budgetSpent) {
+            long wait = budgetResetNanos - nowNanos;
+            if (wait > 0) {
+                throttledByBudget.increment();
+                throw refused(Reason.GLOBAL_BUDGET, Duration.ofNanos(wait),
+                        "Tenant " + code + " has used its cluster-wide budget of " + requestsPerSecond + " requests per second");
+            }
+            budgetSpent = false;
+        }
+
+        if (maxConcurrentRequests > 0) {
+            int current;
+            do {
+                current = inFlight.get();
+                if (current >= maxConcurrentRequests) {
+                    throttledByConcurrency.increment();
+                    throw refused(Reason.CONCURRENCY, CONCURRENCY_RETRY_AFTER,
+                            "Tenant " + code + " already has " + maxConcurrentRequests + " requests in progress");
+                }
+            } while (!inFlight.compareAndSet(current, current + 1));
+        }
+
+        if (bucket != null) {
+            long wait = bucket.tryAcquire(nowNanos);
+            if (wait > 0) {
+                release();
+                throttledByRate.increment();
+                throw refused(Reason.RATE, Duration.ofNanos(wait),
+                        "Tenant " + code + " exceeded its rate of " + requestsPerSecond + " requests per second");
+            }
+        }
+        admittedSinceSync.increment();
+    }
+
+    @Override
+    public void release() {
+        if (maxConcurrentRequests > 0) {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    /**
+     * Refuse requests until the given time because the cluster spent the current window's budget
+     */
+    void spendBudgetUntil(long resetNanos) {
+        budgetResetNanos = resetNanos;
+        budgetSpent = true;
+    }
+
+    long drainAdmitted() {
+        return admittedSinceSync.sumThenReset();
+    }
+
+    boolean hasLimits(int requestsPerSecond, int maxConcurrentRequests) {
+        return this.requestsPerSecond == requestsPerSecond && this.maxConcurrentRequests == maxConcurrentRequests;
+    }
+
+    Long getTenantId() {
+        return tenantId;
+    }
+
+    String getCode() {
+        return code;
+    }
+
+    int getRequestsPerSecond() {
+        return requestsPerSecond;
+    }
+
+    TenantLimitStatus toStatus() {
+        return TenantLimitStatus.builder()
+                .tenantId(tenantId)
+                .code(code)
+                .requestsPerSecond(requestsPerSecond)
+                .maxConcurrentRequests(maxConcurrentRequests)
+                .inFlight(inFlight.get())
+                .throttledByRate(throttledByRate.sum())
+                .throttledByConcurrency(throttledByConcurrency.sum())
+                .throttledByGlobalBudget(throttledByBudget.sum())
+                .build();
+    }
+
+    private static TenantRateLimitExceededException refused(Reason reason, Duration retryAfter, String message) {
+        return new TenantRateLimitExceededException(message, reason, retryAfter);
+    }
+}
@@ -0,0 +1,25 @@
+package com.aozorastudio.atlas.tenant.ratelimit;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Registers the per-tenant limits for every request resolved to a tenant
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "atlas.tenant.rate-limit", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class TenantRateLimitConfiguration implements WebMvcConfigurer {
+
+    private final TenantRateLimiter rateLimiter;
+
+    public TenantRateLimitConfiguration(TenantRateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new TenantRateLimitInterceptor(rateLimiter));
+    }
+}
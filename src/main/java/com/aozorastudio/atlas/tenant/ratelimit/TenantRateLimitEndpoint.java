@@ -0,0 +1,29 @@
+package com.aozorastudio.atlas.tenant.ratelimit;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Per-tenant throttling on this node, most throttled first. Kept off the metrics registry
+ * so tenant codes never become tag values.
+ */
+@Component
+@Endpoint(id = "tenantlimits")
+public class TenantRateLimitEndpoint {
+
+    private static final int MAX_TENANTS = 100;
+
+    private final TenantRateLimiter rateLimiter;
+
+    public TenantRateLimitEndpoint(TenantRateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    @ReadOperation
+    public List<TenantLimitStatus> tenants() {
+        return rateLimiter.mostThrottled(MAX_TENANTS);
+    }
+}
@@ -0,0 +1,73 @@
+package com.aozorastudio.atlas.tenant.ratelimit;
+
+import com.aozorastudio.atlas.tenant.context.TenantContext;
+import com.aozorastudio.atlas.tenant.context.TenantResolutionFilter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+/**
+ * Applies the resolved tenant's limits before the handler runs. Refusals are thrown so
+ * GlobalExceptionHandler answers them; the permit is held across async processing and
+ * released once the request completes. Emitters such as the change stream are the
+ * exception: they stay open for as long as the client listens but hold no connection or
+ * thread once set up, so their permit is released as soon as the handler returns.
+ */
+class TenantRateLimitInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String PERMIT = TenantRateLimitInterceptor.class.getName() + ".PERMIT";
+
+    /**
+     * Left in place of a released permit, so the emitter's final async dispatch takes no new one
+     */
+    private static final Object RELEASED = new Object();
+
+    private final TenantRateLimiter rateLimiter;
+
+    TenantRateLimitInterceptor(TenantRateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // Async dispatches run preHandle again for a request that already holds a permit
+        if (request.getAttribute(PERMIT) != null) {
+            return true;
+        }
+
+        Object tenant = request.getAttribute(TenantResolutionFilter.ATTRIBUTE);
+        if (tenant instanceof TenantContext context) {
+            request.setAttribute(PERMIT, rateLimiter.acquire(context));
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+            Object handler) {
+        if (isEmitter(handler)) {
+            release(request, RELEASED);
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        release(request, null);
+    }
+
+    private static void release(HttpServletRequest request, Object replacement) {
+        Object permit = request.getAttribute(PERMIT);
+        if (permit instanceof TenantRateLimiter.Permit held) {
+            request.setAttribute(PERMIT, replacement);
+            held.release();
+        }
+    }
+
+    private static boolean isEmitter(Object handler) {
+        return handler instanceof HandlerMethod method
+                && ResponseBodyEmitter.class.isAssignableFrom(method.getReturnType().getParameterType());
+    }
+}
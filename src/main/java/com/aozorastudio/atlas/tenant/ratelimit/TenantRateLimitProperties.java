@@ -0,0 +1,54 @@
+package com.aozorastudio.atlas.tenant.ratelimit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Defaults and tuning for per-tenant request limits; limits set on a tenant take precedence
+ */
+@Data
+@ConfigurationProperties(prefix = "atlas.tenant.rate-limit")
+public class TenantRateLimitProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Sustained requests per second for tenants without their own limit; 0 disables
+     */
+    private int defaultRequestsPerSecond = 50;
+
+    /**
+     * In-flight requests per tenant and node for tenants without their own limit; 0 disables.
+     * Keep it well below the connection pool size so one tenant cannot take every connection.
+     */
+    private int defaultMaxConcurrentRequests = 8;
+
+    /**
+     * How long a tenant may burst at full speed after being idle, as a multiple of its rate
+     */
+    private Duration burst = Duration.ofSeconds(1);
+
+    /**
+     * Independent sub-buckets per tenant, spreading contention between request threads
+     */
+    private int stripes = 4;
+
+    /**
+     * Limiters unused for this long are dropped
+     */
+    private Duration idleTimeout = Duration.ofMinutes(10);
+
+    private final Redis redis = new Redis();
+
+    /**
+     * Cluster-wide budget shared through Redis counters, reconciled off the request path
+     */
+    @Data
+    public static class Redis {
+        private boolean enabled = true;
+        private long syncIntervalMs = 250;
+        private String keyPrefix = "atlas:tenant:rate:";
+    }
+}
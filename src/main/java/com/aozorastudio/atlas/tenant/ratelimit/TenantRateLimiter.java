@@ -0,0 +1,170 @@
+package com.aozorastudio.atlas.tenant.ratelimit;
+
+import com.aozorastudio.atlas.tenant.context.TenantContext;
+import com.aozorastudio.atlas.tenant.exception.TenantRateLimitExceededException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Enforces per-tenant request rate and concurrency limits. Each node admits requests from
+ * local token buckets at the tenant's full rate; every sync interval it adds what it admitted
+ * to a per-second Redis counter shared by the cluster and, once the cluster has spent the
+ * tenant's budget for that second, refuses the tenant until the next one. The request path
+ * never waits on Redis, at the cost of overshooting by up to one sync interval per node.
+ * Concurrency is limited per node, since each node has its own connection pool to protect.
+ */
+@Component
+@Slf4j
+public class TenantRateLimiter {
+
+    private static final long WINDOW_MILLIS = 1_000;
+
+    private final TenantRateLimitProperties properties;
+    private final StringRedisTemplate redisTemplate;
+    private final Cache<Long, TenantLimiter> limiters;
+    private final Map<TenantRateLimitExceededException.Reason, Counter> throttled =
+            new EnumMap<>(TenantRateLimitExceededException.Reason.class);
+
+    public TenantRateLimiter(TenantRateLimitProperties properties,
+            StringRedisTemplate redisTemplate,
+            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.redisTemplate = redisTemplate;
+        this.limiters = Caffeine.newBuilder()
+                .expireAfterAccess(properties.getIdleTimeout())
+                .build();
+
+        for (TenantRateLimitExceededException.Reason reason : TenantRateLimitExceededException.Reason.values()) {
+            throttled.put(reason, Counter.builder("atlas.tenant.rate-limit.throttled")
+                    .description("Requests refused by per-tenant limits; per-tenant counts are on the tenantlimits endpoint")
+                    .tag("reason", reason.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+        Gauge.builder("atlas.tenant.rate-limit.tenants", limiters, cache -> cache.estimatedSize())
+                .description("Tenants with an active limiter on this node")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Admit a request for the tenant, or throw {@link TenantRateLimitExceededException}.
+     * The returned permit must be released when the request completes.
+     */
+    public Permit acquire(TenantContext tenant) {
+        TenantLimiter limiter = limiterFor(tenant);
+        try {
+            limiter.acquire(System.nanoTime());
+            return limiter;
+        } catch (TenantRateLimitExceededException ex) {
+            throttled.get(ex.getReason()).increment();
+            throw ex;
+        }
+    }
+
+    /**
+     * Tenants on this node that were throttled most, for the actuator endpoint
+     */
+    public List<TenantLimitStatus> mostThrottled(int limit) {
+        List<TenantLimitStatus> statuses = new ArrayList<>();
+        limiters.asMap().values().forEach(limiter -> statuses.add(limiter.toStatus()));
+        statuses.sort(Comparator.comparingLong(TenantLimitStatus::getThrottled).reversed());
+        return statuses.subList(0, Math.min(limit, statuses.size()));
+    }
+
+    /**
+     * Report what this node admitted to the shared per-second counters and stop tenants
+     * whose cluster-wide total is over budget
+     */
+    @Scheduled(fixedDelayString = "${atlas.tenant.rate-limit.redis.sync-interval-ms:250}")
+    public void syncWithCluster() {
+        if (!properties.isEnabled() || !properties.getRedis().isEnabled()) {
+            return;
+        }
+
+        long nowMillis = System.currentTimeMillis();
+        long window = nowMillis / WINDOW_MILLIS;
+        List<TenantLimiter> active = new ArrayList<>();
+        List<Long> admitted = new ArrayList<>();
+        for (TenantLimiter limiter : limiters.asMap().values()) {
+            long count = limiter.drainAdmitted();
+            if (count > 0 && limiter.getRequestsPerSecond() > 0) {
+                active.add(limiter);
+                admitted.add(count);
+            }
+        }
+        if (active.isEmpty()) {
+            return;
+        }
+
+        List<Object> results;
+        try {
+            results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (int i = 0; i < active.size(); i++) {
+                    byte[] key = key(active.get(i), window);
+                    connection.stringCommands().incrBy(key, admitted.get(i));
+                    connection.keyCommands().pExpire(key, 2 * WINDOW_MILLIS);
+                }
+                return null;
+            });
+        } catch (DataAccessException ex) {
+            // Local buckets keep enforcing the per-node rate while Redis is unavailable
+            log.warn("Could not sync tenant rate limits with Redis: {}", ex.getMessage());
+            return;
+        }
+
+        long resetNanos = System.nanoTime() + ((window + 1) * WINDOW_MILLIS - nowMillis) * 1_000_000L;
+        for (int i = 0; i < active.size(); i++) {
+            Object total = results.get(2 * i);
+            TenantLimiter limiter = active.get(i);
+            if (total instanceof Long spent && spent >= limiter.getRequestsPerSecond()) {
+                limiter.spendBudgetUntil(resetNanos);
+            }
+        }
+    }
+
+    private TenantLimiter limiterFor(TenantContext tenant) {
+        int requestsPerSecond = tenant.getRequestsPerSecond() != null
+                ? tenant.getRequestsPerSecond() : properties.getDefaultRequestsPerSecond();
+        int maxConcurrentRequests = tenant.getMaxConcurrentRequests() != null
+                ? tenant.getMaxConcurrentRequests() : properties.getDefaultMaxConcurrentRequests();
+
+        TenantLimiter limiter = limiters.getIfPresent(tenant.getId());
+        if (limiter != null && limiter.hasLimits(requestsPerSecond, maxConcurrentRequests)) {
+            return limiter;
+        }
+        // New tenant or changed limits; requests in flight release against the limiter they took
+        return limiters.asMap().compute(tenant.getId(), (id, current) ->
+                current != null && current.hasLimits(requestsPerSecond, maxConcurrentRequests)
+                        ? current
+                        : new TenantLimiter(id, tenant.getCode(), requestsPerSecond, maxConcurrentRequests,
+                                properties.getBurst(), properties.getStripes()));
+    }
+
+    private byte[] key(TenantLimiter limiter, long window) {
+        return (properties.getRedis().getKeyPrefix() + limiter.getTenantId() + ":" + window)
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Admission of one request, released when it completes
+     */
+    public interface Permit {
+        void release();
+    }
+}
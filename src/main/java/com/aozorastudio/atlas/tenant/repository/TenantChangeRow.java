@@ -0,0 +1,42 @@
+package com.aozorastudio.atlas.tenant.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Columns of a change feed row, soft-deleted ones included. Read as scalars so no
+ * {@code Tenant} entity is managed or cached for a row that {@code @Where} would hide.
+ */
+public interface TenantChangeRow {
+
+    Long getId();
+
+    String getCode();
+
+    String getName();
+
+    String getDescription();
+
+    String getEmail();
+
+    String getPhone();
+
+    String getAddress();
+
+    String getStatus();
+
+    Integer getRequestsPerSecond();
+
+    Integer getMaxConcurrentRequests();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getUpdatedAt();
+
+    LocalDateTime getDeletedAt();
+
+    String getCreatedBy();
+
+    String getUpdatedBy();
+
+    Long getVersion();
+}
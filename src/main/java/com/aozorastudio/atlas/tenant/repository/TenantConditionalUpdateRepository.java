@@ -0,0 +1,17 @@
+package com.aozorastudio.atlas.tenant.repository;
+
+import com.aozorastudio.atlas.tenant.dto.PatchTenantRequest;
+
+/**
+ * Writes that check the tenant's version in the same statement, instead of loading it first
+ */
+public interface TenantConditionalUpdateRepository {
+
+    /**
+     * Apply the non-null fields of the patch and bump the version, but only while the tenant
+     * is live and still at the expected version; a null version matches any.
+     *
+     * @return the number of rows updated, 0 when the tenant is missing or has moved on
+     */
+    int updateIfVersion(Long id, Long expectedVersion, PatchTenantRequest patch, String updatedBy);
+}
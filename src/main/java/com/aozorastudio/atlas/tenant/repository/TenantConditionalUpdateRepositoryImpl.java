@@ -0,0 +1,56 @@
+package com.aozorastudio.atlas.tenant.repository;
+
+import com.aozorastudio.atlas.tenant.domain.Tenant;
+import com.aozorastudio.atlas.tenant.dto.PatchTenantRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs the conditional update through JDBC on the transaction's connection. Going through
+ * Hibernate would make it drop the whole tenant cache region after every bulk statement,
+ * so the caller evicts just the one tenant instead.
+ */
+class TenantConditionalUpdateRepositoryImpl implements TenantConditionalUpdateRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    TenantConditionalUpdateRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public int updateIfVersion(Long id, Long expectedVersion, PatchTenantRequest patch, String updatedBy) {
+        StringBuilder sql = new StringBuilder("UPDATE tenants SET version = version + 1, updated_at = ?, updated_by = ?");
+        List<Object> args = new ArrayList<>();
+        args.add(Timestamp.valueOf(Tenant.auditTime()));
+        args.add(updatedBy);
+
+        set(sql, args, "name", patch.getName());
+        set(sql, args, "description", patch.getDescription());
+        set(sql, args, "email", patch.getEmail());
+        set(sql, args, "phone", patch.getPhone());
+        set(sql, args, "address", patch.getAddress());
+        set(sql, args, "status", patch.getStatus() != null ? patch.getStatus().name() : null);
+        set(sql, args, "requests_per_second", patch.getRequestsPerSecond());
+        set(sql, args, "max_concurrent_requests", patch.getMaxConcurrentRequests());
+
+        sql.append(" WHERE id = ? AND deleted_at IS NULL");
+        args.add(id);
+        if (expectedVersion != null) {
+            sql.append(" AND version = ?");
+            args.add(expectedVersion);
+        }
+
+        return jdbcTemplate.update(sql.toString(), args.toArray());
+    }
+
+    private static void set(StringBuilder sql, List<Object> args, String column, Object value) {
+        if (value != null) {
+            sql.append(", ").append(column).append(" = ?");
+            args.add(value);
+        }
+    }
+}
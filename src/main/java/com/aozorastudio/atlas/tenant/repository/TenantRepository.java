@@ -1,46 +1,248 @@
 package com.aozorastudio.atlas.tenant.repository;
 
+import com.aozorastudio.atlas.tenant.context.TenantContext;
 import com.aozorastudio.atlas.tenant.domain.Tenant;
+import com.aozorastudio.atlas.tenant.dto.TenantResponse;
+import com.aozorastudio.atlas.tenant.dto.TenantVersion;
+import com.aozorastudio.atlas.tenant.search.TenantIndexEntry;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for Tenant entity
  */
 @Repository
-public interface TenantRepository extends JpaRepository<Tenant, Long> {
+public interface TenantRepository extends JpaRepository<Tenant, Long>,
+        TenantConditionalUpdateRepository {
+
+    String SEARCH_FILTER = "(:searchTerm IS NULL OR :searchTerm = '' OR " +
+            "LOWER(t.name) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+            "LOWER(t.code) LIKE LOWER(CONCAT('%', :searchTerm, '%'))) AND " +
+            "(:status IS NULL OR t.status = :status)";
+
+    /**
+     * Reads that only need the response select its columns straight into the DTO,
+     * so no entity is managed, snapshotted or dirty-checked
+     */
+    String RESPONSE_PROJECTION = "SELECT new com.aozorastudio.atlas.tenant.dto.TenantResponse(" +
+            "t.id, t.code, t.name, t.description, t.email, t.phone, t.address, t.status, " +
+            "t.requestsPerSecond, t.maxConcurrentRequests, " +
+            "t.createdAt, t.updatedAt, t.createdBy, t.updatedBy, t.version) FROM Tenant t";
+
+    /**
+     * Columns needed to resolve a request's tenant and apply its limits
+     */
+    String CONTEXT_PROJECTION = "SELECT new com.aozorastudio.atlas.tenant.context.TenantContext(" +
+            "t.id, t.code, t.status, t.version, t.requestsPerSecond, t.maxConcurrentRequests) FROM Tenant t";
 
     /**
      * Find tenant by code
      */
     Optional<Tenant> findByCode(String code);
 
+    /**
+     * Find tenant response by id without loading the entity
+     */
+    @Query(RESPONSE_PROJECTION + " WHERE t.id = :id")
+    Optional<TenantResponse> findResponseById(@Param("id") Long id);
+
+    /**
+     * Find tenant response by code without loading the entity
+     */
+    @Query(RESPONSE_PROJECTION + " WHERE t.code = :code")
+    Optional<TenantResponse> findResponseByCode(@Param("code") String code);
+
+    /**
+     * Find only the version of a tenant, for answering conditional requests
+     */
+    @Query("SELECT new com.aozorastudio.atlas.tenant.dto.TenantVersion(t.id, t.version) " +
+            "FROM Tenant t WHERE t.id = :id")
+    Optional<TenantVersion> findVersionById(@Param("id") Long id);
+
+    /**
+     * Find only the id and version of a tenant by code, for answering conditional requests
+     */
+    @Query("SELECT new com.aozorastudio.atlas.tenant.dto.TenantVersion(t.id, t.version) " +
+            "FROM Tenant t WHERE t.code = :code")
+    Optional<TenantVersion> findVersionByCode(@Param("code") String code);
+
+    /**
+     * Find tenant responses for the given ids, in no particular order
+     */
+    @Query(RESPONSE_PROJECTION + " WHERE t.id IN :ids")
+    List<TenantResponse> findResponsesByIdIn(@Param("ids") Collection<Long> ids);
+
     /**
      * Check if tenant exists by code
      */
     boolean existsByCode(String code);
 
     /**
-     * Search tenants by name or code with pagination
+     * Codes from the given set that are already taken, including by soft-deleted
+     * tenants since the unique constraint still covers them
      */
-    @Query("SELECT t FROM Tenant t WHERE " +
-            "(:searchTerm IS NULL OR :searchTerm = '' OR " +
-            "LOWER(t.name) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-            "LOWER(t.code) LIKE LOWER(CONCAT('%', :searchTerm, '%'))) AND " +
-            "(:status IS NULL OR t.status = :status)")
-    Page<Tenant> searchTenants(@Param("searchTerm") String searchTerm,
+    @Query(value = "SELECT code FROM tenants WHERE code IN (:codes)", nativeQuery = true)
+    List<String> findTakenCodes(@Param("codes") Collection<String> codes);
+
+    /**
+     * Search tenants by name or code, one page of content without the count
+     */
+    @Query(RESPONSE_PROJECTION + " WHERE " + SEARCH_FILTER)
+    List<TenantResponse> searchTenants(@Param("searchTerm") String searchTerm,
             @Param("status") Tenant.TenantStatus status,
             Pageable pageable);
 
     /**
-     * Find all active tenants
+     * Total matches for {@link #searchTenants}, kept separate so it is timed on its own
+     */
+    @Query("SELECT COUNT(t) FROM Tenant t WHERE " + SEARCH_FILTER)
+    long countSearchTenants(@Param("searchTerm") String searchTerm,
+            @Param("status") Tenant.TenantStatus status);
+
+    /**
+     * First keyset page, newest first. Served by idx_tenant_created_at, which InnoDB
+     * extends with the primary key, so (created_at, id) is fully indexed.
+     */
+    @Query(RESPONSE_PROJECTION + " WHERE " + SEARCH_FILTER +
+            " ORDER BY t.createdAt DESC, t.id DESC")
+    List<TenantResponse> findFirstPageDesc(@Param("searchTerm") String searchTerm,
+            @Param("status") Tenant.TenantStatus status,
+            Limit limit);
+
+    /**
+     * Keyset page seeking past (createdAt, id), newest first
      */
+    @Query(RESPONSE_PROJECTION + " WHERE " + SEARCH_FILTER +
+            " AND (t.createdAt, t.id) < (:createdAt, :id) ORDER BY t.createdAt DESC, t.id DESC")
+    List<TenantResponse> findPageBefore(@Param("searchTerm") String searchTerm,
+            @Param("status") Tenant.TenantStatus status,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Limit limit);
+
+    /**
+     * First keyset page, oldest first
+     */
+    @Query(RESPONSE_PROJECTION + " WHERE " + SEARCH_FILTER +
+            " ORDER BY t.createdAt ASC, t.id ASC")
+    List<TenantResponse> findFirstPageAsc(@Param("searchTerm") String searchTerm,
+            @Param("status") Tenant.TenantStatus status,
+            Limit limit);
+
+    /**
+     * Keyset page seeking past (createdAt, id), oldest first
+     */
+    @Query(RESPONSE_PROJECTION + " WHERE " + SEARCH_FILTER +
+            " AND (t.createdAt, t.id) > (:createdAt, :id) ORDER BY t.createdAt ASC, t.id ASC")
+    List<TenantResponse> findPageAfter(@Param("searchTerm") String searchTerm,
+            @Param("status") Tenant.TenantStatus status,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Limit limit);
+
+    /**
+     * Stream tenants in id order through a forward-only cursor for export.
+     * Must be consumed inside a transaction and closed by the caller.
+     * A fetch size of Integer.MIN_VALUE makes MySQL Connector/J stream this one result set row
+     * by row, without turning on useCursorFetch for every statement on the connection.
+     * Bypasses the second-level cache so a full export does not flush out the hot set.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    @Query("SELECT t FROM Tenant t WHERE " +
+            "(:status IS NULL OR t.status = :status) AND " +
+            "(:updatedSince IS NULL OR t.updatedAt >= :updatedSince) " +
+            "ORDER BY t.id")
+    Stream<Tenant> streamForExport(@Param("status") Tenant.TenantStatus status,
+            @Param("updatedSince") LocalDateTime updatedSince);
+
+    /**
+     * Change feed page: tenants changed after (updatedAt, id) and before the settle bound,
+     * soft-deleted rows included. Native so the entity's deleted_at filter does not apply,
+     * and projected so deleted rows never become managed or second-level cached entities;
+     * served by idx_tenant_updated_at_id.
+     */
+    @Query(value = "SELECT id AS id, code AS code, name AS name, description AS description, " +
+            "email AS email, phone AS phone, address AS address, status AS status, " +
+            "requests_per_second AS requestsPerSecond, max_concurrent_requests AS maxConcurrentRequests, " +
+            "created_at AS createdAt, updated_at AS updatedAt, deleted_at AS deletedAt, " +
+            "created_by AS createdBy, updated_by AS updatedBy, version AS version " +
+            "FROM tenants WHERE updated_at < :until AND " +
+            "(updated_at > :updatedAt OR (updated_at = :updatedAt AND id > :id)) " +
+            "ORDER BY updated_at, id LIMIT :limit", nativeQuery = true)
+    List<TenantChangeRow> findChangesAfter(@Param("updatedAt") LocalDateTime updatedAt,
+            @Param("id") Long id,
+            @Param("until") LocalDateTime until,
+            @Param("limit") int limit);
+
+    /**
+     * Change feed position of the newest tombstone moved to tenants_archive by the purge job;
+     * a cursor before it may have missed deletions. Served by idx_tenants_archive_updated_at_id.
+     */
+    @Query(value = "SELECT id AS id, updated_at AS updatedAt FROM tenants_archive " +
+            "WHERE updated_at IS NOT NULL ORDER BY updated_at DESC, id DESC LIMIT 1", nativeQuery = true)
+    Optional<TenantChangeRow> findPurgeHorizon();
+
+    /**
+     * Find all active tenants. Pages are kept in the query cache until a tenant write
+     * invalidates them.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = Tenant.ACTIVE_QUERY_CACHE_REGION)
+    })
     @Query("SELECT t FROM Tenant t WHERE t.status = 'ACTIVE'")
     Page<Tenant> findAllActive(Pageable pageable);
+
+    /**
+     * Load request resolution entries in id order, starting after the given id
+     */
+    @Query(CONTEXT_PROJECTION + " WHERE t.id > :afterId ORDER BY t.id")
+    List<TenantContext> findContexts(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Load the request resolution entry for a code; MySQL's default collation matches it case-insensitively
+     */
+    @Query(CONTEXT_PROJECTION + " WHERE t.code = :code")
+    Optional<TenantContext> findContextByCode(@Param("code") String code);
+
+    /**
+     * Load request resolution entries for the given ids
+     */
+    @Query(CONTEXT_PROJECTION + " WHERE t.id IN :ids")
+    List<TenantContext> findContextsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Load search index entries in id order, starting after the given id
+     */
+    @Query("SELECT new com.aozorastudio.atlas.tenant.search.TenantIndexEntry(" +
+            "t.id, t.code, t.name, t.status, t.createdAt, t.updatedAt, t.version) " +
+            "FROM Tenant t WHERE t.id > :afterId ORDER BY t.id")
+    List<TenantIndexEntry> findIndexEntries(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Load search index entries for the given ids
+     */
+    @Query("SELECT new com.aozorastudio.atlas.tenant.search.TenantIndexEntry(" +
+            "t.id, t.code, t.name, t.status, t.createdAt, t.updatedAt, t.version) " +
+            "FROM Tenant t WHERE t.id IN :ids")
+    List<TenantIndexEntry> findIndexEntriesByIdIn(@Param("ids") Collection<Long> ids);
 }
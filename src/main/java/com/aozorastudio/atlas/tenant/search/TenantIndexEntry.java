@@ -0,0 +1,27 @@
+package com.aozorastudio.atlas.tenant.search;
+
+import com.aozorastudio.atlas.tenant.domain.Tenant;
+import com.aozorastudio.atlas.tenant.dto.TenantResponse;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Searchable columns of a tenant, loaded without hydrating the entity
+ */
+@Value
+public class TenantIndexEntry {
+
+    Long id;
+    String code;
+    String name;
+    Tenant.TenantStatus status;
+    LocalDateTime createdAt;
+    LocalDateTime updatedAt;
+    Long version;
+
+    public static TenantIndexEntry from(TenantResponse tenant) {
+        return new TenantIndexEntry(tenant.getId(), tenant.getCode(), tenant.getName(), tenant.getStatus(),
+                tenant.getCreatedAt(), tenant.getUpdatedAt(), tenant.getVersion());
+    }
+}
@@ -0,0 +1,15 @@
+package com.aozorastudio.atlas.tenant.search;
+
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Ids on the requested page, in order, plus the total match count
+ */
+@Value
+public class TenantSearchHits {
+
+    List<Long> ids;
+    long total;
+}
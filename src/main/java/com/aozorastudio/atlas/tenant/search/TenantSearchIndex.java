@@ -0,0 +1,310 @@
+package com.aozorastudio.atlas.tenant.search;
+
+import com.aozorastudio.atlas.common.datasource.ReplicaRoutingContext;
+import com.aozorastudio.atlas.common.scheduling.MaintenanceRunner;
+import com.aozorastudio.atlas.tenant.cache.TenantInvalidationBus;
+import com.aozorastudio.atlas.tenant.domain.Tenant;
+import com.aozorastudio.atlas.tenant.repository.TenantRepository;
+import com.aozorastudio.atlas.tenant.service.TenantChange;
+import com.aozorastudio.atlas.tenant.service.TenantChangeListener;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * In-memory search engine for tenants, answering term + status queries from a
+ * {@link TrigramIndex}. Built at startup, kept current from committed changes and
+ * rebuilt periodically as a safety net; until it is ready, or for unsupported sorts,
+ * callers fall back to the database.
+ * <p>
+ * As with the code filter, the index only answers while the invalidation bus is caught up
+ * and has lost nothing since the index was built, and is rebuilt as soon as the bus is
+ * healthy again. A delete leaves a short-lived tombstone so a re-read that started before
+ * it cannot put the tenant back.
+ */
+@Component
+@Slf4j
+public class TenantSearchIndex implements TenantChangeListener {
+
+    private final TenantSearchProperties properties;
+    private final TenantRepository tenantRepository;
+    private final TenantInvalidationBus invalidationBus;
+    private final MaintenanceRunner maintenanceRunner;
+    private final Cache<Long, Long> tombstones;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ConcurrentLinkedQueue<Long> pendingReloads = new ConcurrentLinkedQueue<>();
+
+    private TrigramIndex index = new TrigramIndex();
+    private List<Consumer<TrigramIndex>> changesDuringRebuild;
+    private long modifications;
+    private volatile boolean ready;
+
+    /**
+     * Bus resync count the current index was built at
+     */
+    private volatile long builtAtResync = -1;
+
+    public TenantSearchIndex(TenantSearchProperties properties,
+            TenantRepository tenantRepository,
+            TenantInvalidationBus invalidationBus,
+            MaintenanceRunner maintenanceRunner,
+            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.tenantRepository = tenantRepository;
+        this.invalidationBus = invalidationBus;
+        this.maintenanceRunner = maintenanceRunner;
+        this.tombstones = Caffeine.newBuilder()
+                .expireAfterWrite(properties.getTombstoneTtl())
+                .build();
+
+        Gauge.builder("atlas.tenant.search.index.documents", this, TenantSearchIndex::liveCount)
+                .description("Live tenants held by the search index")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Ids for the requested page, or empty when the index cannot answer the query
+     */
+    public Optional<TenantSearchHits> search(String searchTerm, Tenant.TenantStatus status, Pageable pageable) {
+        if (!properties.isEnabled() || !ready || !isCurrent()) {
+            return Optional.empty();
+        }
+
+        List<Sort.Order> orders = pageable.getSort().toList();
+        if (orders.size() > 1) {
+            return Optional.empty();
+        }
+
+        Sort.Order order = orders.isEmpty() ? null : orders.get(0);
+        lock.readLock().lock();
+        try {
+            TenantSearchHits hits = index.search(searchTerm, status,
+                    order != null ? order.getProperty() : null, order == null || order.isAscending(),
+                    pageable.getOffset(), pageable.getPageSize());
+            return Optional.ofNullable(hits);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (properties.isEnabled()) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Rebuild as soon as the bus reports lost invalidations and is healthy again
+     */
+    @Scheduled(fixedDelayString = "${atlas.tenant.search.index.resync-check-interval-ms:1000}")
+    public void resyncIfBehind() {
+        if (isBehind()) {
+            maintenanceRunner.submit("tenant-search-index-resync", () -> {
+                // Another rebuild may have caught up while this one waited
+                if (isBehind()) {
+                    log.info("Rebuilding tenant search index after lost invalidations");
+                    rebuild();
+                }
+            });
+        }
+    }
+
+    /**
+     * Periodic rebuild, off the shared scheduler
+     */
+    @Scheduled(initialDelayString = "${atlas.tenant.search.index.rebuild-interval-ms:600000}",
+            fixedDelayString = "${atlas.tenant.search.index.rebuild-interval-ms:600000}")
+    public void scheduleRebuild() {
+        if (properties.isEnabled()) {
+            maintenanceRunner.submit("tenant-search-index-rebuild", this::rebuild);
+        }
+    }
+
+    /**
+     * Reload the whole index from the database without blocking searches
+     */
+    public synchronized void rebuild() {
+        log.info("Building tenant search index");
+        // Taken before reading, so a loss during the read leaves the new index behind
+        long resync = invalidationBus.getResyncCount();
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        TrigramIndex fresh = new TrigramIndex();
+        try {
+            long afterId = 0L;
+            List<TenantIndexEntry> batch;
+            do {
+                long from = afterId;
+                batch = ReplicaRoutingContext.onPrimary(() -> tenantRepository.findIndexEntries(from,
+                        PageRequest.of(0, properties.getRebuildBatchSize())));
+                batch.forEach(entry -> upsert(fresh, entry));
+                if (!batch.isEmpty()) {
+                    afterId = batch.get(batch.size() - 1).getId();
+                }
+            } while (batch.size() == properties.getRebuildBatchSize());
+        } catch (RuntimeException ex) {
+            lock.writeLock().lock();
+            try {
+                changesDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw ex;
+        }
+
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild.forEach(change -> change.accept(fresh));
+            changesDuringRebuild = null;
+            index = fresh;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        builtAtResync = resync;
+        log.info("Tenant search index ready with {} tenants", fresh.liveCount());
+    }
+
+    @Override
+    public void onTenantChange(TenantChange change) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        if (change.getType() == TenantChange.Type.DELETED) {
+            apply(target -> remove(target, change.getId()));
+        } else if (change.getSnapshot() != null) {
+            TenantIndexEntry entry = TenantIndexEntry.from(change.getSnapshot());
+            apply(target -> upsert(target, entry));
+        } else {
+            pendingReloads.offer(change.getId());
+        }
+    }
+
+    /**
+     * Re-read tenants changed elsewhere and drop tombstones once they pile up
+     */
+    @Scheduled(fixedDelayString = "${atlas.tenant.search.index.reload-interval-ms:200}")
+    public void maintain() {
+        if (!ready) {
+            return;
+        }
+
+        Set<Long> ids = new HashSet<>();
+        Long id;
+        while ((id = pendingReloads.poll()) != null) {
+            ids.add(id);
+        }
+        if (!ids.isEmpty()) {
+            reload(ids);
+        }
+
+        compactIfNeeded();
+    }
+
+    private void reload(Set<Long> ids) {
+        // On the primary, or a lagging replica would have rows not visible yet read as deleted
+        List<TenantIndexEntry> entries = ReplicaRoutingContext.onPrimary(() -> tenantRepository.findIndexEntriesByIdIn(ids));
+        Set<Long> missing = new HashSet<>(ids);
+        entries.forEach(entry -> missing.remove(entry.getId()));
+
+        // Checked against tombstones when applied, so a delete handled since the read wins
+        apply(target -> {
+            entries.forEach(entry -> upsert(target, entry));
+            missing.forEach(id -> remove(target, id));
+        });
+    }
+
+    private void upsert(TrigramIndex target, TenantIndexEntry entry) {
+        Long floor = tombstones.getIfPresent(entry.getId());
+        if (floor == null || (entry.getVersion() != null && entry.getVersion() >= floor)) {
+            target.upsert(entry);
+        }
+    }
+
+    private void remove(TrigramIndex target, Long id) {
+        // A deleted tenant never comes back, so its tombstone refuses every version
+        tombstones.put(id, Long.MAX_VALUE);
+        target.remove(id);
+    }
+
+    private boolean isBehind() {
+        return properties.isEnabled() && ready
+                && invalidationBus.getResyncCount() != builtAtResync && invalidationBus.isCaughtUp();
+    }
+
+    private boolean isCurrent() {
+        return invalidationBus.isCaughtUp() && invalidationBus.getResyncCount() == builtAtResync;
+    }
+
+    private void compactIfNeeded() {
+        TrigramIndex compacted;
+        long observed;
+        lock.readLock().lock();
+        try {
+            if (changesDuringRebuild != null || index.deadCount() < Math.max(1_024, index.liveCount() / 4)) {
+                return;
+            }
+            observed = modifications;
+            compacted = index.compact();
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        lock.writeLock().lock();
+        try {
+            // Only swap if nothing was written while compacting; otherwise retry next round
+            if (modifications == observed && changesDuringRebuild == null) {
+                index = compacted;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void apply(Consumer<TrigramIndex> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(index);
+            modifications++;
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private double liveCount() {
+        lock.readLock().lock();
+        try {
+            return index.liveCount();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.aozorastudio.atlas.tenant.search;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration for the in-memory tenant search index
+ */
+@Data
+@ConfigurationProperties(prefix = "atlas.tenant.search.index")
+public class TenantSearchProperties {
+
+    /**
+     * When disabled, searches use the JPQL LIKE query
+     */
+    private boolean enabled = true;
+
+    private int rebuildBatchSize = 5_000;
+
+    private long reloadIntervalMs = 200;
+
+    private long rebuildIntervalMs = 600_000;
+
+    /**
+     * How often to check whether the bus lost invalidations and the index needs a rebuild
+     */
+    private long resyncCheckIntervalMs = 1_000;
+
+    /**
+     * How long a deleted tenant's id refuses entries read before the delete
+     */
+    private Duration tombstoneTtl = Duration.ofMinutes(1);
+}
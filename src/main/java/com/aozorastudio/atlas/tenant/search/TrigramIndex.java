@@ -0,0 +1,331 @@
+package com.aozorastudio.atlas.tenant.search;
+
+import com.aozorastudio.atlas.tenant.domain.Tenant;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Trigram inverted index over tenant name and code.
+ * Documents are append-only ordinals backed by primitive column arrays; an update
+ * tombstones the old ordinal and appends a new one, so posting lists stay sorted.
+ * Not thread-safe: {@link TenantSearchIndex} guards access.
+ */
+final class TrigramIndex {
+
+    private static final Tenant.TenantStatus[] STATUSES = Tenant.TenantStatus.values();
+    private static final long NULL_TIME = Long.MIN_VALUE;
+
+    private long[] ids = new long[1024];
+    private long[] versions = new long[1024];
+    private long[] createdAt = new long[1024];
+    private long[] updatedAt = new long[1024];
+    private byte[] statuses = new byte[1024];
+    private String[] names = new String[1024];
+    private String[] codes = new String[1024];
+    private int size;
+
+    private final BitSet deleted = new BitSet();
+    private final Map<Long, Integer> ordinalById = new HashMap<>();
+    private final Map<Long, PostingList> postings = new HashMap<>();
+
+    int liveCount() {
+        return ordinalById.size();
+    }
+
+    int deadCount() {
+        return size - ordinalById.size();
+    }
+
+    /**
+     * Insert or replace a tenant; older versions than the indexed one are ignored
+     */
+    void upsert(TenantIndexEntry entry) {
+        long version = entry.getVersion() != null ? entry.getVersion() : 0L;
+        Integer existing = ordinalById.get(entry.getId());
+        if (existing != null) {
+            if (versions[existing] > version) {
+                return;
+            }
+            deleted.set(existing);
+        }
+
+        ensureCapacity(size + 1);
+        int ordinal = size++;
+        ids[ordinal] = entry.getId();
+        versions[ordinal] = version;
+        createdAt[ordinal] = toNanos(entry.getCreatedAt());
+        updatedAt[ordinal] = toNanos(entry.getUpdatedAt());
+        statuses[ordinal] = (byte) (entry.getStatus() != null ? entry.getStatus().ordinal() : -1);
+        names[ordinal] = lower(entry.getName());
+        codes[ordinal] = lower(entry.getCode());
+        ordinalById.put(entry.getId(), ordinal);
+
+        addTrigrams(names[ordinal], ordinal);
+        addTrigrams(codes[ordinal], ordinal);
+    }
+
+    void remove(Long id) {
+        Integer ordinal = ordinalById.remove(id);
+        if (ordinal != null) {
+            deleted.set(ordinal);
+        }
+    }
+
+    /**
+     * Copy of this index without tombstoned documents
+     */
+    TrigramIndex compact() {
+        TrigramIndex compacted = new TrigramIndex();
+        for (int ordinal = 0; ordinal < size; ordinal++) {
+            if (!deleted.get(ordinal)) {
+                compacted.upsert(new TenantIndexEntry(ids[ordinal], codes[ordinal], names[ordinal],
+                        status(ordinal), null, null, versions[ordinal]));
+                int copy = compacted.size - 1;
+                compacted.createdAt[copy] = createdAt[ordinal];
+                compacted.updatedAt[copy] = updatedAt[ordinal];
+            }
+        }
+        return compacted;
+    }
+
+    /**
+     * Page of live documents whose name or code contains {@code term}, ignoring case, ordered
+     * by {@code property} (null for index order) with ties broken by id. Only the first
+     * offset + limit matches are kept, in a bounded heap, so a query allocates with the page
+     * depth rather than the match count. Returns null when the property is not indexed.
+     */
+    TenantSearchHits search(String term, Tenant.TenantStatus status, String property, boolean ascending,
+            long offset, int limit) {
+        OrdinalComparator ordered = null;
+        if (property != null) {
+            OrdinalComparator comparator = comparator(property);
+            if (comparator == null) {
+                return null;
+            }
+            OrdinalComparator directed = ascending ? comparator : (a, b) -> comparator.compare(b, a);
+            ordered = (a, b) -> {
+                int result = directed.compare(a, b);
+                return result != 0 ? result : Long.compare(ids[a], ids[b]);
+            };
+        }
+
+        String needle = term != null ? lower(term) : "";
+        int[] candidates = needle.length() >= 3 ? candidates(needle) : null;
+        int candidateCount = candidates != null ? candidates.length : size;
+
+        int[] top = new int[(int) Math.min(offset + limit, ordinalById.size())];
+        int kept = 0;
+        long total = 0;
+        for (int i = 0; i < candidateCount; i++) {
+            int ordinal = candidates != null ? candidates[i] : i;
+            if (!matches(ordinal, needle, status)) {
+                continue;
+            }
+            total++;
+            if (kept < top.length) {
+                top[kept] = ordinal;
+                if (ordered != null) {
+                    siftUp(top, kept, ordered);
+                }
+                kept++;
+            } else if (ordered != null && kept > 0 && ordered.compare(ordinal, top[0]) < 0) {
+                // Replaces the worst of the kept matches at the root of the max-heap
+                top[0] = ordinal;
+                siftDown(top, 0, kept, ordered);
+            }
+        }
+
+        if (ordered != null) {
+            for (int end = kept - 1; end > 0; end--) {
+                swap(top, 0, end);
+                siftDown(top, 0, end, ordered);
+            }
+        }
+
+        int from = (int) Math.min(offset, kept);
+        List<Long> page = new ArrayList<>(kept - from);
+        for (int i = from; i < kept; i++) {
+            page.add(ids[top[i]]);
+        }
+        return new TenantSearchHits(page, total);
+    }
+
+    private boolean matches(int ordinal, String needle, Tenant.TenantStatus status) {
+        if (deleted.get(ordinal)) {
+            return false;
+        }
+        if (status != null && statuses[ordinal] != status.ordinal()) {
+            return false;
+        }
+        return needle.isEmpty() || names[ordinal].contains(needle) || codes[ordinal].contains(needle);
+    }
+
+    private OrdinalComparator comparator(String property) {
+        switch (property) {
+            case "id":
+                return (a, b) -> Long.compare(ids[a], ids[b]);
+            case "code":
+                return (a, b) -> codes[a].compareTo(codes[b]);
+            case "name":
+                return (a, b) -> names[a].compareTo(names[b]);
+            case "status":
+                return (a, b) -> Integer.compare(statuses[a], statuses[b]);
+            case "createdAt":
+                return (a, b) -> Long.compare(createdAt[a], createdAt[b]);
+            case "updatedAt":
+                return (a, b) -> Long.compare(updatedAt[a], updatedAt[b]);
+            default:
+                return null;
+        }
+    }
+
+    private int[] candidates(String needle) {
+        PostingList[] lists = new PostingList[needle.length() - 2];
+        for (int i = 0; i < lists.length; i++) {
+            PostingList list = postings.get(trigram(needle, i));
+            if (list == null) {
+                return new int[0];
+            }
+            lists[i] = list;
+        }
+
+        Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+        int[] result = Arrays.copyOf(lists[0].ordinals, lists[0].size);
+        int resultSize = result.length;
+        for (int i = 1; i < lists.length && resultSize > 0; i++) {
+            resultSize = intersect(result, resultSize, lists[i]);
+        }
+        return Arrays.copyOf(result, resultSize);
+    }
+
+    private static int intersect(int[] target, int targetSize, PostingList list) {
+        int i = 0;
+        int j = 0;
+        int out = 0;
+        while (i < targetSize && j < list.size) {
+            int a = target[i];
+            int b = list.ordinals[j];
+            if (a == b) {
+                target[out++] = a;
+                i++;
+                j++;
+            } else if (a < b) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return out;
+    }
+
+    private void addTrigrams(String value, int ordinal) {
+        for (int i = 0; i + 3 <= value.length(); i++) {
+            postings.computeIfAbsent(trigram(value, i), key -> new PostingList()).add(ordinal);
+        }
+    }
+
+    private Tenant.TenantStatus status(int ordinal) {
+        return statuses[ordinal] >= 0 ? STATUSES[statuses[ordinal]] : null;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= ids.length) {
+            return;
+        }
+
+        int grown = Math.max(capacity, ids.length + (ids.length >> 1));
+        ids = Arrays.copyOf(ids, grown);
+        versions = Arrays.copyOf(versions, grown);
+        createdAt = Arrays.copyOf(createdAt, grown);
+        updatedAt = Arrays.copyOf(updatedAt, grown);
+        statuses = Arrays.copyOf(statuses, grown);
+        names = Arrays.copyOf(names, grown);
+        codes = Arrays.copyOf(codes, grown);
+    }
+
+    private static long trigram(String value, int offset) {
+        return ((long) value.charAt(offset) << 32)
+                | ((long) value.charAt(offset + 1) << 16)
+                | value.charAt(offset + 2);
+    }
+
+    private static String lower(String value) {
+        return value != null ? value.toLowerCase(Locale.ROOT) : "";
+    }
+
+    private static long toNanos(LocalDateTime time) {
+        if (time == null) {
+            return NULL_TIME;
+        }
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + time.getNano();
+    }
+
+    private static void siftUp(int[] heap, int index, OrdinalComparator comparator) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (comparator.compare(heap[index], heap[parent]) <= 0) {
+                return;
+            }
+            swap(heap, index, parent);
+            index = parent;
+        }
+    }
+
+    private static void siftDown(int[] heap, int index, int size, OrdinalComparator comparator) {
+        while (true) {
+            int largest = index;
+            int left = 2 * index + 1;
+            int right = left + 1;
+            if (left < size && comparator.compare(heap[left], heap[largest]) > 0) {
+                largest = left;
+            }
+            if (right < size && comparator.compare(heap[right], heap[largest]) > 0) {
+                largest = right;
+            }
+            if (largest == index) {
+                return;
+            }
+            swap(heap, index, largest);
+            index = largest;
+        }
+    }
+
+    private static void swap(int[] values, int i, int j) {
+        int value = values[i];
+        values[i] = values[j];
+        values[j] = value;
+    }
+
+    @FunctionalInterface
+    private interface OrdinalComparator {
+        int compare(int a, int b);
+    }
+
+    /**
+     * Growable sorted int array of document ordinals
+     */
+    private static final class PostingList {
+
+        private int[] ordinals = new int[4];
+        private int size;
+
+        void add(int ordinal) {
+            // Ordinals arrive in increasing order; skip a repeat from the same document
+            if (size > 0 && ordinals[size - 1] == ordinal) {
+                return;
+            }
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size << 1);
+            }
+            ordinals[size++] = ordinal;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.aozorastudio.atlas.tenant.service;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Runs at most one load per key at a time. Callers that arrive while a load is in flight
+ * share its result or exception instead of starting their own; nothing is kept once it ends.
+ */
+final class SingleFlight<K, V> {
+
+    /**
+     * What happened to a call, for metrics
+     */
+    enum Outcome {
+        LOADED, SHARED, TIMED_OUT
+    }
+
+    interface Listener {
+        void onCall(Outcome outcome);
+    }
+
+    private final ConcurrentMap<K, CompletableFuture<V>> calls = new ConcurrentHashMap<>();
+    private final Duration maxWait;
+    private final Listener listener;
+
+    SingleFlight(Duration maxWait, Listener listener) {
+        this.maxWait = maxWait;
+        this.listener = listener;
+    }
+
+    /**
+     * Load the key, or wait up to the max wait for the load already in flight. A caller
+     * that waits that long gives up on it and loads for itself.
+     */
+    V load(K key, Supplier<V> loader) {
+        CompletableFuture<V> call = new CompletableFuture<>();
+        CompletableFuture<V> inFlight = calls.putIfAbsent(key, call);
+        if (inFlight == null) {
+            listener.onCall(Outcome.LOADED);
+            try {
+                V value = loader.get();
+                call.complete(value);
+                return value;
+            } catch (RuntimeException | Error ex) {
+                call.completeExceptionally(ex);
+                throw ex;
+            } finally {
+                calls.remove(key, call);
+            }
+        }
+
+        try {
+            V value = inFlight.get(maxWait.toNanos(), TimeUnit.NANOSECONDS);
+            listener.onCall(Outcome.SHARED);
+            return value;
+        } catch (ExecutionException ex) {
+            listener.onCall(Outcome.SHARED);
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (ex.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(ex.getCause());
+        } catch (TimeoutException ex) {
+            listener.onCall(Outcome.TIMED_OUT);
+            return loader.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            listener.onCall(Outcome.TIMED_OUT);
+            return loader.get();
+        }
+    }
+
+    int inFlight() {
+        return calls.size();
+    }
+}
@@ -0,0 +1,57 @@
+package com.aozorastudio.atlas.tenant.service;
+
+import com.aozorastudio.atlas.tenant.domain.Tenant;
+import com.aozorastudio.atlas.tenant.dto.TenantResponse;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Committed change to a tenant, delivered to {@link TenantChangeListener}s
+ */
+@Value
+@Builder
+public class TenantChange {
+
+    Type type;
+    Long id;
+    String code;
+    Long version;
+    Tenant.TenantStatus status;
+
+    /**
+     * Full state after the change, or null when only the identity is known
+     */
+    TenantResponse snapshot;
+
+    /**
+     * True when the change was committed on another node
+     */
+    boolean remote;
+
+    public static TenantChange created(TenantResponse tenant) {
+        return of(Type.CREATED, tenant);
+    }
+
+    public static TenantChange updated(TenantResponse tenant) {
+        return of(Type.UPDATED, tenant);
+    }
+
+    public static TenantChange deleted(TenantResponse tenant) {
+        return of(Type.DELETED, tenant);
+    }
+
+    private static TenantChange of(Type type, TenantResponse tenant) {
+        return TenantChange.builder()
+                .type(type)
+                .id(tenant.getId())
+                .code(tenant.getCode())
+                .version(tenant.getVersion())
+                .status(tenant.getStatus())
+                .snapshot(type == Type.DELETED ? null : tenant)
+                .build();
+    }
+
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+}
@@ -0,0 +1,25 @@
+package com.aozorastudio.atlas.tenant.service;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration for the tenant change feed
+ */
+@Data
+@ConfigurationProperties(prefix = "atlas.tenant.change-feed")
+public class TenantChangeFeedProperties {
+
+    /**
+     * Upper bound on entries per call, whatever size the client asks for
+     */
+    private int maxBatchSize = 500;
+
+    /**
+     * Changes younger than this are held back, so a transaction that stamped updated_at
+     * but commits late cannot land behind a cursor a client has already passed
+     */
+    private Duration settleWindow = Duration.ofSeconds(5);
+}
@@ -0,0 +1,108 @@
+package com.aozorastudio.atlas.tenant.service;
+
+import com.aozorastudio.atlas.tenant.domain.Tenant;
+import com.aozorastudio.atlas.tenant.dto.CursorPage;
+import com.aozorastudio.atlas.tenant.dto.TenantChangeEntry;
+import com.aozorastudio.atlas.tenant.dto.TenantCursor;
+import com.aozorastudio.atlas.tenant.dto.TenantResponse;
+import com.aozorastudio.atlas.tenant.exception.TenantCursorExpiredException;
+import com.aozorastudio.atlas.tenant.repository.TenantChangeRow;
+import com.aozorastudio.atlas.tenant.repository.TenantRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Service class for the incremental tenant change feed
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class TenantChangeFeedService {
+
+    /**
+     * Position before any change, used when the client has no cursor yet
+     */
+    static final TenantCursor START = new TenantCursor(LocalDateTime.of(1970, 1, 1, 0, 0), 0L);
+
+    private final TenantRepository tenantRepository;
+    private final TenantChangeFeedProperties properties;
+
+    /**
+     * Tenants created, updated or soft-deleted after the cursor, in (updatedAt, id) order.
+     * The returned cursor is always set, so the client can poll again from it. A cursor from
+     * before the newest purged tombstone is refused, since the deletions it has not seen yet
+     * are no longer in the feed; the client must resync from the start.
+     */
+    public CursorPage<TenantChangeEntry> findChanges(String cursor, int size) {
+        boolean resuming = cursor != null && !cursor.isEmpty();
+        TenantCursor after = resuming ? TenantCursor.decode(cursor) : START;
+        if (resuming) {
+            // Read in the same transaction as the page, so a purge committing in between is seen by both or neither
+            tenantRepository.findPurgeHorizon()
+                    .filter(horizon -> isBefore(after, horizon))
+                    .ifPresent(horizon -> {
+                        throw new TenantCursorExpiredException(cursor);
+                    });
+        }
+        int batchSize = Math.max(1, Math.min(size, properties.getMaxBatchSize()));
+        LocalDateTime until = LocalDateTime.now().minus(properties.getSettleWindow());
+        log.info("Reading tenant changes after {} up to {}, size: {}", after.getTimestamp(), until, batchSize);
+
+        // Fetch one extra row to learn whether another page exists
+        List<TenantChangeRow> rows = tenantRepository.findChangesAfter(
+                after.getTimestamp(), after.getId(), until, batchSize + 1);
+
+        boolean hasNext = rows.size() > batchSize;
+        List<TenantChangeEntry> page = (hasNext ? rows.subList(0, batchSize) : rows).stream()
+                .map(TenantChangeFeedService::toEntry)
+                .toList();
+        TenantCursor next = page.isEmpty()
+                ? after
+                : new TenantCursor(page.get(page.size() - 1).getChangedAt(), page.get(page.size() - 1).getId());
+
+        return CursorPage.<TenantChangeEntry>builder()
+                .content(page)
+                .size(page.size())
+                .hasNext(hasNext)
+                .nextCursor(next.encode())
+                .build();
+    }
+
+    private static boolean isBefore(TenantCursor cursor, TenantChangeRow row) {
+        int byTime = cursor.getTimestamp().compareTo(row.getUpdatedAt());
+        return byTime < 0 || (byTime == 0 && cursor.getId() < row.getId());
+    }
+
+    private static TenantChangeEntry toEntry(TenantChangeRow row) {
+        boolean deleted = row.getDeletedAt() != null;
+        return TenantChangeEntry.builder()
+                .id(row.getId())
+                .code(row.getCode())
+                .version(row.getVersion())
+                .changedAt(row.getUpdatedAt())
+                .deleted(deleted)
+                .tenant(deleted ? null : new TenantResponse(
+                        row.getId(),
+                        row.getCode(),
+                        row.getName(),
+                        row.getDescription(),
+                        row.getEmail(),
+                        row.getPhone(),
+                        row.getAddress(),
+                        Tenant.TenantStatus.valueOf(row.getStatus()),
+                        row.getRequestsPerSecond(),
+                        row.getMaxConcurrentRequests(),
+                        row.getCreatedAt(),
+                        row.getUpdatedAt(),
+                        row.getCreatedBy(),
+                        row.getUpdatedBy(),
+                        row.getVersion()))
+                .build();
+    }
+}
@@ -0,0 +1,10 @@
+package com.aozorastudio.atlas.tenant.service;
+
+/**
+ * Callback for in-process structures that must follow tenant writes.
+ * Invoked after the writing transaction has committed.
+ */
+public interface TenantChangeListener {
+
+    void onTenantChange(TenantChange change);
+}
@@ -0,0 +1,45 @@
+package com.aozorastudio.atlas.tenant.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Dispatches tenant changes to all {@link TenantChangeListener} beans once the
+ * surrounding transaction commits. Rolled back writes are never dispatched.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TenantChangeNotifier {
+
+    private final ObjectProvider<TenantChangeListener> listeners;
+
+    public void publish(TenantChange change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            dispatch(change);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                dispatch(change);
+            }
+        });
+    }
+
+    void dispatch(TenantChange change) {
+        listeners.orderedStream().forEach(listener -> {
+            try {
+                listener.onTenantChange(change);
+            } catch (RuntimeException ex) {
+                log.warn("Tenant change listener {} failed for tenant id: {}",
+                        listener.getClass().getSimpleName(), change.getId(), ex);
+            }
+        });
+    }
+}
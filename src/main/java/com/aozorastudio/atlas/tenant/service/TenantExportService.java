@@ -0,0 +1,69 @@
+package com.aozorastudio.atlas.tenant.service;
+
+import com.aozorastudio.atlas.tenant.domain.Tenant;
+import com.aozorastudio.atlas.tenant.dto.TenantResponse;
+import com.aozorastudio.atlas.tenant.repository.TenantRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Service class for streaming tenant exports
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class TenantExportService {
+
+    private static final int FLUSH_EVERY = 1_000;
+
+    private final TenantRepository tenantRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Write matching tenants as newline-delimited JSON, one row at a time
+     */
+    public long exportTenants(Tenant.TenantStatus status, LocalDateTime updatedSince, OutputStream outputStream)
+            throws IOException {
+        log.info("Exporting tenants with status: {}, updated since: {}", status, updatedSince);
+
+        ObjectWriter writer = objectMapper.writerFor(TenantResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        long count = 0;
+
+        try (Stream<Tenant> tenants = tenantRepository.streamForExport(status, updatedSince);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            generator.setRootValueSeparator(null);
+
+            Iterator<Tenant> iterator = tenants.iterator();
+            while (iterator.hasNext()) {
+                Tenant tenant = iterator.next();
+                writer.writeValue(generator, TenantResponse.from(tenant));
+                generator.writeRaw('\n');
+                // Keep the persistence context empty so heap use stays flat
+                entityManager.detach(tenant);
+
+                if (++count % FLUSH_EVERY == 0) {
+                    generator.flush();
+                }
+            }
+        }
+
+        log.info("Exported {} tenants", count);
+        return count;
+    }
+}
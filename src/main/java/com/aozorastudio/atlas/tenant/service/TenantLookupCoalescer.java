@@ -0,0 +1,100 @@
+package com.aozorastudio.atlas.tenant.service;
+
+import com.aozorastudio.atlas.common.datasource.ReplicaRoutingContext;
+import com.aozorastudio.atlas.tenant.dto.TenantResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent cache misses for the same tenant into one database query, so a
+ * popular tenant that was just updated, or a node that just started, does not send a herd
+ * of identical queries at the pool.
+ * <p>
+ * Only calls made outside a transaction are shared. One inside a transaction may need to
+ * see its own uncommitted writes, and would hold its connection while it waited. Calls that
+ * must read from the primary are not shared either, since the query in flight may have
+ * gone to a replica.
+ * <p>
+ * The query itself runs in a read-only transaction started here, inside the flight, so
+ * only the caller that runs it takes a connection, and that connection is routed to a
+ * replica when replicas are enabled.
+ */
+@Component
+public class TenantLookupCoalescer {
+
+    private final TenantLookupProperties properties;
+    private final TransactionTemplate readOnlyTransaction;
+    private final SingleFlight<Long, Optional<TenantResponse>> byId;
+    private final SingleFlight<String, Optional<TenantResponse>> byCode;
+    private final SingleFlight<String, Boolean> exists;
+
+    public TenantLookupCoalescer(TenantLookupProperties properties, PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.byId = flight(meterRegistry, "by-id");
+        this.byCode = flight(meterRegistry, "by-code");
+        this.exists = flight(meterRegistry, "exists");
+    }
+
+    public Optional<TenantResponse> loadById(Long id, Supplier<Optional<TenantResponse>> loader) {
+        return shareable() ? byId.load(id, () -> query(loader)) : query(loader);
+    }
+
+    public Optional<TenantResponse> loadByCode(String code, Supplier<Optional<TenantResponse>> loader) {
+        return shareable() ? byCode.load(code, () -> query(loader)) : query(loader);
+    }
+
+    public boolean loadExists(String code, Supplier<Boolean> loader) {
+        return shareable() ? exists.load(code, () -> query(loader)) : query(loader);
+    }
+
+    /**
+     * Joins the caller's transaction if there is one, otherwise opens a read-only one
+     */
+    private <V> V query(Supplier<V> loader) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return loader.get();
+        }
+        return readOnlyTransaction.execute(status -> loader.get());
+    }
+
+    private boolean shareable() {
+        return properties.isEnabled()
+                && !TransactionSynchronizationManager.isActualTransactionActive()
+                && !ReplicaRoutingContext.isPrimaryRequired();
+    }
+
+    private <K, V> SingleFlight<K, V> flight(MeterRegistry meterRegistry, String lookup) {
+        Map<SingleFlight.Outcome, Counter> counters = new EnumMap<>(SingleFlight.Outcome.class);
+        counters.put(SingleFlight.Outcome.LOADED, calls(meterRegistry, lookup, "loaded"));
+        counters.put(SingleFlight.Outcome.SHARED, calls(meterRegistry, lookup, "coalesced"));
+        counters.put(SingleFlight.Outcome.TIMED_OUT, calls(meterRegistry, lookup, "timed-out"));
+
+        SingleFlight<K, V> flight = new SingleFlight<>(properties.getMaxWait(), outcome -> counters.get(outcome).increment());
+        Gauge.builder("atlas.tenant.lookup.in-flight", flight, SingleFlight::inFlight)
+                .description("Tenant lookups with a query in flight")
+                .tag("lookup", lookup)
+                .register(meterRegistry);
+        return flight;
+    }
+
+    private static Counter calls(MeterRegistry meterRegistry, String lookup, String outcome) {
+        return Counter.builder("atlas.tenant.lookup.misses")
+                .description("Tenant lookups that missed the cache, by whether they ran or shared a query")
+                .tag("lookup", lookup)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,21 @@
+package com.aozorastudio.atlas.tenant.service;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration for sharing concurrent tenant lookups that miss the cache
+ */
+@Data
+@ConfigurationProperties(prefix = "atlas.tenant.lookup.coalescing")
+public class TenantLookupProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * How long a caller waits on another's query before running its own
+     */
+    private Duration maxWait = Duration.ofSeconds(2);
+}
@@ -1,22 +1,55 @@
 package com.aozorastudio.atlas.tenant.service;
 
+import com.aozorastudio.atlas.common.datasource.ReplicaRoutingContext;
+import com.aozorastudio.atlas.tenant.cache.TenantCache;
+import com.aozorastudio.atlas.tenant.cache.TenantCodeFilter;
+import com.aozorastudio.atlas.tenant.cache.TenantEntityCacheInvalidator;
 import com.aozorastudio.atlas.tenant.domain.Tenant;
+import com.aozorastudio.atlas.tenant.dto.BulkCreateTenantResponse;
 import com.aozorastudio.atlas.tenant.dto.CreateTenantRequest;
+import com.aozorastudio.atlas.tenant.dto.CursorPage;
+import com.aozorastudio.atlas.tenant.dto.PatchTenantRequest;
+import com.aozorastudio.atlas.tenant.dto.TenantCursor;
 import com.aozorastudio.atlas.tenant.dto.TenantResponse;
 import com.aozorastudio.atlas.tenant.dto.TenantSearchRequest;
+import com.aozorastudio.atlas.tenant.dto.TenantVersion;
 import com.aozorastudio.atlas.tenant.dto.UpdateTenantRequest;
+import com.aozorastudio.atlas.tenant.event.TenantCreatedEvent;
+import com.aozorastudio.atlas.tenant.event.TenantDeletedEvent;
+import com.aozorastudio.atlas.tenant.event.TenantOutbox;
+import com.aozorastudio.atlas.tenant.event.TenantPatchedEvent;
+import com.aozorastudio.atlas.tenant.event.TenantUpdatedEvent;
 import com.aozorastudio.atlas.tenant.exception.TenantCodeAlreadyExistsException;
 import com.aozorastudio.atlas.tenant.exception.TenantNotFoundException;
+import com.aozorastudio.atlas.tenant.exception.TenantVersionMismatchException;
 import com.aozorastudio.atlas.tenant.repository.TenantRepository;
+import com.aozorastudio.atlas.tenant.search.TenantSearchHits;
+import com.aozorastudio.atlas.tenant.search.TenantSearchIndex;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
 /**
  * Service class for Tenant operations
  */
@@ -26,7 +59,20 @@ import org.springframework.transaction.annotation.Transactional;
 @Transactional(readOnly = true)
 public class TenantService {
 
+    private static final int BULK_CHUNK_SIZE = 500;
+
+    private static final int MYSQL_DUPLICATE_ENTRY = 1062;
+    private static final String UNIQUE_VIOLATION = "23505";
+    private static final Pattern CODE_CONSTRAINT = Pattern.compile("\\bcode\\b", Pattern.CASE_INSENSITIVE);
+
     private final TenantRepository tenantRepository;
+    private final TenantCache tenantCache;
+    private final TenantChangeNotifier tenantChangeNotifier;
+    private final TenantSearchIndex tenantSearchIndex;
+    private final TenantCodeFilter tenantCodeFilter;
+    private final TenantOutbox tenantOutbox;
+    private final TenantEntityCacheInvalidator tenantEntityCacheInvalidator;
+    private final TenantLookupCoalescer tenantLookupCoalescer;
 
     /**
      * Create a new tenant
@@ -35,27 +81,84 @@ public class TenantService {
     public TenantResponse createTenant(CreateTenantRequest request) {
         log.info("Creating tenant with code: {}", request.getCode());
 
-        // Check if tenant code already exists
-        if (tenantRepository.existsByCode(request.getCode())) {
+        // The unique constraint is the duplicate check; a pre-query could still lose the race
+        Tenant savedTenant = tenantRepository.save(newTenant(request));
+        try {
+            tenantRepository.flush();
+        } catch (DataIntegrityViolationException ex) {
+            if (!isCodeConflict(ex)) {
+                throw ex;
+            }
+            // The code is taken, possibly by a soft-deleted tenant
             throw new TenantCodeAlreadyExistsException(request.getCode());
         }
+        log.info("Successfully created tenant with id: {}", savedTenant.getId());
 
-        Tenant tenant = Tenant.builder()
-                .code(request.getCode())
-                .name(request.getName())
-                .description(request.getDescription())
-                .email(request.getEmail())
-                .phone(request.getPhone())
-                .address(request.getAddress())
-                .status(request.getStatus() != null ? request.getStatus() : Tenant.TenantStatus.ACTIVE)
-                .createdBy("system") // TODO: Get from security context
-                .updatedBy("system") // TODO: Get from security context
-                .build();
+        TenantResponse response = TenantResponse.from(savedTenant);
+        tenantOutbox.append(TenantCreatedEvent.of(response));
+        tenantChangeNotifier.publish(TenantChange.created(response));
+        return response;
+    }
 
-        Tenant savedTenant = tenantRepository.save(tenant);
-        log.info("Successfully created tenant with id: {}", savedTenant.getId());
+    /**
+     * Create many tenants, reporting a per-item outcome instead of failing on conflicts.
+     * Taken codes are checked with one IN query per chunk and inserts are JDBC-batched.
+     */
+    @Transactional
+    public BulkCreateTenantResponse createTenants(List<CreateTenantRequest> requests) {
+        log.info("Bulk creating {} tenants", requests.size());
+
+        List<BulkCreateTenantResponse.Item> results = new ArrayList<>(requests.size());
+        Set<String> seenCodes = new HashSet<>();
+        int created = 0;
+
+        for (int from = 0; from < requests.size(); from += BULK_CHUNK_SIZE) {
+            List<CreateTenantRequest> chunk = requests.subList(from, Math.min(from + BULK_CHUNK_SIZE, requests.size()));
+            Set<String> takenCodes = new HashSet<>(tenantRepository.findTakenCodes(
+                    chunk.stream().map(CreateTenantRequest::getCode).collect(Collectors.toSet())));
+
+            List<Tenant> toInsert = new ArrayList<>(chunk.size());
+            List<BulkCreateTenantResponse.Item> inserted = new ArrayList<>(chunk.size());
+            for (int i = 0; i < chunk.size(); i++) {
+                CreateTenantRequest request = chunk.get(i);
+                BulkCreateTenantResponse.Item item = BulkCreateTenantResponse.Item.builder()
+                        .index(from + i)
+                        .code(request.getCode())
+                        .build();
+                results.add(item);
+
+                if (takenCodes.contains(request.getCode()) || !seenCodes.add(request.getCode())) {
+                    item.setOutcome(BulkCreateTenantResponse.Outcome.CONFLICT);
+                    item.setMessage(new TenantCodeAlreadyExistsException(request.getCode()).getMessage());
+                    continue;
+                }
+
+                toInsert.add(newTenant(request));
+                inserted.add(item);
+            }
+
+            tenantRepository.saveAll(toInsert);
+            tenantRepository.flush();
 
-        return TenantResponse.from(savedTenant);
+            List<TenantCreatedEvent> events = new ArrayList<>(toInsert.size());
+            for (int i = 0; i < toInsert.size(); i++) {
+                Tenant tenant = toInsert.get(i);
+                inserted.get(i).setOutcome(BulkCreateTenantResponse.Outcome.CREATED);
+                inserted.get(i).setId(tenant.getId());
+                TenantResponse response = TenantResponse.from(tenant);
+                events.add(TenantCreatedEvent.of(response));
+                tenantChangeNotifier.publish(TenantChange.created(response));
+            }
+            tenantOutbox.append(events);
+            created += toInsert.size();
+        }
+
+        log.info("Bulk created {} of {} tenants", created, requests.size());
+        return BulkCreateTenantResponse.builder()
+                .created(created)
+                .conflicts(requests.size() - created)
+                .results(results)
+                .build();
     }
 
     /**
@@ -77,37 +180,143 @@ public class TenantService {
         if (request.getStatus() != null) {
             tenant.setStatus(request.getStatus());
         }
+        if (request.getRequestsPerSecond() != null) {
+            tenant.setRequestsPerSecond(request.getRequestsPerSecond());
+        }
+        if (request.getMaxConcurrentRequests() != null) {
+            tenant.setMaxConcurrentRequests(request.getMaxConcurrentRequests());
+        }
 
         tenant.setUpdatedBy("system"); // TODO: Get from security context
 
         Tenant updatedTenant = tenantRepository.save(tenant);
+        // Flush so the response and cache carry the incremented @Version
+        tenantRepository.flush();
         log.info("Successfully updated tenant with id: {}", updatedTenant.getId());
 
-        return TenantResponse.from(updatedTenant);
+        TenantResponse response = TenantResponse.from(updatedTenant);
+        tenantOutbox.append(TenantUpdatedEvent.of(response));
+        tenantChangeNotifier.publish(TenantChange.updated(response));
+        return response;
     }
 
     /**
-     * Get tenant by id
+     * Apply the supplied fields only if the tenant is still at the expected version (null
+     * matches any). The check and the write are one statement, so there is no read before it
+     * and no window for a lost update. Nor is there one after it: the new version is the
+     * expected one plus one, and only a patch without a version, or a failed write, reads it.
      */
+    @Transactional
+    public TenantVersion patchTenant(Long id, Long expectedVersion, PatchTenantRequest request) {
+        log.info("Patching tenant with id: {} at version: {}", id, expectedVersion);
+
+        int updated = tenantRepository.updateIfVersion(id, expectedVersion, request,
+                "system"); // TODO: Get from security context
+        if (updated == 0) {
+            TenantVersion current = tenantRepository.findVersionById(id)
+                    .orElseThrow(() -> new TenantNotFoundException(id));
+            throw new TenantVersionMismatchException(id, expectedVersion, current.getVersion());
+        }
+        tenantEntityCacheInvalidator.evictAfterCommit(id);
+
+        long version = expectedVersion != null ? expectedVersion + 1
+                : tenantRepository.findVersionById(id).orElseThrow(() -> new TenantNotFoundException(id)).getVersion();
+        log.info("Successfully patched tenant with id: {} to version: {}", id, version);
+
+        // No snapshot: caches evict by version and listeners that need the row re-read it
+        tenantOutbox.append(TenantPatchedEvent.of(id, version, request));
+        tenantChangeNotifier.publish(TenantChange.builder()
+                .type(TenantChange.Type.UPDATED)
+                .id(id)
+                .version(version)
+                .status(request.getStatus())
+                .build());
+        return new TenantVersion(id, version);
+    }
+
+    /**
+     * Get tenant by id. Runs without a transaction of its own, so concurrent misses can share
+     * one query without each holding a connection while they wait; the coalescer runs that
+     * query in a read-only transaction, which can go to a replica.
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public TenantResponse getTenantById(Long id) {
         log.info("Fetching tenant with id: {}", id);
 
-        Tenant tenant = tenantRepository.findById(id)
-                .orElseThrow(() -> new TenantNotFoundException(id));
+        Optional<TenantResponse> cached = tenantCache.getById(id);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
 
-        return TenantResponse.from(tenant);
+        return tenantLookupCoalescer.loadById(id, () -> {
+                    Optional<TenantResponse> loaded = tenantRepository.findResponseById(id);
+                    loaded.ifPresent(tenantCache::put);
+                    return loaded;
+                })
+                .orElseThrow(() -> new TenantNotFoundException(id));
     }
 
     /**
-     * Get tenant by code
+     * Get tenant by code, sharing concurrent misses like {@link #getTenantById}
      */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public TenantResponse getTenantByCode(String code) {
         log.info("Fetching tenant with code: {}", code);
 
-        Tenant tenant = tenantRepository.findByCode(code)
+        if (tenantCodeFilter.isDefinitelyAbsent(code)) {
+            throw new TenantNotFoundException("code", code);
+        }
+
+        Optional<TenantResponse> cached = tenantCache.getByCode(code);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+
+        return tenantLookupCoalescer.loadByCode(code, () -> {
+                    long missToken = tenantCodeFilter.missToken();
+                    // On the primary: a miss is remembered, and a lagging replica may not have the tenant yet
+                    Optional<TenantResponse> loaded = ReplicaRoutingContext.onPrimary(
+                            () -> tenantRepository.findResponseByCode(code));
+                    if (loaded.isEmpty()) {
+                        tenantCodeFilter.recordMiss(code, missToken);
+                    } else {
+                        tenantCache.put(loaded.get());
+                    }
+                    return loaded;
+                })
                 .orElseThrow(() -> new TenantNotFoundException("code", code));
+    }
+
+    /**
+     * Current version of a tenant by id, from the cache or a single-column query
+     */
+    public Optional<TenantVersion> findTenantVersionById(Long id) {
+        Optional<TenantResponse> cached = tenantCache.getById(id);
+        if (cached.isPresent()) {
+            return cached.map(TenantVersion::from);
+        }
+        return tenantRepository.findVersionById(id);
+    }
+
+    /**
+     * Current version of a tenant by code, from the cache or a single-column query
+     */
+    public Optional<TenantVersion> findTenantVersionByCode(String code) {
+        if (tenantCodeFilter.isDefinitelyAbsent(code)) {
+            return Optional.empty();
+        }
 
-        return TenantResponse.from(tenant);
+        Optional<TenantResponse> cached = tenantCache.getByCode(code);
+        if (cached.isPresent()) {
+            return cached.map(TenantVersion::from);
+        }
+
+        long missToken = tenantCodeFilter.missToken();
+        Optional<TenantVersion> version = ReplicaRoutingContext.onPrimary(() -> tenantRepository.findVersionByCode(code));
+        if (version.isEmpty()) {
+            tenantCodeFilter.recordMiss(code, missToken);
+        }
+        return version;
     }
 
     /**
@@ -118,23 +327,113 @@ public class TenantService {
                 searchRequest.getSearchTerm(), searchRequest.getStatus(),
                 searchRequest.getPage(), searchRequest.getSize());
 
-        Sort sort = Sort.by(
-                "desc".equalsIgnoreCase(searchRequest.getSortDirection())
-                        ? Sort.Direction.DESC
-                        : Sort.Direction.ASC,
-                searchRequest.getSortBy());
+        Pageable pageable = searchRequest.toPageable();
 
-        Pageable pageable = PageRequest.of(
-                searchRequest.getPage(),
-                searchRequest.getSize(),
-                sort);
+        Optional<TenantSearchHits> hits = tenantSearchIndex.search(
+                searchRequest.getSearchTerm(),
+                searchRequest.getStatus(),
+                pageable);
+        if (hits.isPresent()) {
+            return new PageImpl<>(hydrate(hits.get().getIds()), pageable, hits.get().getTotal());
+        }
 
-        Page<Tenant> tenantPage = tenantRepository.searchTenants(
+        // The count is skipped when the content alone tells the total, e.g. a short first page
+        List<TenantResponse> content = tenantRepository.searchTenants(
                 searchRequest.getSearchTerm(),
                 searchRequest.getStatus(),
                 pageable);
+        return PageableExecutionUtils.getPage(content, pageable, () -> tenantRepository.countSearchTenants(
+                searchRequest.getSearchTerm(),
+                searchRequest.getStatus()));
+    }
+
+    /**
+     * Search tenants with keyset pagination on (createdAt, id), skipping the count query
+     */
+    public CursorPage<TenantResponse> searchTenantsByCursor(TenantSearchRequest searchRequest) {
+        log.info("Searching tenants by cursor with term: {}, status: {}, size: {}",
+                searchRequest.getSearchTerm(), searchRequest.getStatus(), searchRequest.getSize());
+
+        boolean ascending = "asc".equalsIgnoreCase(searchRequest.getSortDirection());
+        TenantCursor cursor = searchRequest.getCursor() != null && !searchRequest.getCursor().isEmpty()
+                ? TenantCursor.decode(searchRequest.getCursor())
+                : null;
+        // Fetch one extra row to learn whether another page exists
+        Limit limit = Limit.of(searchRequest.getSize() + 1);
+        String searchTerm = searchRequest.getSearchTerm();
+        Tenant.TenantStatus status = searchRequest.getStatus();
+
+        List<TenantResponse> tenants;
+        if (cursor == null) {
+            tenants = ascending
+                    ? tenantRepository.findFirstPageAsc(searchTerm, status, limit)
+                    : tenantRepository.findFirstPageDesc(searchTerm, status, limit);
+        } else {
+            tenants = ascending
+                    ? tenantRepository.findPageAfter(searchTerm, status, cursor.getTimestamp(), cursor.getId(), limit)
+                    : tenantRepository.findPageBefore(searchTerm, status, cursor.getTimestamp(), cursor.getId(), limit);
+        }
+
+        boolean hasNext = tenants.size() > searchRequest.getSize();
+        List<TenantResponse> page = hasNext ? tenants.subList(0, searchRequest.getSize()) : tenants;
+        TenantResponse last = page.isEmpty() ? null : page.get(page.size() - 1);
+
+        return CursorPage.<TenantResponse>builder()
+                .content(page)
+                .size(page.size())
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? new TenantCursor(last.getCreatedAt(), last.getId()).encode() : null)
+                .build();
+    }
 
-        return tenantPage.map(TenantResponse::from);
+    private Tenant newTenant(CreateTenantRequest request) {
+        return Tenant.builder()
+                .code(request.getCode())
+                .name(request.getName())
+                .description(request.getDescription())
+                .email(request.getEmail())
+                .phone(request.getPhone())
+                .address(request.getAddress())
+                .status(request.getStatus() != null ? request.getStatus() : Tenant.TenantStatus.ACTIVE)
+                .requestsPerSecond(request.getRequestsPerSecond())
+                .maxConcurrentRequests(request.getMaxConcurrentRequests())
+                .createdBy("system") // TODO: Get from security context
+                .updatedBy("system") // TODO: Get from security context
+                .build();
+    }
+
+    /**
+     * Load only the tenants on a search page, preserving index order
+     */
+    private List<TenantResponse> hydrate(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, TenantResponse> tenants = tenantRepository.findResponsesByIdIn(ids).stream()
+                .collect(Collectors.toMap(TenantResponse::getId, Function.identity()));
+
+        return ids.stream()
+                .map(tenants::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /**
+     * Whether the insert lost on the unique code, rather than e.g. a NOT NULL or length
+     * violation that must not be reported as a taken code
+     */
+    static boolean isCodeConflict(DataIntegrityViolationException ex) {
+        if (!(ex.getMostSpecificCause() instanceof SQLException sqlException)
+                || (sqlException.getErrorCode() != MYSQL_DUPLICATE_ENTRY
+                        && !UNIQUE_VIOLATION.equals(sqlException.getSQLState()))) {
+            return false;
+        }
+        // MySQL names the key tenants.code, H2 reports the index: ... ON PUBLIC.TENANTS(CODE ...)
+        String constraint = ex.getCause() instanceof ConstraintViolationException violation
+                ? violation.getConstraintName() : null;
+        return (constraint != null && CODE_CONSTRAINT.matcher(constraint).find())
+                || CODE_CONSTRAINT.matcher(String.valueOf(sqlException.getMessage())).find();
     }
 
     /**
@@ -148,13 +447,28 @@ public class TenantService {
                 .orElseThrow(() -> new TenantNotFoundException(id));
 
         tenantRepository.delete(tenant);
+        TenantResponse response = TenantResponse.from(tenant);
+        tenantOutbox.append(TenantDeletedEvent.of(response));
+        tenantChangeNotifier.publish(TenantChange.deleted(response));
         log.info("Successfully deleted tenant with id: {}", id);
     }
 
     /**
-     * Check if tenant exists by code
+     * Check if tenant exists by code, sharing concurrent checks like {@link #getTenantById}
      */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public boolean existsByCode(String code) {
-        return tenantRepository.existsByCode(code);
+        if (tenantCodeFilter.isDefinitelyAbsent(code)) {
+            return false;
+        }
+
+        return tenantLookupCoalescer.loadExists(code, () -> {
+            long missToken = tenantCodeFilter.missToken();
+            boolean exists = ReplicaRoutingContext.onPrimary(() -> tenantRepository.existsByCode(code));
+            if (!exists) {
+                tenantCodeFilter.recordMiss(code, missToken);
+            }
+            return exists;
+        });
     }
 }
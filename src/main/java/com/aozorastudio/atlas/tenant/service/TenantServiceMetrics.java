@@ -0,0 +1,91 @@
+package com.aozorastudio.atlas.tenant.service;
+
+import com.aozorastudio.atlas.tenant.dto.BulkCreateTenantResponse;
+import com.aozorastudio.atlas.tenant.exception.TenantCodeAlreadyExistsException;
+import com.aozorastudio.atlas.tenant.exception.TenantNotFoundException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times every public {@link TenantService} call as {@code atlas.tenant.service}, tagged by
+ * method and outcome, and counts not-found, code-conflict and optimistic-lock outcomes.
+ * Runs outside the transaction so failures raised at commit land on the call that caused
+ * them. Tags only ever carry method names and fixed outcomes, never codes or search terms.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class TenantServiceMetrics {
+
+    static final String TIMER = "atlas.tenant.service";
+    static final String OUTCOMES = "atlas.tenant.service.outcomes";
+
+    static final String SUCCESS = "success";
+    static final String NOT_FOUND = "not_found";
+    static final String CODE_CONFLICT = "code_conflict";
+    static final String OPTIMISTIC_LOCK = "optimistic_lock";
+    static final String ERROR = "error";
+
+    private final MeterRegistry meterRegistry;
+
+    public TenantServiceMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(public * com.aozorastudio.atlas.tenant.service.TenantService.*(..))")
+    public Object record(ProceedingJoinPoint joinPoint) throws Throwable {
+        String method = joinPoint.getSignature().getName();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = SUCCESS;
+        try {
+            Object result = joinPoint.proceed();
+            // Bulk creates report conflicts per item instead of throwing
+            if (result instanceof BulkCreateTenantResponse bulk && bulk.getConflicts() > 0) {
+                count(method, CODE_CONFLICT, bulk.getConflicts());
+            }
+            return result;
+        } catch (Throwable ex) {
+            outcome = outcome(ex);
+            if (!ERROR.equals(outcome)) {
+                count(method, outcome, 1);
+            }
+            throw ex;
+        } finally {
+            sample.stop(Timer.builder(TIMER)
+                    .description("Time spent in TenantService calls, including the transaction commit")
+                    .tag("method", method)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+
+    private void count(String method, String outcome, int amount) {
+        Counter.builder(OUTCOMES)
+                .description("TenantService calls that ended in a not-found, code-conflict or optimistic-lock outcome")
+                .tag("method", method)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment(amount);
+    }
+
+    private static String outcome(Throwable ex) {
+        if (ex instanceof TenantNotFoundException) {
+            return NOT_FOUND;
+        }
+        if (ex instanceof TenantCodeAlreadyExistsException) {
+            return CODE_CONFLICT;
+        }
+        if (ex instanceof OptimisticLockingFailureException) {
+            return OPTIMISTIC_LOCK;
+        }
+        return ERROR;
+    }
+}
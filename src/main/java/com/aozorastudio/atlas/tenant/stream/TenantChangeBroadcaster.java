@@ -0,0 +1,213 @@
+package com.aozorastudio.atlas.tenant.stream;
+
+import com.aozorastudio.atlas.tenant.dto.TenantStreamEvent;
+import com.aozorastudio.atlas.tenant.exception.TenantStreamUnavailableException;
+import com.aozorastudio.atlas.tenant.service.TenantChange;
+import com.aozorastudio.atlas.tenant.service.TenantChangeListener;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Fans committed tenant changes, local and from other nodes, out to change stream
+ * subscribers. Each change is serialized once and queued per subscriber without blocking
+ * the committing thread; a subscriber whose queue fills up is disconnected and can resume
+ * from its Last-Event-ID while that event is still in the replay buffer.
+ */
+@Component
+@Slf4j
+public class TenantChangeBroadcaster implements TenantChangeListener {
+
+    static final String RESET_EVENT = "reset";
+
+    private static final Duration RETRY_AFTER = Duration.ofSeconds(5);
+
+    private final TenantStreamProperties properties;
+    private final ObjectMapper objectMapper;
+    private final Executor sender;
+    private final Counter evictions;
+    private final Set<TenantStreamSubscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Event ids are "epoch-sequence"; the epoch tells ids from an earlier run or another node apart
+     */
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final Object lock = new Object();
+    private final Entry[] replay;
+    private long sequence;
+
+    @Autowired
+    public TenantChangeBroadcaster(TenantStreamProperties properties, ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        this(properties, objectMapper, meterRegistry, senderExecutor(properties));
+    }
+
+    TenantChangeBroadcaster(TenantStreamProperties properties, ObjectMapper objectMapper,
+            MeterRegistry meterRegistry, Executor sender) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.sender = sender;
+        this.replay = new Entry[properties.getReplaySize()];
+        this.evictions = Counter.builder("atlas.tenant.stream.evictions")
+                .description("Change stream subscribers disconnected for falling behind")
+                .register(meterRegistry);
+        Gauge.builder("atlas.tenant.stream.subscribers", subscribers, Set::size)
+                .description("Connected change stream subscribers")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Connect a subscriber, first replaying what it missed since lastEventId
+     */
+    public SseEmitter subscribe(TenantStreamFilter filter, String lastEventId) {
+        if (subscribers.size() >= properties.getMaxSubscribers()) {
+            throw new TenantStreamUnavailableException("Too many change stream subscribers, retry later", RETRY_AFTER);
+        }
+
+        SseEmitter emitter = newEmitter();
+        TenantStreamSubscriber subscriber = new TenantStreamSubscriber(emitter, filter,
+                properties.getBufferSize(), sender, subscribers::remove);
+        emitter.onCompletion(subscriber::detach);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(ex -> subscriber.detach());
+
+        // Replay and registration happen under the publish lock, so nothing is missed or sent twice
+        synchronized (lock) {
+            if (lastEventId != null && !lastEventId.isBlank() && !replayAfter(subscriber, lastEventId)) {
+                subscriber.resetWith(SseEmitter.event().name(RESET_EVENT).id(eventId(sequence))
+                        .data("Resume point no longer available, resync from /api/v1/tenants/changes"));
+            }
+            subscribers.add(subscriber);
+        }
+        return emitter;
+    }
+
+    @Override
+    public void onTenantChange(TenantChange change) {
+        String data = serialize(change);
+        String name = change.getType().name().toLowerCase(Locale.ROOT);
+
+        synchronized (lock) {
+            long id = ++sequence;
+            replay[(int) (id % replay.length)] = new Entry(id, change, name, data);
+            for (TenantStreamSubscriber subscriber : subscribers) {
+                if (subscriber.getFilter().matches(change)) {
+                    deliver(subscriber, event(id, name, data));
+                }
+            }
+        }
+    }
+
+    /**
+     * Keep idle connections open through proxies and find clients that have gone away
+     */
+    @Scheduled(fixedDelayString = "${atlas.tenant.stream.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        for (TenantStreamSubscriber subscriber : subscribers) {
+            deliver(subscriber, SseEmitter.event().comment("heartbeat"));
+        }
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(TenantStreamSubscriber::close);
+        if (sender instanceof ThreadPoolTaskExecutor executor) {
+            executor.shutdown();
+        }
+    }
+
+    SseEmitter newEmitter() {
+        return new SseEmitter(properties.getTimeout().toMillis());
+    }
+
+    private void deliver(TenantStreamSubscriber subscriber, SseEmitter.SseEventBuilder event) {
+        if (!subscriber.offer(event)) {
+            evictions.increment();
+            log.info("Disconnecting change stream subscriber that fell {} events behind", properties.getBufferSize());
+            subscriber.close();
+        }
+    }
+
+    /**
+     * Queue the retained events after lastEventId; false when they are no longer all retained
+     */
+    private boolean replayAfter(TenantStreamSubscriber subscriber, String lastEventId) {
+        int separator = lastEventId.lastIndexOf('-');
+        if (separator < 0 || !epoch.equals(lastEventId.substring(0, separator))) {
+            return false;
+        }
+        long last;
+        try {
+            last = Long.parseLong(lastEventId.substring(separator + 1));
+        } catch (NumberFormatException ex) {
+            return false;
+        }
+        if (last > sequence || sequence - last > replay.length) {
+            return false;
+        }
+
+        for (long id = last + 1; id <= sequence; id++) {
+            Entry entry = replay[(int) (id % replay.length)];
+            if (subscriber.getFilter().matches(entry.getChange())
+                    && !subscriber.offer(event(id, entry.getName(), entry.getData()))) {
+                // More to replay than the buffer holds; the feed endpoint is the better way back
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private SseEmitter.SseEventBuilder event(long id, String name, String data) {
+        return SseEmitter.event().id(eventId(id)).name(name).data(data, MediaType.APPLICATION_JSON);
+    }
+
+    private String eventId(long id) {
+        return epoch + "-" + id;
+    }
+
+    private String serialize(TenantChange change) {
+        try {
+            return objectMapper.writeValueAsString(TenantStreamEvent.from(change));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize change for tenant id: " + change.getId(), ex);
+        }
+    }
+
+    private static Executor senderExecutor(TenantStreamProperties properties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(properties.getSenderThreads());
+        executor.setMaxPoolSize(properties.getSenderThreads());
+        executor.setThreadNamePrefix("tenant-stream-");
+        executor.initialize();
+        return executor;
+    }
+
+    @Value
+    private static class Entry {
+        long id;
+        TenantChange change;
+        String name;
+        String data;
+    }
+}
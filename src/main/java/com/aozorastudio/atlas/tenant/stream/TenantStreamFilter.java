@@ -0,0 +1,20 @@
+package com.aozorastudio.atlas.tenant.stream;
+
+import com.aozorastudio.atlas.tenant.domain.Tenant;
+import com.aozorastudio.atlas.tenant.service.TenantChange;
+import lombok.Value;
+
+/**
+ * Subscriber's selection of changes, by status and/or code; null matches anything
+ */
+@Value
+public class TenantStreamFilter {
+
+    Tenant.TenantStatus status;
+    String code;
+
+    public boolean matches(TenantChange change) {
+        return (status == null || status == change.getStatus())
+                && (code == null || code.equalsIgnoreCase(change.getCode()));
+    }
+}
@@ -0,0 +1,38 @@
+package com.aozorastudio.atlas.tenant.stream;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration for the server-sent tenant change stream
+ */
+@Data
+@ConfigurationProperties(prefix = "atlas.tenant.stream")
+public class TenantStreamProperties {
+
+    private int maxSubscribers = 1_000;
+
+    /**
+     * Events queued per subscriber; a subscriber that falls this far behind is disconnected
+     */
+    private int bufferSize = 256;
+
+    /**
+     * Recent events kept for clients resuming with Last-Event-ID
+     */
+    private int replaySize = 4_096;
+
+    /**
+     * Threads writing queued events to subscribers
+     */
+    private int senderThreads = 4;
+
+    /**
+     * Connection lifetime before the client has to reconnect
+     */
+    private Duration timeout = Duration.ofMinutes(30);
+
+    private long heartbeatIntervalMs = 15_000;
+}
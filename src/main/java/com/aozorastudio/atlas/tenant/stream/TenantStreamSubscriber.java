@@ -0,0 +1,99 @@
+package com.aozorastudio.atlas.tenant.stream;
+
+import lombok.Getter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * One connected client: a bounded queue of pending events drained to its emitter by at
+ * most one sender thread at a time, so a slow socket only ever holds up its own client
+ */
+class TenantStreamSubscriber {
+
+    @Getter
+    private final SseEmitter emitter;
+
+    @Getter
+    private final TenantStreamFilter filter;
+
+    private final BlockingQueue<SseEmitter.SseEventBuilder> queue;
+    private final Executor sender;
+    private final Consumer<TenantStreamSubscriber> onClosed;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    TenantStreamSubscriber(SseEmitter emitter, TenantStreamFilter filter, int bufferSize,
+            Executor sender, Consumer<TenantStreamSubscriber> onClosed) {
+        this.emitter = emitter;
+        this.filter = filter;
+        this.queue = new ArrayBlockingQueue<>(bufferSize);
+        this.sender = sender;
+        this.onClosed = onClosed;
+    }
+
+    /**
+     * Queue an event without blocking; false when the buffer is full
+     */
+    boolean offer(SseEmitter.SseEventBuilder event) {
+        if (closed.get()) {
+            return true;
+        }
+        if (!queue.offer(event)) {
+            return false;
+        }
+        if (draining.compareAndSet(false, true)) {
+            sender.execute(this::drain);
+        }
+        return true;
+    }
+
+    /**
+     * Replace anything still queued with the given event
+     */
+    void resetWith(SseEmitter.SseEventBuilder event) {
+        queue.clear();
+        offer(event);
+    }
+
+    /**
+     * Disconnect the client and drop whatever it had not received yet
+     */
+    void close() {
+        if (detach()) {
+            emitter.complete();
+        }
+    }
+
+    /**
+     * Forget a subscriber whose response the container already completed
+     */
+    boolean detach() {
+        if (!closed.compareAndSet(false, true)) {
+            return false;
+        }
+        queue.clear();
+        onClosed.accept(this);
+        return true;
+    }
+
+    private void drain() {
+        do {
+            SseEmitter.SseEventBuilder event;
+            while (!closed.get() && (event = queue.poll()) != null) {
+                try {
+                    emitter.send(event);
+                } catch (IOException | IllegalStateException ex) {
+                    // The client went away or the response already completed
+                    close();
+                }
+            }
+            draining.set(false);
+        } while (!queue.isEmpty() && !closed.get() && draining.compareAndSet(false, true));
+    }
+}
@@ -0,0 +1,2 @@
+-- The change feed compares cursors with the newest purged tombstone
+CREATE INDEX idx_tenants_archive_updated_at_id ON tenants_archive(updated_at, id);
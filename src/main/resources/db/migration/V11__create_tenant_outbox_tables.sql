@@ -0,0 +1,33 @@
+-- The tenant outbox gets its own tables and leaves event_publication to Spring Modulith.
+-- One row per event, in id order; each listener keeps the id it has been delivered up to.
+CREATE TABLE tenant_outbox (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    event_type VARCHAR(512) NOT NULL,
+    serialized_event LONGTEXT NOT NULL,
+    published_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE tenant_outbox_archive (
+    id BIGINT NOT NULL,
+    event_type VARCHAR(512) NOT NULL,
+    serialized_event LONGTEXT NOT NULL,
+    published_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (id)
+);
+
+-- Delivery position and relay lease per listener; only the lease owner moves the position
+CREATE TABLE tenant_outbox_cursor (
+    listener_id VARCHAR(512) NOT NULL,
+    delivered_id BIGINT NOT NULL,
+    owner VARCHAR(64),
+    leased_until TIMESTAMP NULL,
+    PRIMARY KEY (listener_id)
+);
+
+-- Replaced by the lease columns above
+DROP TABLE event_relay_lease;
+
+-- Nodes still on the previous version keep writing to event_publication (with event_id) until
+-- they are replaced; the relay moves those rows over. event_publication.event_id and the old
+-- rows in event_publication_archive can be dropped once no such node remains.
@@ -0,0 +1,12 @@
+-- Table-based identifier allocator so Hibernate can batch tenant inserts
+-- (IDENTITY forces one INSERT round trip per row to learn the generated key)
+CREATE TABLE id_generators (
+    sequence_name VARCHAR(255) NOT NULL,
+    next_val BIGINT NOT NULL,
+    PRIMARY KEY (sequence_name)
+);
+
+-- Continue after existing tenant ids; with the pooled-lo optimizer next_val is the
+-- first id of the next block handed out
+INSERT INTO id_generators (sequence_name, next_val)
+SELECT 'tenants', COALESCE(MAX(id), 0) + 1 FROM tenants;
@@ -0,0 +1,3 @@
+-- Per-tenant request limits; NULL falls back to the atlas.tenant.rate-limit defaults
+ALTER TABLE tenants ADD COLUMN requests_per_second INT NULL;
+ALTER TABLE tenants ADD COLUMN max_concurrent_requests INT NULL;
@@ -0,0 +1,16 @@
+-- Completed publications are moved here in bounded chunks, so event_publication only
+-- holds outstanding and recently completed rows
+CREATE TABLE event_publication_archive (
+    id VARCHAR(255) NOT NULL,
+    completion_date TIMESTAMP,
+    event_type VARCHAR(512) NOT NULL,
+    listener_id VARCHAR(512) NOT NULL,
+    publication_date TIMESTAMP NOT NULL,
+    serialized_event LONGTEXT NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_event_publication_archive_completion_date ON event_publication_archive(completion_date);
+
+-- Relay scan: a listener's outstanding publications in publication order
+CREATE INDEX idx_event_publication_outstanding ON event_publication(listener_id, completion_date, publication_date);
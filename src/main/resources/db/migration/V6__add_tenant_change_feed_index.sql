@@ -0,0 +1,2 @@
+-- Change feed: seek past an (updated_at, id) cursor, soft-deleted rows included
+CREATE INDEX idx_tenant_updated_at_id ON tenants(updated_at, id);
@@ -0,0 +1,25 @@
+-- Tenants soft-deleted longer than the purge retention, moved out of the live table
+CREATE TABLE tenants_archive (
+    id BIGINT NOT NULL,
+    code VARCHAR(50) NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    description TEXT,
+    email VARCHAR(255),
+    phone VARCHAR(50),
+    address TEXT,
+    status VARCHAR(20) NOT NULL,
+    requests_per_second INT,
+    max_concurrent_requests INT,
+    created_at TIMESTAMP NULL,
+    updated_at TIMESTAMP NULL,
+    deleted_at TIMESTAMP NOT NULL,
+    created_by VARCHAR(255),
+    updated_by VARCHAR(255),
+    version BIGINT NOT NULL,
+    archived_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (id)
+);
+
+-- Not unique: a code can be reused once its previous owner has been purged
+CREATE INDEX idx_tenants_archive_code ON tenants_archive(code);
+CREATE INDEX idx_tenants_archive_archived_at ON tenants_archive(archived_at);
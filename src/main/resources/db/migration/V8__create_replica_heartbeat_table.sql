@@ -0,0 +1,8 @@
+-- Written on the primary and read back on each replica to measure replication lag
+CREATE TABLE replica_heartbeat (
+    id INT NOT NULL,
+    beat_at TIMESTAMP(3) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+INSERT INTO replica_heartbeat (id, beat_at) VALUES (1, CURRENT_TIMESTAMP(3));
@@ -0,0 +1,15 @@
+-- Every event also gets one history row, completed on insert, whether or not listeners exist.
+-- event_id is shared by that row and each listener's copy, so a listener that appears later
+-- can be backfilled with the events it has no copy of yet
+ALTER TABLE event_publication ADD COLUMN event_id VARCHAR(255);
+ALTER TABLE event_publication_archive ADD COLUMN event_id VARCHAR(255);
+
+CREATE INDEX idx_event_publication_event ON event_publication(listener_id, event_id);
+
+-- One relay node at a time delivers a listener's events, so batches arrive in order
+CREATE TABLE event_relay_lease (
+    listener_id VARCHAR(512) NOT NULL,
+    owner VARCHAR(64) NOT NULL,
+    leased_until TIMESTAMP NOT NULL,
+    PRIMARY KEY (listener_id)
+);
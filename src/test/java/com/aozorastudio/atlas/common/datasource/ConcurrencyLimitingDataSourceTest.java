@@ -0,0 +1,99 @@
+package com.aozorastudio.atlas.common.datasource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.FutureTask;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@DisplayName("ConcurrencyLimitingDataSource Tests")
+class ConcurrencyLimitingDataSourceTest {
+
+    private DataSource target;
+    private ConcurrencyLimitingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        target = mock(DataSource.class);
+        when(target.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        dataSource = new ConcurrencyLimitingDataSource(target, 2, Duration.ofMillis(50));
+    }
+
+    @Test
+    @DisplayName("Should hold a permit until the connection is closed, once")
+    void shouldHoldPermitUntilConnectionIsClosedOnce() throws Exception {
+        // Given
+        Connection first = onOtherThread();
+        Connection second = onOtherThread();
+        assertThat(dataSource.getActive()).isEqualTo(2);
+
+        // When
+        first.close();
+        first.close();
+
+        // Then
+        assertThat(dataSource.getActive()).isEqualTo(1);
+        second.close();
+        assertThat(dataSource.getActive()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should fail with a transient exception when no capacity frees up in time")
+    void shouldFailWithTransientExceptionWhenNoCapacityFreesUpInTime() throws Exception {
+        // Given
+        onOtherThread();
+        onOtherThread();
+
+        // When & Then
+        assertThatThrownBy(() -> dataSource.getConnection())
+                .isInstanceOf(SQLTransientConnectionException.class)
+                .hasMessageContaining("2 connections in use");
+        verify(target, times(2)).getConnection();
+    }
+
+    @Test
+    @DisplayName("Should give a thread holding a permit a second connection without waiting")
+    void shouldGiveNestedConnectionWithoutWaiting() throws Exception {
+        // Given
+        onOtherThread();
+        Connection outer = dataSource.getConnection();
+
+        // When - every permit is taken, as when a writer needs a block of ids
+        Connection nested = dataSource.getConnection();
+
+        // Then
+        assertThat(dataSource.getActive()).isEqualTo(2);
+        nested.close();
+        outer.close();
+        assertThat(dataSource.getActive()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should return the permit when the pool fails to provide a connection")
+    void shouldReturnPermitWhenPoolFailsToProvideConnection() throws SQLException {
+        // Given
+        when(target.getConnection()).thenThrow(new SQLException("pool exhausted"));
+
+        // When & Then
+        assertThatThrownBy(() -> dataSource.getConnection()).hasMessage("pool exhausted");
+        assertThat(dataSource.getActive()).isZero();
+    }
+
+    /**
+     * Connection taken on a fresh thread, so it counts against the cap like another request's
+     */
+    private Connection onOtherThread() throws Exception {
+        FutureTask<Connection> task = new FutureTask<>(dataSource::getConnection);
+        new Thread(task).start();
+        return task.get();
+    }
+}
@@ -0,0 +1,167 @@
+package com.aozorastudio.atlas.common.datasource;
+
+import com.aozorastudio.atlas.tenant.dto.TenantResponse;
+import com.aozorastudio.atlas.tenant.repository.TenantRepository;
+import jakarta.servlet.http.Cookie;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.cookie;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Two in-memory H2 databases stand in for the primary and a replica. Both get the schema
+ * and a tenant with the same id but different names, so each read shows where it went.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "atlas.datasource.replicas.enabled=true",
+        "atlas.datasource.replicas.max-lag=5s",
+        "atlas.datasource.replicas.lag-check-interval-ms=3600000",
+        "atlas.datasource.replicas.nodes[0].name=replica1",
+        "atlas.datasource.replicas.nodes[0].url=" + ReplicaRoutingIntegrationTest.REPLICA_URL,
+        "atlas.datasource.replicas.nodes[0].username=sa",
+        "atlas.datasource.replicas.nodes[0].password=password"
+})
+@DisplayName("Replica Routing Integration Tests")
+class ReplicaRoutingIntegrationTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:replica1;DB_CLOSE_DELAY=-1";
+
+    private static final long TENANT_ID = 900_001L;
+    private static final String CODE = "ROUTED";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ReplicaLagMonitor lagMonitor;
+
+    @Autowired
+    private TenantRepository tenantRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void setUp() {
+        Flyway.configure()
+                .dataSource(REPLICA_URL, "sa", "password")
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+
+        primary = new JdbcTemplate(dataSource);
+        replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", "password"));
+        insertTenant(primary, "Primary copy");
+        insertTenant(replica, "Replica copy");
+    }
+
+    @AfterEach
+    void tearDown() {
+        primary.update("DELETE FROM tenants WHERE id = ?", TENANT_ID);
+        replica.update("DELETE FROM tenants WHERE id = ?", TENANT_ID);
+    }
+
+    @Test
+    @DisplayName("Should serve read-only transactions from an up-to-date replica")
+    void shouldServeReadOnlyTransactionsFromReplica() {
+        // Given
+        replicaLag(0);
+
+        // When & Then
+        assertThat(readName(true)).isEqualTo("Replica copy");
+        assertThat(readName(false)).isEqualTo("Primary copy");
+    }
+
+    @Test
+    @DisplayName("Should fall back to the primary while the replica lags")
+    void shouldFallBackToPrimaryWhileReplicaLags() {
+        // Given
+        replicaLag(60);
+
+        // When & Then
+        assertThat(readName(true)).isEqualTo("Primary copy");
+    }
+
+    @Test
+    @DisplayName("Should serve a tenant lookup by code from an up-to-date replica")
+    void shouldServeLookupByCodeFromReplica() throws Exception {
+        // Given
+        replicaLag(0);
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/tenants/code/{code}", CODE))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Replica copy"));
+    }
+
+    @Test
+    @DisplayName("Should keep a client's reads on the primary right after its own mutation")
+    void shouldReadYourWritesAfterMutation() throws Exception {
+        // Given
+        replicaLag(0);
+
+        // When & Then - a mutation opens the window
+        Cookie window = mockMvc.perform(delete("/api/v1/tenants/{id}", 999_999))
+                .andExpect(status().isNotFound())
+                .andExpect(cookie().exists("atlas-primary-until"))
+                .andReturn().getResponse().getCookie("atlas-primary-until");
+
+        // When & Then - reads inside the window go to the primary, others to the replica
+        mockMvc.perform(get("/api/v1/tenants").param("searchTerm", CODE).cookie(window))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].name").value("Primary copy"));
+        mockMvc.perform(get("/api/v1/tenants").param("searchTerm", CODE))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].name").value("Replica copy"));
+    }
+
+    private void replicaLag(long seconds) {
+        replica.update("UPDATE replica_heartbeat SET beat_at = ? WHERE id = 1",
+                Timestamp.from(Instant.now().minusSeconds(seconds)));
+        lagMonitor.checkReplicas();
+    }
+
+    private String readName(boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status -> tenantRepository.findResponseByCode(CODE)
+                .map(TenantResponse::getName)
+                .orElseThrow());
+    }
+
+    private static void insertTenant(JdbcTemplate jdbcTemplate, String name) {
+        jdbcTemplate.update("INSERT INTO tenants (id, code, name, status, created_at, updated_at, version) " +
+                "VALUES (?, ?, ?, 'ACTIVE', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 0)", TENANT_ID, CODE, name);
+    }
+}
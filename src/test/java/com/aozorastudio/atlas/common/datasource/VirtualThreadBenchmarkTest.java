@@ -0,0 +1,150 @@
+package com.aozorastudio.atlas.common.datasource;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Compares request handling on a Tomcat-sized platform thread pool with one virtual
+ * thread per request, both in front of a 20-connection Hikari pool behind the
+ * concurrency cap. Each simulated request spends time on a cache round trip outside
+ * the transaction and on a query while holding a connection. Needs Java 21 for the
+ * virtual side: {@code ./gradlew benchmark -PjavaVersion=21 --tests VirtualThreadBenchmarkTest}.
+ */
+@Tag("benchmark")
+@DisplayName("Virtual vs platform thread benchmark")
+class VirtualThreadBenchmarkTest {
+
+    private static final int POOL_SIZE = 20;
+    private static final int PLATFORM_THREADS = 200;
+    private static final int REQUESTS = 5_000;
+    private static final int[] CONCURRENCY_LEVELS = {50, 200, 1_000, 5_000};
+    private static final long CACHE_MILLIS = 2;
+    private static final long QUERY_MILLIS = 3;
+
+    private static HikariDataSource pool;
+    private static ConcurrencyLimitingDataSource dataSource;
+
+    @BeforeAll
+    static void setUp() {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:virtual_thread_benchmark;DB_CLOSE_DELAY=-1");
+        config.setMaximumPoolSize(POOL_SIZE);
+        config.setMinimumIdle(POOL_SIZE);
+        pool = new HikariDataSource(config);
+        dataSource = new ConcurrencyLimitingDataSource(pool, POOL_SIZE, Duration.ofMinutes(1));
+    }
+
+    @AfterAll
+    static void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    @DisplayName("Should report throughput and latency for platform and virtual threads")
+    void shouldReportThroughputAndLatencyForPlatformAndVirtualThreads() throws Exception {
+        assumeTrue(supportsVirtualThreads(), "Virtual threads need a Java 21 runtime");
+
+        System.out.printf("%-12s %-9s %12s %10s %10s%n", "concurrency", "threads", "requests/s", "p50 ms", "p99 ms");
+        for (int concurrency : CONCURRENCY_LEVELS) {
+            Result platform = run(Executors.newFixedThreadPool(PLATFORM_THREADS), concurrency);
+            Result virtual = run(newVirtualThreadPerTaskExecutor(), concurrency);
+
+            platform.print(concurrency, "platform");
+            virtual.print(concurrency, "virtual");
+            assertThat(platform.errors()).isZero();
+            assertThat(virtual.errors()).isZero();
+        }
+    }
+
+    private static Result run(ExecutorService executor, int concurrency) throws InterruptedException {
+        Semaphore inFlight = new Semaphore(concurrency);
+        CountDownLatch done = new CountDownLatch(REQUESTS);
+        AtomicInteger errors = new AtomicInteger();
+        long[] latencies = new long[REQUESTS];
+
+        long start = System.nanoTime();
+        for (int i = 0; i < REQUESTS; i++) {
+            inFlight.acquire();
+            int request = i;
+            long submitted = System.nanoTime();
+            executor.execute(() -> {
+                try {
+                    handle();
+                } catch (Exception ex) {
+                    errors.incrementAndGet();
+                } finally {
+                    latencies[request] = System.nanoTime() - submitted;
+                    inFlight.release();
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+        long elapsed = System.nanoTime() - start;
+
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+
+        Arrays.sort(latencies);
+        return new Result(REQUESTS * 1_000_000_000d / elapsed,
+                latencies[REQUESTS / 2] / 1_000_000d,
+                latencies[(int) (REQUESTS * 0.99)] / 1_000_000d,
+                errors.get());
+    }
+
+    private static void handle() throws Exception {
+        // Cache round trip before the transaction starts
+        Thread.sleep(CACHE_MILLIS);
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("SELECT 1");
+            // Query latency while the connection is held
+            Thread.sleep(QUERY_MILLIS);
+        }
+    }
+
+    private static boolean supportsVirtualThreads() {
+        try {
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return true;
+        } catch (NoSuchMethodException ex) {
+            return false;
+        }
+    }
+
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        // Reflective so the test sources still compile on the default Java 17 toolchain
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException ex) {
+            throw new IllegalStateException("Virtual threads are not available", ex);
+        }
+    }
+
+    private record Result(double throughput, double p50Millis, double p99Millis, int errors) {
+
+        void print(int concurrency, String threads) {
+            System.out.printf("%-12d %-9s %,12.0f %10.1f %10.1f%n",
+                    concurrency, threads, throughput, p50Millis, p99Millis);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.aozorastudio.atlas.common.id;
+
+import com.aozorastudio.atlas.tenant.domain.Tenant;
+import com.aozorastudio.atlas.tenant.repository.TenantRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Every pool connection is held by a writer when the first of them needs a block of ids,
+ * which the allocator reserves on a connection of its own.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "spring.datasource.hikari.maximum-pool-size=" + IdBlockAllocatorIntegrationTest.POOL_SIZE,
+        "spring.datasource.hikari.connection-timeout=2000"
+})
+@Sql(executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD, statements = "DELETE FROM tenants")
+@DisplayName("Id Block Allocator Integration Tests")
+class IdBlockAllocatorIntegrationTest {
+
+    static final int POOL_SIZE = 4;
+
+    @Autowired
+    private TenantRepository tenantRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(POOL_SIZE);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should allocate ids while every pool connection is held by a writer")
+    void shouldAllocateIdsWhileEveryConnectionIsHeld() throws Exception {
+        // Given
+        CyclicBarrier allHoldConnections = new CyclicBarrier(POOL_SIZE);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        // When
+        List<Future<Long>> ids = new ArrayList<>();
+        for (int i = 0; i < POOL_SIZE; i++) {
+            String code = "WRITER" + i;
+            ids.add(executor.submit(() -> transaction.execute(status -> {
+                tenantRepository.count();
+                await(allHoldConnections);
+                return tenantRepository.saveAndFlush(Tenant.builder()
+                        .code(code)
+                        .name("Writer " + code)
+                        .status(Tenant.TenantStatus.ACTIVE)
+                        .build()).getId();
+            })));
+        }
+
+        // Then - well within the pool's connection timeout
+        for (Future<Long> id : ids) {
+            assertThat(id.get(10, TimeUnit.SECONDS)).isNotNull();
+        }
+        assertThat(tenantRepository.count()).isEqualTo(POOL_SIZE);
+    }
+
+    private static void await(CyclicBarrier barrier) {
+        try {
+            barrier.await(10, TimeUnit.SECONDS);
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
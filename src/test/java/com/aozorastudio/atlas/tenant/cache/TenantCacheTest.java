@@ -0,0 +1,124 @@
+package com.aozorastudio.atlas.tenant.cache;
+
+import com.aozorastudio.atlas.tenant.domain.Tenant;
+import com.aozorastudio.atlas.tenant.dto.TenantResponse;
+import com.aozorastudio.atlas.tenant.service.TenantChange;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("TenantCache Tests")
+class TenantCacheTest {
+
+    private TenantCache tenantCache;
+
+    @BeforeEach
+    void setUp() {
+        TenantCacheProperties properties = new TenantCacheProperties();
+        properties.getRedis().setEnabled(false);
+
+        tenantCache = new TenantCache(properties, mock(StringRedisTemplate.class),
+                new ObjectMapper(), new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("Should resolve cached tenant by id and code")
+    void shouldResolveCachedTenantByIdAndCode() {
+        // Given
+        tenantCache.put(tenant(1L, "TEST001", 0L));
+
+        // When & Then
+        assertThat(tenantCache.getById(1L)).map(TenantResponse::getCode).contains("TEST001");
+        assertThat(tenantCache.getByCode("TEST001")).map(TenantResponse::getId).contains(1L);
+        assertThat(tenantCache.getByCode("UNKNOWN")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should never replace a newer version with an older one")
+    void shouldNeverReplaceNewerVersionWithOlderOne() {
+        // Given
+        tenantCache.put(tenant(1L, "TEST001", 3L));
+
+        // When
+        tenantCache.put(tenant(1L, "TEST001", 2L));
+
+        // Then
+        assertThat(tenantCache.getById(1L)).map(TenantResponse::getVersion).contains(3L);
+    }
+
+    @Test
+    @DisplayName("Should refresh on update and evict on delete")
+    void shouldRefreshOnUpdateAndEvictOnDelete() {
+        // Given
+        tenantCache.put(tenant(1L, "TEST001", 0L));
+
+        // When
+        tenantCache.onTenantChange(TenantChange.updated(tenant(1L, "TEST001", 1L)));
+
+        // Then
+        assertThat(tenantCache.getById(1L)).map(TenantResponse::getVersion).contains(1L);
+
+        // When
+        tenantCache.onTenantChange(TenantChange.deleted(tenant(1L, "TEST001", 1L)));
+
+        // Then
+        assertThat(tenantCache.getById(1L)).isEmpty();
+        assertThat(tenantCache.getByCode("TEST001")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should not cache a load that read the row before it was deleted")
+    void shouldNotCacheLoadThatReadRowBeforeDelete() {
+        // Given - a miss read version 1, then the tenant was deleted before it was cached
+        TenantResponse loaded = tenant(1L, "TEST001", 1L);
+        tenantCache.onTenantChange(TenantChange.deleted(tenant(1L, "TEST001", 1L)));
+
+        // When
+        tenantCache.put(loaded);
+
+        // Then
+        assertThat(tenantCache.getById(1L)).isEmpty();
+        assertThat(tenantCache.getByCode("TEST001")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should not cache a snapshot older than a remote update")
+    void shouldNotCacheSnapshotOlderThanRemoteUpdate() {
+        // Given
+        tenantCache.onTenantChange(TenantChange.builder()
+                .type(TenantChange.Type.UPDATED)
+                .id(1L)
+                .code("TEST001")
+                .version(4L)
+                .remote(true)
+                .build());
+
+        // When - a lagging replica still returns version 3
+        tenantCache.put(tenant(1L, "TEST001", 3L));
+
+        // Then
+        assertThat(tenantCache.getById(1L)).isEmpty();
+
+        // When
+        tenantCache.put(tenant(1L, "TEST001", 4L));
+
+        // Then
+        assertThat(tenantCache.getById(1L)).map(TenantResponse::getVersion).contains(4L);
+    }
+
+    private static TenantResponse tenant(Long id, String code, Long version) {
+        return TenantResponse.builder()
+                .id(id)
+                .code(code)
+                .name("Tenant " + code)
+                .status(Tenant.TenantStatus.ACTIVE)
+                .version(version)
+                .build();
+    }
+}
@@ -0,0 +1,169 @@
+package com.aozorastudio.atlas.tenant.cache;
+
+import com.aozorastudio.atlas.common.scheduling.MaintenanceRunner;
+import com.aozorastudio.atlas.tenant.domain.Tenant;
+import com.aozorastudio.atlas.tenant.dto.TenantResponse;
+import com.aozorastudio.atlas.tenant.repository.TenantRepository;
+import com.aozorastudio.atlas.tenant.search.TenantIndexEntry;
+import com.aozorastudio.atlas.tenant.service.TenantChange;
+import com.aozorastudio.atlas.tenant.service.TenantChangeListener;
+import com.aozorastudio.atlas.tenant.service.TenantChangeNotifier;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("TenantCodeFilter Tests")
+class TenantCodeFilterTest {
+
+    private TenantCodeFilter tenantCodeFilter;
+    private TenantInvalidationBus invalidationBus;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        TenantCodeFilterProperties properties = new TenantCodeFilterProperties();
+        properties.setExpectedInsertions(1_000);
+
+        List<TenantIndexEntry> entries = new ArrayList<>();
+        for (long id = 1; id <= 100; id++) {
+            entries.add(new TenantIndexEntry(id, "TEST" + id, "Tenant " + id,
+                    Tenant.TenantStatus.ACTIVE, null, null, 0L));
+        }
+        TenantRepository tenantRepository = mock(TenantRepository.class);
+        when(tenantRepository.count()).thenReturn((long) entries.size());
+        when(tenantRepository.findIndexEntries(anyLong(), any(Pageable.class)))
+                .thenReturn(entries);
+
+        meterRegistry = new SimpleMeterRegistry();
+        // Loopback channel: the bus hears its own heartbeat, so it reports itself caught up
+        invalidationBus = new TenantInvalidationBus(new TenantCacheProperties(), batch -> invalidationBus.receive(batch),
+                new TenantChangeNotifier(new StaticListableBeanFactory().getBeanProvider(TenantChangeListener.class)),
+                meterRegistry);
+        invalidationBus.flush();
+        tenantCodeFilter = new TenantCodeFilter(properties, tenantRepository, invalidationBus,
+                new MaintenanceRunner(Runnable::run), meterRegistry);
+        tenantCodeFilter.rebuild();
+    }
+
+    @Test
+    @DisplayName("Should never report a live code as absent")
+    void shouldNeverReportLiveCodeAsAbsent() {
+        // When & Then
+        for (int id = 1; id <= 100; id++) {
+            assertThat(tenantCodeFilter.isDefinitelyAbsent("TEST" + id)).isFalse();
+        }
+        assertThat(meterRegistry.get("atlas.tenant.code-filter.size").gauge().value()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Should rule out most unknown codes")
+    void shouldRuleOutMostUnknownCodes() {
+        // When
+        int absent = 0;
+        for (int i = 0; i < 1_000; i++) {
+            if (tenantCodeFilter.isDefinitelyAbsent("UNKNOWN" + i)) {
+                absent++;
+            }
+        }
+
+        // Then
+        assertThat(absent).isGreaterThan(950);
+    }
+
+    @Test
+    @DisplayName("Should cache confirmed misses until the code is created")
+    void shouldCacheConfirmedMissesUntilCodeIsCreated() {
+        // Given
+        String code = "TEST1"; // in the filter, so only the negative cache can rule it out
+        long token = tenantCodeFilter.missToken();
+
+        // When
+        tenantCodeFilter.recordMiss(code, token);
+
+        // Then
+        assertThat(tenantCodeFilter.isDefinitelyAbsent(code)).isTrue();
+
+        // When
+        tenantCodeFilter.onTenantChange(TenantChange.created(tenant(101L, code)));
+
+        // Then
+        assertThat(tenantCodeFilter.isDefinitelyAbsent(code)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should not cache a miss that raced with a create")
+    void shouldNotCacheMissThatRacedWithCreate() {
+        // Given
+        long token = tenantCodeFilter.missToken();
+        tenantCodeFilter.onTenantChange(TenantChange.created(tenant(101L, "NEW001")));
+
+        // When
+        tenantCodeFilter.recordMiss("TEST2", token);
+
+        // Then
+        assertThat(tenantCodeFilter.isDefinitelyAbsent("TEST2")).isFalse();
+        assertThat(tenantCodeFilter.isDefinitelyAbsent("NEW001")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should fall through to the database after lost invalidations until rebuilt")
+    void shouldFallThroughAfterLostInvalidationsUntilRebuilt() {
+        // Given
+        assertThat(tenantCodeFilter.isDefinitelyAbsent("UNKNOWN1")).isTrue();
+        invalidationBus.receive(new TenantInvalidationBatch("other-node", 1L, List.of()));
+
+        // When - batch 2 from the other node never arrived
+        invalidationBus.receive(new TenantInvalidationBatch("other-node", 3L, List.of()));
+
+        // Then
+        assertThat(tenantCodeFilter.isDefinitelyAbsent("UNKNOWN1")).isFalse();
+
+        // When
+        tenantCodeFilter.resyncIfBehind();
+
+        // Then
+        assertThat(tenantCodeFilter.isDefinitelyAbsent("UNKNOWN1")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should fall through to the database while invalidations cannot be sent")
+    void shouldFallThroughWhileInvalidationsCannotBeSent() {
+        // Given
+        TenantInvalidationBus failingBus = new TenantInvalidationBus(new TenantCacheProperties(), batch -> {
+            throw new IllegalStateException("connection refused");
+        }, new TenantChangeNotifier(new StaticListableBeanFactory().getBeanProvider(TenantChangeListener.class)),
+                new SimpleMeterRegistry());
+        TenantCodeFilter filter = new TenantCodeFilter(new TenantCodeFilterProperties(), mock(TenantRepository.class),
+                failingBus, new MaintenanceRunner(Runnable::run), new SimpleMeterRegistry());
+        filter.rebuild();
+
+        // When
+        failingBus.flush();
+
+        // Then
+        assertThat(failingBus.isCaughtUp()).isFalse();
+        assertThat(filter.isDefinitelyAbsent("UNKNOWN1")).isFalse();
+    }
+
+    private static TenantResponse tenant(Long id, String code) {
+        return TenantResponse.builder()
+                .id(id)
+                .code(code)
+                .name("Tenant " + id)
+                .status(Tenant.TenantStatus.ACTIVE)
+                .version(0L)
+                .build();
+    }
+}
@@ -0,0 +1,203 @@
+package com.aozorastudio.atlas.tenant.cache;
+
+import com.aozorastudio.atlas.tenant.domain.Tenant;
+import com.aozorastudio.atlas.tenant.dto.TenantResponse;
+import com.aozorastudio.atlas.tenant.service.TenantChange;
+import com.aozorastudio.atlas.tenant.service.TenantChangeListener;
+import com.aozorastudio.atlas.tenant.service.TenantChangeNotifier;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("TenantInvalidationBus Tests")
+class TenantInvalidationBusTest {
+
+    private final List<TenantInvalidationBatch> sentBatches = new ArrayList<>();
+    private final List<Node> nodes = new ArrayList<>();
+    private boolean transportDown;
+
+    private Node nodeA;
+    private Node nodeB;
+
+    @BeforeEach
+    void setUp() {
+        // In-process stand-in for the Redis channel: every batch reaches every node
+        TenantInvalidationTransport loopback = batch -> {
+            if (transportDown) {
+                throw new IllegalStateException("Channel unavailable");
+            }
+            sentBatches.add(batch);
+            nodes.forEach(node -> node.bus.receive(batch));
+        };
+
+        nodeA = new Node(loopback);
+        nodeB = new Node(loopback);
+        nodes.add(nodeA);
+        nodes.add(nodeB);
+    }
+
+    @Test
+    @DisplayName("Should evict stale entries on other nodes after a local update")
+    void shouldEvictStaleEntriesOnOtherNodesAfterLocalUpdate() {
+        // Given
+        nodeA.cache.put(tenant(1L, 0L));
+        nodeB.cache.put(tenant(1L, 0L));
+
+        // When
+        nodeA.notifier.publish(TenantChange.updated(tenant(1L, 1L)));
+        nodeA.bus.flush();
+
+        // Then
+        assertThat(nodeA.cache.getLocal(1L).getVersion()).isEqualTo(1L);
+        assertThat(nodeB.cache.getLocal(1L)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should never evict a newer entry for an older message")
+    void shouldNeverEvictNewerEntryForOlderMessage() {
+        // Given
+        nodeB.cache.put(tenant(1L, 5L));
+        TenantInvalidation stale = TenantInvalidation.builder().id(1L).code("TEST001").version(3L).build();
+
+        // When
+        nodeB.bus.receive(new TenantInvalidationBatch(nodeA.bus.getNodeId(), 1L, List.of(stale)));
+
+        // Then
+        assertThat(nodeB.cache.getLocal(1L).getVersion()).isEqualTo(5L);
+    }
+
+    @Test
+    @DisplayName("Should coalesce a write burst into a single batch")
+    void shouldCoalesceWriteBurstIntoSingleBatch() {
+        // Given
+        nodeA.notifier.publish(TenantChange.updated(tenant(1L, 1L)));
+        nodeA.notifier.publish(TenantChange.updated(tenant(1L, 2L)));
+        nodeA.notifier.publish(TenantChange.updated(tenant(2L, 0L)));
+        nodeA.notifier.publish(TenantChange.deleted(tenant(1L, 2L)));
+
+        // When
+        nodeA.bus.flush();
+
+        // Then
+        assertThat(sentBatches).hasSize(1);
+        assertThat(sentBatches.get(0).getInvalidations()).hasSize(2);
+        assertThat(sentBatches.get(0).getInvalidations().get(0).isDeleted()).isTrue();
+        assertThat(sentBatches.get(0).getInvalidations().get(0).getVersion()).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("Should resend invalidations whose batch failed to publish")
+    void shouldResendInvalidationsWhoseBatchFailedToPublish() {
+        // Given
+        nodeB.cache.put(tenant(1L, 0L));
+        nodeA.notifier.publish(TenantChange.updated(tenant(1L, 1L)));
+        transportDown = true;
+        nodeA.bus.flush();
+        assertThat(nodeB.cache.getLocal(1L)).isNotNull();
+
+        // When
+        transportDown = false;
+        nodeA.bus.flush();
+
+        // Then
+        assertThat(sentBatches).hasSize(1);
+        assertThat(sentBatches.get(0).getInvalidations())
+                .extracting(TenantInvalidation::getVersion)
+                .containsExactly(1L);
+        assertThat(nodeB.cache.getLocal(1L)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should not count its own late heartbeat as lost invalidations")
+    void shouldNotCountOwnLateHeartbeatAsLostInvalidations() throws InterruptedException {
+        // Given
+        TenantCacheProperties properties = new TenantCacheProperties();
+        properties.getInvalidation().setHeartbeatInterval(Duration.ZERO);
+        properties.getInvalidation().setStaleAfter(Duration.ofMillis(20));
+        List<TenantInvalidationBatch> loopback = new ArrayList<>();
+        TenantInvalidationBus bus = new TenantInvalidationBus(properties, loopback::add,
+                new TenantChangeNotifier(new StaticListableBeanFactory().getBeanProvider(TenantChangeListener.class)),
+                new SimpleMeterRegistry());
+        bus.flush();
+        loopback.forEach(bus::receive);
+        loopback.clear();
+
+        // When - the scheduler ran the next heartbeat late, and it came straight back
+        Thread.sleep(50);
+        assertThat(bus.isCaughtUp()).isFalse();
+        bus.flush();
+        loopback.forEach(bus::receive);
+
+        // Then
+        assertThat(bus.isCaughtUp()).isTrue();
+        assertThat(bus.getResyncCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should resync when a sent heartbeat comes back late")
+    void shouldResyncWhenSentHeartbeatComesBackLate() throws InterruptedException {
+        // Given
+        TenantCacheProperties properties = new TenantCacheProperties();
+        properties.getInvalidation().setHeartbeatInterval(Duration.ZERO);
+        properties.getInvalidation().setStaleAfter(Duration.ofMillis(20));
+        List<TenantInvalidationBatch> delayed = new ArrayList<>();
+        TenantInvalidationBus bus = new TenantInvalidationBus(properties, delayed::add,
+                new TenantChangeNotifier(new StaticListableBeanFactory().getBeanProvider(TenantChangeListener.class)),
+                new SimpleMeterRegistry());
+        bus.flush();
+        delayed.forEach(bus::receive);
+        delayed.clear();
+        bus.flush();
+
+        // When - the channel held the heartbeat past the stale-after window
+        Thread.sleep(50);
+        assertThat(bus.isCaughtUp()).isFalse();
+        delayed.forEach(bus::receive);
+
+        // Then
+        assertThat(bus.getResyncCount()).isEqualTo(1L);
+    }
+
+    private static TenantResponse tenant(Long id, Long version) {
+        return TenantResponse.builder()
+                .id(id)
+                .code("TEST00" + id)
+                .name("Tenant " + id)
+                .status(Tenant.TenantStatus.ACTIVE)
+                .version(version)
+                .build();
+    }
+
+    private static final class Node {
+
+        private final TenantCache cache;
+        private final TenantInvalidationBus bus;
+        private final TenantChangeNotifier notifier;
+
+        Node(TenantInvalidationTransport transport) {
+            TenantCacheProperties properties = new TenantCacheProperties();
+            properties.getRedis().setEnabled(false);
+
+            StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+            notifier = new TenantChangeNotifier(beanFactory.getBeanProvider(TenantChangeListener.class));
+            cache = new TenantCache(properties, mock(StringRedisTemplate.class),
+                    new ObjectMapper(), new SimpleMeterRegistry());
+            bus = new TenantInvalidationBus(properties, transport, notifier, new SimpleMeterRegistry());
+
+            beanFactory.addBean("tenantCache", cache);
+            beanFactory.addBean("tenantInvalidationBus", bus);
+        }
+    }
+}
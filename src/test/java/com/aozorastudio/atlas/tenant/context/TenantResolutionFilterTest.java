@@ -0,0 +1,244 @@
+package com.aozorastudio.atlas.tenant.context;
+
+import com.aozorastudio.atlas.common.scheduling.MaintenanceRunner;
+import com.aozorastudio.atlas.tenant.cache.TenantCacheProperties;
+import com.aozorastudio.atlas.tenant.cache.TenantInvalidationBatch;
+import com.aozorastudio.atlas.tenant.cache.TenantInvalidationBus;
+import com.aozorastudio.atlas.tenant.domain.Tenant;
+import com.aozorastudio.atlas.tenant.dto.TenantResponse;
+import com.aozorastudio.atlas.tenant.repository.TenantRepository;
+import com.aozorastudio.atlas.tenant.service.TenantChange;
+import com.aozorastudio.atlas.tenant.service.TenantChangeListener;
+import com.aozorastudio.atlas.tenant.service.TenantChangeNotifier;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.data.domain.Pageable;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("TenantResolutionFilter Tests")
+class TenantResolutionFilterTest {
+
+    private TenantContextProperties properties;
+    private TenantRepository tenantRepository;
+    private TenantInvalidationBus invalidationBus;
+    private TenantStatusRegistry registry;
+    private TenantResolutionFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        properties = new TenantContextProperties();
+        properties.setSubdomainSuffix(".atlas.example.com");
+
+        tenantRepository = mock(TenantRepository.class);
+        when(tenantRepository.findContexts(anyLong(), any(Pageable.class))).thenReturn(List.of(
+                entry(1L, "ACME", Tenant.TenantStatus.ACTIVE),
+                entry(2L, "GLOBEX", Tenant.TenantStatus.SUSPENDED)));
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        // Loopback channel: the bus hears its own heartbeat, so it reports itself caught up
+        invalidationBus = new TenantInvalidationBus(new TenantCacheProperties(), batch -> invalidationBus.receive(batch),
+                new TenantChangeNotifier(new StaticListableBeanFactory().getBeanProvider(TenantChangeListener.class)),
+                meterRegistry);
+        invalidationBus.flush();
+        registry = new TenantStatusRegistry(properties, tenantRepository, invalidationBus,
+                new MaintenanceRunner(Runnable::run), meterRegistry);
+        registry.reload();
+        filter = new TenantResolutionFilter(properties, registry,
+                new ObjectMapper().registerModule(new JavaTimeModule()), meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should resolve an active tenant from the header")
+    void shouldResolveActiveTenantFromHeader() throws Exception {
+        // Given
+        MockHttpServletRequest request = request("/api/v1/orders");
+        request.addHeader("X-Tenant-Code", "ACME");
+        AtomicReference<TenantContext> seen = new AtomicReference<>();
+
+        // When
+        MockHttpServletResponse response = filter(request, seen);
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(seen.get().getId()).isEqualTo(1L);
+        assertThat(request.getAttribute(TenantResolutionFilter.ATTRIBUTE)).isSameAs(seen.get());
+        assertThat(TenantContextHolder.current()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should resolve a tenant from the subdomain regardless of case")
+    void shouldResolveTenantFromSubdomain() throws Exception {
+        // Given
+        MockHttpServletRequest request = request("/api/v1/orders");
+        request.setServerName("acme.atlas.example.com");
+        AtomicReference<TenantContext> seen = new AtomicReference<>();
+
+        // When
+        filter(request, seen);
+
+        // Then
+        assertThat(seen.get().getCode()).isEqualTo("ACME");
+    }
+
+    @Test
+    @DisplayName("Should reject suspended tenants before the controller")
+    void shouldRejectSuspendedTenants() throws Exception {
+        // Given
+        MockHttpServletRequest request = request("/api/v1/orders");
+        request.addHeader("X-Tenant-Code", "GLOBEX");
+        AtomicReference<TenantContext> seen = new AtomicReference<>();
+
+        // When
+        MockHttpServletResponse response = filter(request, seen);
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(403);
+        assertThat(response.getContentAsString()).contains("GLOBEX is suspended");
+        assertThat(seen.get()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should reject unknown tenant codes with 404")
+    void shouldRejectUnknownTenantCodes() throws Exception {
+        // Given
+        MockHttpServletRequest request = request("/api/v1/orders");
+        request.addHeader("X-Tenant-Code", "INITECH");
+
+        // When
+        MockHttpServletResponse response = filter(request, new AtomicReference<>());
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(404);
+    }
+
+    @Test
+    @DisplayName("Should look up codes missing from the registry after lost invalidations")
+    void shouldLookUpMissingCodesAfterLostInvalidations() throws Exception {
+        // Given - a create on another node was in the batch that never arrived
+        when(tenantRepository.findContextByCode("INITECH"))
+                .thenReturn(Optional.of(entry(3L, "INITECH", Tenant.TenantStatus.ACTIVE)));
+        invalidationBus.receive(new TenantInvalidationBatch("other-node", 1L, List.of()));
+        invalidationBus.receive(new TenantInvalidationBatch("other-node", 3L, List.of()));
+        MockHttpServletRequest request = request("/api/v1/orders");
+        request.addHeader("X-Tenant-Code", "INITECH");
+        AtomicReference<TenantContext> seen = new AtomicReference<>();
+
+        // When
+        MockHttpServletResponse response = filter(request, seen);
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(seen.get().getId()).isEqualTo(3L);
+    }
+
+    @Test
+    @DisplayName("Should retry a failed initial load instead of staying unavailable")
+    void shouldRetryFailedInitialLoad() throws Exception {
+        // Given
+        properties.setLoadRetryBackoff(Duration.ZERO);
+        TenantRepository failingOnce = mock(TenantRepository.class);
+        when(failingOnce.findContexts(anyLong(), any(Pageable.class)))
+                .thenThrow(new IllegalStateException("connection refused"))
+                .thenReturn(List.of(entry(1L, "ACME", Tenant.TenantStatus.ACTIVE)));
+        TenantStatusRegistry loading = new TenantStatusRegistry(properties, failingOnce, invalidationBus,
+                new MaintenanceRunner(Runnable::run), new SimpleMeterRegistry());
+
+        // When
+        loading.onApplicationReady();
+
+        // Then
+        assertThat(loading.isReady()).isFalse();
+
+        // When
+        loading.resyncIfBehind();
+
+        // Then
+        assertThat(loading.isReady()).isTrue();
+        assertThat(loading.get("acme").getId()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Should follow status changes published by the service")
+    void shouldFollowStatusChanges() throws Exception {
+        // Given
+        registry.onTenantChange(TenantChange.updated(TenantResponse.builder()
+                .id(1L)
+                .code("ACME")
+                .status(Tenant.TenantStatus.INACTIVE)
+                .version(1L)
+                .build()));
+        MockHttpServletRequest request = request("/api/v1/orders");
+        request.addHeader("X-Tenant-Code", "ACME");
+
+        // When
+        MockHttpServletResponse response = filter(request, new AtomicReference<>());
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(403);
+    }
+
+    @Test
+    @DisplayName("Should not resolve tenants on the tenant administration API")
+    void shouldSkipExcludedPaths() throws Exception {
+        // Given
+        MockHttpServletRequest request = request("/api/v1/tenants/2");
+        request.addHeader("X-Tenant-Code", "GLOBEX");
+        AtomicReference<TenantContext> seen = new AtomicReference<>();
+
+        // When
+        MockHttpServletResponse response = filter(request, seen);
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(seen.get()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should require a tenant on required paths")
+    void shouldRequireTenantOnRequiredPaths() throws Exception {
+        // Given
+        properties.setRequiredPaths(List.of("/api/v1/orders/**"));
+
+        // When
+        MockHttpServletResponse response = filter(request("/api/v1/orders/7"), new AtomicReference<>());
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(400);
+    }
+
+    private MockHttpServletResponse filter(MockHttpServletRequest request, AtomicReference<TenantContext> seen)
+            throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (req, res) -> seen.set(TenantContextHolder.current().orElse(null));
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setServerName("localhost");
+        return request;
+    }
+
+    private static TenantContext entry(Long id, String code, Tenant.TenantStatus status) {
+        return new TenantContext(id, code, status, 0L, null, null);
+    }
+}
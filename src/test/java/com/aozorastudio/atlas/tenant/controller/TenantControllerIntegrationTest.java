@@ -1,10 +1,13 @@
 package com.aozorastudio.atlas.tenant.controller;
 
 import com.aozorastudio.atlas.tenant.domain.Tenant;
+import com.aozorastudio.atlas.tenant.dto.BulkCreateTenantRequest;
 import com.aozorastudio.atlas.tenant.dto.CreateTenantRequest;
+import com.aozorastudio.atlas.tenant.dto.PatchTenantRequest;
 import com.aozorastudio.atlas.tenant.dto.UpdateTenantRequest;
 import com.aozorastudio.atlas.tenant.repository.TenantRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.JsonPath;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -15,10 +18,14 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.context.WebApplicationContext;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -102,6 +109,37 @@ class TenantControllerIntegrationTest {
                 .andExpect(jsonPath("$.message", containsString("already exists")));
     }
 
+    @Test
+    @DisplayName("Should bulk create tenants and report conflicts per item")
+    void shouldBulkCreateTenantsAndReportConflictsPerItem() throws Exception {
+        // Given
+        tenantRepository.save(Tenant.builder()
+                .code("TEST001")
+                .name("Existing Tenant")
+                .status(Tenant.TenantStatus.ACTIVE)
+                .build());
+
+        BulkCreateTenantRequest request = BulkCreateTenantRequest.builder()
+                .tenants(List.of(
+                        CreateTenantRequest.builder().code("TEST001").name("Taken").build(),
+                        CreateTenantRequest.builder().code("TEST002").name("Second Tenant").build(),
+                        CreateTenantRequest.builder().code("TEST002").name("Duplicate In Batch").build(),
+                        CreateTenantRequest.builder().code("TEST003").name("Third Tenant").build()))
+                .build();
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/tenants/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created", is(2)))
+                .andExpect(jsonPath("$.conflicts", is(2)))
+                .andExpect(jsonPath("$.results[*].outcome", contains("CONFLICT", "CREATED", "CONFLICT", "CREATED")))
+                .andExpect(jsonPath("$.results[1].id").exists());
+
+        assertThat(tenantRepository.count()).isEqualTo(3);
+    }
+
     @Test
     @DisplayName("Should return 400 for invalid input")
     void shouldReturn400ForInvalidInput() throws Exception {
@@ -165,6 +203,74 @@ class TenantControllerIntegrationTest {
                 .andExpect(jsonPath("$.message", containsString("not found")));
     }
 
+    @Test
+    @DisplayName("Should patch tenant when If-Match names its current version")
+    void shouldPatchTenantWhenIfMatchNamesCurrentVersion() throws Exception {
+        // Given
+        Tenant savedTenant = tenantRepository.saveAndFlush(Tenant.builder()
+                .code("TEST001")
+                .name("Original Name")
+                .email("original@example.com")
+                .status(Tenant.TenantStatus.ACTIVE)
+                .build());
+        Long id = savedTenant.getId();
+        String etag = "\"" + id + "-" + savedTenant.getVersion() + "\"";
+        String nextEtag = "\"" + id + "-" + (savedTenant.getVersion() + 1) + "\"";
+        PatchTenantRequest request = PatchTenantRequest.builder()
+                .name("Patched Name")
+                .build();
+
+        // When & Then
+        mockMvc.perform(patch("/api/v1/tenants/{id}", id)
+                .header("If-Match", etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", nextEtag))
+                .andExpect(jsonPath("$.version", is(savedTenant.getVersion().intValue() + 1)));
+
+        mockMvc.perform(get("/api/v1/tenants/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name", is("Patched Name")))
+                .andExpect(jsonPath("$.email", is("original@example.com")));
+
+        // When & Then - the old tag is now stale
+        mockMvc.perform(patch("/api/v1/tenants/{id}", id)
+                .header("If-Match", etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(header().string("ETag", nextEtag));
+    }
+
+    @Test
+    @DisplayName("Should require If-Match and a known tenant for patch")
+    void shouldRequireIfMatchAndKnownTenantForPatch() throws Exception {
+        // Given
+        PatchTenantRequest request = PatchTenantRequest.builder()
+                .name("Patched Name")
+                .build();
+
+        // When & Then
+        mockMvc.perform(patch("/api/v1/tenants/999")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isPreconditionRequired());
+
+        mockMvc.perform(patch("/api/v1/tenants/999")
+                .header("If-Match", "\"999-0\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isNotFound());
+
+        mockMvc.perform(patch("/api/v1/tenants/999")
+                .header("If-Match", "\"999-0\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.validationErrors").exists());
+    }
+
     @Test
     @DisplayName("Should get tenant by id successfully")
     void shouldGetTenantByIdSuccessfully() throws Exception {
@@ -186,6 +292,52 @@ class TenantControllerIntegrationTest {
                 .andExpect(jsonPath("$.email", is("test@example.com")));
     }
 
+    @Test
+    @DisplayName("Should return 304 when tenant ETag still matches")
+    void shouldReturnNotModifiedWhenTenantEtagStillMatches() throws Exception {
+        // Given
+        Tenant savedTenant = tenantRepository.save(Tenant.builder()
+                .code("TEST001")
+                .name("Test Tenant")
+                .status(Tenant.TenantStatus.ACTIVE)
+                .build());
+        String etag = "\"" + savedTenant.getId() + "-" + savedTenant.getVersion() + "\"";
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/tenants/{id}", savedTenant.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", etag));
+
+        mockMvc.perform(get("/api/v1/tenants/{id}", savedTenant.getId())
+                .header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string(""));
+
+        mockMvc.perform(get("/api/v1/tenants/code/{code}", "TEST001")
+                .header("If-None-Match", "\"" + savedTenant.getId() + "-99\""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code", is("TEST001")));
+    }
+
+    @Test
+    @DisplayName("Should always answer search pages in full")
+    void shouldAlwaysAnswerSearchPagesInFull() throws Exception {
+        // Given
+        tenantRepository.save(Tenant.builder()
+                .code("TEST001")
+                .name("Test Tenant 1")
+                .status(Tenant.TenantStatus.ACTIVE)
+                .build());
+
+        // When & Then - no table-wide version exists to validate a page against
+        mockMvc.perform(get("/api/v1/tenants").param("searchTerm", "Test")
+                .header("If-None-Match", "*"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("ETag"))
+                .andExpect(jsonPath("$.content[0].code", is("TEST001")));
+    }
+
     @Test
     @DisplayName("Should get tenant by code successfully")
     void shouldGetTenantByCodeSuccessfully() throws Exception {
@@ -235,6 +387,48 @@ class TenantControllerIntegrationTest {
                 .andExpect(jsonPath("$.content[*].status", everyItem(is("ACTIVE"))));
     }
 
+    @Test
+    @DisplayName("Should page through tenants with a cursor")
+    void shouldPageThroughTenantsWithCursor() throws Exception {
+        // Given
+        for (int i = 1; i <= 3; i++) {
+            tenantRepository.save(Tenant.builder()
+                    .code("TEST00" + i)
+                    .name("Tenant " + i)
+                    .status(Tenant.TenantStatus.ACTIVE)
+                    .build());
+        }
+
+        // When & Then - first page
+        MvcResult firstPage = mockMvc.perform(get("/api/v1/tenants")
+                .param("pagination", "cursor")
+                .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.content[0].code", is("TEST003")))
+                .andExpect(jsonPath("$.hasNext", is(true)))
+                .andExpect(jsonPath("$.totalElements").doesNotExist())
+                .andReturn();
+
+        String cursor = JsonPath.read(firstPage.getResponse().getContentAsString(), "$.nextCursor");
+
+        // When & Then - last page
+        mockMvc.perform(get("/api/v1/tenants")
+                .param("pagination", "cursor")
+                .param("size", "2")
+                .param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].code", is("TEST001")))
+                .andExpect(jsonPath("$.hasNext", is(false)));
+
+        // When & Then - malformed cursor
+        mockMvc.perform(get("/api/v1/tenants")
+                .param("pagination", "cursor")
+                .param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @DisplayName("Should delete tenant successfully")
     void shouldDeleteTenantSuccessfully() throws Exception {
@@ -254,6 +448,80 @@ class TenantControllerIntegrationTest {
         assertThat(tenantRepository.findById(savedTenant.getId())).isEmpty();
     }
 
+    @Test
+    @DisplayName("Should feed changes after a cursor, including tombstones")
+    void shouldFeedChangesIncludingTombstones() throws Exception {
+        // Given
+        Tenant kept = tenantRepository.saveAndFlush(Tenant.builder()
+                .code("TEST001")
+                .name("Kept Tenant")
+                .status(Tenant.TenantStatus.ACTIVE)
+                .build());
+        Tenant removed = tenantRepository.saveAndFlush(Tenant.builder()
+                .code("TEST002")
+                .name("Removed Tenant")
+                .status(Tenant.TenantStatus.ACTIVE)
+                .build());
+        mockMvc.perform(delete("/api/v1/tenants/{id}", removed.getId()))
+                .andExpect(status().isNoContent());
+
+        // When & Then - first page
+        MvcResult firstPage = mockMvc.perform(get("/api/v1/tenants/changes").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andReturn();
+        String cursor = JsonPath.read(firstPage.getResponse().getContentAsString(), "$.nextCursor");
+
+        // When & Then - the rest, then nothing new from the last cursor
+        MvcResult secondPage = mockMvc.perform(get("/api/v1/tenants/changes").param("cursor", cursor).param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.hasNext").value(false))
+                .andReturn();
+        String lastCursor = JsonPath.read(secondPage.getResponse().getContentAsString(), "$.nextCursor");
+        mockMvc.perform(get("/api/v1/tenants/changes").param("cursor", lastCursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(0)))
+                .andExpect(jsonPath("$.nextCursor").value(lastCursor));
+
+        String first = firstPage.getResponse().getContentAsString();
+        String second = secondPage.getResponse().getContentAsString();
+        List<String> codes = new ArrayList<>(JsonPath.<List<String>>read(first, "$.content[*].code"));
+        codes.addAll(JsonPath.<List<String>>read(second, "$.content[*].code"));
+        List<String> tombstones = new ArrayList<>(JsonPath.<List<String>>read(first, "$.content[?(@.deleted == true)].code"));
+        tombstones.addAll(JsonPath.<List<String>>read(second, "$.content[?(@.deleted == true)].code"));
+        assertThat(codes).containsExactlyInAnyOrder(kept.getCode(), removed.getCode());
+        assertThat(tombstones).containsExactly(removed.getCode());
+    }
+
+    @Test
+    @DisplayName("Should keep a deleted tenant not found after it was read from the change feed")
+    void shouldKeepDeletedTenantNotFoundAfterChangeFeed() throws Exception {
+        // Given
+        Tenant removed = tenantRepository.saveAndFlush(Tenant.builder()
+                .code("TEST001")
+                .name("Removed Tenant")
+                .status(Tenant.TenantStatus.ACTIVE)
+                .build());
+        mockMvc.perform(delete("/api/v1/tenants/{id}", removed.getId()))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/v1/tenants/changes"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].deleted").value(true));
+        UpdateTenantRequest request = UpdateTenantRequest.builder()
+                .name("Updated Name")
+                .build();
+
+        // When & Then
+        mockMvc.perform(put("/api/v1/tenants/{id}", removed.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(delete("/api/v1/tenants/{id}", removed.getId()))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     @DisplayName("Should check tenant existence by code")
     void shouldCheckTenantExistenceByCode() throws Exception {
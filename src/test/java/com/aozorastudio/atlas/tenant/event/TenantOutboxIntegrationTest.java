@@ -0,0 +1,293 @@
+package com.aozorastudio.atlas.tenant.event;
+
+import com.aozorastudio.atlas.tenant.domain.Tenant;
+import com.aozorastudio.atlas.tenant.dto.CreateTenantRequest;
+import com.aozorastudio.atlas.tenant.dto.TenantResponse;
+import com.aozorastudio.atlas.tenant.dto.UpdateTenantRequest;
+import com.aozorastudio.atlas.tenant.service.TenantService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "atlas.tenant.outbox.relay.batch-size=2",
+        "atlas.tenant.outbox.archive.retention=0s",
+        "atlas.tenant.outbox.archive.chunk-size=2"
+})
+@Sql(executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD, statements = {
+        "DELETE FROM event_publication",
+        "DELETE FROM tenant_outbox",
+        "DELETE FROM tenant_outbox_archive",
+        "DELETE FROM tenant_outbox_cursor",
+        "DELETE FROM tenants"
+})
+@DisplayName("Tenant Outbox Integration Tests")
+class TenantOutboxIntegrationTest {
+
+    @Autowired
+    private TenantService tenantService;
+
+    @Autowired
+    private TenantOutboxRelay relay;
+
+    @Autowired
+    private TenantOutboxArchiver archiver;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RecordingListener listener;
+
+    @Autowired
+    private TenantOutbox outbox;
+
+    @Autowired
+    private TenantOutboxProperties properties;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        listener.batches.clear();
+        listener.failNext = false;
+        properties.getRelay().setGapTimeout(Duration.ofMinutes(1));
+    }
+
+    @Test
+    @DisplayName("Should deliver committed events in batches and move the cursor past them")
+    void shouldDeliverCommittedEventsInBatches() {
+        // Given
+        TenantResponse tenant = tenantService.createTenant(request("OUTBOX1"));
+        tenantService.updateTenant(tenant.getId(), UpdateTenantRequest.builder()
+                .name("Renamed")
+                .email("renamed@example.com")
+                .build());
+        tenantService.deleteTenant(tenant.getId());
+
+        // When
+        relay.relay();
+
+        // Then
+        assertThat(listener.batches).hasSize(2);
+        assertThat(listener.batches.get(0)).hasSize(2);
+        assertThat(listener.events())
+                .extracting(event -> event.getClass().getSimpleName())
+                .containsExactly("TenantCreatedEvent", "TenantUpdatedEvent", "TenantDeletedEvent");
+        assertThat(listener.events()).allMatch(event -> tenant.getId().equals(event.getTenantId()));
+        assertThat(outstanding()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should redeliver a batch the listener failed to handle")
+    void shouldRedeliverFailedBatch() {
+        // Given
+        tenantService.createTenant(request("OUTBOX2"));
+        listener.failNext = true;
+
+        // When
+        relay.relay();
+
+        // Then
+        assertThat(outstanding()).isEqualTo(1);
+
+        // When
+        relay.relay();
+
+        // Then
+        assertThat(listener.events()).hasSize(1);
+        assertThat(outstanding()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should move events every listener has to the archive in chunks")
+    void shouldArchiveDeliveredEvents() {
+        // Given
+        IntStream.range(0, 5).forEach(i -> tenantService.createTenant(request("OUTBOX" + (10 + i))));
+        relay.relay();
+        tenantService.createTenant(request("OUTBOX15"));
+
+        // When
+        archiver.archive();
+
+        // Then - the event not delivered yet stays
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tenant_outbox", Integer.class)).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tenant_outbox_archive", Integer.class))
+                .isEqualTo(5);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM event_publication", Integer.class)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should not relay a listener while another node holds its lease")
+    void shouldNotRelayListenerLeasedByAnotherNode() {
+        // Given
+        tenantService.createTenant(request("OUTBOX3"));
+        jdbcTemplate.update("INSERT INTO tenant_outbox_cursor (listener_id, delivered_id, owner, leased_until) " +
+                "VALUES (?, 0, 'other-node', TIMESTAMPADD(MINUTE, 1, CURRENT_TIMESTAMP))", listener.listenerId());
+
+        // When
+        relay.relay();
+
+        // Then
+        assertThat(listener.batches).isEmpty();
+        assertThat(outstanding()).isEqualTo(1);
+
+        // When
+        jdbcTemplate.update("UPDATE tenant_outbox_cursor SET leased_until = TIMESTAMPADD(MINUTE, -1, CURRENT_TIMESTAMP)");
+        relay.relay();
+
+        // Then
+        assertThat(listener.events()).hasSize(1);
+        assertThat(outstanding()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should start a listener deployed later from the oldest retained event")
+    void shouldStartNewListenerFromOldestRetainedEvent() {
+        // Given - recorded before any node relayed the listener
+        TenantResponse tenant = tenantService.createTenant(request("OUTBOX4"));
+
+        // When
+        newNode().relay();
+
+        // Then
+        assertThat(listener.events()).singleElement()
+                .satisfies(event -> assertThat(event.getTenantId()).isEqualTo(tenant.getId()));
+        assertThat(outstanding()).isZero();
+
+        // When
+        newNode().relay();
+
+        // Then
+        assertThat(listener.events()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should wait at a missing id until the gap timeout, then skip it")
+    void shouldWaitAtMissingIdUntilGapTimeout() {
+        // Given
+        tenantService.createTenant(request("OUTBOX5"));
+        relay.relay();
+        listener.batches.clear();
+        tenantService.createTenant(request("OUTBOX6"));
+        TenantResponse later = tenantService.createTenant(request("OUTBOX7"));
+        // As if the first insert had not committed yet
+        jdbcTemplate.update("DELETE FROM tenant_outbox WHERE id = (SELECT MIN(id) FROM tenant_outbox " +
+                "WHERE id > (SELECT delivered_id FROM tenant_outbox_cursor WHERE listener_id = ?))",
+                listener.listenerId());
+
+        // When
+        relay.relay();
+
+        // Then
+        assertThat(listener.batches).isEmpty();
+
+        // When
+        properties.getRelay().setGapTimeout(Duration.ZERO);
+        relay.relay();
+
+        // Then
+        assertThat(listener.events()).singleElement()
+                .satisfies(event -> assertThat(event.getTenantId()).isEqualTo(later.getId()));
+        assertThat(outstanding()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should move events recorded by previous-version nodes into the outbox")
+    void shouldImportEventsRecordedByPreviousVersion() throws Exception {
+        // Given - a history row and a listener copy, as the previous version wrote them
+        TenantResponse tenant = TenantResponse.builder()
+                .id(42L)
+                .code("LEGACY1")
+                .name("Legacy")
+                .status(Tenant.TenantStatus.ACTIVE)
+                .version(0L)
+                .build();
+        String serialized = objectMapper.writeValueAsString(TenantCreatedEvent.of(tenant));
+        for (String listenerId : List.of("tenant-event-history", listener.listenerId())) {
+            jdbcTemplate.update("INSERT INTO event_publication (id, listener_id, event_type, serialized_event, " +
+                    "publication_date, event_id) VALUES (?, ?, ?, ?, CURRENT_TIMESTAMP, 'legacy-event')",
+                    UUID.randomUUID().toString(), listenerId, TenantCreatedEvent.class.getName(), serialized);
+        }
+
+        // When
+        relay.relay();
+
+        // Then
+        assertThat(listener.events()).singleElement()
+                .satisfies(event -> assertThat(event.getTenantId()).isEqualTo(42L));
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM event_publication", Integer.class)).isZero();
+    }
+
+    private TenantOutboxRelay newNode() {
+        return new TenantOutboxRelay(properties, outbox, jdbcTemplate, transactionManager, new SimpleMeterRegistry());
+    }
+
+    private int outstanding() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tenant_outbox WHERE id > COALESCE(" +
+                "(SELECT delivered_id FROM tenant_outbox_cursor WHERE listener_id = ?), 0)",
+                Integer.class, listener.listenerId());
+    }
+
+    private static CreateTenantRequest request(String code) {
+        return CreateTenantRequest.builder()
+                .code(code)
+                .name("Tenant " + code)
+                .email(code.toLowerCase() + "@example.com")
+                .status(Tenant.TenantStatus.ACTIVE)
+                .build();
+    }
+
+    @TestConfiguration
+    static class RecordingListenerConfiguration {
+
+        @Bean
+        RecordingListener recordingListener() {
+            return new RecordingListener();
+        }
+    }
+
+    static class RecordingListener implements TenantEventListener {
+
+        final List<List<TenantEvent>> batches = new CopyOnWriteArrayList<>();
+        volatile boolean failNext;
+
+        @Override
+        public void onTenantEvents(List<TenantEvent> events) {
+            if (failNext) {
+                failNext = false;
+                throw new IllegalStateException("Listener unavailable");
+            }
+            batches.add(List.copyOf(events));
+        }
+
+        List<TenantEvent> events() {
+            return batches.stream().flatMap(List::stream).toList();
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package com.aozorastudio.atlas.tenant.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockPart;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@DisplayName("TenantIdempotencyFilter Tests")
+class TenantIdempotencyFilterTest {
+
+    private StringRedisTemplate redisTemplate;
+    private TenantIdempotencyFilter filter;
+    private AtomicInteger executions;
+
+    @BeforeEach
+    void setUp() {
+        TenantIdempotencyProperties properties = new TenantIdempotencyProperties();
+        properties.getRedis().setEnabled(false);
+
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        redisTemplate = mock(StringRedisTemplate.class);
+        filter = new TenantIdempotencyFilter(properties,
+                new TenantIdempotencyStore(properties, redisTemplate, objectMapper),
+                objectMapper, new SimpleMeterRegistry());
+        executions = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("Should replay the first response to a retry without running it again")
+    void shouldReplayFirstResponseToRetry() throws Exception {
+        // Given
+        FilterChain chain = created();
+
+        // When
+        MockHttpServletResponse first = filter(request("key-1", "{\"code\":\"ACME\"}"), chain);
+        MockHttpServletResponse retry = filter(request("key-1", "{\"code\":\"ACME\"}"), chain);
+
+        // Then
+        assertThat(executions).hasValue(1);
+        assertThat(first.getStatus()).isEqualTo(201);
+        assertThat(first.getHeader(TenantIdempotencyFilter.REPLAYED_HEADER)).isNull();
+        assertThat(retry.getStatus()).isEqualTo(201);
+        assertThat(retry.getHeader(TenantIdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(retry.getHeader("Location")).isEqualTo("/api/v1/tenants/1");
+        assertThat(retry.getContentAsString()).isEqualTo(first.getContentAsString());
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    @DisplayName("Should reject a key reused for a different request")
+    void shouldRejectKeyReusedForDifferentRequest() throws Exception {
+        // Given
+        FilterChain chain = created();
+        filter(request("key-1", "{\"code\":\"ACME\"}"), chain);
+
+        // When
+        MockHttpServletResponse response = filter(request("key-1", "{\"code\":\"GLOBEX\"}"), chain);
+
+        // Then
+        assertThat(executions).hasValue(1);
+        assertThat(response.getStatus()).isEqualTo(422);
+    }
+
+    @Test
+    @DisplayName("Should reject a key reused for a different upload")
+    void shouldRejectKeyReusedForDifferentUpload() throws Exception {
+        // Given
+        FilterChain chain = created();
+        filter(upload("key-1", "code\nACME\n"), chain);
+
+        // When
+        MockHttpServletResponse retry = filter(upload("key-1", "code\nACME\n"), chain);
+        MockHttpServletResponse response = filter(upload("key-1", "code\nGLOBEX\n"), chain);
+
+        // Then
+        assertThat(executions).hasValue(1);
+        assertThat(retry.getHeader(TenantIdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(response.getStatus()).isEqualTo(422);
+    }
+
+    @Test
+    @DisplayName("Should reject a key reused with a different query string or If-Match")
+    void shouldRejectKeyReusedWithDifferentPreconditions() throws Exception {
+        // Given
+        FilterChain chain = created();
+        MockHttpServletRequest first = request("key-1", "{}");
+        first.addHeader("If-Match", "\"1\"");
+        filter(first, chain);
+
+        MockHttpServletRequest otherVersion = request("key-1", "{}");
+        otherVersion.addHeader("If-Match", "\"2\"");
+        MockHttpServletRequest otherQuery = request("key-1", "{}");
+        otherQuery.addHeader("If-Match", "\"1\"");
+        otherQuery.setQueryString("dryRun=true");
+
+        // When
+        MockHttpServletResponse versionResponse = filter(otherVersion, chain);
+        MockHttpServletResponse queryResponse = filter(otherQuery, chain);
+
+        // Then
+        assertThat(executions).hasValue(1);
+        assertThat(versionResponse.getStatus()).isEqualTo(422);
+        assertThat(queryResponse.getStatus()).isEqualTo(422);
+    }
+
+    @Test
+    @DisplayName("Should run concurrent duplicates once")
+    void shouldRunConcurrentDuplicatesOnce() throws Exception {
+        // Given
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        FilterChain chain = (request, response) -> {
+            entered.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            created().doFilter(request, response);
+        };
+
+        // When
+        CompletableFuture<MockHttpServletResponse> first = CompletableFuture.supplyAsync(
+                () -> filterUnchecked(request("key-1", "{}"), chain));
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<MockHttpServletResponse> duplicate = CompletableFuture.supplyAsync(
+                () -> filterUnchecked(request("key-1", "{}"), chain));
+        Thread.sleep(100);
+        assertThat(duplicate).isNotDone();
+        release.countDown();
+
+        // Then
+        assertThat(first.get(5, TimeUnit.SECONDS).getStatus()).isEqualTo(201);
+        assertThat(duplicate.get(5, TimeUnit.SECONDS).getStatus()).isEqualTo(201);
+        assertThat(duplicate.get().getHeader(TenantIdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should run a retry again after a server error")
+    void shouldRunRetryAgainAfterServerError() throws Exception {
+        // Given
+        FilterChain failing = (request, response) -> {
+            executions.incrementAndGet();
+            ((HttpServletResponse) response).setStatus(503);
+        };
+
+        // When
+        filter(request("key-1", "{}"), failing);
+        MockHttpServletResponse retry = filter(request("key-1", "{}"), created());
+
+        // Then
+        assertThat(executions).hasValue(2);
+        assertThat(retry.getStatus()).isEqualTo(201);
+        assertThat(retry.getHeader(TenantIdempotencyFilter.REPLAYED_HEADER)).isNull();
+    }
+
+    private FilterChain created() {
+        return (request, response) -> {
+            request.getInputStream().readAllBytes();
+            executions.incrementAndGet();
+            HttpServletResponse httpResponse = (HttpServletResponse) response;
+            httpResponse.setStatus(201);
+            httpResponse.setHeader("Location", "/api/v1/tenants/1");
+            httpResponse.setContentType("application/json");
+            httpResponse.getWriter().write("{\"id\":1,\"code\":\"ACME\"}");
+        };
+    }
+
+    private MockHttpServletResponse filter(MockHttpServletRequest request, FilterChain chain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private MockHttpServletResponse filterUnchecked(MockHttpServletRequest request, FilterChain chain) {
+        try {
+            return filter(request, chain);
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static MockHttpServletRequest request(String key, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/tenants");
+        request.addHeader("Idempotency-Key", key);
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    private static MockHttpServletRequest upload(String key, String csv) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/tenants");
+        request.addHeader("Idempotency-Key", key);
+        request.setContentType("multipart/form-data; boundary=atlas");
+        MockPart part = new MockPart("file", "tenants.csv", csv.getBytes(StandardCharsets.UTF_8));
+        part.getHeaders().setContentType(MediaType.TEXT_PLAIN);
+        request.addPart(part);
+        return request;
+    }
+}
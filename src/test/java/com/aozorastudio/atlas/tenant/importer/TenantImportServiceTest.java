@@ -0,0 +1,159 @@
+package com.aozorastudio.atlas.tenant.importer;
+
+import com.aozorastudio.atlas.tenant.dto.BulkCreateTenantResponse;
+import com.aozorastudio.atlas.tenant.dto.CreateTenantRequest;
+import com.aozorastudio.atlas.tenant.dto.TenantImportStatusResponse;
+import com.aozorastudio.atlas.tenant.exception.TenantImportJobNotFoundException;
+import com.aozorastudio.atlas.tenant.service.TenantService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TenantImportService Tests")
+class TenantImportServiceTest {
+
+    @Mock
+    private TenantService tenantService;
+
+    private TenantImportService tenantImportService;
+
+    @BeforeEach
+    void setUp() {
+        TenantImportProperties properties = new TenantImportProperties();
+        properties.setChunkSize(2);
+        properties.setMaxConcurrentJobs(1);
+
+        tenantImportService = new TenantImportService(tenantService,
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                new ObjectMapper(),
+                properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        tenantImportService.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should import valid CSV rows in chunks and report invalid ones")
+    void shouldImportValidCsvRowsInChunksAndReportInvalidOnes() throws Exception {
+        // Given
+        String csv = "code,name,email,status\n"
+                + "TEST001,\"Tenant, One\",one@example.com,ACTIVE\n"
+                + "TEST002,Tenant Two,not-an-email,\n"
+                + "TEST003,\"Tenant \"\"Three\"\"\",,SUSPENDED\n"
+                + "TEST004,Tenant Four,,UNKNOWN\n"
+                + "TEST005,Tenant Five,,\n";
+        List<List<CreateTenantRequest>> chunks = new ArrayList<>();
+        when(tenantService.createTenants(anyList())).thenAnswer(invocation -> {
+            List<CreateTenantRequest> chunk = invocation.getArgument(0);
+            chunks.add(List.copyOf(chunk));
+            return allCreated(chunk);
+        });
+
+        // When
+        TenantImportStatusResponse submitted = tenantImportService.submit(TenantImportFormat.CSV, stream(csv));
+        TenantImportStatusResponse status = awaitFinished(submitted.getJobId());
+
+        // Then
+        assertThat(status.getStatus()).isEqualTo(TenantImportStatusResponse.Status.COMPLETED);
+        assertThat(status.getAccepted()).isEqualTo(3);
+        assertThat(status.getRejected()).isEqualTo(2);
+        assertThat(status.getErrors()).extracting(TenantImportStatusResponse.ErrorRow::getLine)
+                .containsExactly(3L, 5L);
+        assertThat(status.getErrors().get(0).getMessage()).contains("email");
+        assertThat(status.getErrors().get(1).getMessage()).contains("Unknown status");
+
+        assertThat(chunks).hasSize(2);
+        assertThat(chunks.get(0)).extracting(CreateTenantRequest::getName)
+                .containsExactly("Tenant, One", "Tenant \"Three\"");
+        assertThat(chunks.get(1)).extracting(CreateTenantRequest::getCode).containsExactly("TEST005");
+    }
+
+    @Test
+    @DisplayName("Should reject malformed NDJSON lines and code conflicts")
+    void shouldRejectMalformedNdjsonLinesAndCodeConflicts() throws Exception {
+        // Given
+        String ndjson = "{\"code\":\"TEST001\",\"name\":\"Tenant One\"}\n"
+                + "{\"code\":\"TEST002\",\n"
+                + "\n"
+                + "{\"code\":\"TEST003\",\"name\":\"Tenant Three\"}\n";
+        when(tenantService.createTenants(anyList())).thenAnswer(invocation -> {
+            BulkCreateTenantResponse response = allCreated(invocation.getArgument(0));
+            BulkCreateTenantResponse.Item conflict = response.getResults().get(1);
+            conflict.setOutcome(BulkCreateTenantResponse.Outcome.CONFLICT);
+            conflict.setMessage("Tenant with code 'TEST003' already exists");
+            return response;
+        });
+
+        // When
+        TenantImportStatusResponse submitted = tenantImportService.submit(TenantImportFormat.NDJSON, stream(ndjson));
+        TenantImportStatusResponse status = awaitFinished(submitted.getJobId());
+
+        // Then
+        assertThat(status.getStatus()).isEqualTo(TenantImportStatusResponse.Status.COMPLETED);
+        assertThat(status.getAccepted()).isEqualTo(1);
+        assertThat(status.getRejected()).isEqualTo(2);
+        assertThat(status.getErrors()).extracting(TenantImportStatusResponse.ErrorRow::getLine)
+                .containsExactly(2L, 4L);
+        assertThat(status.getErrors().get(0).getMessage()).startsWith("Malformed JSON");
+        assertThat(status.getErrors().get(1).getCode()).isEqualTo("TEST003");
+        verify(tenantService, times(1)).createTenants(anyList());
+    }
+
+    @Test
+    @DisplayName("Should throw exception when import job is unknown")
+    void shouldThrowExceptionWhenImportJobIsUnknown() {
+        // When & Then
+        assertThatThrownBy(() -> tenantImportService.getStatus("missing"))
+                .isInstanceOf(TenantImportJobNotFoundException.class)
+                .hasMessageContaining("missing");
+    }
+
+    private TenantImportStatusResponse awaitFinished(String jobId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        TenantImportStatusResponse status = tenantImportService.getStatus(jobId);
+        while (status.getFinishedAt() == null && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            status = tenantImportService.getStatus(jobId);
+        }
+        return status;
+    }
+
+    private static BulkCreateTenantResponse allCreated(List<CreateTenantRequest> chunk) {
+        List<BulkCreateTenantResponse.Item> items = new ArrayList<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            items.add(BulkCreateTenantResponse.Item.builder()
+                    .index(i)
+                    .code(chunk.get(i).getCode())
+                    .outcome(BulkCreateTenantResponse.Outcome.CREATED)
+                    .id((long) i + 1)
+                    .build());
+        }
+        return BulkCreateTenantResponse.builder()
+                .created(chunk.size())
+                .results(items)
+                .build();
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,111 @@
+package com.aozorastudio.atlas.tenant.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Load shape and pass/fail thresholds, read from {@code loadtest/*.properties} on the test
+ * classpath. Any key can be overridden with a system property of the same name, which the
+ * {@code loadTest} Gradle task forwards from {@code -Ploadtest.*}.
+ */
+final class LoadTestSettings {
+
+    private static final String SHAPE = "loadtest/tenant-load.properties";
+    private static final String THRESHOLDS = "loadtest/thresholds.properties";
+
+    private final Properties properties;
+
+    private LoadTestSettings(Properties properties) {
+        this.properties = properties;
+    }
+
+    static LoadTestSettings load() {
+        Properties properties = new Properties();
+        read(SHAPE, properties);
+        read(THRESHOLDS, properties);
+        System.getProperties().stringPropertyNames().stream()
+                .filter(name -> name.startsWith("loadtest."))
+                .forEach(name -> properties.setProperty(name, System.getProperty(name)));
+        return new LoadTestSettings(properties);
+    }
+
+    int seedTenants() {
+        return intValue("loadtest.seed-tenants");
+    }
+
+    /**
+     * Requests started per second, independent of how fast responses come back
+     */
+    int arrivalRate() {
+        return intValue("loadtest.arrival-rate");
+    }
+
+    Duration warmup() {
+        return Duration.parse(value("loadtest.warmup"));
+    }
+
+    Duration duration() {
+        return Duration.parse(value("loadtest.duration"));
+    }
+
+    int maxConcurrency() {
+        return intValue("loadtest.max-concurrency");
+    }
+
+    /**
+     * Relative weight of each operation; operations weighted zero are not sent
+     */
+    Map<TenantOperation, Integer> mix() {
+        Map<TenantOperation, Integer> mix = new EnumMap<>(TenantOperation.class);
+        for (TenantOperation operation : TenantOperation.values()) {
+            mix.put(operation, intValue("loadtest.mix." + operation.key()));
+        }
+        return mix;
+    }
+
+    /**
+     * Highest acceptable latency at a percentile, e.g. {@code "p99"}
+     */
+    Duration maxLatency(TenantOperation operation, String percentile) {
+        return Duration.ofMillis(intValue("loadtest.threshold." + operation.key() + "." + percentile + "-ms"));
+    }
+
+    /**
+     * Lowest acceptable completed requests per second, as a fraction of the arrival rate
+     */
+    double minThroughputRatio() {
+        return Double.parseDouble(value("loadtest.threshold.throughput.min-ratio"));
+    }
+
+    double maxErrorRatio() {
+        return Double.parseDouble(value("loadtest.threshold.errors.max-ratio"));
+    }
+
+    private int intValue(String key) {
+        return Integer.parseInt(value(key));
+    }
+
+    private String value(String key) {
+        String value = properties.getProperty(key);
+        if (value == null) {
+            throw new IllegalStateException("Missing load test setting " + key);
+        }
+        return value.trim();
+    }
+
+    private static void read(String resource, Properties into) {
+        try (InputStream in = LoadTestSettings.class.getClassLoader().getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing load test resource " + resource);
+            }
+            into.load(in);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
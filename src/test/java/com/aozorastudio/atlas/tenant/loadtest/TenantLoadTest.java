@@ -0,0 +1,310 @@
+package com.aozorastudio.atlas.tenant.loadtest;
+
+import com.aozorastudio.atlas.tenant.domain.Tenant;
+import com.aozorastudio.atlas.tenant.dto.BulkCreateTenantResponse;
+import com.aozorastudio.atlas.tenant.dto.CreateTenantRequest;
+import com.aozorastudio.atlas.tenant.dto.UpdateTenantRequest;
+import com.aozorastudio.atlas.tenant.service.TenantService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.assertj.core.api.SoftAssertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives the tenant API over HTTP at a fixed arrival rate against the full application on
+ * H2 and fails when latency percentiles, throughput or error rate pass the thresholds in
+ * {@code loadtest/thresholds.properties}. Latency runs from each request's scheduled start
+ * rather than from when a client thread picked it up, so a server that falls behind is not
+ * hidden by queueing in the client. Run with {@code ./gradlew loadTest}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.com.aozorastudio.atlas=WARN",
+        "logging.level.org.springframework.web=WARN",
+        "logging.level.org.springframework.test=WARN"
+})
+@ActiveProfiles("test")
+@Tag("load")
+@DisplayName("Tenant API load test")
+class TenantLoadTest {
+
+    private static final String[] PERCENTILES = {"p50", "p99", "p999"};
+    private static final double[] PERCENTILE_VALUES = {50.0, 99.0, 99.9};
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TenantService tenantService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private LoadTestSettings settings;
+    private HttpClient client;
+    private String baseUrl;
+
+    private final List<Long> seededIds = new ArrayList<>();
+    private final List<String> seededCodes = new ArrayList<>();
+    private final ConcurrentLinkedQueue<Long> disposableIds = new ConcurrentLinkedQueue<>();
+    private final AtomicLong codeSequence = new AtomicLong();
+
+    @BeforeEach
+    void setUp() {
+        settings = LoadTestSettings.load();
+        baseUrl = "http://localhost:" + port + "/api/v1/tenants";
+        client = HttpClient.newBuilder()
+                .connectTimeout(REQUEST_TIMEOUT)
+                .build();
+
+        jdbcTemplate.update("DELETE FROM tenants");
+        seed();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM tenants");
+    }
+
+    @Test
+    @DisplayName("Should stay within latency, throughput and error thresholds")
+    void shouldStayWithinThresholds() throws Exception {
+        // Given
+        Map<TenantOperation, Histogram> latencies = new EnumMap<>(TenantOperation.class);
+        Map<TenantOperation, LongAdder> errors = new EnumMap<>(TenantOperation.class);
+        for (TenantOperation operation : TenantOperation.values()) {
+            latencies.put(operation, new ConcurrentHistogram(3));
+            errors.put(operation, new LongAdder());
+        }
+        AtomicLong lastCompletion = new AtomicLong();
+        TenantOperation[] schedule = weightedOperations(settings.mix());
+
+        long interval = TimeUnit.SECONDS.toNanos(1) / settings.arrivalRate();
+        long start = System.nanoTime();
+        long measureFrom = start + settings.warmup().toNanos();
+        long end = measureFrom + settings.duration().toNanos();
+
+        // When
+        ExecutorService workers = Executors.newFixedThreadPool(settings.maxConcurrency());
+        try {
+            for (long i = 0; ; i++) {
+                long scheduled = start + i * interval;
+                if (scheduled >= end) {
+                    break;
+                }
+                long wait;
+                while ((wait = scheduled - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+
+                TenantOperation operation = schedule[ThreadLocalRandom.current().nextInt(schedule.length)];
+                boolean measured = scheduled >= measureFrom;
+                workers.execute(() -> {
+                    boolean succeeded = send(operation);
+                    long completed = System.nanoTime();
+                    if (measured) {
+                        latencies.get(operation).recordValue(completed - scheduled);
+                        if (!succeeded) {
+                            errors.get(operation).increment();
+                        }
+                        lastCompletion.accumulateAndGet(completed, Math::max);
+                    }
+                });
+            }
+        } finally {
+            workers.shutdown();
+            workers.awaitTermination(1, TimeUnit.MINUTES);
+        }
+
+        // Then
+        long requests = latencies.values().stream().mapToLong(Histogram::getTotalCount).sum();
+        long failed = errors.values().stream().mapToLong(LongAdder::sum).sum();
+        double seconds = (lastCompletion.get() - measureFrom) / 1e9;
+        double throughput = requests / seconds;
+        report(latencies, errors, throughput);
+
+        SoftAssertions softly = new SoftAssertions();
+        settings.mix().forEach((operation, weight) -> {
+            if (weight == 0) {
+                return;
+            }
+            Histogram histogram = latencies.get(operation);
+            softly.assertThat(histogram.getTotalCount()).as("%s requests", operation.key()).isPositive();
+            for (int p = 0; p < PERCENTILES.length; p++) {
+                Duration observed = Duration.ofNanos(histogram.getValueAtPercentile(PERCENTILE_VALUES[p]));
+                softly.assertThat(observed)
+                        .as("%s %s latency", operation.key(), PERCENTILES[p])
+                        .isLessThanOrEqualTo(settings.maxLatency(operation, PERCENTILES[p]));
+            }
+        });
+        softly.assertThat(throughput)
+                .as("throughput in requests/s")
+                .isGreaterThanOrEqualTo(settings.arrivalRate() * settings.minThroughputRatio());
+        softly.assertThat((double) failed / requests)
+                .as("error ratio")
+                .isLessThanOrEqualTo(settings.maxErrorRatio());
+        softly.assertAll();
+    }
+
+    private boolean send(TenantOperation operation) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        try {
+            switch (operation) {
+                case CREATE: {
+                    HttpResponse<String> response = exchange(json(URI.create(baseUrl))
+                            .POST(body(createRequest(codeSequence.incrementAndGet()))));
+                    if (operation.succeeded(response)) {
+                        disposableIds.offer(objectMapper.readTree(response.body()).get("id").asLong());
+                        return true;
+                    }
+                    return false;
+                }
+                case UPDATE: {
+                    int index = random.nextInt(seededIds.size());
+                    UpdateTenantRequest request = UpdateTenantRequest.builder()
+                            .name("Load Tenant " + index + " rev " + random.nextInt(1_000))
+                            .description("Updated by the load test")
+                            .email("load" + index + "@example.com")
+                            .status(Tenant.TenantStatus.ACTIVE)
+                            .build();
+                    return operation.succeeded(exchange(json(URI.create(baseUrl + "/" + seededIds.get(index)))
+                            .PUT(body(request))));
+                }
+                case GET_BY_ID:
+                    return operation.succeeded(exchange(HttpRequest.newBuilder(
+                            URI.create(baseUrl + "/" + seededIds.get(random.nextInt(seededIds.size())))).GET()));
+                case GET_BY_CODE:
+                    return operation.succeeded(exchange(HttpRequest.newBuilder(
+                            URI.create(baseUrl + "/code/" + seededCodes.get(random.nextInt(seededCodes.size())))).GET()));
+                case SEARCH: {
+                    String term = URLEncoder.encode("Tenant " + random.nextInt(100), StandardCharsets.UTF_8);
+                    return operation.succeeded(exchange(HttpRequest.newBuilder(
+                            URI.create(baseUrl + "?searchTerm=" + term + "&size=20")).GET()));
+                }
+                case DELETE: {
+                    Long id = disposableIds.poll();
+                    if (id == null) {
+                        return false;
+                    }
+                    return operation.succeeded(exchange(HttpRequest.newBuilder(URI.create(baseUrl + "/" + id)).DELETE()));
+                }
+                default:
+                    throw new IllegalArgumentException("Unknown operation " + operation);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Exception ex) {
+            return false;
+        }
+    }
+
+    private HttpResponse<String> exchange(HttpRequest.Builder request) throws Exception {
+        return client.send(request.timeout(REQUEST_TIMEOUT).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static HttpRequest.Builder json(URI uri) {
+        return HttpRequest.newBuilder(uri).header("Content-Type", "application/json");
+    }
+
+    private HttpRequest.BodyPublisher body(Object value) throws Exception {
+        return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(value));
+    }
+
+    /**
+     * Seed readable tenants plus enough spare ones that deletes never run dry
+     */
+    private void seed() {
+        int seeded = settings.seedTenants();
+        double deleteShare = (double) settings.mix().get(TenantOperation.DELETE)
+                / settings.mix().values().stream().mapToInt(Integer::intValue).sum();
+        long runSeconds = settings.warmup().plus(settings.duration()).toSeconds();
+        int disposable = (int) Math.ceil(settings.arrivalRate() * runSeconds * deleteShare * 1.2) + 10;
+
+        List<CreateTenantRequest> requests = new ArrayList<>(seeded + disposable);
+        for (int i = 0; i < seeded + disposable; i++) {
+            requests.add(createRequest(codeSequence.incrementAndGet()));
+        }
+        BulkCreateTenantResponse response = tenantService.createTenants(requests);
+        for (BulkCreateTenantResponse.Item item : response.getResults()) {
+            if (item.getIndex() < seeded) {
+                seededIds.add(item.getId());
+                seededCodes.add(item.getCode());
+            } else {
+                disposableIds.offer(item.getId());
+            }
+        }
+    }
+
+    private static CreateTenantRequest createRequest(long sequence) {
+        return CreateTenantRequest.builder()
+                .code(String.format("LOAD%08d", sequence))
+                .name("Load Tenant " + sequence)
+                .description("Tenant created by the load test")
+                .email("load" + sequence + "@example.com")
+                .phone("1234567890")
+                .address("Load Test Address " + sequence)
+                .status(Tenant.TenantStatus.ACTIVE)
+                .build();
+    }
+
+    private static TenantOperation[] weightedOperations(Map<TenantOperation, Integer> mix) {
+        List<TenantOperation> operations = new ArrayList<>();
+        mix.forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                operations.add(operation);
+            }
+        });
+        return operations.toArray(new TenantOperation[0]);
+    }
+
+    private void report(Map<TenantOperation, Histogram> latencies, Map<TenantOperation, LongAdder> errors,
+            double throughput) {
+        System.out.printf("Tenant load test: %d req/s offered, %.1f req/s completed over %s%n",
+                settings.arrivalRate(), throughput, settings.duration());
+        System.out.printf("%-12s %8s %9s %9s %9s %9s %7s%n",
+                "operation", "count", "p50 ms", "p99 ms", "p999 ms", "max ms", "errors");
+        latencies.forEach((operation, histogram) -> System.out.printf("%-12s %8d %9.2f %9.2f %9.2f %9.2f %7d%n",
+                operation.key(),
+                histogram.getTotalCount(),
+                histogram.getValueAtPercentile(50.0) / 1e6,
+                histogram.getValueAtPercentile(99.0) / 1e6,
+                histogram.getValueAtPercentile(99.9) / 1e6,
+                histogram.getMaxValue() / 1e6,
+                errors.get(operation).sum()));
+    }
+}
@@ -0,0 +1,32 @@
+package com.aozorastudio.atlas.tenant.loadtest;
+
+import java.net.http.HttpResponse;
+
+/**
+ * Operations the load test mixes, keyed as in the load test properties
+ */
+enum TenantOperation {
+
+    CREATE("create", 201),
+    UPDATE("update", 200),
+    GET_BY_ID("get-by-id", 200),
+    GET_BY_CODE("get-by-code", 200),
+    SEARCH("search", 200),
+    DELETE("delete", 204);
+
+    private final String key;
+    private final int expectedStatus;
+
+    TenantOperation(String key, int expectedStatus) {
+        this.key = key;
+        this.expectedStatus = expectedStatus;
+    }
+
+    String key() {
+        return key;
+    }
+
+    boolean succeeded(HttpResponse<?> response) {
+        return response.statusCode() == expectedStatus;
+    }
+}
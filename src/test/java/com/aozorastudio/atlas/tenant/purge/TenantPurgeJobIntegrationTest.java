@@ -0,0 +1,110 @@
+package com.aozorastudio.atlas.tenant.purge;
+
+import com.aozorastudio.atlas.tenant.domain.Tenant;
+import com.aozorastudio.atlas.tenant.dto.TenantCursor;
+import com.aozorastudio.atlas.tenant.exception.TenantCursorExpiredException;
+import com.aozorastudio.atlas.tenant.repository.TenantRepository;
+import com.aozorastudio.atlas.tenant.service.TenantChangeFeedService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "atlas.tenant.purge.retention=7d",
+        "atlas.tenant.purge.chunk-size=2"
+})
+@Sql(executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD, statements = {
+        "DELETE FROM tenants_archive",
+        "DELETE FROM tenants"
+})
+@DisplayName("Tenant Purge Job Integration Tests")
+class TenantPurgeJobIntegrationTest {
+
+    @Autowired
+    private TenantPurgeJob purgeJob;
+
+    @Autowired
+    private TenantRepository tenantRepository;
+
+    @Autowired
+    private TenantChangeFeedService changeFeedService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Should move tenants deleted before the retention to the archive in chunks")
+    void shouldArchiveTenantsDeletedBeforeRetention() {
+        // Given
+        List<Tenant> tenants = IntStream.rangeClosed(1, 6)
+                .mapToObj(i -> tenantRepository.save(Tenant.builder()
+                        .code("PURGE" + i)
+                        .name("Tenant " + i)
+                        .status(Tenant.TenantStatus.ACTIVE)
+                        .build()))
+                .toList();
+        tenants.subList(0, 5).forEach(tenantRepository::delete);
+        // Three deleted long ago, two recently, one still live
+        for (Tenant tenant : tenants.subList(0, 3)) {
+            jdbcTemplate.update("UPDATE tenants SET deleted_at = ? WHERE id = ?",
+                    Timestamp.valueOf(LocalDateTime.now().minusDays(10)), tenant.getId());
+        }
+        assertThat(purgeJob.status().getBacklog()).isEqualTo(3);
+
+        // When
+        purgeJob.purge();
+
+        // Then
+        TenantPurgeStatus status = purgeJob.status();
+        assertThat(status.getBacklog()).isZero();
+        assertThat(status.getSoftDeleted()).isEqualTo(2);
+        assertThat(status.getLastRunPurged()).isEqualTo(3);
+        assertThat(status.getLastRunChunks()).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForList("SELECT code FROM tenants_archive ORDER BY id", String.class))
+                .containsExactly("PURGE1", "PURGE2", "PURGE3");
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tenants", Integer.class)).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should refuse change feed cursors from before the newest purged tombstone")
+    void shouldRefuseChangeFeedCursorsBeforePurgedTombstone() {
+        // Given
+        Tenant tenant = tenantRepository.save(Tenant.builder()
+                .code("PURGE9")
+                .name("Tenant 9")
+                .status(Tenant.TenantStatus.ACTIVE)
+                .build());
+        tenantRepository.delete(tenant);
+        LocalDateTime deletedAt = LocalDateTime.now().minusDays(10).truncatedTo(ChronoUnit.SECONDS);
+        jdbcTemplate.update("UPDATE tenants SET deleted_at = ?, updated_at = ? WHERE id = ?",
+                Timestamp.valueOf(deletedAt), Timestamp.valueOf(deletedAt), tenant.getId());
+        String stale = new TenantCursor(deletedAt.minusDays(1), 0L).encode();
+        String caughtUp = new TenantCursor(deletedAt, tenant.getId()).encode();
+
+        // When
+        purgeJob.purge();
+
+        // Then
+        assertThatThrownBy(() -> changeFeedService.findChanges(stale, 10))
+                .isInstanceOf(TenantCursorExpiredException.class)
+                .hasMessageContaining("resync");
+        assertThat(changeFeedService.findChanges(caughtUp, 10).getContent()).isEmpty();
+        assertThat(changeFeedService.findChanges(null, 10).getContent()).isEmpty();
+    }
+}
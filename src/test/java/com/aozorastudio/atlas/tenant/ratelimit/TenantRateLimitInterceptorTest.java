@@ -0,0 +1,97 @@
+package com.aozorastudio.atlas.tenant.ratelimit;
+
+import com.aozorastudio.atlas.tenant.context.TenantContext;
+import com.aozorastudio.atlas.tenant.context.TenantResolutionFilter;
+import com.aozorastudio.atlas.tenant.domain.Tenant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("TenantRateLimitInterceptor Tests")
+class TenantRateLimitInterceptorTest {
+
+    private TenantRateLimiter rateLimiter;
+    private TenantRateLimiter.Permit permit;
+    private TenantRateLimitInterceptor interceptor;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        rateLimiter = mock(TenantRateLimiter.class);
+        permit = mock(TenantRateLimiter.Permit.class);
+        when(rateLimiter.acquire(any())).thenReturn(permit);
+        interceptor = new TenantRateLimitInterceptor(rateLimiter);
+        request = new MockHttpServletRequest();
+        request.setAttribute(TenantResolutionFilter.ATTRIBUTE,
+                new TenantContext(1L, "T1", Tenant.TenantStatus.ACTIVE, 0L, null, 8));
+        response = new MockHttpServletResponse();
+    }
+
+    @Test
+    @DisplayName("Should release an emitter's permit once it is set up, and take none on its final dispatch")
+    void shouldReleaseEmitterPermitAfterSetup() throws Exception {
+        // Given
+        HandlerMethod handler = new HandlerMethod(new Handlers(), "stream");
+        interceptor.preHandle(request, response, handler);
+
+        // When
+        interceptor.afterConcurrentHandlingStarted(request, response, handler);
+
+        // Then
+        verify(permit).release();
+
+        // When - the async dispatch once the subscriber goes away
+        interceptor.preHandle(request, response, handler);
+        interceptor.afterCompletion(request, response, handler, null);
+
+        // Then
+        verify(rateLimiter, times(1)).acquire(any());
+        verify(permit, times(1)).release();
+    }
+
+    @Test
+    @DisplayName("Should hold a streamed body's permit until the request completes")
+    void shouldHoldStreamingBodyPermitUntilCompletion() throws Exception {
+        // Given
+        HandlerMethod handler = new HandlerMethod(new Handlers(), "export");
+        interceptor.preHandle(request, response, handler);
+
+        // When
+        interceptor.afterConcurrentHandlingStarted(request, response, handler);
+
+        // Then
+        verify(permit, never()).release();
+
+        // When
+        interceptor.preHandle(request, response, handler);
+        interceptor.afterCompletion(request, response, handler, null);
+
+        // Then
+        verify(rateLimiter, times(1)).acquire(any());
+        verify(permit).release();
+    }
+
+    static class Handlers {
+
+        public SseEmitter stream() {
+            return new SseEmitter();
+        }
+
+        public StreamingResponseBody export() {
+            return outputStream -> { };
+        }
+    }
+}
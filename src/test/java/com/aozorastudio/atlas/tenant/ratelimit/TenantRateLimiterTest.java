@@ -0,0 +1,126 @@
+package com.aozorastudio.atlas.tenant.ratelimit;
+
+import com.aozorastudio.atlas.tenant.context.TenantContext;
+import com.aozorastudio.atlas.tenant.domain.Tenant;
+import com.aozorastudio.atlas.tenant.exception.TenantRateLimitExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("TenantRateLimiter Tests")
+class TenantRateLimiterTest {
+
+    private TenantRateLimitProperties properties;
+    private StringRedisTemplate redisTemplate;
+    private SimpleMeterRegistry meterRegistry;
+    private TenantRateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        properties = new TenantRateLimitProperties();
+        properties.setDefaultRequestsPerSecond(10);
+        properties.setDefaultMaxConcurrentRequests(0);
+        properties.setBurst(Duration.ofSeconds(1));
+        redisTemplate = mock(StringRedisTemplate.class);
+        meterRegistry = new SimpleMeterRegistry();
+        rateLimiter = new TenantRateLimiter(properties, redisTemplate, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should admit a burst at the tenant rate and then refuse with a retry hint")
+    void shouldRefuseOnceBurstIsSpent() {
+        // Given
+        TenantContext tenant = tenant(1L, null, null);
+        for (int i = 0; i < 10; i++) {
+            rateLimiter.acquire(tenant);
+        }
+
+        // When & Then
+        assertThatThrownBy(() -> rateLimiter.acquire(tenant))
+                .isInstanceOf(TenantRateLimitExceededException.class)
+                .satisfies(ex -> {
+                    TenantRateLimitExceededException refused = (TenantRateLimitExceededException) ex;
+                    assertThat(refused.getReason()).isEqualTo(TenantRateLimitExceededException.Reason.RATE);
+                    assertThat(refused.getRetryAfter()).isPositive().isLessThanOrEqualTo(Duration.ofMillis(400));
+                });
+        assertThat(meterRegistry.get("atlas.tenant.rate-limit.throttled").tag("reason", "rate").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should keep one tenant's limit from affecting another")
+    void shouldIsolateTenants() {
+        // Given
+        TenantContext noisy = tenant(1L, 2, null);
+        TenantContext quiet = tenant(2L, null, null);
+        rateLimiter.acquire(noisy);
+        rateLimiter.acquire(noisy);
+
+        // When & Then
+        assertThatThrownBy(() -> rateLimiter.acquire(noisy)).isInstanceOf(TenantRateLimitExceededException.class);
+        rateLimiter.acquire(quiet);
+        assertThat(rateLimiter.mostThrottled(10).get(0).getCode()).isEqualTo("T1");
+    }
+
+    @Test
+    @DisplayName("Should cap requests in flight until a permit is released")
+    void shouldCapRequestsInFlight() {
+        // Given
+        properties.setDefaultRequestsPerSecond(0);
+        TenantContext tenant = tenant(1L, null, 2);
+        TenantRateLimiter.Permit first = rateLimiter.acquire(tenant);
+        rateLimiter.acquire(tenant);
+
+        // When & Then
+        assertThatThrownBy(() -> rateLimiter.acquire(tenant))
+                .isInstanceOf(TenantRateLimitExceededException.class)
+                .extracting("reason").isEqualTo(TenantRateLimitExceededException.Reason.CONCURRENCY);
+        first.release();
+        rateLimiter.acquire(tenant);
+    }
+
+    @Test
+    @DisplayName("Should refuse a tenant once the cluster has spent its budget")
+    void shouldRefuseWhenClusterBudgetIsSpent() {
+        // Given
+        TenantContext tenant = tenant(1L, null, null);
+        rateLimiter.acquire(tenant);
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenReturn(List.of(10L, true));
+
+        // When
+        rateLimiter.syncWithCluster();
+
+        // Then
+        assertThatThrownBy(() -> rateLimiter.acquire(tenant))
+                .isInstanceOf(TenantRateLimitExceededException.class)
+                .extracting("reason").isEqualTo(TenantRateLimitExceededException.Reason.GLOBAL_BUDGET);
+    }
+
+    @Test
+    @DisplayName("Should not call Redis when nothing was admitted since the last sync")
+    void shouldSkipSyncWithoutTraffic() {
+        // When
+        rateLimiter.syncWithCluster();
+
+        // Then
+        verify(redisTemplate, never()).executePipelined(any(RedisCallback.class));
+    }
+
+    private static TenantContext tenant(Long id, Integer requestsPerSecond, Integer maxConcurrentRequests) {
+        return new TenantContext(id, "T" + id, Tenant.TenantStatus.ACTIVE, 0L, requestsPerSecond, maxConcurrentRequests);
+    }
+}
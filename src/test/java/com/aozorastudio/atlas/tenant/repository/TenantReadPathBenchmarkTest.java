@@ -0,0 +1,152 @@
+package com.aozorastudio.atlas.tenant.repository;
+
+import com.aozorastudio.atlas.tenant.domain.Tenant;
+import com.aozorastudio.atlas.tenant.dto.TenantResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares bytes allocated per read between loading managed entities and mapping them
+ * with {@link TenantResponse#from}, and selecting straight into the DTO. Each request
+ * runs in its own read-only transaction, as in the service. The second-level cache is
+ * off so both sides read from the database. Run with {@code ./gradlew benchmark}.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false"
+})
+@ActiveProfiles("test")
+@Tag("benchmark")
+@DisplayName("Tenant read path allocation benchmark")
+class TenantReadPathBenchmarkTest {
+
+    private static final int TENANTS = 200;
+    private static final int PAGE_SIZE = 20;
+    private static final int WARMUP_REQUESTS = 5_000;
+    private static final int MEASURED_REQUESTS = 20_000;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Autowired
+    private TenantRepository tenantRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate readOnly;
+    private final List<Long> ids = new ArrayList<>();
+    private final List<String> codes = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        jdbcTemplate.update("DELETE FROM tenants");
+        List<Tenant> tenants = new ArrayList<>();
+        for (int i = 0; i < TENANTS; i++) {
+            tenants.add(Tenant.builder()
+                    .code(String.format("BENCH%04d", i))
+                    .name("Benchmark Tenant " + i)
+                    .description("Tenant used by the read path benchmark")
+                    .email("bench" + i + "@example.com")
+                    .phone("1234567890")
+                    .address("Benchmark Address " + i)
+                    .status(Tenant.TenantStatus.ACTIVE)
+                    .createdBy("system")
+                    .updatedBy("system")
+                    .build());
+        }
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                tenantRepository.saveAll(tenants).forEach(tenant -> {
+                    ids.add(tenant.getId());
+                    codes.add(tenant.getCode());
+                }));
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM tenants");
+    }
+
+    @Test
+    @DisplayName("Should allocate less per lookup by id with the projection")
+    void shouldAllocateLessPerLookupByIdWithProjection() {
+        long entity = bytesPerRequest(i -> TenantResponse.from(
+                tenantRepository.findById(ids.get(i % TENANTS)).orElseThrow()));
+        long projection = bytesPerRequest(i ->
+                tenantRepository.findResponseById(ids.get(i % TENANTS)).orElseThrow());
+
+        report("by id", entity, projection);
+        assertThat(projection).isLessThan(entity);
+    }
+
+    @Test
+    @DisplayName("Should allocate less per lookup by code with the projection")
+    void shouldAllocateLessPerLookupByCodeWithProjection() {
+        long entity = bytesPerRequest(i -> TenantResponse.from(
+                tenantRepository.findByCode(codes.get(i % TENANTS)).orElseThrow()));
+        long projection = bytesPerRequest(i ->
+                tenantRepository.findResponseByCode(codes.get(i % TENANTS)).orElseThrow());
+
+        report("by code", entity, projection);
+        assertThat(projection).isLessThan(entity);
+    }
+
+    @Test
+    @DisplayName("Should allocate less per search page hydration with the projection")
+    void shouldAllocateLessPerSearchPageHydrationWithProjection() {
+        long entity = bytesPerRequest(i -> tenantRepository.findAllById(page(i)).stream()
+                .map(TenantResponse::from)
+                .toList());
+        long projection = bytesPerRequest(i -> tenantRepository.findResponsesByIdIn(page(i)));
+
+        report("search page of " + PAGE_SIZE, entity, projection);
+        assertThat(projection).isLessThan(entity);
+    }
+
+    private List<Long> page(int request) {
+        int from = (request * PAGE_SIZE) % (TENANTS - PAGE_SIZE);
+        return ids.subList(from, from + PAGE_SIZE);
+    }
+
+    private long bytesPerRequest(IntFunction<Object> read) {
+        for (int i = 0; i < WARMUP_REQUESTS; i++) {
+            int request = i;
+            readOnly.execute(status -> read.apply(request));
+        }
+
+        long before = THREADS.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < MEASURED_REQUESTS; i++) {
+            int request = i;
+            readOnly.execute(status -> read.apply(request));
+        }
+        return (THREADS.getCurrentThreadAllocatedBytes() - before) / MEASURED_REQUESTS;
+    }
+
+    private static void report(String lookup, long entity, long projection) {
+        System.out.printf("Tenant read %s: entity %,d B/request, projection %,d B/request (%.1f%% less)%n",
+                lookup, entity, projection, 100.0 * (entity - projection) / entity);
+    }
+}
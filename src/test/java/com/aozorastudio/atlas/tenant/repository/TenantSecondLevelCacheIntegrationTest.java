@@ -0,0 +1,92 @@
+package com.aozorastudio.atlas.tenant.repository;
+
+import com.aozorastudio.atlas.tenant.domain.Tenant;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Sql(executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD, statements = "DELETE FROM tenants")
+@DisplayName("Tenant Second-Level Cache Integration Tests")
+class TenantSecondLevelCacheIntegrationTest {
+
+    @Autowired
+    private TenantRepository tenantRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private SessionFactory sessionFactory;
+    private Statistics statistics;
+    private Tenant tenant;
+
+    @BeforeEach
+    void setUp() {
+        sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        tenant = tenantRepository.save(Tenant.builder()
+                .code("CACHED1")
+                .name("Cached Tenant")
+                .status(Tenant.TenantStatus.ACTIVE)
+                .build());
+        sessionFactory.getCache().evictAllRegions();
+        statistics = sessionFactory.getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Should serve a repeat load by id from the entity region")
+    void shouldServeRepeatLoadByIdFromCache() {
+        // When
+        inTransaction(() -> tenantRepository.findById(tenant.getId()).orElseThrow());
+        inTransaction(() -> tenantRepository.findById(tenant.getId()).orElseThrow());
+
+        // Then
+        assertThat(statistics.getDomainDataRegionStatistics(Tenant.CACHE_REGION).getHitCount()).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should cache active tenant pages until a tenant is written")
+    void shouldCacheActivePagesUntilTenantIsWritten() {
+        // When
+        inTransaction(() -> tenantRepository.findAllActive(PageRequest.of(0, 20)));
+        inTransaction(() -> tenantRepository.findAllActive(PageRequest.of(0, 20)));
+
+        // Then
+        assertThat(statistics.getQueryRegionStatistics(Tenant.ACTIVE_QUERY_CACHE_REGION).getHitCount()).isEqualTo(1);
+
+        // When
+        tenant.setName("Renamed Tenant");
+        tenantRepository.save(tenant);
+        String name = inTransaction(() -> tenantRepository.findAllActive(PageRequest.of(0, 20))
+                .getContent().get(0).getName());
+
+        // Then
+        assertThat(name).isEqualTo("Renamed Tenant");
+        assertThat(statistics.getQueryRegionStatistics(Tenant.ACTIVE_QUERY_CACHE_REGION).getHitCount()).isEqualTo(1);
+    }
+
+    private <T> T inTransaction(Supplier<T> work) {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        return readOnly.execute(status -> work.get());
+    }
+}
@@ -0,0 +1,98 @@
+package com.aozorastudio.atlas.tenant.search;
+
+import com.aozorastudio.atlas.tenant.domain.Tenant;
+import com.aozorastudio.atlas.tenant.dto.CreateTenantRequest;
+import com.aozorastudio.atlas.tenant.dto.TenantResponse;
+import com.aozorastudio.atlas.tenant.dto.TenantSearchRequest;
+import com.aozorastudio.atlas.tenant.dto.UpdateTenantRequest;
+import com.aozorastudio.atlas.tenant.service.TenantService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = "atlas.tenant.search.index.enabled=true")
+@Sql(executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD, statements = "DELETE FROM tenants")
+@DisplayName("Tenant Search Index Integration Tests")
+class TenantSearchIndexIntegrationTest {
+
+    @Autowired
+    private TenantService tenantService;
+
+    @Autowired
+    private TenantSearchIndex searchIndex;
+
+    @BeforeEach
+    void setUp() {
+        // Drop entries left by earlier tests, whose rows the @Sql cleanup removed
+        searchIndex.rebuild();
+    }
+
+    @Test
+    @DisplayName("Should answer searches from the index as tenants are created, renamed and deleted")
+    void shouldFollowCommittedChanges() {
+        // Given
+        TenantResponse acme = tenantService.createTenant(request("ACME", "Acme Corporation"));
+        tenantService.createTenant(request("GLOBEX", "Globex Industries"));
+
+        // When & Then
+        assertThat(searchIndex.search("corp", null, PageRequest.of(0, 20))).isPresent();
+        assertThat(search("corp").getContent()).extracting(TenantResponse::getCode).containsExactly("ACME");
+
+        // When
+        tenantService.updateTenant(acme.getId(), UpdateTenantRequest.builder()
+                .name("Acme Holdings")
+                .build());
+
+        // Then
+        assertThat(search("corp").getContent()).isEmpty();
+        assertThat(search("holdings").getContent()).extracting(TenantResponse::getCode).containsExactly("ACME");
+
+        // When
+        tenantService.deleteTenant(acme.getId());
+
+        // Then
+        assertThat(search("holdings").getTotalElements()).isZero();
+        assertThat(search("").getContent()).extracting(TenantResponse::getCode).containsExactly("GLOBEX");
+    }
+
+    @Test
+    @DisplayName("Should find tenants written before the index was built")
+    void shouldFindTenantsWrittenBeforeRebuild() {
+        // Given
+        tenantService.createTenant(request("INITECH", "Initech Software"));
+        searchIndex.rebuild();
+
+        // When
+        Page<TenantResponse> page = search("soft");
+
+        // Then
+        assertThat(page.getTotalElements()).isEqualTo(1);
+        assertThat(page.getContent()).extracting(TenantResponse::getCode).containsExactly("INITECH");
+    }
+
+    private Page<TenantResponse> search(String term) {
+        return tenantService.searchTenants(TenantSearchRequest.builder()
+                .searchTerm(term)
+                .build());
+    }
+
+    private static CreateTenantRequest request(String code, String name) {
+        return CreateTenantRequest.builder()
+                .code(code)
+                .name(name)
+                .email(code.toLowerCase() + "@example.com")
+                .status(Tenant.TenantStatus.ACTIVE)
+                .build();
+    }
+}
@@ -0,0 +1,115 @@
+package com.aozorastudio.atlas.tenant.search;
+
+import com.aozorastudio.atlas.common.scheduling.MaintenanceRunner;
+import com.aozorastudio.atlas.tenant.cache.TenantCacheProperties;
+import com.aozorastudio.atlas.tenant.cache.TenantInvalidationBatch;
+import com.aozorastudio.atlas.tenant.cache.TenantInvalidationBus;
+import com.aozorastudio.atlas.tenant.domain.Tenant;
+import com.aozorastudio.atlas.tenant.dto.TenantResponse;
+import com.aozorastudio.atlas.tenant.repository.TenantRepository;
+import com.aozorastudio.atlas.tenant.service.TenantChange;
+import com.aozorastudio.atlas.tenant.service.TenantChangeListener;
+import com.aozorastudio.atlas.tenant.service.TenantChangeNotifier;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("TenantSearchIndex Tests")
+class TenantSearchIndexTest {
+
+    private TenantRepository tenantRepository;
+    private TenantInvalidationBus invalidationBus;
+    private TenantSearchIndex searchIndex;
+
+    @BeforeEach
+    void setUp() {
+        tenantRepository = mock(TenantRepository.class);
+        when(tenantRepository.findIndexEntries(anyLong(), any(Pageable.class))).thenReturn(List.of(
+                entry(1L, "ACME", 1L),
+                entry(2L, "ACMEX", 1L)));
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        // Loopback channel: the bus hears its own heartbeat, so it reports itself caught up
+        invalidationBus = new TenantInvalidationBus(new TenantCacheProperties(), batch -> invalidationBus.receive(batch),
+                new TenantChangeNotifier(new StaticListableBeanFactory().getBeanProvider(TenantChangeListener.class)),
+                meterRegistry);
+        invalidationBus.flush();
+        searchIndex = new TenantSearchIndex(new TenantSearchProperties(), tenantRepository, invalidationBus,
+                new MaintenanceRunner(Runnable::run), meterRegistry);
+        searchIndex.rebuild();
+    }
+
+    @Test
+    @DisplayName("Should not bring back a tenant deleted while it was being re-read")
+    void shouldNotResurrectTenantDeletedDuringReread() {
+        // Given - a remote update, and a delete handled between the re-read and its apply
+        searchIndex.onTenantChange(TenantChange.builder()
+                .type(TenantChange.Type.UPDATED)
+                .id(1L)
+                .code("ACME")
+                .version(2L)
+                .remote(true)
+                .build());
+        when(tenantRepository.findIndexEntriesByIdIn(anyCollection())).thenAnswer(invocation -> {
+            searchIndex.onTenantChange(TenantChange.deleted(tenant(1L, "ACME", 3L)));
+            return List.of(entry(1L, "ACME", 2L));
+        });
+
+        // When
+        searchIndex.maintain();
+
+        // Then
+        assertThat(search("acme")).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("Should fall back to the database after lost invalidations until rebuilt")
+    void shouldFallBackAfterLostInvalidationsUntilRebuilt() {
+        // Given
+        assertThat(search("acme")).containsExactlyInAnyOrder(1L, 2L);
+        invalidationBus.receive(new TenantInvalidationBatch("other-node", 1L, List.of()));
+
+        // When - batch 2 from the other node never arrived
+        invalidationBus.receive(new TenantInvalidationBatch("other-node", 3L, List.of()));
+
+        // Then
+        assertThat(searchIndex.search("acme", null, PageRequest.of(0, 20))).isEmpty();
+
+        // When
+        searchIndex.resyncIfBehind();
+
+        // Then
+        assertThat(search("acme")).containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    private List<Long> search(String term) {
+        return searchIndex.search(term, null, PageRequest.of(0, 20)).orElseThrow().getIds();
+    }
+
+    private static TenantIndexEntry entry(Long id, String code, Long version) {
+        return new TenantIndexEntry(id, code, "Tenant " + code, Tenant.TenantStatus.ACTIVE, null, null, version);
+    }
+
+    private static TenantResponse tenant(Long id, String code, Long version) {
+        return TenantResponse.builder()
+                .id(id)
+                .code(code)
+                .name("Tenant " + code)
+                .status(Tenant.TenantStatus.ACTIVE)
+                .version(version)
+                .build();
+    }
+}
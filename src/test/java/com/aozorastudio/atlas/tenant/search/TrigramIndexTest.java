@@ -0,0 +1,121 @@
+package com.aozorastudio.atlas.tenant.search;
+
+import com.aozorastudio.atlas.tenant.domain.Tenant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("TrigramIndex Tests")
+class TrigramIndexTest {
+
+    private TrigramIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TrigramIndex();
+        index.upsert(entry(1L, "ACME", "Acme Corporation", Tenant.TenantStatus.ACTIVE, 1));
+        index.upsert(entry(2L, "GLOBEX", "Globex Industries", Tenant.TenantStatus.SUSPENDED, 2));
+        index.upsert(entry(3L, "INITECH", "Initech Software", Tenant.TenantStatus.ACTIVE, 3));
+    }
+
+    @Test
+    @DisplayName("Should match substrings of name or code ignoring case")
+    void shouldMatchSubstringsOfNameOrCodeIgnoringCase() {
+        assertThat(match("CORP", null)).containsExactly(1L);
+        assertThat(match("glob", null)).containsExactly(2L);
+        assertThat(match("in", null)).containsExactlyInAnyOrder(2L, 3L);
+        assertThat(match("", null)).containsExactlyInAnyOrder(1L, 2L, 3L);
+        assertThat(match("missing", null)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should filter by status")
+    void shouldFilterByStatus() {
+        assertThat(match("in", Tenant.TenantStatus.ACTIVE)).containsExactly(3L);
+        assertThat(match(null, Tenant.TenantStatus.SUSPENDED)).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("Should sort matches by supported properties only")
+    void shouldSortMatchesBySupportedPropertiesOnly() {
+        assertThat(index.search(null, null, "createdAt", false, 0, 10).getIds()).containsExactly(3L, 2L, 1L);
+        assertThat(index.search(null, null, "name", true, 0, 10).getIds()).containsExactly(1L, 2L, 3L);
+        assertThat(index.search(null, null, "description", true, 0, 10)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should page sorted matches like a full sort while counting every match")
+    void shouldPageSortedMatchesLikeFullSort() {
+        // Given
+        TrigramIndex large = new TrigramIndex();
+        Random random = new Random(42);
+        List<TenantIndexEntry> entries = new ArrayList<>();
+        for (long id = 1; id <= 500; id++) {
+            TenantIndexEntry entry = entry(id, "T" + id, "Tenant " + random.nextInt(50),
+                    Tenant.TenantStatus.ACTIVE, 1 + random.nextInt(28));
+            entries.add(entry);
+            large.upsert(entry);
+        }
+        List<Long> expected = entries.stream()
+                .sorted(Comparator.comparing((TenantIndexEntry entry) -> entry.getName().toLowerCase(Locale.ROOT))
+                        .reversed()
+                        .thenComparing(TenantIndexEntry::getId))
+                .map(TenantIndexEntry::getId)
+                .toList();
+
+        // When
+        TenantSearchHits first = large.search("tenant", null, "name", false, 0, 20);
+        TenantSearchHits deep = large.search("tenant", null, "name", false, 480, 40);
+
+        // Then
+        assertThat(first.getTotal()).isEqualTo(500);
+        assertThat(first.getIds()).isEqualTo(expected.subList(0, 20));
+        assertThat(deep.getIds()).isEqualTo(expected.subList(480, 500));
+    }
+
+    @Test
+    @DisplayName("Should replace updated tenants and ignore stale versions")
+    void shouldReplaceUpdatedTenantsAndIgnoreStaleVersions() {
+        // When
+        index.upsert(new TenantIndexEntry(1L, "ACME", "Acme Holdings", Tenant.TenantStatus.ACTIVE,
+                LocalDateTime.now(), LocalDateTime.now(), 2L));
+        index.upsert(entry(1L, "ACME", "Acme Corporation", Tenant.TenantStatus.ACTIVE, 1));
+
+        // Then
+        assertThat(match("holdings", null)).containsExactly(1L);
+        assertThat(match("corporation", null)).isEmpty();
+        assertThat(index.liveCount()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should drop removed tenants and compact tombstones")
+    void shouldDropRemovedTenantsAndCompactTombstones() {
+        // When
+        index.remove(2L);
+        TrigramIndex compacted = index.compact();
+
+        // Then
+        assertThat(match("globex", null)).isEmpty();
+        assertThat(compacted.deadCount()).isZero();
+        assertThat(compacted.liveCount()).isEqualTo(2);
+        assertThat(compacted.search("initech", null, null, true, 0, 10).getTotal()).isEqualTo(1);
+    }
+
+    private List<Long> match(String term, Tenant.TenantStatus status) {
+        return index.search(term, status, null, true, 0, Integer.MAX_VALUE).getIds();
+    }
+
+    private static TenantIndexEntry entry(Long id, String code, String name, Tenant.TenantStatus status, int day) {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, day, 0, 0);
+        return new TenantIndexEntry(id, code, name, status, createdAt, createdAt, 0L);
+    }
+}
@@ -0,0 +1,148 @@
+package com.aozorastudio.atlas.tenant.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("SingleFlight Tests")
+class SingleFlightTest {
+
+    private final Map<SingleFlight.Outcome, AtomicInteger> outcomes = new ConcurrentHashMap<>();
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(8);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should share one load among concurrent callers of the same key")
+    void shouldShareOneLoadAmongConcurrentCallers() throws Exception {
+        // Given
+        SingleFlight<String, String> flight = flight(Duration.ofSeconds(5));
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+
+        // When
+        List<CompletableFuture<String>> callers = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            callers.add(CompletableFuture.supplyAsync(() -> flight.load("ACME", () -> {
+                loads.incrementAndGet();
+                await(release);
+                return "tenant";
+            }), executor));
+        }
+        waitUntilWaiting();
+        release.countDown();
+
+        // Then
+        for (CompletableFuture<String> caller : callers) {
+            assertThat(caller.get(5, TimeUnit.SECONDS)).isEqualTo("tenant");
+        }
+        assertThat(loads).hasValue(1);
+        assertThat(count(SingleFlight.Outcome.SHARED)).isEqualTo(7);
+        assertThat(flight.inFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should hand the loader's exception to every waiting caller")
+    void shouldHandExceptionToWaitingCallers() throws Exception {
+        // Given
+        SingleFlight<String, String> flight = flight(Duration.ofSeconds(5));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> flight.load("ACME", () -> {
+            started.countDown();
+            await(release);
+            throw new IllegalStateException("database down");
+        }), executor);
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // When
+        CompletableFuture<String> follower = CompletableFuture.supplyAsync(
+                () -> flight.load("ACME", () -> "never loaded"), executor);
+        waitUntilWaiting();
+        release.countDown();
+
+        // Then
+        assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("database down");
+        assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("Should load on its own after waiting the max wait")
+    void shouldLoadOnItsOwnAfterMaxWait() throws Exception {
+        // Given
+        SingleFlight<String, String> flight = flight(Duration.ofMillis(50));
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> slow = CompletableFuture.supplyAsync(() -> flight.load("ACME", () -> {
+            await(release);
+            return "slow";
+        }), executor);
+        while (flight.inFlight() == 0) {
+            Thread.sleep(1);
+        }
+
+        // When
+        String result = flight.load("ACME", () -> "own");
+
+        // Then
+        assertThat(result).isEqualTo("own");
+        assertThat(count(SingleFlight.Outcome.TIMED_OUT)).isEqualTo(1);
+        release.countDown();
+        assertThat(slow.get(5, TimeUnit.SECONDS)).isEqualTo("slow");
+    }
+
+    private SingleFlight<String, String> flight(Duration maxWait) {
+        return new SingleFlight<>(maxWait,
+                outcome -> outcomes.computeIfAbsent(outcome, o -> new AtomicInteger()).incrementAndGet());
+    }
+
+    private int count(SingleFlight.Outcome outcome) {
+        AtomicInteger count = outcomes.get(outcome);
+        return count != null ? count.get() : 0;
+    }
+
+    /**
+     * Give callers that did not win the load time to reach the wait; the load stays blocked meanwhile
+     */
+    private void waitUntilWaiting() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (count(SingleFlight.Outcome.LOADED) == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        Thread.sleep(200);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
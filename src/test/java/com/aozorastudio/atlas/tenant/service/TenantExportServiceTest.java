@@ -0,0 +1,66 @@
+package com.aozorastudio.atlas.tenant.service;
+
+import com.aozorastudio.atlas.tenant.domain.Tenant;
+import com.aozorastudio.atlas.tenant.repository.TenantRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TenantExportService Tests")
+class TenantExportServiceTest {
+
+    @Mock
+    private TenantRepository tenantRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private TenantExportService tenantExportService;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        tenantExportService = new TenantExportService(tenantRepository, entityManager, objectMapper);
+    }
+
+    @Test
+    @DisplayName("Should write one JSON line per tenant and detach each entity")
+    void shouldWriteOneJsonLinePerTenantAndDetachEachEntity() throws Exception {
+        // Given
+        Tenant first = Tenant.builder().id(1L).code("TEST001").name("First").version(0L).build();
+        Tenant second = Tenant.builder().id(2L).code("TEST002").name("Second").version(0L).build();
+        LocalDateTime since = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+        when(tenantRepository.streamForExport(Tenant.TenantStatus.ACTIVE, since))
+                .thenReturn(Stream.of(first, second));
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // When
+        long count = tenantExportService.exportTenants(Tenant.TenantStatus.ACTIVE, since, output);
+
+        // Then
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(count).isEqualTo(2);
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).startsWith("{").contains("\"code\":\"TEST001\"");
+        assertThat(lines[1]).contains("\"code\":\"TEST002\"");
+        verify(entityManager, times(2)).detach(any(Tenant.class));
+    }
+}
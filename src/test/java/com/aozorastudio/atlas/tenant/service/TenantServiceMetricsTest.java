@@ -0,0 +1,116 @@
+package com.aozorastudio.atlas.tenant.service;
+
+import com.aozorastudio.atlas.tenant.dto.BulkCreateTenantResponse;
+import com.aozorastudio.atlas.tenant.exception.TenantNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("TenantServiceMetrics Tests")
+class TenantServiceMetricsTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private TenantServiceMetrics tenantServiceMetrics;
+    private ProceedingJoinPoint joinPoint;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        tenantServiceMetrics = new TenantServiceMetrics(meterRegistry);
+        joinPoint = mock(ProceedingJoinPoint.class);
+    }
+
+    @Test
+    @DisplayName("Should time successful calls by method")
+    void shouldTimeSuccessfulCallsByMethod() throws Throwable {
+        // Given
+        calling("getTenantById");
+        when(joinPoint.proceed()).thenReturn("tenant");
+
+        // When
+        Object result = tenantServiceMetrics.record(joinPoint);
+
+        // Then
+        assertThat(result).isEqualTo("tenant");
+        assertThat(meterRegistry.get(TenantServiceMetrics.TIMER)
+                .tag("method", "getTenantById")
+                .tag("outcome", TenantServiceMetrics.SUCCESS)
+                .timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.find(TenantServiceMetrics.OUTCOMES).counters()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should count not-found and rethrow")
+    void shouldCountNotFoundAndRethrow() throws Throwable {
+        // Given
+        calling("getTenantByCode");
+        when(joinPoint.proceed()).thenThrow(new TenantNotFoundException("UNKNOWN"));
+
+        // When & Then
+        assertThatThrownBy(() -> tenantServiceMetrics.record(joinPoint))
+                .isInstanceOf(TenantNotFoundException.class);
+        assertThat(meterRegistry.get(TenantServiceMetrics.OUTCOMES)
+                .tag("method", "getTenantByCode")
+                .tag("outcome", TenantServiceMetrics.NOT_FOUND)
+                .counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(TenantServiceMetrics.TIMER)
+                .tag("outcome", TenantServiceMetrics.NOT_FOUND)
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should count optimistic lock failures raised at commit")
+    void shouldCountOptimisticLockFailures() throws Throwable {
+        // Given
+        calling("updateTenant");
+        when(joinPoint.proceed()).thenThrow(new ObjectOptimisticLockingFailureException("Tenant", 1L));
+
+        // When & Then
+        assertThatThrownBy(() -> tenantServiceMetrics.record(joinPoint))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        assertThat(meterRegistry.get(TenantServiceMetrics.OUTCOMES)
+                .tag("outcome", TenantServiceMetrics.OPTIMISTIC_LOCK)
+                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should count per-item conflicts from bulk creates")
+    void shouldCountBulkCreateConflicts() throws Throwable {
+        // Given
+        calling("createTenants");
+        when(joinPoint.proceed()).thenReturn(BulkCreateTenantResponse.builder()
+                .created(3)
+                .conflicts(2)
+                .results(List.of())
+                .build());
+
+        // When
+        tenantServiceMetrics.record(joinPoint);
+
+        // Then
+        assertThat(meterRegistry.get(TenantServiceMetrics.OUTCOMES)
+                .tag("method", "createTenants")
+                .tag("outcome", TenantServiceMetrics.CODE_CONFLICT)
+                .counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get(TenantServiceMetrics.TIMER)
+                .tag("outcome", TenantServiceMetrics.SUCCESS)
+                .timer().count()).isEqualTo(1);
+    }
+
+    private void calling(String method) {
+        Signature signature = mock(Signature.class);
+        when(signature.getName()).thenReturn(method);
+        when(joinPoint.getSignature()).thenReturn(signature);
+    }
+}
@@ -1,25 +1,41 @@
 package com.aozorastudio.atlas.tenant.service;
 
+import com.aozorastudio.atlas.tenant.cache.TenantCache;
+import com.aozorastudio.atlas.tenant.cache.TenantCodeFilter;
+import com.aozorastudio.atlas.tenant.cache.TenantEntityCacheInvalidator;
 import com.aozorastudio.atlas.tenant.domain.Tenant;
 import com.aozorastudio.atlas.tenant.dto.CreateTenantRequest;
+import com.aozorastudio.atlas.tenant.dto.PatchTenantRequest;
 import com.aozorastudio.atlas.tenant.dto.TenantResponse;
 import com.aozorastudio.atlas.tenant.dto.TenantSearchRequest;
+import com.aozorastudio.atlas.tenant.dto.TenantVersion;
 import com.aozorastudio.atlas.tenant.dto.UpdateTenantRequest;
+import com.aozorastudio.atlas.tenant.event.TenantCreatedEvent;
+import com.aozorastudio.atlas.tenant.event.TenantDeletedEvent;
+import com.aozorastudio.atlas.tenant.event.TenantEvent;
+import com.aozorastudio.atlas.tenant.event.TenantOutbox;
+import com.aozorastudio.atlas.tenant.event.TenantPatchedEvent;
 import com.aozorastudio.atlas.tenant.exception.TenantCodeAlreadyExistsException;
 import com.aozorastudio.atlas.tenant.exception.TenantNotFoundException;
+import com.aozorastudio.atlas.tenant.exception.TenantVersionMismatchException;
 import com.aozorastudio.atlas.tenant.repository.TenantRepository;
+import com.aozorastudio.atlas.tenant.search.TenantSearchHits;
+import com.aozorastudio.atlas.tenant.search.TenantSearchIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.sql.SQLIntegrityConstraintViolationException;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -35,6 +51,29 @@ class TenantServiceTest {
     @Mock
     private TenantRepository tenantRepository;
 
+    @Mock
+    private TenantCache tenantCache;
+
+    @Mock
+    private TenantChangeNotifier tenantChangeNotifier;
+
+    @Mock
+    private TenantSearchIndex tenantSearchIndex;
+
+    @Mock
+    private TenantCodeFilter tenantCodeFilter;
+
+    @Mock
+    private TenantOutbox tenantOutbox;
+
+    @Mock
+    private TenantEntityCacheInvalidator tenantEntityCacheInvalidator;
+
+    @Spy
+    private TenantLookupCoalescer tenantLookupCoalescer =
+            new TenantLookupCoalescer(new TenantLookupProperties(), mock(PlatformTransactionManager.class),
+                    new SimpleMeterRegistry());
+
     @InjectMocks
     private TenantService tenantService;
 
@@ -84,7 +123,6 @@ class TenantServiceTest {
     @DisplayName("Should create tenant successfully")
     void shouldCreateTenantSuccessfully() {
         // Given
-        when(tenantRepository.existsByCode(createRequest.getCode())).thenReturn(false);
         when(tenantRepository.save(any(Tenant.class))).thenReturn(mockTenant);
 
         // When
@@ -96,23 +134,45 @@ class TenantServiceTest {
         assertThat(response.getName()).isEqualTo(createRequest.getName());
         assertThat(response.getEmail()).isEqualTo(createRequest.getEmail());
 
-        verify(tenantRepository).existsByCode(createRequest.getCode());
+        verify(tenantRepository, never()).existsByCode(anyString());
         verify(tenantRepository).save(any(Tenant.class));
+        verify(tenantOutbox).append(argThat((TenantEvent event) -> event instanceof TenantCreatedEvent created
+                && "TEST001".equals(created.getTenant().getCode())));
     }
 
     @Test
     @DisplayName("Should throw exception when creating tenant with existing code")
     void shouldThrowExceptionWhenCreatingTenantWithExistingCode() {
         // Given
-        when(tenantRepository.existsByCode(createRequest.getCode())).thenReturn(true);
+        when(tenantRepository.save(any(Tenant.class))).thenReturn(mockTenant);
+        doThrow(new DataIntegrityViolationException("could not execute statement",
+                new SQLIntegrityConstraintViolationException(
+                        "Duplicate entry 'TEST001' for key 'tenants.code'", "23000", 1062)))
+                .when(tenantRepository).flush();
 
         // When & Then
         assertThatThrownBy(() -> tenantService.createTenant(createRequest))
                 .isInstanceOf(TenantCodeAlreadyExistsException.class)
                 .hasMessageContaining("already exists");
 
-        verify(tenantRepository).existsByCode(createRequest.getCode());
-        verify(tenantRepository, never()).save(any(Tenant.class));
+        verify(tenantRepository, never()).existsByCode(anyString());
+        verifyNoInteractions(tenantOutbox, tenantChangeNotifier);
+    }
+
+    @Test
+    @DisplayName("Should not report other integrity violations as a taken code")
+    void shouldNotReportOtherIntegrityViolationsAsTakenCode() {
+        // Given
+        when(tenantRepository.save(any(Tenant.class))).thenReturn(mockTenant);
+        doThrow(new DataIntegrityViolationException("could not execute statement",
+                new SQLIntegrityConstraintViolationException("Column 'name' cannot be null", "23000", 1048)))
+                .when(tenantRepository).flush();
+
+        // When & Then
+        assertThatThrownBy(() -> tenantService.createTenant(createRequest))
+                .isInstanceOf(DataIntegrityViolationException.class);
+
+        verifyNoInteractions(tenantOutbox, tenantChangeNotifier);
     }
 
     @Test
@@ -129,6 +189,8 @@ class TenantServiceTest {
         assertThat(response).isNotNull();
         verify(tenantRepository).findById(1L);
         verify(tenantRepository).save(any(Tenant.class));
+        verify(tenantChangeNotifier).publish(argThat(change ->
+                change.getType() == TenantChange.Type.UPDATED && change.getId().equals(1L)));
     }
 
     @Test
@@ -146,11 +208,80 @@ class TenantServiceTest {
         verify(tenantRepository, never()).save(any(Tenant.class));
     }
 
+    @Test
+    @DisplayName("Should patch tenant with a single conditional update")
+    void shouldPatchTenantWithSingleConditionalUpdate() {
+        // Given
+        PatchTenantRequest patch = PatchTenantRequest.builder().name("Patched Name").build();
+        when(tenantRepository.updateIfVersion(1L, 0L, patch, "system")).thenReturn(1);
+
+        // When
+        TenantVersion version = tenantService.patchTenant(1L, 0L, patch);
+
+        // Then
+        assertThat(version).isEqualTo(new TenantVersion(1L, 1L));
+        verify(tenantRepository, never()).findById(anyLong());
+        verify(tenantRepository, never()).findVersionById(anyLong());
+        verify(tenantRepository, never()).findResponseById(anyLong());
+        verify(tenantEntityCacheInvalidator).evictAfterCommit(1L);
+        verify(tenantOutbox).append(argThat((TenantEvent event) -> event instanceof TenantPatchedEvent patched
+                && patched.getVersion().equals(1L) && patched.getChanges().equals(patch)));
+        verify(tenantChangeNotifier).publish(argThat(change -> change.getType() == TenantChange.Type.UPDATED
+                && change.getVersion().equals(1L) && change.getSnapshot() == null));
+    }
+
+    @Test
+    @DisplayName("Should read back only the version of a patch that named none")
+    void shouldReadVersionOfUnconditionalPatch() {
+        // Given
+        PatchTenantRequest patch = PatchTenantRequest.builder().status(Tenant.TenantStatus.SUSPENDED).build();
+        when(tenantRepository.updateIfVersion(1L, null, patch, "system")).thenReturn(1);
+        when(tenantRepository.findVersionById(1L)).thenReturn(Optional.of(new TenantVersion(1L, 5L)));
+
+        // When
+        TenantVersion version = tenantService.patchTenant(1L, null, patch);
+
+        // Then
+        assertThat(version).isEqualTo(new TenantVersion(1L, 5L));
+        verify(tenantRepository, never()).findResponseById(anyLong());
+        verify(tenantChangeNotifier).publish(argThat(change -> change.getVersion().equals(5L)
+                && change.getStatus() == Tenant.TenantStatus.SUSPENDED));
+    }
+
+    @Test
+    @DisplayName("Should reject patch naming a stale version")
+    void shouldRejectPatchNamingStaleVersion() {
+        // Given
+        PatchTenantRequest patch = PatchTenantRequest.builder().name("Patched Name").build();
+        when(tenantRepository.updateIfVersion(1L, 0L, patch, "system")).thenReturn(0);
+        when(tenantRepository.findVersionById(1L)).thenReturn(Optional.of(new TenantVersion(1L, 3L)));
+
+        // When & Then
+        assertThatThrownBy(() -> tenantService.patchTenant(1L, 0L, patch))
+                .isInstanceOf(TenantVersionMismatchException.class)
+                .hasMessageContaining("version 3");
+
+        verifyNoInteractions(tenantOutbox, tenantChangeNotifier, tenantEntityCacheInvalidator);
+    }
+
+    @Test
+    @DisplayName("Should throw exception when patching non-existent tenant")
+    void shouldThrowExceptionWhenPatchingNonExistentTenant() {
+        // Given
+        PatchTenantRequest patch = PatchTenantRequest.builder().name("Patched Name").build();
+        when(tenantRepository.updateIfVersion(1L, 0L, patch, "system")).thenReturn(0);
+        when(tenantRepository.findVersionById(1L)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThatThrownBy(() -> tenantService.patchTenant(1L, 0L, patch))
+                .isInstanceOf(TenantNotFoundException.class);
+    }
+
     @Test
     @DisplayName("Should get tenant by id successfully")
     void shouldGetTenantByIdSuccessfully() {
         // Given
-        when(tenantRepository.findById(1L)).thenReturn(Optional.of(mockTenant));
+        when(tenantRepository.findResponseById(1L)).thenReturn(Optional.of(TenantResponse.from(mockTenant)));
 
         // When
         TenantResponse response = tenantService.getTenantById(1L);
@@ -160,28 +291,62 @@ class TenantServiceTest {
         assertThat(response.getId()).isEqualTo(1L);
         assertThat(response.getCode()).isEqualTo("TEST001");
 
-        verify(tenantRepository).findById(1L);
+        verify(tenantRepository).findResponseById(1L);
+        verify(tenantRepository, never()).findById(anyLong());
     }
 
     @Test
     @DisplayName("Should throw exception when getting non-existent tenant by id")
     void shouldThrowExceptionWhenGettingNonExistentTenantById() {
         // Given
-        when(tenantRepository.findById(1L)).thenReturn(Optional.empty());
+        when(tenantRepository.findResponseById(1L)).thenReturn(Optional.empty());
 
         // When & Then
         assertThatThrownBy(() -> tenantService.getTenantById(1L))
                 .isInstanceOf(TenantNotFoundException.class)
                 .hasMessageContaining("not found");
 
-        verify(tenantRepository).findById(1L);
+        verify(tenantRepository).findResponseById(1L);
+    }
+
+    @Test
+    @DisplayName("Should serve cached tenant without querying repository")
+    void shouldServeCachedTenantWithoutQueryingRepository() {
+        // Given
+        when(tenantCache.getById(1L)).thenReturn(Optional.of(TenantResponse.from(mockTenant)));
+
+        // When
+        TenantResponse response = tenantService.getTenantById(1L);
+
+        // Then
+        assertThat(response.getCode()).isEqualTo("TEST001");
+        verify(tenantRepository, never()).findResponseById(anyLong());
+    }
+
+    @Test
+    @DisplayName("Should answer version lookups from the cache before the repository")
+    void shouldAnswerVersionLookupsFromCacheBeforeRepository() {
+        // Given
+        when(tenantCache.getById(1L)).thenReturn(Optional.of(TenantResponse.from(mockTenant)));
+        when(tenantCache.getById(2L)).thenReturn(Optional.empty());
+        when(tenantRepository.findVersionById(2L)).thenReturn(Optional.of(new TenantVersion(2L, 3L)));
+
+        // When
+        Optional<TenantVersion> cached = tenantService.findTenantVersionById(1L);
+        Optional<TenantVersion> loaded = tenantService.findTenantVersionById(2L);
+
+        // Then
+        assertThat(cached).contains(new TenantVersion(1L, 0L));
+        assertThat(loaded.map(TenantVersion::toEtag)).contains("\"2-3\"");
+        verify(tenantRepository, never()).findVersionById(1L);
+        verify(tenantRepository, never()).findResponseById(anyLong());
     }
 
     @Test
     @DisplayName("Should get tenant by code successfully")
     void shouldGetTenantByCodeSuccessfully() {
         // Given
-        when(tenantRepository.findByCode("TEST001")).thenReturn(Optional.of(mockTenant));
+        when(tenantRepository.findResponseByCode("TEST001")).thenReturn(Optional.of(TenantResponse.from(mockTenant)));
 
         // When
         TenantResponse response = tenantService.getTenantByCode("TEST001");
@@ -190,15 +355,44 @@ class TenantServiceTest {
         assertThat(response).isNotNull();
         assertThat(response.getCode()).isEqualTo("TEST001");
 
-        verify(tenantRepository).findByCode("TEST001");
+        verify(tenantRepository).findResponseByCode("TEST001");
+    }
+
+    @Test
+    @DisplayName("Should answer definite misses without querying repository")
+    void shouldAnswerDefiniteMissesWithoutQueryingRepository() {
+        // Given
+        when(tenantCodeFilter.isDefinitelyAbsent("UNKNOWN")).thenReturn(true);
+
+        // When & Then
+        assertThat(tenantService.existsByCode("UNKNOWN")).isFalse();
+        assertThatThrownBy(() -> tenantService.getTenantByCode("UNKNOWN"))
+                .isInstanceOf(TenantNotFoundException.class);
+
+        verify(tenantRepository, never()).existsByCode(anyString());
+        verify(tenantRepository, never()).findResponseByCode(anyString());
+        verify(tenantCache, never()).getByCode(anyString());
+    }
+
+    @Test
+    @DisplayName("Should record confirmed misses in the code filter")
+    void shouldRecordConfirmedMissesInCodeFilter() {
+        // Given
+        when(tenantCodeFilter.missToken()).thenReturn(7L);
+        when(tenantRepository.findResponseByCode("UNKNOWN")).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThatThrownBy(() -> tenantService.getTenantByCode("UNKNOWN"))
+                .isInstanceOf(TenantNotFoundException.class);
+
+        verify(tenantCodeFilter).recordMiss("UNKNOWN", 7L);
     }
 
     @Test
     @DisplayName("Should search tenants with pagination")
     void shouldSearchTenantsWithPagination() {
         // Given
-        List<Tenant> tenants = List.of(mockTenant);
-        Page<Tenant> tenantPage = new PageImpl<>(tenants, PageRequest.of(0, 20), 1);
+        List<TenantResponse> tenants = List.of(TenantResponse.from(mockTenant));
 
         TenantSearchRequest searchRequest = TenantSearchRequest.builder()
                 .searchTerm("Test")
@@ -210,7 +404,7 @@ class TenantServiceTest {
                 .build();
 
         when(tenantRepository.searchTenants(eq("Test"), eq(Tenant.TenantStatus.ACTIVE), any(Pageable.class)))
-                .thenReturn(tenantPage);
+                .thenReturn(tenants);
 
         // When
         Page<TenantResponse> response = tenantService.searchTenants(searchRequest);
@@ -219,8 +413,55 @@ class TenantServiceTest {
         assertThat(response).isNotNull();
         assertThat(response.getContent()).hasSize(1);
         assertThat(response.getContent().get(0).getCode()).isEqualTo("TEST001");
+        assertThat(response.getTotalElements()).isEqualTo(1);
 
         verify(tenantRepository).searchTenants(eq("Test"), eq(Tenant.TenantStatus.ACTIVE), any(Pageable.class));
+        verify(tenantRepository, never()).countSearchTenants(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should run the count query when the search page is full")
+    void shouldRunCountQueryWhenSearchPageIsFull() {
+        // Given
+        TenantSearchRequest searchRequest = TenantSearchRequest.builder()
+                .searchTerm("Test")
+                .page(0)
+                .size(1)
+                .build();
+
+        when(tenantRepository.searchTenants(eq("Test"), isNull(), any(Pageable.class)))
+                .thenReturn(List.of(TenantResponse.from(mockTenant)));
+        when(tenantRepository.countSearchTenants("Test", null)).thenReturn(7L);
+
+        // When
+        Page<TenantResponse> response = tenantService.searchTenants(searchRequest);
+
+        // Then
+        assertThat(response.getContent()).hasSize(1);
+        assertThat(response.getTotalElements()).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("Should hydrate only the page returned by the search index")
+    void shouldHydrateOnlyPageReturnedBySearchIndex() {
+        // Given
+        TenantSearchRequest searchRequest = TenantSearchRequest.builder()
+                .searchTerm("Test")
+                .page(0)
+                .size(1)
+                .build();
+
+        when(tenantSearchIndex.search(eq("Test"), isNull(), any(Pageable.class)))
+                .thenReturn(Optional.of(new TenantSearchHits(List.of(1L), 5)));
+        when(tenantRepository.findResponsesByIdIn(List.of(1L))).thenReturn(List.of(TenantResponse.from(mockTenant)));
+
+        // When
+        Page<TenantResponse> response = tenantService.searchTenants(searchRequest);
+
+        // Then
+        assertThat(response.getContent()).extracting(TenantResponse::getCode).containsExactly("TEST001");
+        assertThat(response.getTotalElements()).isEqualTo(5);
+        verify(tenantRepository, never()).searchTenants(any(), any(), any(Pageable.class));
     }
 
     @Test
@@ -235,6 +476,9 @@ class TenantServiceTest {
         // Then
         verify(tenantRepository).findById(1L);
         verify(tenantRepository).delete(mockTenant);
+        verify(tenantChangeNotifier).publish(argThat(change -> change.getType() == TenantChange.Type.DELETED));
+        verify(tenantOutbox).append(argThat((TenantEvent event) -> event instanceof TenantDeletedEvent deleted
+                && deleted.getTenantId() == 1L));
     }
 
     @Test
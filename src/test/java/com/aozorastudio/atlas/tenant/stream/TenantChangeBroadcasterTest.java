@@ -0,0 +1,154 @@
+package com.aozorastudio.atlas.tenant.stream;
+
+import com.aozorastudio.atlas.tenant.domain.Tenant;
+import com.aozorastudio.atlas.tenant.dto.TenantResponse;
+import com.aozorastudio.atlas.tenant.service.TenantChange;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("TenantChangeBroadcaster Tests")
+class TenantChangeBroadcasterTest {
+
+    private TenantStreamProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private List<Runnable> stalledSends;
+
+    @BeforeEach
+    void setUp() {
+        properties = new TenantStreamProperties();
+        properties.setBufferSize(2);
+        properties.setReplaySize(8);
+        meterRegistry = new SimpleMeterRegistry();
+        stalledSends = new ArrayList<>();
+    }
+
+    @Test
+    @DisplayName("Should push only the changes matching a subscriber's filter")
+    void shouldPushOnlyMatchingChanges() {
+        // Given
+        TenantChangeBroadcaster broadcaster = broadcaster(Runnable::run);
+        RecordingEmitter suspended = (RecordingEmitter) broadcaster.subscribe(
+                new TenantStreamFilter(Tenant.TenantStatus.SUSPENDED, null), null);
+        RecordingEmitter byCode = (RecordingEmitter) broadcaster.subscribe(new TenantStreamFilter(null, "test1"), null);
+
+        // When
+        broadcaster.onTenantChange(TenantChange.updated(tenant(1L, "TEST1", Tenant.TenantStatus.ACTIVE)));
+        broadcaster.onTenantChange(TenantChange.updated(tenant(2L, "TEST2", Tenant.TenantStatus.SUSPENDED)));
+
+        // Then
+        assertThat(suspended.events).hasSize(1).first().asString().contains("event:updated", "\"code\":\"TEST2\"");
+        assertThat(byCode.events).hasSize(1).first().asString().contains("\"code\":\"TEST1\"");
+    }
+
+    @Test
+    @DisplayName("Should disconnect a subscriber that falls behind without blocking the publisher")
+    void shouldDisconnectSubscriberThatFallsBehind() {
+        // Given
+        TenantChangeBroadcaster broadcaster = broadcaster(stalledSends::add);
+        RecordingEmitter stalled = (RecordingEmitter) broadcaster.subscribe(new TenantStreamFilter(null, null), null);
+
+        // When
+        for (long id = 1; id <= 3; id++) {
+            broadcaster.onTenantChange(TenantChange.created(tenant(id, "TEST" + id, Tenant.TenantStatus.ACTIVE)));
+        }
+
+        // Then
+        assertThat(stalled.completed).isTrue();
+        assertThat(broadcaster.subscriberCount()).isZero();
+        assertThat(meterRegistry.get("atlas.tenant.stream.evictions").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should replay the changes missed since Last-Event-ID")
+    void shouldReplayChangesMissedSinceLastEventId() {
+        // Given
+        TenantChangeBroadcaster broadcaster = broadcaster(Runnable::run);
+        RecordingEmitter first = (RecordingEmitter) broadcaster.subscribe(new TenantStreamFilter(null, null), null);
+        for (long id = 1; id <= 3; id++) {
+            broadcaster.onTenantChange(TenantChange.created(tenant(id, "TEST" + id, Tenant.TenantStatus.ACTIVE)));
+        }
+        String lastEventId = first.eventId(0);
+
+        // When
+        RecordingEmitter resumed = (RecordingEmitter) broadcaster.subscribe(
+                new TenantStreamFilter(null, null), lastEventId);
+
+        // Then
+        assertThat(resumed.events).hasSize(2);
+        assertThat(resumed.events.get(0)).contains("\"code\":\"TEST2\"");
+        assertThat(resumed.events.get(1)).contains("\"code\":\"TEST3\"");
+    }
+
+    @Test
+    @DisplayName("Should tell a client to resync when its Last-Event-ID is unknown")
+    void shouldSendResetForUnknownLastEventId() {
+        // Given
+        TenantChangeBroadcaster broadcaster = broadcaster(Runnable::run);
+
+        // When
+        RecordingEmitter resumed = (RecordingEmitter) broadcaster.subscribe(
+                new TenantStreamFilter(null, null), "previous-run-42");
+
+        // Then
+        assertThat(resumed.events).hasSize(1).first().asString().contains("event:" + TenantChangeBroadcaster.RESET_EVENT);
+    }
+
+    private TenantChangeBroadcaster broadcaster(Executor sender) {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        return new TenantChangeBroadcaster(properties, objectMapper, meterRegistry, sender) {
+            @Override
+            SseEmitter newEmitter() {
+                return new RecordingEmitter();
+            }
+        };
+    }
+
+    private static TenantResponse tenant(Long id, String code, Tenant.TenantStatus status) {
+        return TenantResponse.builder()
+                .id(id)
+                .code(code)
+                .name("Tenant " + id)
+                .status(status)
+                .version(0L)
+                .build();
+    }
+
+    static class RecordingEmitter extends SseEmitter {
+
+        final List<String> events = new CopyOnWriteArrayList<>();
+        volatile boolean completed;
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            events.add(builder.build().stream()
+                    .map(ResponseBodyEmitter.DataWithMediaType::getData)
+                    .map(Object::toString)
+                    .collect(Collectors.joining()));
+        }
+
+        @Override
+        public synchronized void complete() {
+            completed = true;
+        }
+
+        String eventId(int index) {
+            String event = events.get(index);
+            int start = event.indexOf("id:") + 3;
+            return event.substring(start, event.indexOf('\n', start));
+        }
+    }
+}